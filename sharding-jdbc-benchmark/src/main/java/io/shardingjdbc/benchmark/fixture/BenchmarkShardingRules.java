@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.benchmark.fixture;
+
+import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.InlineShardingStrategyConfiguration;
+import io.shardingjdbc.core.rule.ShardingRule;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.h2.jdbcx.JdbcDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sharding rules and data sources shared by benchmarks.
+ * 
+ * <p>
+ * Two data sources ds_0 and ds_1 sharded by user_id % 2,
+ * each holding t_order_0..1 and t_order_item_0..1 sharded by order_id % 2.
+ * t_order and t_order_item are binding tables.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkShardingRules {
+    
+    public static final int DATA_SOURCE_COUNT = 2;
+    
+    public static final int TABLE_COUNT_PER_DATA_SOURCE = 2;
+    
+    /**
+     * Create sharding rule configuration for order and order item tables.
+     * 
+     * @return sharding rule configuration
+     */
+    public static ShardingRuleConfiguration createShardingRuleConfiguration() {
+        ShardingRuleConfiguration result = new ShardingRuleConfiguration();
+        result.getTableRuleConfigs().add(createTableRuleConfiguration("t_order", "order_id"));
+        result.getTableRuleConfigs().add(createTableRuleConfiguration("t_order_item", "order_id"));
+        result.getBindingTableGroups().add("t_order, t_order_item");
+        result.setDefaultDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", "ds_${user_id % 2}"));
+        return result;
+    }
+    
+    private static TableRuleConfiguration createTableRuleConfiguration(final String logicTable, final String shardingColumn) {
+        TableRuleConfiguration result = new TableRuleConfiguration();
+        result.setLogicTable(logicTable);
+        result.setActualDataNodes(String.format("ds_${0..%d}.%s_${0..%d}", DATA_SOURCE_COUNT - 1, logicTable, TABLE_COUNT_PER_DATA_SOURCE - 1));
+        result.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration(shardingColumn, logicTable + "_${" + shardingColumn + " % 2}"));
+        return result;
+    }
+    
+    /**
+     * Create sharding rule without physical data sources, for parsing, routing and rewriting benchmarks.
+     * 
+     * @return sharding rule
+     * @throws SQLException SQL exception
+     */
+    public static ShardingRule createShardingRule() throws SQLException {
+        Map<String, DataSource> dataSourceMap = new HashMap<>(DATA_SOURCE_COUNT, 1);
+        for (int i = 0; i < DATA_SOURCE_COUNT; i++) {
+            dataSourceMap.put("ds_" + i, null);
+        }
+        return createShardingRuleConfiguration().build(dataSourceMap);
+    }
+    
+    /**
+     * Create in-memory H2 data sources with order and order item tables filled.
+     * 
+     * @param rowsPerTable rows count inserted into each actual table
+     * @return data source map
+     * @throws SQLException SQL exception
+     */
+    public static Map<String, DataSource> createDataSourceMap(final int rowsPerTable) throws SQLException {
+        Map<String, DataSource> result = new HashMap<>(DATA_SOURCE_COUNT, 1);
+        for (int i = 0; i < DATA_SOURCE_COUNT; i++) {
+            JdbcDataSource dataSource = new JdbcDataSource();
+            dataSource.setURL(String.format("jdbc:h2:mem:benchmark_ds_%d;DB_CLOSE_DELAY=-1;MODE=MYSQL", i));
+            dataSource.setUser("sa");
+            initTables(dataSource, i, rowsPerTable);
+            result.put("ds_" + i, dataSource);
+        }
+        return result;
+    }
+    
+    private static void initTables(final DataSource dataSource, final int dataSourceIndex, final int rowsPerTable) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (int tableIndex = 0; tableIndex < TABLE_COUNT_PER_DATA_SOURCE; tableIndex++) {
+                statement.execute(String.format("DROP TABLE IF EXISTS t_order_%d", tableIndex));
+                statement.execute(String.format("DROP TABLE IF EXISTS t_order_item_%d", tableIndex));
+                statement.execute(String.format("CREATE TABLE t_order_%d (order_id INT NOT NULL, user_id INT NOT NULL, status VARCHAR(45), PRIMARY KEY (order_id))", tableIndex));
+                statement.execute(String.format(
+                        "CREATE TABLE t_order_item_%d (item_id INT NOT NULL, order_id INT NOT NULL, user_id INT NOT NULL, status VARCHAR(45), PRIMARY KEY (item_id))", tableIndex));
+                for (int row = 0; row < rowsPerTable; row++) {
+                    int orderId = row * TABLE_COUNT_PER_DATA_SOURCE + tableIndex;
+                    int userId = row * DATA_SOURCE_COUNT + dataSourceIndex;
+                    statement.execute(String.format("INSERT INTO t_order_%d VALUES (%d, %d, 'INIT')", tableIndex, orderId, userId));
+                    statement.execute(String.format("INSERT INTO t_order_item_%d VALUES (%d, %d, %d, 'INIT')", tableIndex, orderId, orderId, userId));
+                }
+            }
+        }
+    }
+}
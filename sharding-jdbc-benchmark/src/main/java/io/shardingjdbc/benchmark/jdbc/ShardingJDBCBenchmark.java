@@ -0,0 +1,137 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.benchmark.jdbc;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRules;
+import io.shardingjdbc.core.api.ShardingDataSourceFactory;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of sharding JDBC statements over in-memory H2 databases.
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardingJDBCBenchmark {
+    
+    private static final int ROWS_PER_TABLE = 1000;
+    
+    private static final int ORDER_ID_BOUND = ROWS_PER_TABLE * BenchmarkShardingRules.TABLE_COUNT_PER_DATA_SOURCE;
+    
+    /**
+     * Sharding data source shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class ShardingDataSourceState {
+        
+        @Param({"0", "1024"})
+        private String parsingCacheSize;
+        
+        private DataSource dataSource;
+        
+        @Setup
+        public void setUp() throws SQLException {
+            Properties props = new Properties();
+            props.setProperty(ShardingPropertiesConstant.PARSING_CACHE_SIZE.getKey(), parsingCacheSize);
+            dataSource = ShardingDataSourceFactory.createDataSource(BenchmarkShardingRules.createDataSourceMap(ROWS_PER_TABLE),
+                    BenchmarkShardingRules.createShardingRuleConfiguration(), Collections.<String, Object>emptyMap(), props);
+        }
+    }
+    
+    /**
+     * Sharding connection held by each benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ConnectionState {
+        
+        private Connection connection;
+        
+        @Setup(Level.Trial)
+        public void setUp(final ShardingDataSourceState dataSourceState) throws SQLException {
+            connection = dataSourceState.dataSource.getConnection();
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+    
+    @Benchmark
+    public void selectByShardingKeys(final ConnectionState connectionState, final Blackhole blackhole) throws SQLException {
+        int orderId = ThreadLocalRandom.current().nextInt(ORDER_ID_BOUND);
+        try (PreparedStatement preparedStatement = connectionState.connection.prepareStatement("SELECT order_id, user_id, status FROM t_order WHERE user_id = ? AND order_id = ?")) {
+            preparedStatement.setInt(1, orderId / BenchmarkShardingRules.TABLE_COUNT_PER_DATA_SOURCE * BenchmarkShardingRules.DATA_SOURCE_COUNT);
+            preparedStatement.setInt(2, orderId);
+            consume(preparedStatement, blackhole);
+        }
+    }
+    
+    @Benchmark
+    public void selectWithOrderByAndLimit(final ConnectionState connectionState, final Blackhole blackhole) throws SQLException {
+        try (PreparedStatement preparedStatement = connectionState.connection.prepareStatement("SELECT order_id, user_id, status FROM t_order WHERE order_id > ? ORDER BY order_id LIMIT ?")) {
+            preparedStatement.setInt(1, ThreadLocalRandom.current().nextInt(ORDER_ID_BOUND));
+            preparedStatement.setInt(2, 10);
+            consume(preparedStatement, blackhole);
+        }
+    }
+    
+    @Benchmark
+    public void selectWithGroupBy(final ConnectionState connectionState, final Blackhole blackhole) throws SQLException {
+        try (PreparedStatement preparedStatement = connectionState.connection.prepareStatement(
+                "SELECT o.status, COUNT(i.item_id) AS items_count FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id WHERE o.order_id < ? GROUP BY o.status")) {
+            preparedStatement.setInt(1, 100);
+            consume(preparedStatement, blackhole);
+        }
+    }
+    
+    private void consume(final PreparedStatement preparedStatement, final Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getObject(1));
+            }
+        }
+    }
+}
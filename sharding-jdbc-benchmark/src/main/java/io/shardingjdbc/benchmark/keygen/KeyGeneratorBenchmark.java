@@ -0,0 +1,95 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.keygen;
+
+import io.shardingjdbc.core.keygen.ConcurrentKeyGenerator;
+import io.shardingjdbc.core.keygen.DefaultKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key generator benchmark, comparing synchronized and lock-free snowflake key generators shared by all threads.
+ * 
+ * <p>
+ * Run {@link #main(String[])} to measure with 1, 2, 4, 8, 16, 32 and 64 threads.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class KeyGeneratorBenchmark {
+    
+    private static final int BATCH_SIZE = 100;
+    
+    private final DefaultKeyGenerator defaultKeyGenerator = new DefaultKeyGenerator();
+    
+    private final ConcurrentKeyGenerator concurrentKeyGenerator = new ConcurrentKeyGenerator();
+    
+    @Benchmark
+    public Number generateKeyWithDefaultKeyGenerator() {
+        return defaultKeyGenerator.generateKey();
+    }
+    
+    @Benchmark
+    public Number generateKeyWithConcurrentKeyGenerator() {
+        return concurrentKeyGenerator.generateKey();
+    }
+    
+    // 多行插入场景, 逐个生成与一次分配连续主键对比
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long generateKeysWithDefaultKeyGenerator() {
+        long result = 0L;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            result = defaultKeyGenerator.generateKey().longValue();
+        }
+        return result;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long generateKeysWithConcurrentKeyGenerator() {
+        return concurrentKeyGenerator.generateKeys(BATCH_SIZE);
+    }
+    
+    public static void main(final String[] args) throws RunnerException {
+        for (int threads = 1; threads <= 64; threads <<= 1) {
+            new Runner(new OptionsBuilder().include(KeyGeneratorBenchmark.class.getSimpleName()).threads(threads).build()).run();
+        }
+    }
+}
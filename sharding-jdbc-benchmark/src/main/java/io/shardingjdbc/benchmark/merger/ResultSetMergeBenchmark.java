@@ -0,0 +1,144 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.benchmark.merger;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRules;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.merger.MergeEngine;
+import io.shardingjdbc.core.merger.ResultSetMerger;
+import io.shardingjdbc.core.parsing.SQLParsingEngine;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.rule.ShardingRule;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result set merging benchmark for each merger and pagination decorator.
+ * 
+ * <p>
+ * Each shard returns rows ordered by order_id and user_id ascending, as the database would for the given SQL.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultSetMergeBenchmark {
+    
+    private static final int ROWS_PER_USER = 10;
+    
+    @Param({"iterator", "orderBy", "groupByStream", "groupByMemory", "limit", "rowNumber", "topAndRowNumber"})
+    private String mergeType;
+    
+    @Param({"4", "16"})
+    private int shardCount;
+    
+    @Param({"1000"})
+    private int rowsPerShard;
+    
+    private SelectStatement selectStatement;
+    
+    private List<ResultSet> resultSets;
+    
+    @Setup
+    public void setUp() throws SQLException {
+        ShardingRule shardingRule = BenchmarkShardingRules.createShardingRule();
+        switch (mergeType) {
+            case "iterator":
+                selectStatement = parse(shardingRule, DatabaseType.MySQL, "SELECT order_id, user_id, status FROM t_order");
+                break;
+            case "orderBy":
+                selectStatement = parse(shardingRule, DatabaseType.MySQL, "SELECT order_id, user_id, status FROM t_order ORDER BY order_id");
+                break;
+            case "groupByStream":
+                selectStatement = parse(shardingRule, DatabaseType.MySQL, "SELECT user_id, COUNT(order_id) AS orders_count FROM t_order GROUP BY user_id ORDER BY user_id");
+                break;
+            case "groupByMemory":
+                selectStatement = parse(shardingRule, DatabaseType.MySQL, "SELECT user_id, COUNT(order_id) AS orders_count FROM t_order GROUP BY user_id ORDER BY orders_count DESC");
+                break;
+            case "limit":
+                selectStatement = parse(shardingRule, DatabaseType.MySQL, "SELECT order_id, user_id, status FROM t_order ORDER BY order_id LIMIT 100, 50");
+                break;
+            case "rowNumber":
+                selectStatement = parse(shardingRule, DatabaseType.Oracle, 
+                        "SELECT * FROM (SELECT row_.*, rownum rownum_ FROM (SELECT order_id, user_id, status FROM t_order ORDER BY order_id) row_ WHERE rownum <= 150) t WHERE t.rownum_ > 100");
+                break;
+            case "topAndRowNumber":
+                selectStatement = parse(shardingRule, DatabaseType.SQLServer, 
+                        "SELECT * FROM (SELECT TOP (150) row_number() OVER (ORDER BY order_id) AS rownum_, order_id, user_id, status FROM t_order) AS row_ WHERE row_.rownum_ > 100");
+                break;
+            default:
+                throw new UnsupportedOperationException(mergeType);
+        }
+        resultSets = createResultSets();
+    }
+    
+    private SelectStatement parse(final ShardingRule shardingRule, final DatabaseType databaseType, final String sql) {
+        return (SelectStatement) new SQLParsingEngine(databaseType, sql, shardingRule).parse();
+    }
+    
+    private List<ResultSet> createResultSets() {
+        List<ResultSet> result = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            SimpleResultSet resultSet = new SimpleResultSet();
+            resultSet.setAutoClose(false);
+            resultSet.addColumn("order_id", Types.INTEGER, 10, 0);
+            resultSet.addColumn("user_id", Types.INTEGER, 10, 0);
+            resultSet.addColumn("status", Types.VARCHAR, 45, 0);
+            resultSet.addColumn("orders_count", Types.BIGINT, 19, 0);
+            for (int row = 0; row < rowsPerShard; row++) {
+                resultSet.addRow(row * shardCount + shard, row / ROWS_PER_USER, "INIT", 1L);
+            }
+            result.add(resultSet);
+        }
+        return result;
+    }
+    
+    @Benchmark
+    public void merge(final Blackhole blackhole) throws SQLException {
+        for (ResultSet each : resultSets) {
+            each.beforeFirst();
+        }
+        ResultSetMerger resultSetMerger = new MergeEngine(resultSets, selectStatement).merge();
+        while (resultSetMerger.next()) {
+            blackhole.consume(resultSetMerger.getValue(1, Object.class));
+            blackhole.consume(resultSetMerger.getValue(2, Object.class));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.parsing;
+
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.lexer.LexerEngine;
+import io.shardingjdbc.core.parsing.lexer.LexerEngineFactory;
+import io.shardingjdbc.core.parsing.lexer.token.Assist;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexer benchmark for each database dialect.
+ * 
+ * <p>Run with {@code -prof gc} to compare allocation rate of lexer.</p>
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LexerBenchmark {
+    
+    private static final String SIMPLE_SQL = "SELECT order_id, user_id, status FROM t_order WHERE order_id = ?";
+    
+    private static final int REPORT_SQL_LENGTH = 4096;
+    
+    @Param({"MySQL", "Oracle", "PostgreSQL", "SQLServer"})
+    private DatabaseType databaseType;
+    
+    private String reportSQL;
+    
+    @Setup
+    public void setUp() {
+        reportSQL = createReportSQL();
+    }
+    
+    private String createReportSQL() {
+        StringBuilder result = new StringBuilder("SELECT /* report */ o.user_id");
+        int i = 0;
+        while (result.length() < REPORT_SQL_LENGTH) {
+            result.append(", SUM(CASE WHEN o.status = 'STATUS_").append(i).append("' THEN o.amount * 1.5 ELSE 0 END) AS amount_").append(i);
+            result.append(", COUNT(DISTINCT i.item_id) AS Items_Count_").append(i);
+            i++;
+        }
+        result.append(" FROM t_order o LEFT JOIN t_order_item i ON o.order_id = i.order_id -- join items\n");
+        result.append("WHERE o.user_id IN (?, ?, ?) AND o.create_time BETWEEN ? AND ? AND o.remark LIKE 'report%' ");
+        result.append("GROUP BY o.user_id HAVING COUNT(*) > 10 ORDER BY amount_0 DESC, o.user_id");
+        return result.toString();
+    }
+    
+    @Benchmark
+    public int lexSimpleSQL() {
+        return lex(SIMPLE_SQL);
+    }
+    
+    @Benchmark
+    public int lexReportSQL() {
+        return lex(reportSQL);
+    }
+    
+    private int lex(final String sql) {
+        LexerEngine lexerEngine = LexerEngineFactory.newInstance(databaseType, sql);
+        int result = 0;
+        do {
+            lexerEngine.nextToken();
+            result++;
+        } while (Assist.END != lexerEngine.getCurrentToken().getType());
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.benchmark.parsing;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRules;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.SQLParsingEngine;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.rule.ShardingRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL parsing benchmark for each database dialect.
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SQLParsingBenchmark {
+    
+    private static final String SIMPLE_SELECT_SQL = "SELECT order_id, user_id, status FROM t_order WHERE order_id = ?";
+    
+    private static final String JOIN_SELECT_SQL = "SELECT o.order_id, i.item_id, i.status FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id "
+            + "WHERE o.user_id = ? AND o.order_id IN (?, ?, ?) ORDER BY o.order_id DESC";
+    
+    private static final String AGGREGATION_SELECT_SQL = "SELECT user_id, COUNT(order_id) AS orders_count, MAX(order_id) FROM t_order "
+            + "WHERE user_id BETWEEN ? AND ? GROUP BY user_id ORDER BY orders_count DESC";
+    
+    private static final String INSERT_SQL = "INSERT INTO t_order (order_id, user_id, status) VALUES (?, ?, ?)";
+    
+    private static final String UPDATE_SQL = "UPDATE t_order SET status = ? WHERE order_id = ? AND user_id = ?";
+    
+    @Param({"MySQL", "Oracle", "PostgreSQL", "SQLServer"})
+    private DatabaseType databaseType;
+    
+    private ShardingRule shardingRule;
+    
+    @Setup
+    public void setUp() throws SQLException {
+        shardingRule = BenchmarkShardingRules.createShardingRule();
+    }
+    
+    @Benchmark
+    public SQLStatement parseSimpleSelect() {
+        return new SQLParsingEngine(databaseType, SIMPLE_SELECT_SQL, shardingRule).parse();
+    }
+    
+    @Benchmark
+    public SQLStatement parseJoinSelect() {
+        return new SQLParsingEngine(databaseType, JOIN_SELECT_SQL, shardingRule).parse();
+    }
+    
+    @Benchmark
+    public SQLStatement parseAggregationSelect() {
+        return new SQLParsingEngine(databaseType, AGGREGATION_SELECT_SQL, shardingRule).parse();
+    }
+    
+    @Benchmark
+    public SQLStatement parseInsert() {
+        return new SQLParsingEngine(databaseType, INSERT_SQL, shardingRule).parse();
+    }
+    
+    @Benchmark
+    public SQLStatement parseUpdate() {
+        return new SQLParsingEngine(databaseType, UPDATE_SQL, shardingRule).parse();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.benchmark.rewrite;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRules;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.SQLParsingEngine;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.token.SQLToken;
+import io.shardingjdbc.core.parsing.parser.token.TableToken;
+import io.shardingjdbc.core.rewrite.SQLBuilder;
+import io.shardingjdbc.core.rewrite.SQLRewriteEngine;
+import io.shardingjdbc.core.routing.type.TableUnit;
+import io.shardingjdbc.core.rule.ShardingRule;
+import com.google.common.base.Preconditions;
+import lombok.RequiredArgsConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL rewriting benchmark, comparing table token map substitution with compiled rewrite template.
+ * 
+ * <p>
+ * Table token map substitution is measured with a copy of linked segments builder before rewrite template is introduced.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SQLRewriteBenchmark {
+    
+    private static final String SQL = "SELECT o.order_id, o.user_id, o.status FROM t_order o WHERE o.status = ? AND o.order_id > ? ORDER BY o.order_id";
+    
+    @Param({"1", "16", "256"})
+    private int tableUnitsCount;
+    
+    private SQLRewriteEngine rewriteEngine;
+    
+    private SQLBuilder sqlBuilder;
+    
+    private LinkedSegmentsSQLBuilder linkedSegmentsSQLBuilder;
+    
+    private List<TableUnit> tableUnits;
+    
+    @Setup
+    public void setUp() throws SQLException {
+        ShardingRule shardingRule = BenchmarkShardingRules.createShardingRule();
+        SQLStatement sqlStatement = new SQLParsingEngine(DatabaseType.MySQL, SQL, shardingRule).parse();
+        rewriteEngine = new SQLRewriteEngine(shardingRule, SQL, DatabaseType.MySQL, sqlStatement);
+        sqlBuilder = rewriteEngine.rewrite(false);
+        linkedSegmentsSQLBuilder = createLinkedSegmentsSQLBuilder(sqlStatement);
+        tableUnits = new ArrayList<>(tableUnitsCount);
+        for (int i = 0; i < tableUnitsCount; i++) {
+            tableUnits.add(new TableUnit("ds_" + i % BenchmarkShardingRules.DATA_SOURCE_COUNT, "t_order", "t_order_" + i));
+        }
+    }
+    
+    // 基准SQL仅包含表标记
+    private LinkedSegmentsSQLBuilder createLinkedSegmentsSQLBuilder(final SQLStatement sqlStatement) {
+        LinkedSegmentsSQLBuilder result = new LinkedSegmentsSQLBuilder();
+        int position = 0;
+        for (SQLToken each : sqlStatement.getSqlTokens()) {
+            Preconditions.checkState(each instanceof TableToken, "Unsupported SQL token: %s", each);
+            TableToken tableToken = (TableToken) each;
+            result.appendLiterals(SQL.substring(position, tableToken.getBeginPosition()));
+            result.appendTable(tableToken.getTableName());
+            position = tableToken.getBeginPosition() + tableToken.getOriginalLiterals().length();
+        }
+        result.appendLiterals(SQL.substring(position));
+        return result;
+    }
+    
+    @Benchmark
+    public void rewriteWithTableTokenMap(final Blackhole blackhole) {
+        for (TableUnit each : tableUnits) {
+            Map<String, String> tableTokens = new HashMap<>();
+            tableTokens.put(each.getLogicTableName(), each.getActualTableName());
+            blackhole.consume(linkedSegmentsSQLBuilder.toSQL(tableTokens));
+        }
+    }
+    
+    @Benchmark
+    public void rewriteWithTemplate(final Blackhole blackhole) {
+        for (TableUnit each : tableUnits) {
+            blackhole.consume(rewriteEngine.generateSQL(each, sqlBuilder));
+        }
+    }
+    
+    @Benchmark
+    public void rewriteAndGenerate(final Blackhole blackhole) {
+        SQLBuilder builder = rewriteEngine.rewrite(false);
+        for (TableUnit each : tableUnits) {
+            blackhole.consume(rewriteEngine.generateSQL(each, builder));
+        }
+    }
+    
+    private static final class LinkedSegmentsSQLBuilder {
+        
+        private final List<Object> segments = new LinkedList<>();
+        
+        private StringBuilder currentSegment = new StringBuilder();
+        
+        LinkedSegmentsSQLBuilder() {
+            segments.add(currentSegment);
+        }
+        
+        void appendLiterals(final String literals) {
+            currentSegment.append(literals);
+        }
+        
+        void appendTable(final String tableName) {
+            segments.add(new LogicTableToken(tableName));
+            currentSegment = new StringBuilder();
+            segments.add(currentSegment);
+        }
+        
+        String toSQL(final Map<String, String> tableTokens) {
+            StringBuilder result = new StringBuilder();
+            for (Object each : segments) {
+                if (each instanceof LogicTableToken && tableTokens.containsKey(((LogicTableToken) each).tableName)) {
+                    result.append(tableTokens.get(((LogicTableToken) each).tableName));
+                } else {
+                    result.append(each);
+                }
+            }
+            return result.toString();
+        }
+    }
+    
+    @RequiredArgsConstructor
+    private static final class LogicTableToken {
+        
+        private final String tableName;
+        
+        @Override
+        public String toString() {
+            return tableName;
+        }
+    }
+}
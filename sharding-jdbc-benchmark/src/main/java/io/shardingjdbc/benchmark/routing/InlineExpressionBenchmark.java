@@ -0,0 +1,88 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.routing;
+
+import io.shardingjdbc.core.api.algorithm.sharding.PreciseShardingValue;
+import io.shardingjdbc.core.routing.strategy.inline.GroovyInlineExpressionEvaluator;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionCompiler;
+import io.shardingjdbc.core.routing.strategy.inline.InlineExpressionEvaluator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inline sharding expression benchmark, compare compiled evaluator with groovy closure.
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InlineExpressionBenchmark {
+    
+    private static final int SHARDING_VALUES_SIZE = 1024;
+    
+    @Param({"t_order_${order_id % 16}", "t_order_${order_id.hashCode() % 16}", "t_order_${(order_id + 1) % 16}"})
+    private String inlineExpression;
+    
+    private InlineExpressionEvaluator groovyEvaluator;
+    
+    private InlineExpressionEvaluator compiledEvaluator;
+    
+    private PreciseShardingValue[] shardingValues;
+    
+    private int index;
+    
+    @Setup
+    public void setUp() {
+        groovyEvaluator = new GroovyInlineExpressionEvaluator(inlineExpression);
+        compiledEvaluator = InlineExpressionCompiler.compile("order_id", inlineExpression).get();
+        shardingValues = new PreciseShardingValue[SHARDING_VALUES_SIZE];
+        for (int i = 0; i < SHARDING_VALUES_SIZE; i++) {
+            shardingValues[i] = new PreciseShardingValue<>("t_order", "order_id", 1000L + i * 7);
+        }
+    }
+    
+    @Benchmark
+    public String evaluateWithGroovy() {
+        return groovyEvaluator.evaluate(nextShardingValue());
+    }
+    
+    @Benchmark
+    public String evaluateCompiled() {
+        return compiledEvaluator.evaluate(nextShardingValue());
+    }
+    
+    private PreciseShardingValue nextShardingValue() {
+        index = (index + 1) & (SHARDING_VALUES_SIZE - 1);
+        return shardingValues[index];
+    }
+}
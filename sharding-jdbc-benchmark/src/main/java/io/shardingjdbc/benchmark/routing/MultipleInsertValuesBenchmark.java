@@ -0,0 +1,158 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.routing;
+
+import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.InlineShardingStrategyConfiguration;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.routing.router.ParsingSQLRouter;
+import io.shardingjdbc.core.rule.ShardingRule;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.tracing.NoopTracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multiple values insert benchmark, routing and rewriting each values row to one of 16 shards.
+ * 
+ * <p>
+ * Four data sources ds_0..3 sharded by user_id % 4, each holding t_order_0..3 sharded by order_id % 4, 
+ * and t_order_item_0..3 sharded by item_id % 4 with item_id generated.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultipleInsertValuesBenchmark {
+    
+    private static final int DATA_SOURCE_COUNT = 4;
+    
+    private static final int TABLE_COUNT_PER_DATA_SOURCE = 4;
+    
+    @Param("1000")
+    private int rows;
+    
+    private ShardingContext shardingContext;
+    
+    private String orderSQL;
+    
+    private SQLStatement orderStatement;
+    
+    private List<Object> orderParameters;
+    
+    private String orderItemSQL;
+    
+    private SQLStatement orderItemStatement;
+    
+    private List<Object> orderItemParameters;
+    
+    @Setup
+    public void setUp() throws SQLException {
+        shardingContext = new ShardingContext(createShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(new Properties()), new MetricsRegistry(), new NoopTracer());
+        ParsingSQLRouter router = new ParsingSQLRouter(shardingContext);
+        orderSQL = createInsertSQL("INSERT INTO t_order (order_id, user_id, status) VALUES ", "(?, ?, ?)");
+        orderItemSQL = createInsertSQL("INSERT INTO t_order_item (order_id, user_id, status) VALUES ", "(?, ?, ?)");
+        orderParameters = new ArrayList<>(rows * 3);
+        orderItemParameters = new ArrayList<>(rows * 3);
+        for (int i = 0; i < rows; i++) {
+            addRowParameters(orderParameters, i, i / TABLE_COUNT_PER_DATA_SOURCE);
+            addRowParameters(orderItemParameters, i, i / TABLE_COUNT_PER_DATA_SOURCE);
+        }
+        orderStatement = router.parse(orderSQL, orderParameters.size());
+        orderItemStatement = router.parse(orderItemSQL, orderItemParameters.size());
+    }
+    
+    private ShardingRule createShardingRule() throws SQLException {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfiguration("t_order", "order_id"));
+        TableRuleConfiguration orderItemTableRuleConfig = createTableRuleConfiguration("t_order_item", "item_id");
+        orderItemTableRuleConfig.setKeyGeneratorColumnName("item_id");
+        shardingRuleConfig.getTableRuleConfigs().add(orderItemTableRuleConfig);
+        shardingRuleConfig.setDefaultDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", "ds_${user_id % " + DATA_SOURCE_COUNT + "}"));
+        Map<String, DataSource> dataSourceMap = new HashMap<>(DATA_SOURCE_COUNT, 1);
+        for (int i = 0; i < DATA_SOURCE_COUNT; i++) {
+            dataSourceMap.put("ds_" + i, null);
+        }
+        return shardingRuleConfig.build(dataSourceMap);
+    }
+    
+    private TableRuleConfiguration createTableRuleConfiguration(final String logicTable, final String shardingColumn) {
+        TableRuleConfiguration result = new TableRuleConfiguration();
+        result.setLogicTable(logicTable);
+        result.setActualDataNodes(String.format("ds_${0..%d}.%s_${0..%d}", DATA_SOURCE_COUNT - 1, logicTable, TABLE_COUNT_PER_DATA_SOURCE - 1));
+        result.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration(shardingColumn, logicTable + "_${" + shardingColumn + " % " + TABLE_COUNT_PER_DATA_SOURCE + "}"));
+        return result;
+    }
+    
+    private String createInsertSQL(final String prefix, final String values) {
+        StringBuilder result = new StringBuilder(prefix);
+        for (int i = 0; i < rows; i++) {
+            if (0 != i) {
+                result.append(", ");
+            }
+            result.append(values);
+        }
+        return result.toString();
+    }
+    
+    // 用户号按表数量错开, 使连续的行均匀分布到全部16个分片
+    private void addRowParameters(final List<Object> parameters, final int orderId, final int userId) {
+        parameters.add(orderId);
+        parameters.add(userId);
+        parameters.add("INIT");
+    }
+    
+    // 路由器按语句创建并累积生成的主键, 每次插入使用新的路由器
+    @Benchmark
+    public SQLRouteResult routeMultipleInsertValues() {
+        return new ParsingSQLRouter(shardingContext).route(orderSQL, new ArrayList<>(orderParameters), orderStatement);
+    }
+    
+    @Benchmark
+    public SQLRouteResult routeMultipleInsertValuesWithGeneratedKeys() {
+        return new ParsingSQLRouter(shardingContext).route(orderItemSQL, new ArrayList<>(orderItemParameters), orderItemStatement);
+    }
+}
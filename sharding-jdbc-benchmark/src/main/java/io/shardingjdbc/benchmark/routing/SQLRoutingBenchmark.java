@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.benchmark.routing;
+
+import io.shardingjdbc.benchmark.fixture.BenchmarkShardingRules;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.routing.router.ParsingSQLRouter;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.tracing.NoopTracer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL routing and rewriting benchmark, with parsed SQL statements prepared in advance.
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SQLRoutingBenchmark {
+    
+    private static final String SINGLE_SHARD_SQL = "SELECT order_id, user_id, status FROM t_order WHERE user_id = ? AND order_id = ?";
+    
+    private static final String FULL_ROUTE_SQL = "SELECT order_id, user_id, status FROM t_order WHERE status = ?";
+    
+    private static final String BINDING_TABLES_SQL = "SELECT o.order_id, i.item_id FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id WHERE o.user_id = ? AND o.order_id IN (?, ?)";
+    
+    private static final String CARTESIAN_SQL = "SELECT o.order_id, i.item_id FROM t_order o, t_order_item i WHERE o.user_id = i.user_id AND o.order_id = ? AND i.order_id = ?";
+    
+    @Param({"0", "1024"})
+    private int routeCacheSize;
+    
+    private ParsingSQLRouter router;
+    
+    private SQLStatement singleShardStatement;
+    
+    private SQLStatement fullRouteStatement;
+    
+    private SQLStatement bindingTablesStatement;
+    
+    private SQLStatement cartesianStatement;
+    
+    @Setup
+    public void setUp() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTE_CACHE_SIZE.getKey(), String.valueOf(routeCacheSize));
+        router = new ParsingSQLRouter(new ShardingContext(
+                BenchmarkShardingRules.createShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(props), new MetricsRegistry(), new NoopTracer()));
+        singleShardStatement = router.parse(SINGLE_SHARD_SQL, 2);
+        fullRouteStatement = router.parse(FULL_ROUTE_SQL, 1);
+        bindingTablesStatement = router.parse(BINDING_TABLES_SQL, 3);
+        cartesianStatement = router.parse(CARTESIAN_SQL, 2);
+    }
+    
+    @Benchmark
+    public SQLRouteResult routeSingleShard() {
+        return router.route(SINGLE_SHARD_SQL, createParameters(10, 1001), singleShardStatement);
+    }
+    
+    @Benchmark
+    public SQLRouteResult routeFullRoute() {
+        return router.route(FULL_ROUTE_SQL, createParameters("INIT"), fullRouteStatement);
+    }
+    
+    @Benchmark
+    public SQLRouteResult routeBindingTables() {
+        return router.route(BINDING_TABLES_SQL, createParameters(10, 1000, 1001), bindingTablesStatement);
+    }
+    
+    @Benchmark
+    public SQLRouteResult routeCartesian() {
+        return router.route(CARTESIAN_SQL, createParameters(1000, 1001), cartesianStatement);
+    }
+    
+    private List<Object> createParameters(final Object... parameters) {
+        return new ArrayList<>(Arrays.asList(parameters));
+    }
+}
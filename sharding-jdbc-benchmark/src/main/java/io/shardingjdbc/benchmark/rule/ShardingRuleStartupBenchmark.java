@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.benchmark.rule;
+
+import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.InlineShardingStrategyConfiguration;
+import io.shardingjdbc.core.rule.ShardingRule;
+import io.shardingjdbc.core.util.InlineExpressionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sharding rule startup benchmark, for large actual data nodes expansion.
+ * 
+ * @author zhangliang
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShardingRuleStartupBenchmark {
+    
+    private static final int DATA_SOURCE_COUNT = 64;
+    
+    @Param({"8", "32"})
+    private int logicTableCount;
+    
+    @Param({"16", "256"})
+    private int tableCountPerDataSource;
+    
+    private Map<String, DataSource> dataSourceMap;
+    
+    private String actualDataNodes;
+    
+    @Setup
+    public void setUp() {
+        dataSourceMap = new HashMap<>(DATA_SOURCE_COUNT, 1);
+        for (int i = 0; i < DATA_SOURCE_COUNT; i++) {
+            dataSourceMap.put("ds_" + i, null);
+        }
+        actualDataNodes = createActualDataNodes("t_order");
+    }
+    
+    private String createActualDataNodes(final String logicTable) {
+        return String.format("ds_${0..%d}.%s_${0..%d}", DATA_SOURCE_COUNT - 1, logicTable, tableCountPerDataSource - 1);
+    }
+    
+    @Benchmark
+    public List<String> expandActualDataNodes() {
+        return new InlineExpressionParser(actualDataNodes).evaluate();
+    }
+    
+    @Benchmark
+    public ShardingRule buildShardingRule() throws SQLException {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        for (int i = 0; i < logicTableCount; i++) {
+            TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+            String logicTable = "t_order_" + i;
+            tableRuleConfig.setLogicTable(logicTable);
+            tableRuleConfig.setActualDataNodes(createActualDataNodes(logicTable));
+            tableRuleConfig.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration("order_id", logicTable + "_${order_id % " + tableCountPerDataSource + "}"));
+            shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
+        }
+        shardingRuleConfig.setDefaultDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", "ds_${user_id % " + DATA_SOURCE_COUNT + "}"));
+        return shardingRuleConfig.build(dataSourceMap);
+    }
+}
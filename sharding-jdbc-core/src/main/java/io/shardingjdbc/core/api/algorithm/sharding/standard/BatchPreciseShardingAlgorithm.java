@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.api.algorithm.sharding.standard;
+
+import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 批量的精确分片算法
+ * 
+ * <p>Receive all values of {@code =} and {@code IN} at once, instead of being called once per value.</p>
+ * 
+ * @author zhangliang
+ * 
+ * @param <T> class type of sharding value
+ */
+public interface BatchPreciseShardingAlgorithm<T extends Comparable<?>> extends PreciseShardingAlgorithm<T> {
+    
+    /**
+     * 批量分片
+     * 
+     * @param availableTargetNames available data sources or tables's names
+     * @param shardingValue sharding values
+     * @return map of sharding value and its data source or table's name
+     */
+    Map<T, String> doSharding(Collection<String> availableTargetNames, ListShardingValue<T> shardingValue);
+}
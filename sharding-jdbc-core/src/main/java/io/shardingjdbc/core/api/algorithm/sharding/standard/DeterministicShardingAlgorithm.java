@@ -0,0 +1,31 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.api.algorithm.sharding.standard;
+
+/**
+ * 确定性的精确分片算法
+ * 
+ * <p>
+ * Result of precise sharding algorithm which implements this interface only depends on available target names, logic table name and sharding value, 
+ * so it can be memoized in a bounded cache.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public interface DeterministicShardingAlgorithm {
+}
@@ -47,7 +47,152 @@ public enum ShardingPropertiesConstant {
      * 一个分片的数据源将使用独立的线程池，甚至同一个JVM的不同数据源都不共享线程池
      * 默认：和CPU核数相同
      */
-    EXECUTOR_SIZE("executor.size", String.valueOf(Runtime.getRuntime().availableProcessors()), int.class);
+    EXECUTOR_SIZE("executor.size", String.valueOf(Runtime.getRuntime().availableProcessors()), int.class),
+    
+    /**
+     * worker线程池类型
+     *
+     * FIXED: 固定大小线程池，任务队列无界
+     * BOUNDED_CALLER_RUNS: 固定大小线程池，任务队列有界，队列满时由提交任务的线程执行
+     * BOUNDED_FAIL_FAST: 固定大小线程池，任务队列有界，队列满时立即拒绝执行，已开始执行的分片不会回滚，DML语句需在事务中使用
+     * WORK_STEALING: 工作窃取线程池
+     * VIRTUAL_THREAD: 每个任务使用一个虚拟线程，JDK不支持虚拟线程时使用FIXED
+     * 默认：FIXED
+     */
+    EXECUTOR_TYPE("executor.type", "FIXED", String.class),
+    
+    /**
+     * worker线程池任务队列大小
+     *
+     * 仅对有界队列的线程池类型生效
+     * 默认：1024
+     */
+    EXECUTOR_QUEUE_SIZE("executor.queue.size", "1024", int.class),
+    
+    /**
+     * SQL解析结果缓存最大条数
+     *
+     * 缓存的Key为逻辑SQL和数据库类型，同一个分片数据源的所有连接和Statement共享缓存
+     * 超过最大条数时按最近最少使用淘汰，设置为0表示不缓存
+     * 默认：1024
+     */
+    PARSING_CACHE_SIZE("parsing.cache.size", "1024", int.class),
+    
+    /**
+     * SQL路由结果缓存最大条数
+     *
+     * 缓存的Key为逻辑SQL和分片键的值，只缓存路由结果仅依赖分片条件的SQL，如不含分页和自动生成主键的SQL
+     * 分片算法的结果必须仅依赖分片键的值，重新设置分片规则时缓存失效
+     * 默认：0，表示不缓存
+     */
+    ROUTE_CACHE_SIZE("route.cache.size", "0", int.class),
+    
+    /**
+     * 每次查询在每个数据源上最多使用的连接数
+     *
+     * 路由到同一数据源的多个执行单元按连接分组，同一连接的执行单元在一个任务中顺序执行，不同连接的执行单元并行执行
+     * 仅在自动提交模式下才会为同一数据源获取多个连接，事务中始终使用同一连接
+     * 额外的连接缓存在分片连接中直至关闭，数据库连接池容量需大于并发分片连接数与该值的乘积
+     * 默认：1，表示同一数据源的执行单元共用一个连接
+     */
+    MAX_CONNECTIONS_SIZE_PER_QUERY("max.connections.size.per.query", "1", int.class),
+    
+    /**
+     * 是否将路由到同一数据源的多个真实表合并为一条UNION ALL语句执行
+     *
+     * 仅对不含分组，聚合，排序，分页和子查询的查询语句生效，每个UNION ALL分支重复使用逻辑SQL的参数
+     * 可减少宽表分片查询的数据库交互和Statement创建，加锁查询(如FOR UPDATE)和设置了流参数的查询不改写
+     * 默认：false
+     */
+    SQL_UNION_ALL_REWRITE("sql.union.all.rewrite", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * 内存分组归并时内存中最多保留的分组数
+     *
+     * 仅对分组项与排序项不一致的查询生效，超过该值时将已排序的部分聚合结果以Java序列化溢写至临时文件，最终通过外部归并排序输出
+     * 该值按分组行数而非实际占用的内存计算，需根据单行大小估算
+     * 小于等于0表示不溢写，全部分组在内存中归并
+     * 默认：0
+     */
+    GROUP_BY_MEMORY_MAX_ROWS("group.by.memory.max.rows", "0", int.class),
+    
+    /**
+     * 是否在执行批量时才统一路由批量添加的参数
+     *
+     * 开启后addBatch仅缓存参数，executeBatch时批量路由全部参数，按执行单元分组后依次绑定至各真实PreparedStatement
+     * 路由异常将在executeBatch时抛出
+     * 默认：false，每次addBatch时路由并绑定参数
+     */
+    BATCH_DEFERRED_ROUTING("batch.deferred.routing", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * 批量执行时每个数据源自动提交的最大行数
+     *
+     * 路由到同一数据源的未执行批量行数达到该值时，在任务执行引擎中异步执行该数据源的子批量，调用方可继续添加批量
+     * 已自动执行的参数不再保留在内存中，executeBatch等待全部子批量执行结束并返回与addBatch顺序一致的结果
+     * 仅对未开启batch.deferred.routing的批量生效，小于等于0表示不限制
+     * 默认：0
+     */
+    BATCH_FLUSH_ROWS("batch.flush.rows", "0", int.class),
+    
+    /**
+     * 批量执行时每个数据源自动提交的最大参数估算字节数
+     *
+     * 与batch.flush.rows任一达到即自动执行该数据源的子批量，字节数按参数类型估算
+     * 小于等于0表示不限制
+     * 默认：0
+     */
+    BATCH_FLUSH_BYTES("batch.flush.bytes", "0", long.class),
+    
+    /**
+     * 是否开启执行指标统计
+     *
+     * 按解析，路由，改写，获取连接，执行和归并阶段统计耗时分布，并按数据源和逻辑表细分
+     * 同时统计执行的并行度和线程池队列深度，可通过JMX(io.shardingjdbc:type=ShardingMetrics)查看和重置，也可运行时开关
+     * 默认：false
+     */
+    METRICS_ENABLE("metrics.enable", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * 执行指标上报器类名
+     *
+     * 多个类名以逗号分隔，类需实现io.shardingjdbc.core.metrics.MetricsReporter并提供无参构造方法
+     * 内置io.shardingjdbc.core.metrics.Slf4jMetricsReporter将指标输出至日志主题Sharding-JDBC-Metrics
+     * 默认：空，表示不上报
+     */
+    METRICS_REPORTER_CLASS("metrics.reporter.class", "", String.class),
+    
+    /**
+     * 执行指标上报间隔秒数
+     *
+     * 默认：60
+     */
+    METRICS_REPORT_INTERVAL_SECONDS("metrics.report.interval.seconds", "60", int.class),
+    
+    /**
+     * 链路追踪器类名
+     *
+     * 类需实现io.shardingjdbc.core.tracing.Tracer并提供无参构造方法，每条逻辑SQL生成一个Span，每个SQL执行单元生成一个子Span
+     * 内置io.shardingjdbc.core.tracing.RecordingTracer在进程内记录已结束的Span
+     * 默认：空，表示不追踪
+     */
+    TRACER_CLASS("tracer.class", "", String.class),
+    
+    /**
+     * 慢查询阈值毫秒数
+     *
+     * 逻辑SQL从路由到归并结束的耗时超过阈值时，在后台线程输出一条包含路由结果、各执行单元耗时和行数、归并方式和耗时的日志至日志主题Sharding-JDBC-SlowSQL
+     * 默认：0，表示不记录慢查询
+     */
+    SLOW_QUERY_THRESHOLD_MILLISECONDS("slow.query.threshold.milliseconds", "0", long.class),
+    
+    /**
+     * 慢查询日志的采样间隔
+     *
+     * 开启慢查询日志时，未超过阈值的逻辑SQL每间隔条数记录一条，用于对比正常查询的耗时分布
+     * 默认：0，表示不采样
+     */
+    SLOW_QUERY_SAMPLING_INTERVAL("slow.query.sampling.interval", "0", int.class);
     
     private final String key;
     
@@ -17,39 +17,51 @@
 
 package io.shardingjdbc.core.executor;
 
-import com.google.common.collect.Lists;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.exception.ShardingJdbcException;
 import io.shardingjdbc.core.executor.event.AbstractExecutionEvent;
 import io.shardingjdbc.core.executor.event.DMLExecutionEvent;
 import io.shardingjdbc.core.executor.event.DQLExecutionEvent;
 import io.shardingjdbc.core.executor.event.EventExecutionType;
+import io.shardingjdbc.core.executor.event.ExecutionEventBus;
 import io.shardingjdbc.core.executor.event.OverallExecutionEvent;
 import io.shardingjdbc.core.executor.threadlocal.ExecutorDataMap;
 import io.shardingjdbc.core.executor.threadlocal.ExecutorExceptionHandler;
 import io.shardingjdbc.core.executor.type.batch.BatchPreparedStatementUnit;
 import io.shardingjdbc.core.executor.type.prepared.PreparedStatementUnit;
 import io.shardingjdbc.core.executor.type.statement.StatementUnit;
-import io.shardingjdbc.core.util.EventBusInstance;
+import io.shardingjdbc.core.metrics.MetricsPhase;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.tracing.ShardingTags;
+import io.shardingjdbc.core.tracing.Span;
+import io.shardingjdbc.core.tracing.TracingContext;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SQL执行引擎
@@ -60,14 +72,84 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public final class ExecutorEngine implements AutoCloseable {
     
+    @Getter
+    private final ExecutorType executorType;
+    
+    @Getter
+    private final int queueSize;
+    
+    private final ExecutorService originalExecutorService;
+    
     private final ListeningExecutorService executorService;
     
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+    
+    private final MetricsRegistry metricsRegistry;
+    
     public ExecutorEngine(final int executorSize) {
-        executorService = MoreExecutors.listeningDecorator(new ThreadPoolExecutor(
-                executorSize, executorSize, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-%d").build()));
+        this(ExecutorType.FIXED, executorSize, 0);
+    }
+    
+    public ExecutorEngine(final ExecutorType executorType, final int executorSize, final int queueSize) {
+        this(executorType, executorSize, queueSize, new MetricsRegistry());
+    }
+    
+    public ExecutorEngine(final ExecutorType executorType, final int executorSize, final int queueSize, final MetricsRegistry metricsRegistry) {
+        this.executorType = executorType;
+        this.metricsRegistry = metricsRegistry;
+        this.queueSize = queueSize;
+        originalExecutorService = executorType.createExecutorService(executorSize, queueSize, rejectedTaskCount);
+        executorService = MoreExecutors.listeningDecorator(originalExecutorService);
         MoreExecutors.addDelayedShutdownHook(executorService, 60, TimeUnit.SECONDS);
     }
     
+    /**
+     * Get count of tasks waiting in queue.
+     * 
+     * @return count of tasks waiting in queue
+     */
+    public long getQueuedTaskCount() {
+        if (originalExecutorService instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor) originalExecutorService).getQueue().size();
+        }
+        if (originalExecutorService instanceof ForkJoinPool) {
+            return ((ForkJoinPool) originalExecutorService).getQueuedSubmissionCount() + ((ForkJoinPool) originalExecutorService).getQueuedTaskCount();
+        }
+        return 0L;
+    }
+    
+    /**
+     * Get count of tasks rejected because of queue full.
+     * 
+     * <p>Tasks run by caller thread are also counted.</p>
+     * 
+     * @return count of rejected tasks
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount.get();
+    }
+    
+    /**
+     * Resize executor without rebuilding it.
+     * 
+     * @param executorSize new executor size
+     * @return resized or not, executor should be rebuilt if not resized
+     */
+    public boolean resize(final int executorSize) {
+        if (!(originalExecutorService instanceof ThreadPoolExecutor)) {
+            return false;
+        }
+        ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) originalExecutorService;
+        if (executorSize > threadPoolExecutor.getMaximumPoolSize()) {
+            threadPoolExecutor.setMaximumPoolSize(executorSize);
+            threadPoolExecutor.setCorePoolSize(executorSize);
+        } else {
+            threadPoolExecutor.setCorePoolSize(executorSize);
+            threadPoolExecutor.setMaximumPoolSize(executorSize);
+        }
+        return true;
+    }
+    
     /**
      * Execute statement.
      *
@@ -98,6 +180,24 @@ public final class ExecutorEngine implements AutoCloseable {
         return execute(sqlType, preparedStatementUnits, Collections.singletonList(parameters), executeCallback);
     }
     
+    /**
+     * Execute prepared statement asynchronously.
+     * 
+     * <p>All statement units are executed in executor threads, the calling thread is not blocked.</p>
+     *
+     * @param sqlType SQL type
+     * @param preparedStatementUnits prepared statement execute unit
+     * @param parameters parameters for SQL placeholder
+     * @param executeCallback prepared statement execute callback
+     * @param <T> class type of return value
+     * @return future of execute result
+     * @throws SQLException SQL exception
+     */
+    public <T> ListenableFuture<List<T>> executePreparedStatementAsync(
+            final SQLType sqlType, final Collection<PreparedStatementUnit> preparedStatementUnits, final List<Object> parameters, final ExecuteCallback<T> executeCallback) throws SQLException {
+        return executeAsync(sqlType, preparedStatementUnits, Collections.singletonList(parameters), executeCallback);
+    }
+    
     /**
      * Execute add batch.
      *
@@ -114,92 +214,307 @@ public final class ExecutorEngine implements AutoCloseable {
         return execute(sqlType, batchPreparedStatementUnits, parameterSets, executeCallback);
     }
     
+    /**
+     * Execute add batch asynchronously.
+     * 
+     * <p>All statement units are executed in executor threads, the calling thread is not blocked.</p>
+     *
+     * @param sqlType SQL type
+     * @param batchPreparedStatementUnits prepared statement execute unit for batch
+     * @param parameterSets parameters for SQL placeholder
+     * @param executeCallback prepared statement execute callback
+     * @return future of execute result
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<List<int[]>> executeBatchAsync(
+            final SQLType sqlType, final Collection<BatchPreparedStatementUnit> batchPreparedStatementUnits, 
+            final List<List<Object>> parameterSets, final ExecuteCallback<int[]> executeCallback) throws SQLException {
+        return executeAsync(sqlType, batchPreparedStatementUnits, parameterSets, executeCallback);
+    }
+    
     private  <T> List<T> execute(
             final SQLType sqlType, final Collection<? extends BaseStatementUnit> baseStatementUnits, 
             final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws SQLException {
         if (baseStatementUnits.isEmpty()) {
             return Collections.emptyList();
         }
-        OverallExecutionEvent event = new OverallExecutionEvent(sqlType, baseStatementUnits.size());
-        EventBusInstance.getInstance().post(event);
-        Iterator<? extends BaseStatementUnit> iterator = baseStatementUnits.iterator();
-        BaseStatementUnit firstInput = iterator.next();
-        ListenableFuture<List<T>> restFutures = asyncExecute(sqlType, Lists.newArrayList(iterator), parameterSets, executeCallback);
-        T firstOutput;
-        List<T> restOutputs;
+        // 无订阅者时不创建事件
+        OverallExecutionEvent event = ExecutionEventBus.hasSubscriber(OverallExecutionEvent.class) ? new OverallExecutionEvent(sqlType, baseStatementUnits.size()) : null;
+        postEvent(event, EventExecutionType.BEFORE_EXECUTE, null);
+        long startTime = metricsRegistry.start();
+        List<BaseStatementUnit> statementUnits = new ArrayList<>(baseStatementUnits);
+        List<List<Integer>> inputGroups = new ArrayList<>(groupByConnection(statementUnits));
+        List<Integer> firstInputs = inputGroups.get(0);
+        List<T> firstOutputs;
+        List<List<T>> restOutputs;
         try {
-            firstOutput = syncExecute(sqlType, firstInput, parameterSets, executeCallback);
+            // 有界队列的线程池在队列满时会拒绝提交
+            ListenableFuture<List<List<T>>> restFutures = asyncExecute(sqlType, statementUnits, inputGroups.subList(1, inputGroups.size()), parameterSets, executeCallback);
+            recordExecution(inputGroups.size());
+            firstOutputs = syncExecute(sqlType, statementUnits, firstInputs, parameterSets, executeCallback);
             restOutputs = restFutures.get();
             //CHECKSTYLE:OFF
         } catch (final Exception ex) {
             //CHECKSTYLE:ON
-            event.setException(ex);
-            event.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
-            EventBusInstance.getInstance().post(event);
+            postEvent(event, EventExecutionType.EXECUTE_FAILURE, ex);
+            TracingContext.setError(ex);
             ExecutorExceptionHandler.handleException(ex);
             return null;
         }
-        event.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
-        EventBusInstance.getInstance().post(event);
-        List<T> result = Lists.newLinkedList(restOutputs);
-        result.add(0, firstOutput);
-        return result;
+        postEvent(event, EventExecutionType.EXECUTE_SUCCESS, null);
+        metricsRegistry.record(MetricsPhase.EXECUTE, startTime);
+        List<List<T>> outputGroups = new ArrayList<>(restOutputs.size() + 1);
+        outputGroups.add(firstOutputs);
+        outputGroups.addAll(restOutputs);
+        return getOutputs(statementUnits.size(), inputGroups, outputGroups);
     }
     
-    private <T> ListenableFuture<List<T>> asyncExecute(
-            final SQLType sqlType, final Collection<BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) {
-        List<ListenableFuture<T>> result = new ArrayList<>(baseStatementUnits.size());
-        final boolean isExceptionThrown = ExecutorExceptionHandler.isExceptionThrown();
-        final Map<String, Object> dataMap = ExecutorDataMap.getDataMap();
-        for (final BaseStatementUnit each : baseStatementUnits) {
-            result.add(executorService.submit(new Callable<T>() {
+    private <T> ListenableFuture<List<T>> executeAsync(
+            final SQLType sqlType, final Collection<? extends BaseStatementUnit> baseStatementUnits, 
+            final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws SQLException {
+        if (baseStatementUnits.isEmpty()) {
+            return Futures.immediateFuture(Collections.<T>emptyList());
+        }
+        final OverallExecutionEvent event = ExecutionEventBus.hasSubscriber(OverallExecutionEvent.class) ? new OverallExecutionEvent(sqlType, baseStatementUnits.size()) : null;
+        postEvent(event, EventExecutionType.BEFORE_EXECUTE, null);
+        final long startTime = metricsRegistry.start();
+        final List<BaseStatementUnit> statementUnits = new ArrayList<>(baseStatementUnits);
+        final List<List<Integer>> inputGroups = new ArrayList<>(groupByConnection(statementUnits));
+        ListenableFuture<List<List<T>>> futures = asyncExecute(sqlType, statementUnits, inputGroups, parameterSets, executeCallback);
+        recordExecution(inputGroups.size());
+        if (0L != startTime) {
+            futures.addListener(new Runnable() {
                 
                 @Override
-                public T call() throws Exception {
-                    return executeInternal(sqlType, each, parameterSets, executeCallback, isExceptionThrown, dataMap);
+                public void run() {
+                    metricsRegistry.record(MetricsPhase.EXECUTE, startTime);
                 }
-            }));
+            }, MoreExecutors.directExecutor());
         }
-        return Futures.allAsList(result);
+        if (null != event) {
+            Futures.addCallback(futures, new FutureCallback<List<List<T>>>() {
+                
+                @Override
+                public void onSuccess(final List<List<T>> result) {
+                    postEvent(event, EventExecutionType.EXECUTE_SUCCESS, null);
+                }
+                
+                @Override
+                public void onFailure(final Throwable throwable) {
+                    postEvent(event, EventExecutionType.EXECUTE_FAILURE, throwable instanceof Exception ? (Exception) throwable : new ExecutionException(throwable));
+                }
+            });
+        }
+        return Futures.transform(futures, new Function<List<List<T>>, List<T>>() {
+            
+            @Override
+            public List<T> apply(final List<List<T>> input) {
+                return getOutputs(statementUnits.size(), inputGroups, input);
+            }
+        });
     }
     
-    private <T> T syncExecute(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws Exception {
-        return executeInternal(sqlType, baseStatementUnit, parameterSets, executeCallback, ExecutorExceptionHandler.isExceptionThrown(), ExecutorDataMap.getDataMap());
+    private void recordExecution(final int fanOut) {
+        if (metricsRegistry.isEnabled()) {
+            metricsRegistry.recordExecution(fanOut, getQueuedTaskCount());
+        }
     }
     
-    private <T> T executeInternal(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, 
-                          final boolean isExceptionThrown, final Map<String, Object> dataMap) throws Exception {
-        synchronized (baseStatementUnit.getStatement().getConnection()) {
-            T result;
-            ExecutorExceptionHandler.setExceptionThrown(isExceptionThrown);
-            ExecutorDataMap.setDataMap(dataMap);
-            List<AbstractExecutionEvent> events = new LinkedList<>();
-            if (parameterSets.isEmpty()) {
-                events.add(getExecutionEvent(sqlType, baseStatementUnit, Collections.emptyList()));
+    private <T> List<T> getOutputs(final int size, final List<List<Integer>> inputGroups, final List<List<T>> outputGroups) {
+        List<T> result = new ArrayList<>(Collections.<T>nCopies(size, null));
+        for (int i = 0; i < inputGroups.size(); i++) {
+            Iterator<T> outputs = outputGroups.get(i).iterator();
+            for (int each : inputGroups.get(i)) {
+                result.set(each, outputs.next());
             }
-            for (List<Object> each : parameterSets) {
-                events.add(getExecutionEvent(sqlType, baseStatementUnit, each));
+        }
+        return result;
+    }
+    
+    // 同一连接的执行单元在一个任务中顺序执行，不同连接的执行单元并行执行，连接不会被多个线程同时使用
+    private Collection<List<Integer>> groupByConnection(final List<BaseStatementUnit> statementUnits) throws SQLException {
+        Map<Connection, List<Integer>> connectionGroups = new IdentityHashMap<>(statementUnits.size());
+        Collection<List<Integer>> result = new LinkedList<>();
+        for (int i = 0; i < statementUnits.size(); i++) {
+            Connection connection = statementUnits.get(i).getStatement().getConnection();
+            List<Integer> group = null == connection ? null : connectionGroups.get(connection);
+            if (null == group) {
+                group = new LinkedList<>();
+                result.add(group);
+                if (null != connection) {
+                    connectionGroups.put(connection, group);
+                }
             }
-            for (AbstractExecutionEvent event : events) {
-                EventBusInstance.getInstance().post(event);
+            group.add(i);
+        }
+        return result;
+    }
+    
+    private <T> ListenableFuture<List<List<T>>> asyncExecute(final SQLType sqlType, final List<BaseStatementUnit> statementUnits, 
+                                                             final Collection<List<Integer>> inputGroups, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) {
+        List<ListenableFuture<List<T>>> result = new ArrayList<>(inputGroups.size());
+        final boolean isExceptionThrown = ExecutorExceptionHandler.isExceptionThrown();
+        final Map<String, Object> dataMap = ExecutorDataMap.getDataMap();
+        final TracingContext tracingContext = TracingContext.get();
+        for (final List<Integer> each : inputGroups) {
+            try {
+                result.add(executorService.submit(new Callable<List<T>>() {
+                    
+                    @Override
+                    public List<T> call() throws Exception {
+                        return executeGroup(sqlType, statementUnits, each, parameterSets, executeCallback, isExceptionThrown, dataMap, tracingContext);
+                    }
+                }));
+            } catch (final RejectedExecutionException ex) {
+                cancelOrAwait(result, ex);
+                throw ex;
             }
+        }
+        return Futures.allAsList(result);
+    }
+    
+    // 提交被拒绝时先取消全部尚未开始的任务并清出队列, 再等待已开始的任务结束后抛出异常, 已开始的执行单元无法撤销
+    private <T> void cancelOrAwait(final List<ListenableFuture<List<T>>> submittedFutures, final RejectedExecutionException rejectedException) {
+        List<ListenableFuture<List<T>>> startedFutures = new LinkedList<>();
+        for (ListenableFuture<List<T>> each : submittedFutures) {
+            if (!each.cancel(false)) {
+                startedFutures.add(each);
+            }
+        }
+        if (originalExecutorService instanceof ThreadPoolExecutor) {
+            ((ThreadPoolExecutor) originalExecutorService).purge();
+        }
+        for (ListenableFuture<List<T>> each : startedFutures) {
             try {
-                result = executeCallback.execute(baseStatementUnit);
-            } catch (final SQLException ex) {
-                for (AbstractExecutionEvent each : events) {
-                    each.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
-                    each.setException(ex);
-                    EventBusInstance.getInstance().post(each);
-                    ExecutorExceptionHandler.handleException(ex);
-                }
-                return null;
+                each.get();
+            } catch (final ExecutionException ex) {
+                rejectedException.addSuppressed(ex.getCause());
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
             }
+        }
+    }
+    
+    private <T> List<T> syncExecute(final SQLType sqlType, final List<BaseStatementUnit> statementUnits, 
+                                    final List<Integer> inputs, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws Exception {
+        return executeGroup(sqlType, statementUnits, inputs, parameterSets, executeCallback, ExecutorExceptionHandler.isExceptionThrown(), ExecutorDataMap.getDataMap(), TracingContext.get());
+    }
+    
+    private <T> List<T> executeGroup(final SQLType sqlType, final List<BaseStatementUnit> statementUnits, final List<Integer> inputs, final List<List<Object>> parameterSets, 
+                                     final ExecuteCallback<T> executeCallback, final boolean isExceptionThrown, final Map<String, Object> dataMap, 
+                                     final TracingContext tracingContext) throws Exception {
+        List<T> result = new ArrayList<>(inputs.size());
+        for (int each : inputs) {
+            result.add(executeInternal(sqlType, statementUnits.get(each), parameterSets, executeCallback, isExceptionThrown, dataMap, tracingContext));
+        }
+        return result;
+    }
+    
+    private <T> T executeInternal(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, 
+                          final boolean isExceptionThrown, final Map<String, Object> dataMap, final TracingContext tracingContext) throws Exception {
+        ExecutorExceptionHandler.setExceptionThrown(isExceptionThrown);
+        ExecutorDataMap.setDataMap(dataMap);
+        // 执行线程是线程池复用的线程, 执行结束后恢复原有的追踪上下文, 避免已结束的追踪遗留在线程上
+        TracingContext previousTracingContext = TracingContext.get();
+        TracingContext.set(tracingContext);
+        try {
+            return executeStatementUnit(sqlType, baseStatementUnit, parameterSets, executeCallback, tracingContext);
+        } finally {
+            TracingContext.set(previousTracingContext);
+        }
+    }
+    
+    private <T> T executeStatementUnit(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, 
+                                       final ExecuteCallback<T> executeCallback, final TracingContext tracingContext) throws Exception {
+        List<AbstractExecutionEvent> events = createExecutionEvents(sqlType, baseStatementUnit, parameterSets);
+        for (AbstractExecutionEvent each : events) {
+            postEvent(each, EventExecutionType.BEFORE_EXECUTE, null);
+        }
+        String dataSource = baseStatementUnit.getSqlExecutionUnit().getDataSource();
+        Span span = startSpan(sqlType, baseStatementUnit, tracingContext);
+        long startTime = metricsRegistry.start();
+        T result = null;
+        Exception exception = null;
+        try {
+            result = executeCallback.execute(baseStatementUnit);
+            metricsRegistry.recordDataSource(MetricsPhase.EXECUTE, dataSource, startTime);
+        } catch (final SQLException ex) {
+            exception = ex;
+            metricsRegistry.incrementExecuteFailure(dataSource);
             for (AbstractExecutionEvent each : events) {
-                each.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
-                EventBusInstance.getInstance().post(each);
+                postEvent(each, EventExecutionType.EXECUTE_FAILURE, ex);
             }
-            return result;
+            ExecutorExceptionHandler.handleException(ex);
+            return null;
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            exception = ex;
+            throw ex;
+        } finally {
+            finishSpan(span, result, exception);
+        }
+        for (AbstractExecutionEvent each : events) {
+            postEvent(each, EventExecutionType.EXECUTE_SUCCESS, null);
+        }
+        return result;
+    }
+    
+    private Span startSpan(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final TracingContext tracingContext) {
+        if (null == tracingContext) {
+            return null;
+        }
+        Span result = tracingContext.startChildSpan(ShardingTags.EXECUTE_SQL_OPERATION);
+        result.setTag(ShardingTags.COMPONENT, ShardingTags.COMPONENT_NAME);
+        result.setTag(ShardingTags.DB_INSTANCE, baseStatementUnit.getSqlExecutionUnit().getDataSource());
+        result.setTag(ShardingTags.DB_STATEMENT, baseStatementUnit.getSqlExecutionUnit().getSql());
+        result.setTag(ShardingTags.SQL_TYPE, sqlType.name());
+        return result;
+    }
+    
+    // 查询结果集的行数在归并遍历时才能确定, 仅记录更新行数
+    private void finishSpan(final Span span, final Object result, final Exception exception) {
+        if (null == span) {
+            return;
+        }
+        if (null != exception) {
+            span.setError(exception);
+        } else if (result instanceof Number) {
+            span.setTag(ShardingTags.ROW_COUNT, (Number) result);
+        } else if (result instanceof int[]) {
+            long rowCount = 0L;
+            for (int each : (int[]) result) {
+                rowCount += Math.max(each, 0);
+            }
+            span.setTag(ShardingTags.ROW_COUNT, rowCount);
+        }
+        span.finish();
+    }
+    
+    private List<AbstractExecutionEvent> createExecutionEvents(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets) {
+        if (!ExecutionEventBus.hasSubscriber(SQLType.DQL == sqlType ? DQLExecutionEvent.class : DMLExecutionEvent.class)) {
+            return Collections.emptyList();
+        }
+        if (parameterSets.isEmpty()) {
+            return Collections.singletonList(getExecutionEvent(sqlType, baseStatementUnit, Collections.emptyList()));
+        }
+        List<AbstractExecutionEvent> result = new ArrayList<>(parameterSets.size());
+        for (List<Object> each : parameterSets) {
+            result.add(getExecutionEvent(sqlType, baseStatementUnit, each));
+        }
+        return result;
+    }
+    
+    private void postEvent(final AbstractExecutionEvent event, final EventExecutionType eventExecutionType, final Exception exception) {
+        if (null == event) {
+            return;
+        }
+        event.setEventExecutionType(eventExecutionType);
+        if (null != exception) {
+            event.setException(exception);
         }
+        ExecutionEventBus.post(event);
     }
     
     private AbstractExecutionEvent getExecutionEvent(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<Object> parameters) {
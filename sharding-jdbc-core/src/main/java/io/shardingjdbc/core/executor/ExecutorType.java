@@ -0,0 +1,121 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.executor;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SQL执行线程池类型
+ * 
+ * @author zhangliang
+ */
+@Slf4j
+public enum ExecutorType {
+    
+    /**
+     * 固定大小线程池, 任务队列无界
+     */
+    FIXED {
+        
+        @Override
+        ExecutorService createExecutorService(final int executorSize, final int queueSize, final AtomicLong rejectedCount) {
+            return createThreadPoolExecutor(executorSize, new LinkedBlockingQueue<Runnable>(), new ThreadPoolExecutor.AbortPolicy(), rejectedCount);
+        }
+    },
+    
+    /**
+     * 固定大小线程池, 任务队列有界, 队列满时由提交任务的线程执行
+     */
+    BOUNDED_CALLER_RUNS {
+        
+        @Override
+        ExecutorService createExecutorService(final int executorSize, final int queueSize, final AtomicLong rejectedCount) {
+            return createThreadPoolExecutor(executorSize, new ArrayBlockingQueue<Runnable>(queueSize), new ThreadPoolExecutor.CallerRunsPolicy(), rejectedCount);
+        }
+    },
+    
+    /**
+     * 固定大小线程池, 任务队列有界, 队列满时立即拒绝
+     * 
+     * <p>
+     * 拒绝时取消本次执行中尚未开始的任务, 并等待已开始的任务结束后再抛出异常.
+     * 已开始的执行单元不会回滚, DML语句可能已在部分分片执行, 需在事务中使用以保证一致.
+     * </p>
+     */
+    BOUNDED_FAIL_FAST {
+        
+        @Override
+        ExecutorService createExecutorService(final int executorSize, final int queueSize, final AtomicLong rejectedCount) {
+            return createThreadPoolExecutor(executorSize, new ArrayBlockingQueue<Runnable>(queueSize), new ThreadPoolExecutor.AbortPolicy(), rejectedCount);
+        }
+    },
+    
+    /**
+     * 工作窃取线程池
+     */
+    WORK_STEALING {
+        
+        @Override
+        ExecutorService createExecutorService(final int executorSize, final int queueSize, final AtomicLong rejectedCount) {
+            return new ForkJoinPool(executorSize, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        }
+    },
+    
+    /**
+     * 每个任务使用一个虚拟线程, JDK不支持虚拟线程时使用固定大小线程池
+     */
+    VIRTUAL_THREAD {
+        
+        @Override
+        ExecutorService createExecutorService(final int executorSize, final int queueSize, final AtomicLong rejectedCount) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException ex) {
+                log.warn("Virtual thread is not supported by current JDK, use fixed thread pool instead.");
+                return FIXED.createExecutorService(executorSize, queueSize, rejectedCount);
+            }
+        }
+    };
+    
+    abstract ExecutorService createExecutorService(int executorSize, int queueSize, AtomicLong rejectedCount);
+    
+    private static ThreadPoolExecutor createThreadPoolExecutor(
+            final int executorSize, final BlockingQueue<Runnable> workQueue, final RejectedExecutionHandler rejectedPolicy, final AtomicLong rejectedCount) {
+        return new ThreadPoolExecutor(executorSize, executorSize, 0, TimeUnit.MILLISECONDS, workQueue, 
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-%d").build(), new RejectedExecutionHandler() {
+                    
+                    @Override
+                    public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+                        rejectedCount.incrementAndGet();
+                        rejectedPolicy.rejectedExecution(runnable, executor);
+                    }
+                });
+    }
+}
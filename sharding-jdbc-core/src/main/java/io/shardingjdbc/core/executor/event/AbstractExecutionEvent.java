@@ -31,7 +31,7 @@ import java.util.UUID;
 public abstract class AbstractExecutionEvent {
     
     @Getter
-    private final String id = UUID.randomUUID().toString();
+    private final String id;
     
     @Getter
     @Setter
@@ -40,7 +40,26 @@ public abstract class AbstractExecutionEvent {
     @Setter
     private Exception exception;
     
+    protected AbstractExecutionEvent() {
+        id = UUID.randomUUID().toString();
+    }
+    
+    protected AbstractExecutionEvent(final AbstractExecutionEvent event) {
+        id = event.id;
+        eventExecutionType = event.eventExecutionType;
+        exception = event.exception;
+    }
+    
     public Optional<? extends Exception> getException() {
         return Optional.fromNullable(exception);
     }
+    
+    /**
+     * Copy event with current state.
+     * 
+     * <p>Events are posted again after state changed, events dispatched asynchronously should be copied before posted.</p>
+     * 
+     * @return copied event
+     */
+    public abstract AbstractExecutionEvent copy();
 }
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -22,6 +23,14 @@ public abstract class AbstractSQLExecutionEvent extends AbstractExecutionEvent {
     
     private final List<Object> parameters;
     
+    // 执行结束后原参数可能被清空, 复制事件时同时复制参数
+    protected AbstractSQLExecutionEvent(final AbstractSQLExecutionEvent event) {
+        super(event);
+        dataSource = event.dataSource;
+        sql = event.sql;
+        parameters = new ArrayList<>(event.parameters);
+    }
+    
     public Optional<SQLException> getException() {
         Optional<? extends Exception> ex = super.getException();
         if (ex.isPresent()) {
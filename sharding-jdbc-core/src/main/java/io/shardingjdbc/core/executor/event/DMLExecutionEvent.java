@@ -29,4 +29,13 @@ public final class DMLExecutionEvent extends AbstractSQLExecutionEvent {
     public DMLExecutionEvent(final String dataSource, final String sql, final List<Object> parameters) {
         super(dataSource, sql, parameters);
     }
+    
+    private DMLExecutionEvent(final DMLExecutionEvent event) {
+        super(event);
+    }
+    
+    @Override
+    public DMLExecutionEvent copy() {
+        return new DMLExecutionEvent(this);
+    }
 }
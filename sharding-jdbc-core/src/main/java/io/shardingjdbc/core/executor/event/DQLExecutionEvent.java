@@ -29,4 +29,13 @@ public final class DQLExecutionEvent extends AbstractSQLExecutionEvent {
     public DQLExecutionEvent(final String dataSource, final String sql, final List<Object> parameters) {
         super(dataSource, sql, parameters);
     }
+    
+    private DQLExecutionEvent(final DQLExecutionEvent event) {
+        super(event);
+    }
+    
+    @Override
+    public DQLExecutionEvent copy() {
+        return new DQLExecutionEvent(this);
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor.event;
+
+import io.shardingjdbc.core.util.EventBusInstance;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Execution event bus.
+ * 
+ * <p>Dispatch execution events to synchronous and asynchronous event bus, 
+ * events should not be created if {@link #hasSubscriber(Class)} is false.</p>
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ExecutionEventBus {
+    
+    /**
+     * Judge whether execution event type has subscribers.
+     * 
+     * @param eventType execution event type
+     * @return execution event type has subscribers or not
+     */
+    public static boolean hasSubscriber(final Class<? extends AbstractExecutionEvent> eventType) {
+        return EventBusInstance.getInstance().hasSubscriber(eventType) || EventBusInstance.getAsyncInstance().hasSubscriber(eventType);
+    }
+    
+    /**
+     * Post execution event.
+     * 
+     * @param event execution event
+     */
+    public static void post(final AbstractExecutionEvent event) {
+        if (EventBusInstance.getInstance().hasSubscriber(event.getClass())) {
+            EventBusInstance.getInstance().post(event);
+        }
+        // 同一事件状态变化后会再次发布, 异步分发需使用当前状态的副本
+        if (EventBusInstance.getAsyncInstance().hasSubscriber(event.getClass())) {
+            EventBusInstance.getAsyncInstance().post(event.copy());
+        }
+    }
+}
@@ -33,4 +33,15 @@ public final class OverallExecutionEvent extends AbstractExecutionEvent {
     private final SQLType sqlType;
     
     private final int statementUnitSize;
+    
+    private OverallExecutionEvent(final OverallExecutionEvent event) {
+        super(event);
+        sqlType = event.sqlType;
+        statementUnitSize = event.statementUnitSize;
+    }
+    
+    @Override
+    public OverallExecutionEvent copy() {
+        return new OverallExecutionEvent(this);
+    }
 }
@@ -22,6 +22,7 @@ import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.executor.BaseStatementUnit;
 import io.shardingjdbc.core.executor.ExecuteCallback;
 import io.shardingjdbc.core.executor.ExecutorEngine;
+import com.google.common.util.concurrent.ListenableFuture;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.SQLException;
@@ -54,29 +55,51 @@ public final class BatchPreparedStatementExecutor {
      * @throws SQLException SQL exception
      */
     public int[] executeBatch() throws SQLException {
-        return accumulate(executorEngine.executeBatch(sqlType, batchPreparedStatementUnits, parameterSets, new ExecuteCallback<int[]>() {
+        int[] result = new int[parameterSets.size()];
+        accumulate(executorEngine.executeBatch(sqlType, batchPreparedStatementUnits, parameterSets, createExecuteCallback()), result);
+        return result;
+    }
+    
+    /**
+     * Execute batch asynchronously.
+     * 
+     * <p>Results are returned per statement unit, use {@link #accumulate(List, int[])} to map them to add batch calls.</p>
+     * 
+     * @return future of execute results of statement units
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<List<int[]>> executeBatchAsync() throws SQLException {
+        return executorEngine.executeBatchAsync(sqlType, batchPreparedStatementUnits, parameterSets, createExecuteCallback());
+    }
+    
+    private ExecuteCallback<int[]> createExecuteCallback() {
+        return new ExecuteCallback<int[]>() {
             
             @Override
             public int[] execute(final BaseStatementUnit baseStatementUnit) throws Exception {
                 return baseStatementUnit.getStatement().executeBatch();
             }
-        }));
+        };
     }
     
-    private int[] accumulate(final List<int[]> results) {
-        int[] result = new int[parameterSets.size()];
+    /**
+     * Accumulate execute results of statement units to results of add batch calls.
+     * 
+     * @param results execute results of statement units
+     * @param accumulatedResults results of add batch calls
+     */
+    public void accumulate(final List<int[]> results, final int[] accumulatedResults) {
         int count = 0;
         for (BatchPreparedStatementUnit each : batchPreparedStatementUnits) {
             for (Map.Entry<Integer, Integer> entry : each.getJdbcAndActualAddBatchCallTimesMap().entrySet()) {
                 int value = null == results.get(count) ? 0 : results.get(count)[entry.getValue()];
                 if (DatabaseType.Oracle == dbType) {
-                    result[entry.getKey()] = value;
+                    accumulatedResults[entry.getKey()] = value;
                 } else {
-                    result[entry.getKey()] += value;
+                    accumulatedResults[entry.getKey()] += value;
                 }
             }
             count++;
         }
-        return result;
     }
 }
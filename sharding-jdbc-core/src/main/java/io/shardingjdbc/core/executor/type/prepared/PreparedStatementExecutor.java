@@ -17,6 +17,9 @@
 
 package io.shardingjdbc.core.executor.type.prepared;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.executor.BaseStatementUnit;
 import io.shardingjdbc.core.executor.ExecuteCallback;
@@ -53,13 +56,27 @@ public final class PreparedStatementExecutor {
      * @throws SQLException SQL exception
      */
     public List<ResultSet> executeQuery() throws SQLException {
-        return executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, new ExecuteCallback<ResultSet>() {
+        return executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, createExecuteQueryCallback());
+    }
+    
+    /**
+     * Execute query asynchronously.
+     * 
+     * @return future of result set list
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<List<ResultSet>> executeQueryAsync() throws SQLException {
+        return executorEngine.executePreparedStatementAsync(sqlType, preparedStatementUnits, parameters, createExecuteQueryCallback());
+    }
+    
+    private ExecuteCallback<ResultSet> createExecuteQueryCallback() {
+        return new ExecuteCallback<ResultSet>() {
             
             @Override
             public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
                 return ((PreparedStatement) baseStatementUnit.getStatement()).executeQuery();
             }
-        });
+        };
     }
     
     /**
@@ -69,14 +86,34 @@ public final class PreparedStatementExecutor {
      * @throws SQLException SQL exception
      */
     public int executeUpdate() throws SQLException {
-        List<Integer> results = executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, new ExecuteCallback<Integer>() {
+        return accumulate(executorEngine.executePreparedStatement(sqlType, preparedStatementUnits, parameters, createExecuteUpdateCallback()));
+    }
+    
+    /**
+     * Execute update asynchronously.
+     * 
+     * @return future of effected records count
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<Integer> executeUpdateAsync() throws SQLException {
+        return Futures.transform(executorEngine.executePreparedStatementAsync(sqlType, preparedStatementUnits, parameters, createExecuteUpdateCallback()), 
+                new Function<List<Integer>, Integer>() {
+                    
+                    @Override
+                    public Integer apply(final List<Integer> input) {
+                        return accumulate(input);
+                    }
+                });
+    }
+    
+    private ExecuteCallback<Integer> createExecuteUpdateCallback() {
+        return new ExecuteCallback<Integer>() {
             
             @Override
             public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
                 return ((PreparedStatement) baseStatementUnit.getStatement()).executeUpdate();
             }
-        });
-        return accumulate(results);
+        };
     }
     
     private int accumulate(final List<Integer> results) {
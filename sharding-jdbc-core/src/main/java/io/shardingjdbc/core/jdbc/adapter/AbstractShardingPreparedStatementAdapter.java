@@ -18,6 +18,7 @@
 package io.shardingjdbc.core.jdbc.adapter;
 
 import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.jdbc.adapter.invocation.ParameterSet;
 import io.shardingjdbc.core.jdbc.adapter.invocation.SetParameterMethodInvocation;
 import io.shardingjdbc.core.jdbc.unsupported.AbstractUnsupportedOperationPreparedStatement;
 import lombok.Getter;
@@ -38,7 +39,6 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Sharding adapter for {@code PreparedStatement}.
@@ -313,24 +313,13 @@ public abstract class AbstractShardingPreparedStatementAdapter extends AbstractU
         }
     }
     
-    protected void replaySetParameter(final PreparedStatement preparedStatement) {
-        addParameters();
-        for (SetParameterMethodInvocation each : setParameterMethodInvocations) {
-            updateParameterValues(each, parameters.get(each.getIndex() - 1));
-            each.invoke(preparedStatement);
-        }
-    }
-    
-    private void addParameters() {
-        for (int i = setParameterMethodInvocations.size(); i < parameters.size(); i++) {
-            recordSetParameter("setObject", new Class[]{int.class, Object.class}, i + 1, parameters.get(i));
-        }
-    }
-    
-    private void updateParameterValues(final SetParameterMethodInvocation setParameterMethodInvocation, final Object value) {
-        if (!Objects.equals(setParameterMethodInvocation.getValue(), value)) {
-            setParameterMethodInvocation.changeValueArgument(value);
-        }
+    /**
+     * Create parameter set with copy of current parameters.
+     * 
+     * @return parameter set
+     */
+    protected final ParameterSet createParameterSet() {
+        return new ParameterSet(new ArrayList<>(parameters), setParameterMethodInvocations);
     }
     
     @Override
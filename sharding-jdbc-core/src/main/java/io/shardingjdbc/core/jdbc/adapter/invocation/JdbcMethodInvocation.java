@@ -44,6 +44,10 @@ public class JdbcMethodInvocation {
      * @param target target object
      */
     public void invoke(final Object target) {
+        invoke(target, arguments);
+    }
+    
+    protected final void invoke(final Object target, final Object[] arguments) {
         try {
             method.invoke(target, arguments);
         } catch (final IllegalAccessException | InvocationTargetException ex) {
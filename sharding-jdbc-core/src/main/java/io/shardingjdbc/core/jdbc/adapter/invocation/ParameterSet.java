@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.jdbc.adapter.invocation;
+
+import lombok.Getter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Parameter set of {@code PreparedStatement}, bound to actual prepared statements after route.
+ * 
+ * @author zhangliang
+ */
+public final class ParameterSet {
+    
+    @Getter
+    private final List<Object> parameters;
+    
+    private final SetParameterMethodInvocation[] setParameterMethodInvocations;
+    
+    public ParameterSet(final List<Object> parameters, final Collection<SetParameterMethodInvocation> setParameterMethodInvocations) {
+        this.parameters = parameters;
+        this.setParameterMethodInvocations = new SetParameterMethodInvocation[parameters.size()];
+        // 同一参数多次设置时以最后一次为准
+        for (SetParameterMethodInvocation each : setParameterMethodInvocations) {
+            this.setParameterMethodInvocations[each.getIndex() - 1] = each;
+        }
+    }
+    
+    /**
+     * Bind parameters to prepared statement.
+     * 
+     * <p>Parameters appended after set, such as generated keys, are bound by {@code setObject}.</p>
+     * 
+     * @param preparedStatement prepared statement
+     * @param parameterIndexes indexes of parameters bound in sequence, empty means bind all parameters in sequence
+     * @throws SQLException SQL exception
+     */
+    public void bind(final PreparedStatement preparedStatement, final List<Integer> parameterIndexes) throws SQLException {
+        if (parameterIndexes.isEmpty()) {
+            for (int i = 0; i < parameters.size(); i++) {
+                bind(preparedStatement, i + 1, i);
+            }
+            return;
+        }
+        for (int i = 0; i < parameterIndexes.size(); i++) {
+            bind(preparedStatement, i + 1, parameterIndexes.get(i));
+        }
+    }
+    
+    /**
+     * Estimate bytes of parameters.
+     * 
+     * @return estimated bytes
+     */
+    public long estimateBytes() {
+        long result = 0L;
+        for (Object each : parameters) {
+            result += estimateBytes(each);
+        }
+        return result;
+    }
+    
+    // 仅按类型粗略估算, 用于限制批量在内存中的大小
+    private long estimateBytes(final Object value) {
+        if (null == value) {
+            return 0L;
+        }
+        if (value instanceof CharSequence) {
+            return 2L * ((CharSequence) value).length();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Date) {
+            return 8L;
+        }
+        return 16L;
+    }
+    
+    private void bind(final PreparedStatement preparedStatement, final int parameterIndex, final int index) throws SQLException {
+        Object value = parameters.get(index);
+        SetParameterMethodInvocation setParameterMethodInvocation = index < setParameterMethodInvocations.length ? setParameterMethodInvocations[index] : null;
+        if (null == setParameterMethodInvocation) {
+            preparedStatement.setObject(parameterIndex, value);
+        } else {
+            setParameterMethodInvocation.setParameter(preparedStatement, parameterIndex, value);
+        }
+    }
+}
@@ -20,6 +20,13 @@ package io.shardingjdbc.core.jdbc.adapter.invocation;
 import lombok.Getter;
 
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Objects;
 
 /**
  * Invocation that reflected call for {@code PreparedStatement.setParameter} method.
@@ -48,4 +55,121 @@ public final class SetParameterMethodInvocation extends JdbcMethodInvocation {
     public void changeValueArgument(final Object value) {
         getArguments()[1] = value;
     }
+    
+    /**
+     * Invoke set parameter method with another parameter index.
+     * 
+     * @param target target object
+     * @param parameterIndex parameter index
+     */
+    public void invoke(final Object target, final int parameterIndex) {
+        Object[] arguments = getArguments().clone();
+        arguments[0] = parameterIndex;
+        invoke(target, arguments);
+    }
+    
+    /**
+     * Set parameter to prepared statement with another parameter index and value.
+     * 
+     * <p>Common setters are called directly, others are invoked by reflection.</p>
+     * 
+     * @param preparedStatement prepared statement
+     * @param parameterIndex parameter index
+     * @param value parameter value
+     * @throws SQLException SQL exception
+     */
+    public void setParameter(final PreparedStatement preparedStatement, final int parameterIndex, final Object value) throws SQLException {
+        if (2 == getArguments().length && setParameterDirectly(preparedStatement, parameterIndex, value)) {
+            return;
+        }
+        Object[] arguments = getArguments().clone();
+        arguments[0] = parameterIndex;
+        if (!Objects.equals(this.value, value)) {
+            arguments[1] = value;
+        }
+        invoke(preparedStatement, arguments);
+    }
+    
+    // 值类型与方法参数类型不一致时交由反射调用处理类型转换
+    private boolean setParameterDirectly(final PreparedStatement preparedStatement, final int parameterIndex, final Object value) throws SQLException {
+        switch (getMethod().getName()) {
+            case "setObject":
+                preparedStatement.setObject(parameterIndex, value);
+                return true;
+            case "setString":
+                if (null == value || value instanceof String) {
+                    preparedStatement.setString(parameterIndex, (String) value);
+                    return true;
+                }
+                return false;
+            case "setInt":
+                if (value instanceof Integer) {
+                    preparedStatement.setInt(parameterIndex, (Integer) value);
+                    return true;
+                }
+                return false;
+            case "setLong":
+                if (value instanceof Long) {
+                    preparedStatement.setLong(parameterIndex, (Long) value);
+                    return true;
+                }
+                return false;
+            case "setShort":
+                if (value instanceof Short) {
+                    preparedStatement.setShort(parameterIndex, (Short) value);
+                    return true;
+                }
+                return false;
+            case "setByte":
+                if (value instanceof Byte) {
+                    preparedStatement.setByte(parameterIndex, (Byte) value);
+                    return true;
+                }
+                return false;
+            case "setBoolean":
+                if (value instanceof Boolean) {
+                    preparedStatement.setBoolean(parameterIndex, (Boolean) value);
+                    return true;
+                }
+                return false;
+            case "setDouble":
+                if (value instanceof Double) {
+                    preparedStatement.setDouble(parameterIndex, (Double) value);
+                    return true;
+                }
+                return false;
+            case "setFloat":
+                if (value instanceof Float) {
+                    preparedStatement.setFloat(parameterIndex, (Float) value);
+                    return true;
+                }
+                return false;
+            case "setBigDecimal":
+                if (null == value || value instanceof BigDecimal) {
+                    preparedStatement.setBigDecimal(parameterIndex, (BigDecimal) value);
+                    return true;
+                }
+                return false;
+            case "setTimestamp":
+                if (null == value || value instanceof Timestamp) {
+                    preparedStatement.setTimestamp(parameterIndex, (Timestamp) value);
+                    return true;
+                }
+                return false;
+            case "setDate":
+                if (null == value || value instanceof Date) {
+                    preparedStatement.setDate(parameterIndex, (Date) value);
+                    return true;
+                }
+                return false;
+            case "setTime":
+                if (null == value || value instanceof Time) {
+                    preparedStatement.setTime(parameterIndex, (Time) value);
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
 }
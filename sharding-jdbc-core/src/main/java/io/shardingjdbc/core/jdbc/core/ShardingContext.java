@@ -19,16 +19,24 @@ package io.shardingjdbc.core.jdbc.core;
 
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.executor.ExecutorEngine;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.parsing.cache.ParsingResultCache;
+import io.shardingjdbc.core.routing.cache.SQLRouteResultCache;
+import io.shardingjdbc.core.tracing.Tracer;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * 分片运行时上下文
  * 
+ * <p>
+ * 可选配置项均从分片配置属性中读取, 新增配置项无需修改构造方法.
+ * </p>
+ * 
  * @author gaohongtao
  */
-@RequiredArgsConstructor
 @Getter
 public final class ShardingContext {
 
@@ -51,4 +59,72 @@ public final class ShardingContext {
      * 是否打印sql用来debug
      */
     private final boolean showSQL;
+    
+    /**
+     * SQL解析结果缓存
+     */
+    private final ParsingResultCache parsingResultCache;
+    
+    /**
+     * SQL路由结果缓存
+     */
+    private final SQLRouteResultCache sqlRouteResultCache;
+    
+    /**
+     * 每次查询在每个数据源上最多使用的连接数
+     */
+    private final int maxConnectionsSizePerQuery;
+    
+    /**
+     * 是否将同一数据源的多个真实表查询合并为UNION ALL
+     */
+    private final boolean unionAllRewrite;
+    
+    /**
+     * 内存分组归并时内存中最多保留的分组数
+     */
+    private final int groupByMemoryMaxRows;
+    
+    /**
+     * 是否在执行批量时才统一路由批量添加的参数
+     */
+    private final boolean batchDeferredRouting;
+    
+    /**
+     * 批量执行时每个数据源自动提交的最大行数
+     */
+    private final int batchFlushRows;
+    
+    /**
+     * 批量执行时每个数据源自动提交的最大参数估算字节数
+     */
+    private final long batchFlushBytes;
+    
+    /**
+     * 执行指标统计
+     */
+    private final MetricsRegistry metricsRegistry;
+    
+    /**
+     * 链路追踪器
+     */
+    private final Tracer tracer;
+    
+    public ShardingContext(final ShardingRule shardingRule, final DatabaseType databaseType, final ExecutorEngine executorEngine, 
+                           final ShardingProperties shardingProperties, final MetricsRegistry metricsRegistry, final Tracer tracer) {
+        this.shardingRule = shardingRule;
+        this.databaseType = databaseType;
+        this.executorEngine = executorEngine;
+        showSQL = shardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
+        parsingResultCache = new ParsingResultCache(shardingProperties.<Integer>getValue(ShardingPropertiesConstant.PARSING_CACHE_SIZE));
+        sqlRouteResultCache = new SQLRouteResultCache(shardingProperties.<Integer>getValue(ShardingPropertiesConstant.ROUTE_CACHE_SIZE));
+        maxConnectionsSizePerQuery = shardingProperties.getValue(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY);
+        unionAllRewrite = shardingProperties.getValue(ShardingPropertiesConstant.SQL_UNION_ALL_REWRITE);
+        groupByMemoryMaxRows = shardingProperties.getValue(ShardingPropertiesConstant.GROUP_BY_MEMORY_MAX_ROWS);
+        batchDeferredRouting = shardingProperties.getValue(ShardingPropertiesConstant.BATCH_DEFERRED_ROUTING);
+        batchFlushRows = shardingProperties.getValue(ShardingPropertiesConstant.BATCH_FLUSH_ROWS);
+        batchFlushBytes = shardingProperties.getValue(ShardingPropertiesConstant.BATCH_FLUSH_BYTES);
+        this.metricsRegistry = metricsRegistry;
+        this.tracer = tracer;
+    }
 }
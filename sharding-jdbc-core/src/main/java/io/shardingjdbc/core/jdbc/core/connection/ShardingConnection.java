@@ -26,6 +26,8 @@ import io.shardingjdbc.core.jdbc.core.datasource.MasterSlaveDataSource;
 import io.shardingjdbc.core.jdbc.core.datasource.NamedDataSource;
 import io.shardingjdbc.core.jdbc.core.statement.ShardingPreparedStatement;
 import io.shardingjdbc.core.jdbc.core.statement.ShardingStatement;
+import io.shardingjdbc.core.metrics.MetricsPhase;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -35,9 +37,12 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -50,6 +55,8 @@ import java.util.Map.Entry;
 @RequiredArgsConstructor
 public final class ShardingConnection extends AbstractConnectionAdapter {
     
+    private static final String ADDITIONAL_CONNECTION_SEPARATOR = "#";
+    
     @Getter
     private final ShardingContext shardingContext;
     
@@ -95,21 +102,75 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
             // 返回缓存连接
             return getCachedConnections().get(dataSourceName);
         }
+        NamedDataSource namedDataSource = getNamedDataSource(dataSourceName, sqlType);
+        return getConnection(namedDataSource, namedDataSource.getName());
+    }
+    
+    /**
+     * 获取执行单元的数据源连接
+     * 
+     * <p>同一数据源的执行单元轮流分配到不超过每次查询最大连接数的连接上, 仅自动提交模式下才会使用多个连接</p>
+     * 
+     * @param sqlType SQL type
+     * @param sqlExecutionUnits SQL execution units
+     * @return database connections in order of SQL execution units
+     * @throws SQLException SQL exception
+     */
+    public List<Connection> getConnections(final SQLType sqlType, final Collection<SQLExecutionUnit> sqlExecutionUnits) throws SQLException {
+        Map<String, Integer> sqlExecutionUnitCounts = new HashMap<>();
+        for (SQLExecutionUnit each : sqlExecutionUnits) {
+            Integer count = sqlExecutionUnitCounts.get(each.getDataSource());
+            sqlExecutionUnitCounts.put(each.getDataSource(), null == count ? 1 : count + 1);
+        }
+        Map<String, List<Connection>> dataSourceConnections = new HashMap<>(sqlExecutionUnitCounts.size(), 1);
+        Map<String, Integer> allocatedCounts = new HashMap<>(sqlExecutionUnitCounts.size(), 1);
+        List<Connection> result = new ArrayList<>(sqlExecutionUnits.size());
+        for (SQLExecutionUnit each : sqlExecutionUnits) {
+            List<Connection> connections = dataSourceConnections.get(each.getDataSource());
+            if (null == connections) {
+                connections = getConnections(each.getDataSource(), sqlType, getConnectionsSize(sqlExecutionUnitCounts.get(each.getDataSource())));
+                dataSourceConnections.put(each.getDataSource(), connections);
+                allocatedCounts.put(each.getDataSource(), 0);
+            }
+            int allocatedCount = allocatedCounts.get(each.getDataSource());
+            result.add(connections.get(allocatedCount % connections.size()));
+            allocatedCounts.put(each.getDataSource(), allocatedCount + 1);
+        }
+        return result;
+    }
+    
+    private int getConnectionsSize(final int sqlExecutionUnitCount) throws SQLException {
+        return getAutoCommit() ? Math.max(1, Math.min(sqlExecutionUnitCount, shardingContext.getMaxConnectionsSizePerQuery())) : 1;
+    }
+    
+    private List<Connection> getConnections(final String dataSourceName, final SQLType sqlType, final int connectionsSize) throws SQLException {
+        if (1 == connectionsSize) {
+            return Collections.singletonList(getConnection(dataSourceName, sqlType));
+        }
+        NamedDataSource namedDataSource = getNamedDataSource(dataSourceName, sqlType);
+        List<Connection> result = new ArrayList<>(connectionsSize);
+        result.add(getConnection(namedDataSource, namedDataSource.getName()));
+        // 额外的连接以序号区分缓存, 随分片连接一同提交, 回滚和关闭
+        for (int i = 1; i < connectionsSize; i++) {
+            result.add(getConnection(namedDataSource, namedDataSource.getName() + ADDITIONAL_CONNECTION_SEPARATOR + i));
+        }
+        return result;
+    }
+    
+    private NamedDataSource getNamedDataSource(final String dataSourceName, final SQLType sqlType) {
         DataSource dataSource = shardingContext.getShardingRule().getDataSourceMap().get(dataSourceName);
         Preconditions.checkState(null != dataSource, "Missing the rule of %s in DataSourceRule", dataSourceName);
-        String realDataSourceName;
-        if (dataSource instanceof MasterSlaveDataSource) {
-            NamedDataSource namedDataSource = ((MasterSlaveDataSource) dataSource).getDataSource(sqlType);
-            realDataSourceName = namedDataSource.getName();
-            if (getCachedConnections().containsKey(realDataSourceName)) {
-                return getCachedConnections().get(realDataSourceName);
-            }
-            dataSource = namedDataSource.getDataSource();
-        } else {
-            realDataSourceName = dataSourceName;
+        return dataSource instanceof MasterSlaveDataSource ? ((MasterSlaveDataSource) dataSource).getDataSource(sqlType) : new NamedDataSource(dataSourceName, dataSource);
+    }
+    
+    private Connection getConnection(final NamedDataSource namedDataSource, final String connectionName) throws SQLException {
+        if (getCachedConnections().containsKey(connectionName)) {
+            return getCachedConnections().get(connectionName);
         }
-        Connection result = dataSource.getConnection();
-        getCachedConnections().put(realDataSourceName, result);
+        long startTime = shardingContext.getMetricsRegistry().start();
+        Connection result = namedDataSource.getDataSource().getConnection();
+        shardingContext.getMetricsRegistry().recordDataSource(MetricsPhase.CONNECT, namedDataSource.getName(), startTime);
+        getCachedConnections().put(connectionName, result);
         replayMethodsInvocation(result);
         return result;
     }
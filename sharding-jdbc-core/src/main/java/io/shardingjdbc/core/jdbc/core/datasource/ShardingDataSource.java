@@ -21,12 +21,27 @@ import io.shardingjdbc.core.api.ConfigMapContext;
 import io.shardingjdbc.core.constant.ShardingProperties;
 import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.executor.ExecutorEngine;
+import io.shardingjdbc.core.executor.ExecutorType;
 import io.shardingjdbc.core.jdbc.adapter.AbstractDataSourceAdapter;
 import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.metrics.MetricsReporter;
+import io.shardingjdbc.core.metrics.MetricsReporterFactory;
+import io.shardingjdbc.core.metrics.ScheduledMetricsReporter;
+import io.shardingjdbc.core.metrics.ShardingMetrics;
 import io.shardingjdbc.core.rule.ShardingRule;
+import io.shardingjdbc.core.slowquery.SlowQueryTracer;
+import io.shardingjdbc.core.tracing.CompositeTracer;
+import io.shardingjdbc.core.tracing.NoopTracer;
+import io.shardingjdbc.core.tracing.Tracer;
+import io.shardingjdbc.core.tracing.TracerFactory;
+import com.google.common.base.Splitter;
 
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +59,12 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
     
     private ShardingContext shardingContext;
     
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    
+    private final ShardingMetrics shardingMetrics = new ShardingMetrics(metricsRegistry);
+    
+    private ScheduledMetricsReporter scheduledMetricsReporter;
+    
     public ShardingDataSource(final ShardingRule shardingRule) throws SQLException {
         this(shardingRule, new ConcurrentHashMap<String, Object>(), new Properties());
     }
@@ -66,12 +87,11 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
 
         // 3、获取配置信息
         shardingProperties = new ShardingProperties(null == props ? new Properties() : props);
-        int executorSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
-        executorEngine = new ExecutorEngine(executorSize);
-        boolean showSQL = shardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
+        executorEngine = createExecutorEngine(shardingProperties);
 
         // 4、构造分片上下文
-        shardingContext = new ShardingContext(shardingRule, getDatabaseType(), executorEngine, showSQL);
+        shardingContext = new ShardingContext(shardingRule, getDatabaseType(), executorEngine, shardingProperties, metricsRegistry, createTracer(shardingProperties));
+        configureMetrics(shardingProperties);
     }
     
     /**
@@ -85,16 +105,70 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
         ShardingProperties newShardingProperties = new ShardingProperties(null == newProps ? new Properties() : newProps);
         int originalExecutorSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
         int newExecutorSize = newShardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
-        // 线程池大小不同，重新new
-        if (originalExecutorSize != newExecutorSize) {
+        int newQueueSize = newShardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_QUEUE_SIZE);
+        // 线程池类型或队列大小不同，重新new；仅线程数不同时优先原地调整线程池大小
+        if (getExecutorType(newShardingProperties) != executorEngine.getExecutorType() || newQueueSize != executorEngine.getQueueSize() 
+                || originalExecutorSize != newExecutorSize && !executorEngine.resize(newExecutorSize)) {
             executorEngine.close();
-            executorEngine = new ExecutorEngine(newExecutorSize);
+            executorEngine = createExecutorEngine(newShardingProperties);
         }
-        boolean newShowSQL = newShardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
         shardingProperties = newShardingProperties;
-        shardingContext = new ShardingContext(newShardingRule, getDatabaseType(), executorEngine, newShowSQL);
+        // 解析和路由结果依赖分片规则，规则变化后丢弃原有缓存
+        shardingContext = new ShardingContext(newShardingRule, getDatabaseType(), executorEngine, newShardingProperties, metricsRegistry, createTracer(newShardingProperties));
+        configureMetrics(newShardingProperties);
     }
 
+    private ExecutorEngine createExecutorEngine(final ShardingProperties shardingProperties) {
+        int executorSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
+        int queueSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_QUEUE_SIZE);
+        return new ExecutorEngine(getExecutorType(shardingProperties), executorSize, queueSize, metricsRegistry);
+    }
+    
+    private Tracer createTracer(final ShardingProperties shardingProperties) {
+        String tracerClassName = shardingProperties.getValue(ShardingPropertiesConstant.TRACER_CLASS);
+        Tracer result = TracerFactory.newInstance(tracerClassName);
+        long slowQueryThresholdMilliseconds = shardingProperties.getValue(ShardingPropertiesConstant.SLOW_QUERY_THRESHOLD_MILLISECONDS);
+        if (slowQueryThresholdMilliseconds <= 0L) {
+            return result;
+        }
+        int slowQuerySamplingInterval = shardingProperties.getValue(ShardingPropertiesConstant.SLOW_QUERY_SAMPLING_INTERVAL);
+        Tracer slowQueryTracer = new SlowQueryTracer(slowQueryThresholdMilliseconds, slowQuerySamplingInterval);
+        return result instanceof NoopTracer ? slowQueryTracer : new CompositeTracer(Arrays.asList(result, slowQueryTracer));
+    }
+    
+    // 指标在重新设置分片规则后保留, 仅更新开关和上报器
+    private void configureMetrics(final ShardingProperties shardingProperties) {
+        boolean metricsEnabled = shardingProperties.getValue(ShardingPropertiesConstant.METRICS_ENABLE);
+        metricsRegistry.setEnabled(metricsEnabled);
+        closeMetricsReporter();
+        if (!metricsEnabled) {
+            shardingMetrics.unregister();
+            return;
+        }
+        shardingMetrics.register(getClass().getSimpleName() + "-" + Integer.toHexString(System.identityHashCode(this)));
+        String metricsReporterClassNames = shardingProperties.getValue(ShardingPropertiesConstant.METRICS_REPORTER_CLASS);
+        Collection<MetricsReporter> metricsReporters = new LinkedList<>();
+        for (String each : Splitter.on(',').trimResults().omitEmptyStrings().split(metricsReporterClassNames)) {
+            metricsReporters.add(MetricsReporterFactory.newInstance(each));
+        }
+        if (!metricsReporters.isEmpty()) {
+            int reportIntervalSeconds = shardingProperties.getValue(ShardingPropertiesConstant.METRICS_REPORT_INTERVAL_SECONDS);
+            scheduledMetricsReporter = new ScheduledMetricsReporter(metricsRegistry, metricsReporters, reportIntervalSeconds);
+        }
+    }
+    
+    private void closeMetricsReporter() {
+        if (null != scheduledMetricsReporter) {
+            scheduledMetricsReporter.close();
+            scheduledMetricsReporter = null;
+        }
+    }
+    
+    private ExecutorType getExecutorType(final ShardingProperties shardingProperties) {
+        String executorType = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_TYPE);
+        return ExecutorType.valueOf(executorType.toUpperCase());
+    }
+    
     /**
      * 获取连接
      * @return
@@ -107,6 +181,8 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
     
     @Override
     public void close() {
+        closeMetricsReporter();
+        shardingMetrics.unregister();
         executorEngine.close();
     }
 }
@@ -20,6 +20,8 @@ package io.shardingjdbc.core.jdbc.core.resultset;
 import io.shardingjdbc.core.jdbc.adapter.AbstractResultSetAdapter;
 import io.shardingjdbc.core.merger.ResultSetMerger;
 import io.shardingjdbc.core.merger.util.ResultSetUtil;
+import io.shardingjdbc.core.tracing.ShardingTags;
+import io.shardingjdbc.core.tracing.TracingContext;
 
 import java.io.InputStream;
 import java.io.Reader;
@@ -46,14 +48,54 @@ public final class ShardingResultSet extends AbstractResultSetAdapter {
     
     private final ResultSetMerger mergeResultSet;
     
+    /**
+     * 逻辑SQL的Span, 在结果集遍历结束或关闭时记录返回行数并结束
+     */
+    private TracingContext tracingContext;
+    
+    private long rowCount;
+    
     public ShardingResultSet(final List<ResultSet> resultSets, final ResultSetMerger mergeResultSet, final Statement statement) {
+        this(resultSets, mergeResultSet, statement, null);
+    }
+    
+    public ShardingResultSet(final List<ResultSet> resultSets, final ResultSetMerger mergeResultSet, final Statement statement, final TracingContext tracingContext) {
         super(resultSets, statement);
         this.mergeResultSet = mergeResultSet;
+        this.tracingContext = tracingContext;
     }
     
     @Override
     public boolean next() throws SQLException {
-        return mergeResultSet.next();
+        boolean result = mergeResultSet.next();
+        if (result) {
+            rowCount++;
+        } else {
+            finishSpan();
+        }
+        return result;
+    }
+    
+    @Override
+    public void close() throws SQLException {
+        try {
+            mergeResultSet.close();
+        } finally {
+            try {
+                finishSpan();
+            } finally {
+                super.close();
+            }
+        }
+    }
+    
+    private void finishSpan() {
+        if (null == tracingContext) {
+            return;
+        }
+        tracingContext.getSpan().setTag(ShardingTags.ROW_COUNT, rowCount);
+        tracingContext.getSpan().finish();
+        tracingContext = null;
     }
     
     @Override
@@ -18,38 +18,56 @@
 package io.shardingjdbc.core.jdbc.core.statement;
 
 import io.shardingjdbc.core.constant.SQLType;
+import io.shardingjdbc.core.executor.threadlocal.ExecutorExceptionHandler;
 import io.shardingjdbc.core.executor.type.batch.BatchPreparedStatementExecutor;
 import io.shardingjdbc.core.executor.type.batch.BatchPreparedStatementUnit;
 import io.shardingjdbc.core.executor.type.prepared.PreparedStatementExecutor;
 import io.shardingjdbc.core.executor.type.prepared.PreparedStatementUnit;
 import io.shardingjdbc.core.jdbc.adapter.AbstractShardingPreparedStatementAdapter;
+import io.shardingjdbc.core.jdbc.adapter.invocation.ParameterSet;
 import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
 import io.shardingjdbc.core.jdbc.core.resultset.GeneratedKeysResultSet;
 import io.shardingjdbc.core.jdbc.core.resultset.ShardingResultSet;
 import io.shardingjdbc.core.merger.MergeEngine;
+import io.shardingjdbc.core.merger.ResultSetMerger;
+import io.shardingjdbc.core.metrics.MetricsPhase;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
 import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
 import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
 import io.shardingjdbc.core.routing.PreparedStatementRoutingEngine;
 import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.tracing.ShardingTags;
+import io.shardingjdbc.core.tracing.Span;
+import io.shardingjdbc.core.tracing.TracingContext;
 import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import lombok.AccessLevel;
 import lombok.Getter;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 /**
  * PreparedStatement that support sharding.
@@ -70,9 +88,48 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
     
     private final PreparedStatementRoutingEngine routingEngine;
     
-    private final List<BatchPreparedStatementUnit> batchStatementUnits = new LinkedList<>();
+    @Getter(AccessLevel.NONE)
+    private final boolean batchDeferredRouting;
+    
+    private final Map<SQLExecutionUnit, BatchPreparedStatementUnit> batchStatementUnits = new LinkedHashMap<>();
+    
+    private final List<List<Object>> parameterSets = new ArrayList<>();
+    
+    /**
+     * 延迟路由时缓存的批量参数
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<ParameterSet> batchParameterSets = new ArrayList<>();
+    
+    @Getter(AccessLevel.NONE)
+    private final int batchFlushRows;
+    
+    @Getter(AccessLevel.NONE)
+    private final long batchFlushBytes;
+    
+    /**
+     * 自动执行批量时各数据源待执行的参数
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, List<List<Object>>> pendingBatchParameterSets = new HashMap<>();
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Long> pendingBatchBytes = new HashMap<>();
+    
+    /**
+     * 各数据源正在异步执行的子批量
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, BatchPreparedStatementExecutor> flushingBatchExecutors = new HashMap<>();
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, ListenableFuture<List<int[]>>> flushingBatchResults = new HashMap<>();
+    
+    @Getter(AccessLevel.NONE)
+    private int[] flushedBatchResults = new int[0];
     
-    private final List<List<Object>> parameterSets = new LinkedList<>();
+    @Getter(AccessLevel.NONE)
+    private int addBatchTimes;
 
     /**
      * 路由结束后的表达式集合
@@ -85,8 +142,9 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
     @Getter(AccessLevel.NONE)
     private SQLRouteResult routeResult;
     
+    // 异步查询在执行线程中设置归并后的结果集
     @Getter(AccessLevel.NONE)
-    private ResultSet currentResultSet;
+    private volatile ResultSet currentResultSet;
 
     /**
      * 构建分片preparedStatement
@@ -114,6 +172,9 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
         this.resultSetConcurrency = resultSetConcurrency;
         this.resultSetHoldability = resultSetHoldability;
         routingEngine = new PreparedStatementRoutingEngine(sql, connection.getShardingContext());
+        batchDeferredRouting = connection.getShardingContext().isBatchDeferredRouting();
+        batchFlushRows = connection.getShardingContext().getBatchFlushRows();
+        batchFlushBytes = connection.getShardingContext().getBatchFlushBytes();
     }
     
     @Override
@@ -123,14 +184,77 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
             Collection<PreparedStatementUnit> preparedStatementUnits = route();
             List<ResultSet> resultSets = new PreparedStatementExecutor(
                     getConnection().getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), preparedStatementUnits, getParameters()).executeQuery();
-            result = new ShardingResultSet(resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge(), this);
+            ResultSetMerger mergeResultSet = merge(resultSets, (SelectStatement) routeResult.getSqlStatement());
+            // 逻辑SQL的Span交由结果集在遍历结束或关闭时结束, 以记录返回行数
+            result = new ShardingResultSet(resultSets, mergeResultSet, this, TracingContext.unbind());
         } finally {
             clearBatch();
+            TracingContext.finish();
         }
         currentResultSet = result;
         return result;
     }
     
+    /**
+     * Execute query asynchronously.
+     * 
+     * <p>Routing and parameters binding are done in the calling thread, SQL execution and result sets merging are done in executor threads.
+     * The statement and its connection should not be used again until the future is done.</p>
+     * 
+     * @return future of merged result set
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<ResultSet> executeQueryAsync() throws SQLException {
+        try {
+            final SelectStatement selectStatement;
+            ListenableFuture<List<ResultSet>> resultSets;
+            // 参数在执行结束前会被清空, 异步执行需使用副本; 清空当前结果集需在归并结果设置为当前结果集之前
+            try {
+                Collection<PreparedStatementUnit> preparedStatementUnits = route();
+                selectStatement = (SelectStatement) routeResult.getSqlStatement();
+                resultSets = new PreparedStatementExecutor(
+                        getConnection().getShardingContext().getExecutorEngine(), selectStatement.getType(), preparedStatementUnits, new ArrayList<>(getParameters())).executeQueryAsync();
+            } finally {
+                clearBatch();
+            }
+            return TracingContext.finishOnCompletion(Futures.transform(resultSets, new AsyncFunction<List<ResultSet>, ResultSet>() {
+                
+                @Override
+                public ListenableFuture<ResultSet> apply(final List<ResultSet> input) {
+                    ResultSet result;
+                    try {
+                        result = new ShardingResultSet(input, merge(input, selectStatement), ShardingPreparedStatement.this);
+                    } catch (final SQLException ex) {
+                        return Futures.immediateFailedFuture(ex);
+                    }
+                    currentResultSet = result;
+                    return Futures.immediateFuture(result);
+                }
+            }));
+        } finally {
+            TracingContext.finish();
+        }
+    }
+    
+    /**
+     * Execute update asynchronously.
+     * 
+     * <p>The statement and its connection should not be used again until the future is done.</p>
+     * 
+     * @return future of effected records count
+     * @throws SQLException SQL exception
+     */
+    public ListenableFuture<Integer> executeUpdateAsync() throws SQLException {
+        try {
+            Collection<PreparedStatementUnit> preparedStatementUnits = route();
+            return TracingContext.finishOnCompletion(new PreparedStatementExecutor(
+                    getConnection().getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), preparedStatementUnits, new ArrayList<>(getParameters())).executeUpdateAsync());
+        } finally {
+            clearBatch();
+            TracingContext.finish();
+        }
+    }
+    
     @Override
     public int executeUpdate() throws SQLException {
         try {
@@ -139,6 +263,7 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
                     getConnection().getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), preparedStatementUnits, getParameters()).executeUpdate();
         } finally {
             clearBatch();
+            TracingContext.finish();
         }
     }
     
@@ -150,25 +275,40 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
                     getConnection().getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), preparedStatementUnits, getParameters()).execute();
         } finally {
             clearBatch();
+            TracingContext.finish();
         }
     }
     
     private Collection<PreparedStatementUnit> route() throws SQLException {
+        TracingContext.start(getConnection().getShardingContext().getTracer(), routingEngine.getLogicSQL());
+        try {
+            return createPreparedStatementUnits();
+            //CHECKSTYLE:OFF
+        } catch (final SQLException | RuntimeException ex) {
+            //CHECKSTYLE:ON
+            TracingContext.setError(ex);
+            throw ex;
+        }
+    }
+    
+    private Collection<PreparedStatementUnit> createPreparedStatementUnits() throws SQLException {
         Collection<PreparedStatementUnit> result = new LinkedList<>();
         // 路由引擎进行路由，返回路由的结果
         routeResult = routingEngine.route(getParameters());
+        ParameterSet parameterSet = createParameterSet();
+        SQLType sqlType = routeResult.getSqlStatement().getType();
+        Iterator<Connection> connections = SQLType.DDL == sqlType ? null : getConnection().getConnections(sqlType, routeResult.getExecutionUnits()).iterator();
         for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
-            SQLType sqlType = routeResult.getSqlStatement().getType();
             Collection<PreparedStatement> preparedStatements;
             if (SQLType.DDL == sqlType) {
                 preparedStatements = generatePreparedStatementForDDL(each);
             } else {
                 // 返回单个PreparedStatement
-                preparedStatements = Collections.singletonList(generatePreparedStatement(each));
+                preparedStatements = Collections.singletonList(generatePreparedStatement(connections.next(), each));
             }
             routedStatements.addAll(preparedStatements);
             for (PreparedStatement preparedStatement : preparedStatements) {
-                replaySetParameter(preparedStatement);
+                parameterSet.bind(preparedStatement, each.getParameterIndexes());
                 // 封装结果
                 result.add(new PreparedStatementUnit(each, preparedStatement));
             }
@@ -186,7 +326,10 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
     }
     
     private PreparedStatement generatePreparedStatement(final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
-        Connection connection = getConnection().getConnection(sqlExecutionUnit.getDataSource(), routeResult.getSqlStatement().getType());
+        return generatePreparedStatement(getConnection().getConnection(sqlExecutionUnit.getDataSource(), routeResult.getSqlStatement().getType()), sqlExecutionUnit);
+    }
+    
+    private PreparedStatement generatePreparedStatement(final Connection connection, final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
         return returnGeneratedKeys ? connection.prepareStatement(sqlExecutionUnit.getSql(), Statement.RETURN_GENERATED_KEYS)
                 : connection.prepareStatement(sqlExecutionUnit.getSql(), resultSetType, resultSetConcurrency, resultSetHoldability);
     }
@@ -195,58 +338,208 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
     public void clearBatch() throws SQLException {
         currentResultSet = null;
         clearParameters();
-        batchStatementUnits.clear();
-        parameterSets.clear();
+        try {
+            awaitFlushingBatches();
+        } finally {
+            batchStatementUnits.clear();
+            parameterSets.clear();
+            batchParameterSets.clear();
+            pendingBatchParameterSets.clear();
+            pendingBatchBytes.clear();
+            flushedBatchResults = new int[0];
+            addBatchTimes = 0;
+        }
     }
     
     @Override
     public void addBatch() throws SQLException {
         try {
-            for (BatchPreparedStatementUnit each : routeBatch()) {
-                each.getStatement().addBatch();
-                each.mapAddBatchCount(parameterSets.size());
+            ParameterSet parameterSet = createParameterSet();
+            if (batchDeferredRouting) {
+                batchParameterSets.add(parameterSet);
+                parameterSets.add(parameterSet.getParameters());
+            } else if (isBatchFlushEnabled()) {
+                routeBatch(parameterSet, addBatchTimes);
+                addPendingBatch(parameterSet);
+            } else {
+                routeBatch(parameterSet, addBatchTimes);
+                parameterSets.add(parameterSet.getParameters());
             }
-            parameterSets.add(getParameters());
+            addBatchTimes++;
         } finally {
             currentResultSet = null;
             clearParameters();
         }
     }
     
-    private List<BatchPreparedStatementUnit> routeBatch() throws SQLException {
-        List<BatchPreparedStatementUnit> result = new ArrayList<>();
-        routeResult = routingEngine.route(getParameters());
+    private boolean isBatchFlushEnabled() {
+        return !batchDeferredRouting && (batchFlushRows > 0 || batchFlushBytes > 0L);
+    }
+    
+    private void routeBatch(final ParameterSet parameterSet, final int addBatchTimes) throws SQLException {
+        routeResult = routingEngine.route(parameterSet.getParameters());
         for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
+            // 同一数据源的连接不能被多个线程同时使用, 需等待该数据源正在执行的子批量结束
+            awaitFlushingBatch(each.getDataSource());
             BatchPreparedStatementUnit batchStatementUnit = getPreparedBatchStatement(each);
-            replaySetParameter(batchStatementUnit.getStatement());
-            result.add(batchStatementUnit);
+            parameterSet.bind(batchStatementUnit.getStatement(), each.getParameterIndexes());
+            batchStatementUnit.getStatement().addBatch();
+            batchStatementUnit.mapAddBatchCount(addBatchTimes);
         }
-        return result;
     }
     
-    private BatchPreparedStatementUnit getPreparedBatchStatement(final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
-        Optional<BatchPreparedStatementUnit> preparedBatchStatement = Iterators.tryFind(batchStatementUnits.iterator(), new Predicate<BatchPreparedStatementUnit>() {
-            
-            @Override
-            public boolean apply(final BatchPreparedStatementUnit input) {
-                return Objects.equals(input.getSqlExecutionUnit(), sqlExecutionUnit);
+    // 自动执行批量时参数仅保留至所在数据源的子批量执行
+    private void addPendingBatch(final ParameterSet parameterSet) throws SQLException {
+        long bytes = 0L < batchFlushBytes ? parameterSet.estimateBytes() : 0L;
+        Set<String> dataSources = new LinkedHashSet<>();
+        for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
+            dataSources.add(each.getDataSource());
+        }
+        for (String each : dataSources) {
+            List<List<Object>> pendingParameterSets = pendingBatchParameterSets.get(each);
+            if (null == pendingParameterSets) {
+                pendingParameterSets = new ArrayList<>();
+                pendingBatchParameterSets.put(each, pendingParameterSets);
             }
-        });
-        if (preparedBatchStatement.isPresent()) {
-            return preparedBatchStatement.get();
+            pendingParameterSets.add(parameterSet.getParameters());
+            Long pendingBytes = pendingBatchBytes.get(each);
+            pendingBytes = null == pendingBytes ? bytes : pendingBytes + bytes;
+            pendingBatchBytes.put(each, pendingBytes);
+            if (batchFlushRows > 0 && pendingParameterSets.size() >= batchFlushRows || batchFlushBytes > 0L && pendingBytes >= batchFlushBytes) {
+                flushBatch(each);
+            }
+        }
+    }
+    
+    // 在执行引擎中异步执行数据源的子批量, 执行后的真实PreparedStatement由新的执行单元继续使用
+    private void flushBatch(final String dataSource) throws SQLException {
+        awaitFlushingBatch(dataSource);
+        List<List<Object>> pendingParameterSets = pendingBatchParameterSets.remove(dataSource);
+        pendingBatchBytes.remove(dataSource);
+        Collection<BatchPreparedStatementUnit> flushedUnits = new LinkedList<>();
+        for (Entry<SQLExecutionUnit, BatchPreparedStatementUnit> entry : batchStatementUnits.entrySet()) {
+            if (dataSource.equals(entry.getKey().getDataSource()) && !entry.getValue().getJdbcAndActualAddBatchCallTimesMap().isEmpty()) {
+                flushedUnits.add(entry.getValue());
+                entry.setValue(new BatchPreparedStatementUnit(entry.getKey(), entry.getValue().getStatement()));
+            }
+        }
+        if (flushedUnits.isEmpty()) {
+            return;
+        }
+        BatchPreparedStatementExecutor executor = new BatchPreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), 
+                getConnection().getShardingContext().getDatabaseType(), routeResult.getSqlStatement().getType(), flushedUnits, pendingParameterSets);
+        flushingBatchResults.put(dataSource, executor.executeBatchAsync());
+        flushingBatchExecutors.put(dataSource, executor);
+    }
+    
+    private void awaitFlushingBatch(final String dataSource) throws SQLException {
+        ListenableFuture<List<int[]>> future = flushingBatchResults.remove(dataSource);
+        if (null == future) {
+            return;
+        }
+        BatchPreparedStatementExecutor executor = flushingBatchExecutors.remove(dataSource);
+        List<int[]> results;
+        try {
+            results = future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(ex);
+        } catch (final ExecutionException ex) {
+            ExecutorExceptionHandler.handleException(createBatchUpdateException(null == ex.getCause() ? ex : ex.getCause()));
+            return;
+        }
+        if (flushedBatchResults.length < addBatchTimes) {
+            flushedBatchResults = Arrays.copyOf(flushedBatchResults, Math.max(addBatchTimes, flushedBatchResults.length * 2));
+        }
+        executor.accumulate(results, flushedBatchResults);
+    }
+    
+    // 自动执行的子批量失败时, 携带已执行子批量的更新计数抛出
+    private BatchUpdateException createBatchUpdateException(final Throwable cause) {
+        int[] updateCounts = Arrays.copyOf(flushedBatchResults, addBatchTimes);
+        if (cause instanceof SQLException) {
+            SQLException sqlException = (SQLException) cause;
+            return new BatchUpdateException(sqlException.getMessage(), sqlException.getSQLState(), sqlException.getErrorCode(), updateCounts, sqlException);
+        }
+        return new BatchUpdateException(updateCounts, cause);
+    }
+    
+    // 执行或清空批量时需等待所有已提交的子批量结束, 避免连接被继续使用时仍在执行, 失败的子批量在等待全部结束后抛出
+    private void awaitFlushingBatches() throws SQLException {
+        SQLException exception = null;
+        for (String each : new ArrayList<>(flushingBatchResults.keySet())) {
+            try {
+                awaitFlushingBatch(each);
+            } catch (final SQLException ex) {
+                if (null == exception) {
+                    exception = ex;
+                } else {
+                    exception.addSuppressed(ex);
+                }
+            }
+        }
+        if (null != exception) {
+            throw exception;
+        }
+    }
+    
+    private int[] executeFlushedBatch() throws SQLException {
+        for (String each : new ArrayList<>(pendingBatchParameterSets.keySet())) {
+            flushBatch(each);
+        }
+        awaitFlushingBatches();
+        return Arrays.copyOf(flushedBatchResults, addBatchTimes);
+    }
+    
+    // 统一路由缓存的参数, 按执行单元分组后逐个单元绑定参数, 同一真实PreparedStatement的参数连续绑定
+    private void routeDeferredBatch() throws SQLException {
+        Map<SQLExecutionUnit, List<Integer>> executionUnitAddBatchTimes = new LinkedHashMap<>();
+        for (int i = 0; i < batchParameterSets.size(); i++) {
+            routeResult = routingEngine.route(batchParameterSets.get(i).getParameters());
+            for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
+                List<Integer> addBatchTimes = executionUnitAddBatchTimes.get(each);
+                if (null == addBatchTimes) {
+                    addBatchTimes = new ArrayList<>();
+                    executionUnitAddBatchTimes.put(each, addBatchTimes);
+                }
+                addBatchTimes.add(i);
+            }
+        }
+        for (Entry<SQLExecutionUnit, List<Integer>> entry : executionUnitAddBatchTimes.entrySet()) {
+            BatchPreparedStatementUnit batchStatementUnit = getPreparedBatchStatement(entry.getKey());
+            for (int each : entry.getValue()) {
+                batchParameterSets.get(each).bind(batchStatementUnit.getStatement(), entry.getKey().getParameterIndexes());
+                batchStatementUnit.getStatement().addBatch();
+                batchStatementUnit.mapAddBatchCount(each);
+            }
+        }
+        batchParameterSets.clear();
+    }
+    
+    private BatchPreparedStatementUnit getPreparedBatchStatement(final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
+        BatchPreparedStatementUnit result = batchStatementUnits.get(sqlExecutionUnit);
+        if (null == result) {
+            result = new BatchPreparedStatementUnit(sqlExecutionUnit, generatePreparedStatement(sqlExecutionUnit));
+            batchStatementUnits.put(sqlExecutionUnit, result);
         }
-        BatchPreparedStatementUnit result = new BatchPreparedStatementUnit(sqlExecutionUnit, generatePreparedStatement(sqlExecutionUnit));
-        batchStatementUnits.add(result);
         return result;
     }
     
     @Override
     public int[] executeBatch() throws SQLException {
+        TracingContext.start(getConnection().getShardingContext().getTracer(), routingEngine.getLogicSQL());
         try {
+            if (isBatchFlushEnabled()) {
+                return executeFlushedBatch();
+            }
+            if (!batchParameterSets.isEmpty()) {
+                routeDeferredBatch();
+            }
             return new BatchPreparedStatementExecutor(getConnection().getShardingContext().getExecutorEngine(), 
-                    getConnection().getShardingContext().getDatabaseType(), routeResult.getSqlStatement().getType(), batchStatementUnits, parameterSets).executeBatch();
+                    getConnection().getShardingContext().getDatabaseType(), routeResult.getSqlStatement().getType(), batchStatementUnits.values(), parameterSets).executeBatch();
         } finally {
             clearBatch();
+            TracingContext.finish();
         }
     }
     
@@ -282,7 +575,21 @@ public final class ShardingPreparedStatement extends AbstractShardingPreparedSta
         for (PreparedStatement each : routedStatements) {
             resultSets.add(each.getResultSet());
         }
-        currentResultSet = new ShardingResultSet(resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge(), this);
+        currentResultSet = new ShardingResultSet(resultSets, merge(resultSets, (SelectStatement) routeResult.getSqlStatement()), this);
         return currentResultSet;
     }
+    
+    private ResultSetMerger merge(final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
+        MetricsRegistry metricsRegistry = connection.getShardingContext().getMetricsRegistry();
+        long startTime = metricsRegistry.start();
+        TracingContext tracingContext = TracingContext.get();
+        Span span = null == tracingContext ? null : tracingContext.startChildSpan(ShardingTags.MERGE_RESULT_OPERATION);
+        ResultSetMerger result = new MergeEngine(resultSets, selectStatement, connection.getShardingContext().getGroupByMemoryMaxRows()).merge();
+        metricsRegistry.record(MetricsPhase.MERGE, startTime);
+        if (null != span) {
+            span.setTag(ShardingTags.MERGE_STRATEGY, result.getClass().getSimpleName());
+            span.finish();
+        }
+        return result;
+    }
 }
@@ -25,12 +25,18 @@ import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
 import io.shardingjdbc.core.jdbc.core.resultset.GeneratedKeysResultSet;
 import io.shardingjdbc.core.jdbc.core.resultset.ShardingResultSet;
 import io.shardingjdbc.core.merger.MergeEngine;
+import io.shardingjdbc.core.merger.ResultSetMerger;
+import io.shardingjdbc.core.metrics.MetricsPhase;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
 import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
 import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
 import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.routing.SQLRouteResult;
 import io.shardingjdbc.core.routing.StatementRoutingEngine;
+import io.shardingjdbc.core.tracing.ShardingTags;
+import io.shardingjdbc.core.tracing.Span;
+import io.shardingjdbc.core.tracing.TracingContext;
 import com.google.common.base.Optional;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -42,6 +48,7 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -95,10 +102,12 @@ public class ShardingStatement extends AbstractStatementAdapter {
         ResultSet result;
         try {
             List<ResultSet> resultSets = generateExecutor(sql).executeQuery();
-            result = new ShardingResultSet(
-                    resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge(), this);
+            ResultSetMerger mergeResultSet = merge(resultSets, (SelectStatement) routeResult.getSqlStatement());
+            // 逻辑SQL的Span交由结果集在遍历结束或关闭时结束, 以记录返回行数
+            result = new ShardingResultSet(resultSets, mergeResultSet, this, TracingContext.unbind());
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
         currentResultSet = result;
         return result;
@@ -110,6 +119,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).executeUpdate();
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
@@ -122,6 +132,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).executeUpdate(autoGeneratedKeys);
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
@@ -132,6 +143,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).executeUpdate(columnIndexes);
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
@@ -142,6 +154,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).executeUpdate(columnNames);
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
@@ -151,6 +164,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).execute();
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
@@ -163,6 +177,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).execute(autoGeneratedKeys);
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
@@ -173,6 +188,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).execute(columnIndexes);
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
@@ -183,20 +199,34 @@ public class ShardingStatement extends AbstractStatementAdapter {
             return generateExecutor(sql).execute(columnNames);
         } finally {
             currentResultSet = null;
+            TracingContext.finish();
         }
     }
     
     private StatementExecutor generateExecutor(final String sql) throws SQLException {
         clearPrevious();
+        TracingContext.start(connection.getShardingContext().getTracer(), sql);
+        try {
+            return createExecutor(sql);
+            //CHECKSTYLE:OFF
+        } catch (final SQLException | RuntimeException ex) {
+            //CHECKSTYLE:ON
+            TracingContext.setError(ex);
+            throw ex;
+        }
+    }
+    
+    private StatementExecutor createExecutor(final String sql) throws SQLException {
         routeResult = new StatementRoutingEngine(connection.getShardingContext()).route(sql);
         Collection<StatementUnit> statementUnits = new LinkedList<>();
+        SQLType sqlType = routeResult.getSqlStatement().getType();
+        Iterator<Connection> routedConnections = SQLType.DDL == sqlType ? null : connection.getConnections(sqlType, routeResult.getExecutionUnits()).iterator();
         for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
             Collection<Connection> connections;
-            SQLType sqlType = routeResult.getSqlStatement().getType();
             if (SQLType.DDL == sqlType) {
                 connections = connection.getAllConnections(each.getDataSource());
             } else {
-                connections = Collections.singletonList(connection.getConnection(each.getDataSource(), routeResult.getSqlStatement().getType()));
+                connections = Collections.singletonList(routedConnections.next());
             }
             for (Connection connection : connections) {
                 Statement statement = connection.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
@@ -247,7 +277,21 @@ public class ShardingStatement extends AbstractStatementAdapter {
         for (Statement each : routedStatements) {
             resultSets.add(each.getResultSet());
         }
-        currentResultSet = new ShardingResultSet(resultSets, new MergeEngine(resultSets, (SelectStatement) routeResult.getSqlStatement()).merge(), this);
+        currentResultSet = new ShardingResultSet(resultSets, merge(resultSets, (SelectStatement) routeResult.getSqlStatement()), this);
         return currentResultSet;
     }
+    
+    private ResultSetMerger merge(final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
+        MetricsRegistry metricsRegistry = connection.getShardingContext().getMetricsRegistry();
+        long startTime = metricsRegistry.start();
+        TracingContext tracingContext = TracingContext.get();
+        Span span = null == tracingContext ? null : tracingContext.startChildSpan(ShardingTags.MERGE_RESULT_OPERATION);
+        ResultSetMerger result = new MergeEngine(resultSets, selectStatement, connection.getShardingContext().getGroupByMemoryMaxRows()).merge();
+        metricsRegistry.record(MetricsPhase.MERGE, startTime);
+        if (null != span) {
+            span.setTag(ShardingTags.MERGE_STRATEGY, result.getClass().getSimpleName());
+            span.finish();
+        }
+        return result;
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.keygen;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free snowflake key generator.
+ *
+ * <p>
+ * Uses the same 64bit layout and worker id as {@link DefaultKeyGenerator}, 
+ * but keeps last timestamp offset and last sequence in one {@link AtomicLong} updated by CAS.
+ * </p>
+ * 
+ * <p>
+ * Contiguous keys can be allocated in one call by {@link #generateKeys(int)}. 
+ * When sequence of current millisecond is exhausted or clock moves backwards within tolerance, 
+ * sequence of following milliseconds is borrowed instead of waiting or throwing exception, 
+ * and the caller sleeps only when borrowed milliseconds exceed the tolerance.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ConcurrentKeyGenerator implements KeyGenerator {
+    
+    /**
+     * Max keys count of one allocation.
+     */
+    public static final int MAX_BATCH_SIZE = 1 << 12;
+    
+    private static final long SEQUENCE_BITS = 12L;
+    
+    private static final long SEQUENCE_MASK = (1 << SEQUENCE_BITS) - 1;
+    
+    private static final long WORKER_ID_LEFT_SHIFT_BITS = SEQUENCE_BITS;
+    
+    private static final long TIMESTAMP_LEFT_SHIFT_BITS = WORKER_ID_LEFT_SHIFT_BITS + 10L;
+    
+    private static final long DEFAULT_MAX_BACKWARD_MILLISECONDS = 10L;
+    
+    private static final long INITIAL_STATE = -1L;
+    
+    private final long workerId;
+    
+    private final TimeService timeService;
+    
+    private final long maxBackwardMilliseconds;
+    
+    private final AtomicLong state = new AtomicLong(INITIAL_STATE);
+    
+    public ConcurrentKeyGenerator() {
+        this(DefaultKeyGenerator.getWorkerId(), new TimeService(), DEFAULT_MAX_BACKWARD_MILLISECONDS);
+    }
+    
+    public ConcurrentKeyGenerator(final long workerId, final TimeService timeService, final long maxBackwardMilliseconds) {
+        Preconditions.checkArgument(workerId >= 0L && workerId < 1L << (TIMESTAMP_LEFT_SHIFT_BITS - WORKER_ID_LEFT_SHIFT_BITS));
+        Preconditions.checkArgument(maxBackwardMilliseconds >= 0L);
+        this.workerId = workerId;
+        this.timeService = timeService;
+        this.maxBackwardMilliseconds = maxBackwardMilliseconds;
+    }
+    
+    /**
+     * Generate key.
+     * 
+     * @return key type is @{@link Long}.
+     */
+    @Override
+    public Number generateKey() {
+        return generateKeys(1);
+    }
+    
+    /**
+     * Generate contiguous keys.
+     * 
+     * @param count keys count, from 1 to {@link #MAX_BATCH_SIZE}
+     * @return first key, keys are from first key to first key plus count minus 1
+     */
+    public long generateKeys(final int count) {
+        Preconditions.checkArgument(count > 0 && count <= MAX_BATCH_SIZE, "Keys count should be between 1 and %d, but is %d.", MAX_BATCH_SIZE, count);
+        while (true) {
+            long current = state.get();
+            long currentTime = timeService.getCurrentMillis() - DefaultKeyGenerator.EPOCH;
+            long lastTime = current >>> SEQUENCE_BITS;
+            long nextTime;
+            long firstSequence;
+            if (INITIAL_STATE == current || currentTime > lastTime) {
+                nextTime = currentTime;
+                firstSequence = 0L;
+            } else {
+                // 借用的时间不超过容忍值, 超出即为时钟回拨
+                Preconditions.checkState(lastTime - currentTime <= maxBackwardMilliseconds, 
+                        "Clock is moving backwards, last time is %d milliseconds, current time is %d milliseconds", lastTime + DefaultKeyGenerator.EPOCH, currentTime + DefaultKeyGenerator.EPOCH);
+                nextTime = lastTime;
+                firstSequence = (current & SEQUENCE_MASK) + 1L;
+                if (firstSequence + count - 1L > SEQUENCE_MASK) {
+                    nextTime++;
+                    firstSequence = 0L;
+                }
+                // 预支的毫秒数超过容忍值时休眠至时钟追上, 避免空转占用CPU
+                if (nextTime - currentTime > maxBackwardMilliseconds) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(nextTime - currentTime - maxBackwardMilliseconds));
+                    continue;
+                }
+            }
+            if (state.compareAndSet(current, nextTime << SEQUENCE_BITS | (firstSequence + count - 1L))) {
+                return nextTime << TIMESTAMP_LEFT_SHIFT_BITS | workerId << WORKER_ID_LEFT_SHIFT_BITS | firstSequence;
+            }
+        }
+    }
+}
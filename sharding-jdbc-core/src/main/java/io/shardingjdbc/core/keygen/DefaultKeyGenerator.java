@@ -89,6 +89,10 @@ public final class DefaultKeyGenerator implements KeyGenerator {
         DefaultKeyGenerator.workerId = workerId;
     }
     
+    static long getWorkerId() {
+        return workerId;
+    }
+    
     /**
      * Generate key.
      * 
@@ -49,9 +49,16 @@ public final class MergeEngine {
     
     private final Map<String, Integer> columnLabelIndexMap;
     
+    private final int groupByMemoryMaxRows;
+    
     public MergeEngine(final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
+        this(resultSets, selectStatement, 0);
+    }
+    
+    public MergeEngine(final List<ResultSet> resultSets, final SelectStatement selectStatement, final int groupByMemoryMaxRows) throws SQLException {
         this.resultSets = resultSets;
         this.selectStatement = selectStatement;
+        this.groupByMemoryMaxRows = groupByMemoryMaxRows;
         columnLabelIndexMap = getColumnLabelIndexMap(resultSets.get(0));
     }
     
@@ -80,7 +87,7 @@ public final class MergeEngine {
             if (selectStatement.isSameGroupByAndOrderByItems()) {
                 return new GroupByStreamResultSetMerger(columnLabelIndexMap, resultSets, selectStatement);
             } else {
-                return new GroupByMemoryResultSetMerger(columnLabelIndexMap, resultSets, selectStatement);
+                return new GroupByMemoryResultSetMerger(columnLabelIndexMap, resultSets, selectStatement, groupByMemoryMaxRows);
             }
         }
         if (!selectStatement.getOrderByItems().isEmpty()) {
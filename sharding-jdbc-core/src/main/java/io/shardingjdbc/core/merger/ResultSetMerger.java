@@ -105,4 +105,11 @@ public interface ResultSetMerger {
      * @throws SQLException SQL Exception
      */
     boolean wasNull() throws SQLException;
+    
+    /**
+     * Close merger and release resources held by merger, such as temporary files.
+     * 
+     * @throws SQLException SQL Exception
+     */
+    void close() throws SQLException;
 }
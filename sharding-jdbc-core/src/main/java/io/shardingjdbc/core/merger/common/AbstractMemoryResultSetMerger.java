@@ -97,4 +97,8 @@ public abstract class AbstractMemoryResultSetMerger implements ResultSetMerger {
     public boolean wasNull() throws SQLException {
         return wasNull;
     }
+    
+    @Override
+    public void close() throws SQLException {
+    }
 }
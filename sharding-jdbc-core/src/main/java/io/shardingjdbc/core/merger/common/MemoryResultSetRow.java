@@ -17,8 +17,10 @@
 
 package io.shardingjdbc.core.merger.common;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 
+import java.io.Serializable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
@@ -27,7 +29,9 @@ import java.sql.SQLException;
  * 
  * @author zhangliang
  */
-public class MemoryResultSetRow {
+public class MemoryResultSetRow implements Serializable {
+    
+    private static final long serialVersionUID = 3581284612397046258L;
     
     private final Object[] data;
     
@@ -65,4 +69,18 @@ public class MemoryResultSetRow {
         Preconditions.checkArgument(columnIndex > 0 && columnIndex < data.length + 1);
         data[columnIndex - 1] = value;
     }
+    
+    /**
+     * 查找值不可序列化的列.
+     * 
+     * @return 第一个值不可序列化的列索引
+     */
+    public Optional<Integer> findNotSerializableColumnIndex() {
+        for (int i = 0; i < data.length; i++) {
+            if (null != data[i] && !(data[i] instanceof Serializable)) {
+                return Optional.of(i + 1);
+            }
+        }
+        return Optional.absent();
+    }
 }
@@ -17,60 +17,149 @@
 
 package io.shardingjdbc.core.merger.groupby;
 
+import io.shardingjdbc.core.constant.OrderType;
+import io.shardingjdbc.core.exception.ShardingJdbcException;
 import io.shardingjdbc.core.merger.common.AbstractMemoryResultSetMerger;
 import io.shardingjdbc.core.merger.common.MemoryResultSetRow;
 import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnit;
 import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnitFactory;
+import io.shardingjdbc.core.merger.groupby.aggregation.TypedAggregationUnit;
+import io.shardingjdbc.core.merger.util.ResultSetUtil;
 import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
-import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 
+import java.io.IOException;
+import java.io.Serializable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 /**
  * Memory merger for group by.
+ * 
+ * <p>
+ * If count of groups exceeds max memory rows, sorted partial aggregation results are spilled to temporary files,
+ * and then merged and sorted externally. Temporary files not read completely are deleted when merger closed.
+ * Rows with values which can not be serialized, such as Blob and Clob, are kept in memory.
+ * </p>
  *
  * @author zhangliang
  */
 public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetMerger {
     
+    private static final Comparator<GroupByPartialResult> GROUP_BY_VALUE_COMPARATOR = new Comparator<GroupByPartialResult>() {
+        
+        @Override
+        public int compare(final GroupByPartialResult o1, final GroupByPartialResult o2) {
+            return compareGroupByValue(o1.getGroupByValue(), o2.getGroupByValue());
+        }
+    };
+    
     private final SelectStatement selectStatement;
     
+    private final int maxMemoryRows;
+    
+    private final Map<String, Integer> labelAndIndexMap;
+    
+    private final Collection<GroupBySpillFile<?>> spillFiles = new LinkedList<>();
+    
+    private boolean spillable = true;
+    
     private final Iterator<MemoryResultSetRow> memoryResultSetRows;
     
     public GroupByMemoryResultSetMerger(
             final Map<String, Integer> labelAndIndexMap, final List<ResultSet> resultSets, final SelectStatement selectStatement) throws SQLException {
+        this(labelAndIndexMap, resultSets, selectStatement, 0);
+    }
+    
+    public GroupByMemoryResultSetMerger(
+            final Map<String, Integer> labelAndIndexMap, final List<ResultSet> resultSets, final SelectStatement selectStatement, final int maxMemoryRows) throws SQLException {
         super(labelAndIndexMap);
         this.selectStatement = selectStatement;
-        memoryResultSetRows = init(resultSets);
+        this.maxMemoryRows = maxMemoryRows;
+        this.labelAndIndexMap = labelAndIndexMap;
+        try {
+            memoryResultSetRows = init(resultSets);
+            //CHECKSTYLE:OFF
+        } catch (final RuntimeException | SQLException ex) {
+            //CHECKSTYLE:ON
+            close();
+            throw ex;
+        }
     }
     
     private Iterator<MemoryResultSetRow> init(final List<ResultSet> resultSets) throws SQLException {
         Map<GroupByValue, MemoryResultSetRow> dataMap = new HashMap<>(1024);
         Map<GroupByValue, Map<AggregationSelectItem, AggregationUnit>> aggregationMap = new HashMap<>(1024);
+        List<GroupBySpillFile<GroupByPartialResult>> partialResultSpillFiles = new LinkedList<>();
         for (ResultSet each : resultSets) {
             while (each.next()) {
                 GroupByValue groupByValue = new GroupByValue(each, selectStatement.getGroupByItems());
                 initForFirstGroupByValue(each, groupByValue, dataMap, aggregationMap);
                 aggregate(each, groupByValue, aggregationMap);
+                if (isMemoryRowsExceeded(dataMap.size()) && isSpillable(dataMap.values(), !partialResultSpillFiles.isEmpty())) {
+                    partialResultSpillFiles.add(spillPartialResults(dataMap, aggregationMap));
+                }
+            }
+        }
+        PeekingIterator<MemoryResultSetRow> result;
+        if (partialResultSpillFiles.isEmpty()) {
+            setAggregationValueToMemoryRow(dataMap, aggregationMap);
+            result = Iterators.peekingIterator(getMemoryResultSetRows(dataMap).iterator());
+        } else {
+            if (!dataMap.isEmpty() && isSpillable(dataMap.values(), true)) {
+                partialResultSpillFiles.add(spillPartialResults(dataMap, aggregationMap));
+            }
+            result = Iterators.peekingIterator(mergePartialResults(partialResultSpillFiles));
+        }
+        if (result.hasNext()) {
+            setCurrentResultSetRow(result.peek());
+        }
+        return result;
+    }
+    
+    private boolean isMemoryRowsExceeded(final int memoryRows) {
+        return spillable && maxMemoryRows > 0 && memoryRows > maxMemoryRows;
+    }
+    
+    // 含不可序列化值的行无法溢写: 尚未溢写时全部保留在内存中, 已有溢写文件时无法合并, 报错并指明列
+    private boolean isSpillable(final Collection<MemoryResultSetRow> rows, final boolean isSpilled) {
+        for (MemoryResultSetRow each : rows) {
+            Optional<Integer> columnIndex = each.findNotSerializableColumnIndex();
+            if (!columnIndex.isPresent()) {
+                continue;
+            }
+            if (isSpilled) {
+                throw new ShardingJdbcException("Can not spill group by result to disk, value of column '%s' is not serializable: %s. Please increase max memory rows of group by.", 
+                        getColumnLabel(columnIndex.get()), each.getCell(columnIndex.get()).getClass().getName());
             }
+            spillable = false;
+            return false;
         }
-        setAggregationValueToMemoryRow(dataMap, aggregationMap);
-        List<MemoryResultSetRow> result = getMemoryResultSetRows(dataMap);
-        if (!result.isEmpty()) {
-            setCurrentResultSetRow(result.get(0));
+        return true;
+    }
+    
+    private String getColumnLabel(final int columnIndex) {
+        for (Entry<String, Integer> entry : labelAndIndexMap.entrySet()) {
+            if (columnIndex == entry.getValue()) {
+                return entry.getKey();
+            }
         }
-        return result.iterator();
+        return String.valueOf(columnIndex);
     }
     
     private void initForFirstGroupByValue(final ResultSet resultSet, final GroupByValue groupByValue, final Map<GroupByValue, MemoryResultSetRow> dataMap, 
@@ -79,19 +168,21 @@ public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetM
             dataMap.put(groupByValue, new MemoryResultSetRow(resultSet));
         }
         if (!aggregationMap.containsKey(groupByValue)) {
-            Map<AggregationSelectItem, AggregationUnit> map = Maps.toMap(selectStatement.getAggregationSelectItems(), new Function<AggregationSelectItem, AggregationUnit>() {
-                
-                @Override
-                public AggregationUnit apply(final AggregationSelectItem input) {
-                    return AggregationUnitFactory.create(input.getType());
-                }
-            });
+            Map<AggregationSelectItem, AggregationUnit> map = new LinkedHashMap<>(selectStatement.getAggregationSelectItems().size(), 1);
+            for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+                map.put(each, AggregationUnitFactory.create(each, resultSet.getMetaData()));
+            }
             aggregationMap.put(groupByValue, map);
         }
     }
     
     private void aggregate(final ResultSet resultSet, final GroupByValue groupByValue, final Map<GroupByValue, Map<AggregationSelectItem, AggregationUnit>> aggregationMap) throws SQLException {
         for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            AggregationUnit aggregationUnit = aggregationMap.get(groupByValue).get(each);
+            if (aggregationUnit instanceof TypedAggregationUnit) {
+                ((TypedAggregationUnit) aggregationUnit).merge(resultSet);
+                continue;
+            }
             List<Comparable<?>> values = new ArrayList<>(2);
             if (each.getDerivedAggregationSelectItems().isEmpty()) {
                 values.add(getAggregationValue(resultSet, each));
@@ -100,7 +191,7 @@ public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetM
                     values.add(getAggregationValue(resultSet, derived));
                 }
             }
-            aggregationMap.get(groupByValue).get(each).merge(values);
+            aggregationUnit.merge(values);
         }
     }
     
@@ -124,6 +215,119 @@ public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetM
         return result;
     }
     
+    private GroupBySpillFile<GroupByPartialResult> spillPartialResults(
+            final Map<GroupByValue, MemoryResultSetRow> dataMap, final Map<GroupByValue, Map<AggregationSelectItem, AggregationUnit>> aggregationMap) {
+        List<GroupByPartialResult> partialResults = new ArrayList<>(dataMap.size());
+        for (Entry<GroupByValue, MemoryResultSetRow> entry : dataMap.entrySet()) {
+            List<AggregationUnit> aggregationUnits = new ArrayList<>(selectStatement.getAggregationSelectItems().size());
+            for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+                aggregationUnits.add(aggregationMap.get(entry.getKey()).get(each));
+            }
+            partialResults.add(new GroupByPartialResult(entry.getKey(), entry.getValue(), aggregationUnits));
+        }
+        dataMap.clear();
+        aggregationMap.clear();
+        Collections.sort(partialResults, GROUP_BY_VALUE_COMPARATOR);
+        return spill(partialResults);
+    }
+    
+    // 多个溢写文件中相同分组的部分聚合结果合并后，按排序项再次外部排序
+    private Iterator<MemoryResultSetRow> mergePartialResults(final Collection<GroupBySpillFile<GroupByPartialResult>> partialResultSpillFiles) {
+        Comparator<MemoryResultSetRow> rowComparator = new GroupByRowComparator(selectStatement);
+        List<GroupBySpillFile<MemoryResultSetRow>> rowSpillFiles = new LinkedList<>();
+        List<MemoryResultSetRow> rows = new ArrayList<>();
+        PeekingIterator<GroupByPartialResult> partialResults = Iterators.peekingIterator(createMergeIterator(partialResultSpillFiles, GROUP_BY_VALUE_COMPARATOR));
+        while (partialResults.hasNext()) {
+            for (GroupByPartialResult each : combineSameGroups(partialResults)) {
+                rows.add(getMemoryResultSetRow(each));
+                if (isMemoryRowsExceeded(rows.size())) {
+                    Collections.sort(rows, rowComparator);
+                    rowSpillFiles.add(spill(rows));
+                    rows = new ArrayList<>();
+                }
+            }
+        }
+        Collections.sort(rows, rowComparator);
+        if (rowSpillFiles.isEmpty()) {
+            return rows.iterator();
+        }
+        if (!rows.isEmpty()) {
+            rowSpillFiles.add(spill(rows));
+        }
+        return createMergeIterator(rowSpillFiles, rowComparator);
+    }
+    
+    // 排序比较相等的分组值按equals可能不相等(如1.0与1.00), 与内存中按equals分组保持一致, 仅合并equals相等的部分聚合结果
+    private Collection<GroupByPartialResult> combineSameGroups(final PeekingIterator<GroupByPartialResult> partialResults) {
+        GroupByPartialResult first = partialResults.next();
+        Map<GroupByValue, GroupByPartialResult> result = null;
+        while (partialResults.hasNext() && 0 == GROUP_BY_VALUE_COMPARATOR.compare(first, partialResults.peek())) {
+            GroupByPartialResult next = partialResults.next();
+            if (null == result && first.getGroupByValue().equals(next.getGroupByValue())) {
+                combine(first.getAggregationUnits(), next.getAggregationUnits());
+                continue;
+            }
+            if (null == result) {
+                result = new LinkedHashMap<>();
+                result.put(first.getGroupByValue(), first);
+            }
+            GroupByPartialResult sameGroup = result.get(next.getGroupByValue());
+            if (null == sameGroup) {
+                result.put(next.getGroupByValue(), next);
+            } else {
+                combine(sameGroup.getAggregationUnits(), next.getAggregationUnits());
+            }
+        }
+        return null == result ? Collections.singletonList(first) : result.values();
+    }
+    
+    private void combine(final List<AggregationUnit> aggregationUnits, final List<AggregationUnit> otherAggregationUnits) {
+        for (int i = 0; i < aggregationUnits.size(); i++) {
+            aggregationUnits.get(i).combine(otherAggregationUnits.get(i));
+        }
+    }
+    
+    private MemoryResultSetRow getMemoryResultSetRow(final GroupByPartialResult partialResult) {
+        MemoryResultSetRow result = partialResult.getMemoryResultSetRow();
+        int i = 0;
+        for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            result.setCell(each.getIndex(), partialResult.getAggregationUnits().get(i++).getResult());
+        }
+        return result;
+    }
+    
+    private <T extends Serializable> GroupBySpillFile<T> spill(final Collection<T> records) {
+        try {
+            GroupBySpillFile<T> result = new GroupBySpillFile<>(records);
+            spillFiles.add(result);
+            return result;
+        } catch (final IOException ex) {
+            throw new ShardingJdbcException("Can not spill group by result to disk.", ex);
+        }
+    }
+    
+    private <T extends Serializable> Iterator<T> createMergeIterator(final Collection<GroupBySpillFile<T>> spillFiles, final Comparator<T> comparator) {
+        try {
+            return new GroupBySpillFileMergeIterator<>(spillFiles, comparator);
+        } catch (final IOException ex) {
+            throw new ShardingJdbcException("Can not read group by result from disk.", ex);
+        }
+    }
+    
+    private static int compareGroupByValue(final GroupByValue groupByValue1, final GroupByValue groupByValue2) {
+        for (int i = 0; i < groupByValue1.getGroupValues().size(); i++) {
+            Object value1 = groupByValue1.getGroupValues().get(i);
+            Preconditions.checkState(null == value1 || value1 instanceof Comparable, "Group by value must implements Comparable");
+            Object value2 = groupByValue2.getGroupValues().get(i);
+            Preconditions.checkState(null == value2 || value2 instanceof Comparable, "Group by value must implements Comparable");
+            int result = ResultSetUtil.compareTo((Comparable) value1, (Comparable) value2, OrderType.ASC, OrderType.ASC);
+            if (0 != result) {
+                return result;
+            }
+        }
+        return 0;
+    }
+    
     @Override
     public boolean next() throws SQLException {
         if (memoryResultSetRows.hasNext()) {
@@ -132,4 +336,20 @@ public final class GroupByMemoryResultSetMerger extends AbstractMemoryResultSetM
         }
         return false;
     }
+    
+    @Override
+    public void close() throws SQLException {
+        IOException exception = null;
+        for (GroupBySpillFile<?> each : spillFiles) {
+            try {
+                each.close();
+            } catch (final IOException ex) {
+                exception = ex;
+            }
+        }
+        spillFiles.clear();
+        if (null != exception) {
+            throw new SQLException("Can not delete group by spill file.", exception);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby;
+
+import io.shardingjdbc.core.merger.common.MemoryResultSetRow;
+import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnit;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Partial group by result spilled to disk.
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+final class GroupByPartialResult implements Serializable {
+    
+    private static final long serialVersionUID = 8170546713092852519L;
+    
+    private final GroupByValue groupByValue;
+    
+    private final MemoryResultSetRow memoryResultSetRow;
+    
+    private final List<AggregationUnit> aggregationUnits;
+}
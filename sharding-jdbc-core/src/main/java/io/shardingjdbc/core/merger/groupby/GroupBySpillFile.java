@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby;
+
+import lombok.Getter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * Spill file for group by merger.
+ * 
+ * <p>Records are written once in order and read back once in same order, file is deleted after read completely or closed.</p>
+ * 
+ * @param <T> type of record
+ * 
+ * @author zhangliang
+ */
+final class GroupBySpillFile<T extends Serializable> implements Closeable {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final int RESET_INTERVAL = 1024;
+    
+    private final File file;
+    
+    private final int size;
+    
+    private int readCount;
+    
+    private ObjectInputStream inputStream;
+    
+    @Getter
+    private T current;
+    
+    GroupBySpillFile(final Collection<T> records) throws IOException {
+        file = File.createTempFile("sharding-jdbc-group-by-", ".spill");
+        size = records.size();
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+            int count = 0;
+            for (T each : records) {
+                outputStream.writeObject(each);
+                // 定期重置避免输出流缓存已写入的对象
+                if (0 == ++count % RESET_INTERVAL) {
+                    outputStream.reset();
+                }
+            }
+        } catch (final IOException ex) {
+            close();
+            throw ex;
+        }
+    }
+    
+    /**
+     * Read next record.
+     * 
+     * @return has next record or not
+     * @throws IOException IO exception
+     */
+    @SuppressWarnings("unchecked")
+    boolean next() throws IOException {
+        if (readCount == size) {
+            current = null;
+            close();
+            return false;
+        }
+        if (null == inputStream) {
+            inputStream = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+        }
+        try {
+            current = (T) inputStream.readObject();
+        } catch (final ClassNotFoundException ex) {
+            throw new IOException(ex);
+        }
+        readCount++;
+        return true;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            if (null != inputStream) {
+                inputStream.close();
+                inputStream = null;
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
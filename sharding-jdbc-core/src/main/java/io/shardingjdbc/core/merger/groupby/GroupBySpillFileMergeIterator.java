@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby;
+
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Iterator for merging sorted spill files of group by merger.
+ * 
+ * @param <T> type of record
+ * 
+ * @author zhangliang
+ */
+final class GroupBySpillFileMergeIterator<T extends Serializable> implements Iterator<T> {
+    
+    private final PriorityQueue<GroupBySpillFile<T>> spillFiles;
+    
+    GroupBySpillFileMergeIterator(final Collection<GroupBySpillFile<T>> spillFiles, final Comparator<T> comparator) throws IOException {
+        this.spillFiles = new PriorityQueue<>(Math.max(spillFiles.size(), 1), new Comparator<GroupBySpillFile<T>>() {
+            
+            @Override
+            public int compare(final GroupBySpillFile<T> o1, final GroupBySpillFile<T> o2) {
+                return comparator.compare(o1.getCurrent(), o2.getCurrent());
+            }
+        });
+        for (GroupBySpillFile<T> each : spillFiles) {
+            if (each.next()) {
+                this.spillFiles.offer(each);
+            }
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        return !spillFiles.isEmpty();
+    }
+    
+    @Override
+    public T next() {
+        GroupBySpillFile<T> spillFile = spillFiles.poll();
+        if (null == spillFile) {
+            throw new NoSuchElementException();
+        }
+        T result = spillFile.getCurrent();
+        try {
+            if (spillFile.next()) {
+                spillFiles.offer(spillFile);
+            }
+        } catch (final IOException ex) {
+            throw new ShardingJdbcException(ex);
+        }
+        return result;
+    }
+    
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
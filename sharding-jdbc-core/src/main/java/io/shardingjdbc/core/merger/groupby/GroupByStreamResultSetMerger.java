@@ -19,18 +19,18 @@ package io.shardingjdbc.core.merger.groupby;
 
 import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnit;
 import io.shardingjdbc.core.merger.groupby.aggregation.AggregationUnitFactory;
+import io.shardingjdbc.core.merger.groupby.aggregation.TypedAggregationUnit;
 import io.shardingjdbc.core.merger.orderby.OrderByStreamResultSetMerger;
 import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
-import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Maps;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -76,13 +76,10 @@ public final class GroupByStreamResultSetMerger extends OrderByStreamResultSetMe
     
     private boolean aggregateCurrentGroupByRowAndNext() throws SQLException {
         boolean result = false;
-        Map<AggregationSelectItem, AggregationUnit> aggregationUnitMap = Maps.toMap(selectStatement.getAggregationSelectItems(), new Function<AggregationSelectItem, AggregationUnit>() {
-            
-            @Override
-            public AggregationUnit apply(final AggregationSelectItem input) {
-                return AggregationUnitFactory.create(input.getType());
-            }
-        });
+        Map<AggregationSelectItem, AggregationUnit> aggregationUnitMap = new LinkedHashMap<>(selectStatement.getAggregationSelectItems().size(), 1);
+        for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            aggregationUnitMap.put(each, AggregationUnitFactory.create(each, getCurrentResultSet().getMetaData()));
+        }
         while (currentGroupByValues.equals(new GroupByValue(getCurrentResultSet(), selectStatement.getGroupByItems()).getGroupValues())) {
             aggregate(aggregationUnitMap);
             cacheCurrentRow();
@@ -97,6 +94,10 @@ public final class GroupByStreamResultSetMerger extends OrderByStreamResultSetMe
     
     private void aggregate(final Map<AggregationSelectItem, AggregationUnit> aggregationUnitMap) throws SQLException {
         for (Entry<AggregationSelectItem, AggregationUnit> entry : aggregationUnitMap.entrySet()) {
+            if (entry.getValue() instanceof TypedAggregationUnit) {
+                ((TypedAggregationUnit) entry.getValue()).merge(getCurrentResultSet());
+                continue;
+            }
             List<Comparable<?>> values = new ArrayList<>(2);
             if (entry.getKey().getDerivedAggregationSelectItems().isEmpty()) {
                 values.add(getAggregationValue(entry.getKey()));
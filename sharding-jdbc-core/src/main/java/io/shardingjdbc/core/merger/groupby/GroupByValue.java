@@ -21,6 +21,7 @@ import io.shardingjdbc.core.parsing.parser.context.OrderItem;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+import java.io.Serializable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -33,7 +34,9 @@ import java.util.List;
  */
 @Getter
 @EqualsAndHashCode
-public final class GroupByValue {
+public final class GroupByValue implements Serializable {
+    
+    private static final long serialVersionUID = -2571470128716583724L;
     
     private final List<?> groupValues;
     
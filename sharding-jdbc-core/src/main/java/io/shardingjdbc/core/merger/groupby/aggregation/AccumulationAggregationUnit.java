@@ -21,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -32,6 +33,8 @@ import java.util.List;
 @Slf4j
 public final class AccumulationAggregationUnit implements AggregationUnit {
     
+    private static final long serialVersionUID = 5478293014655713851L;
+    
     private BigDecimal result;
     
     @Override
@@ -46,6 +49,11 @@ public final class AccumulationAggregationUnit implements AggregationUnit {
         log.trace("Accumulation result: {}", result.toString());
     }
     
+    @Override
+    public void combine(final AggregationUnit aggregationUnit) {
+        merge(Collections.<Comparable<?>>singletonList(aggregationUnit.getResult()));
+    }
+    
     @Override
     public Comparable<?>  getResult() {
         return result;
@@ -17,14 +17,17 @@
 
 package io.shardingjdbc.core.merger.groupby.aggregation;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
  * Aggregation unit interface.
  * 
+ * <p>Aggregation unit is serializable for spilling partial aggregation results to disk.</p>
+ * 
  * @author gaohongtao
  */
-public interface AggregationUnit {
+public interface AggregationUnit extends Serializable {
     
     /**
      * merge aggregation values.
@@ -33,6 +36,13 @@ public interface AggregationUnit {
      */
     void merge(List<Comparable<?>> values);
     
+    /**
+     * Combine partial aggregation result of another unit with same type.
+     * 
+     * @param aggregationUnit aggregation unit to be combined
+     */
+    void combine(AggregationUnit aggregationUnit);
+    
     /**
      * Get aggregation result.
      * 
@@ -18,9 +18,14 @@
 package io.shardingjdbc.core.merger.groupby.aggregation;
 
 import io.shardingjdbc.core.constant.AggregationType;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
 /**
  * Aggregation unit factory.
  * 
@@ -50,4 +55,50 @@ public final class AggregationUnitFactory {
                 throw new UnsupportedOperationException(type.name());
         }
     }
+    
+    /**
+     * Create aggregation unit instance via column types of result set.
+     * 
+     * <p>Typed aggregation unit is created for numeric columns, otherwise same as {@link #create(AggregationType)}.</p>
+     *
+     * @param aggregationSelectItem aggregation select item
+     * @param resultSetMetaData result set meta data
+     * @return aggregation unit instance
+     * @throws SQLException SQL exception
+     */
+    public static AggregationUnit create(final AggregationSelectItem aggregationSelectItem, final ResultSetMetaData resultSetMetaData) throws SQLException {
+        AggregationType type = aggregationSelectItem.getType();
+        if (AggregationType.AVG == type) {
+            return createAverageAggregationUnit(aggregationSelectItem.getDerivedAggregationSelectItems(), resultSetMetaData);
+        }
+        AggregationValueType valueType = AggregationValueType.valueOf(resultSetMetaData, aggregationSelectItem.getIndex());
+        if (AggregationValueType.OBJECT == valueType) {
+            return create(type);
+        }
+        switch (type) {
+            case MAX:
+                return new TypedComparableAggregationUnit(false, valueType, aggregationSelectItem.getIndex());
+            case MIN:
+                return new TypedComparableAggregationUnit(true, valueType, aggregationSelectItem.getIndex());
+            case SUM:
+            case COUNT:
+                return new TypedAccumulationAggregationUnit(valueType, aggregationSelectItem.getIndex());
+            default:
+                throw new UnsupportedOperationException(type.name());
+        }
+    }
+    
+    private static AggregationUnit createAverageAggregationUnit(final List<AggregationSelectItem> derivedAggregationSelectItems, final ResultSetMetaData resultSetMetaData) throws SQLException {
+        if (2 != derivedAggregationSelectItems.size()) {
+            return create(AggregationType.AVG);
+        }
+        int countColumnIndex = derivedAggregationSelectItems.get(0).getIndex();
+        int sumColumnIndex = derivedAggregationSelectItems.get(1).getIndex();
+        AggregationValueType countValueType = AggregationValueType.valueOf(resultSetMetaData, countColumnIndex);
+        AggregationValueType sumValueType = AggregationValueType.valueOf(resultSetMetaData, sumColumnIndex);
+        if (AggregationValueType.OBJECT == countValueType || AggregationValueType.OBJECT == sumValueType) {
+            return create(AggregationType.AVG);
+        }
+        return new TypedAverageAggregationUnit(countValueType, countColumnIndex, sumValueType, sumColumnIndex);
+    }
 }
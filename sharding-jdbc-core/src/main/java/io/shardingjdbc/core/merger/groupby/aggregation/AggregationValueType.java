@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Aggregation value type.
+ * 
+ * @author zhangliang
+ */
+enum AggregationValueType {
+    
+    LONG, DOUBLE, DECIMAL, OBJECT;
+    
+    /**
+     * Get aggregation value type via column type of result set.
+     * 
+     * @param resultSetMetaData result set meta data
+     * @param columnIndex column index
+     * @return aggregation value type
+     * @throws SQLException SQL exception
+     */
+    static AggregationValueType valueOf(final ResultSetMetaData resultSetMetaData, final int columnIndex) throws SQLException {
+        switch (resultSetMetaData.getColumnType(columnIndex)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return LONG;
+            case Types.BIGINT:
+                // 无符号BIGINT可能超出long的范围
+                return resultSetMetaData.isSigned(columnIndex) ? LONG : DECIMAL;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return DOUBLE;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return DECIMAL;
+            default:
+                return OBJECT;
+        }
+    }
+}
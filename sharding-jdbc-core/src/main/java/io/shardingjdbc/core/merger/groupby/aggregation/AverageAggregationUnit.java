@@ -21,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -32,6 +33,8 @@ import java.util.List;
 @Slf4j
 public final class AverageAggregationUnit implements AggregationUnit {
     
+    private static final long serialVersionUID = -1853294076301587326L;
+    
     private BigDecimal count;
     
     private BigDecimal sum;
@@ -52,6 +55,12 @@ public final class AverageAggregationUnit implements AggregationUnit {
         log.trace("AVG result COUNT: {} SUM: {}", count, sum);
     }
     
+    @Override
+    public void combine(final AggregationUnit aggregationUnit) {
+        AverageAggregationUnit averageAggregationUnit = (AverageAggregationUnit) aggregationUnit;
+        merge(Arrays.<Comparable<?>>asList(averageAggregationUnit.count, averageAggregationUnit.sum));
+    }
+    
     @Override
     public Comparable<?> getResult() {
         if (null == count || BigDecimal.ZERO.equals(count)) {
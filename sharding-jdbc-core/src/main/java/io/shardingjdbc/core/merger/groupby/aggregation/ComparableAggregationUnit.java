@@ -20,6 +20,7 @@ package io.shardingjdbc.core.merger.groupby.aggregation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -31,6 +32,8 @@ import java.util.List;
 @Slf4j
 public final class ComparableAggregationUnit implements AggregationUnit {
     
+    private static final long serialVersionUID = 7265097405268612491L;
+    
     private final boolean asc;
     
     private Comparable<?> result;
@@ -53,6 +56,11 @@ public final class ComparableAggregationUnit implements AggregationUnit {
         }
     }
     
+    @Override
+    public void combine(final AggregationUnit aggregationUnit) {
+        merge(Collections.<Comparable<?>>singletonList(aggregationUnit.getResult()));
+    }
+    
     @Override
     public Comparable<?> getResult() {
         return result;
@@ -0,0 +1,145 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mutable numeric accumulator.
+ * 
+ * <p>Integral values are accumulated as long and switched to big decimal when overflow.
+ * Float values are converted to big decimal row by row and accumulated exactly, as same as the results of untyped accumulation.</p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+final class NumericAccumulator implements Serializable {
+    
+    private static final long serialVersionUID = -3268014625302714791L;
+    
+    private final AggregationValueType valueType;
+    
+    private boolean accumulated;
+    
+    private long longValue;
+    
+    private BigDecimal decimalValue;
+    
+    private transient long pendingLongValue;
+    
+    private transient BigDecimal pendingDecimalValue;
+    
+    /**
+     * Read value of current row without accumulating.
+     * 
+     * @param resultSet result set
+     * @param columnIndex column index
+     * @return value is not null or not
+     * @throws SQLException SQL exception
+     */
+    boolean read(final ResultSet resultSet, final int columnIndex) throws SQLException {
+        switch (valueType) {
+            case LONG:
+                pendingLongValue = resultSet.getLong(columnIndex);
+                return !resultSet.wasNull();
+            case DOUBLE:
+                // 浮点数按十进制表示逐行转换, 以double累加会引入二进制舍入误差
+                double doubleValue = resultSet.getDouble(columnIndex);
+                pendingDecimalValue = resultSet.wasNull() ? null : BigDecimal.valueOf(doubleValue);
+                return null != pendingDecimalValue;
+            default:
+                pendingDecimalValue = resultSet.getBigDecimal(columnIndex);
+                return null != pendingDecimalValue;
+        }
+    }
+    
+    /**
+     * Accumulate value read last time.
+     */
+    void accumulateReadValue() {
+        switch (valueType) {
+            case LONG:
+                accumulateLong(pendingLongValue);
+                break;
+            default:
+                accumulateDecimal(pendingDecimalValue);
+                break;
+        }
+        accumulated = true;
+    }
+    
+    /**
+     * Accumulate value of current row.
+     * 
+     * @param resultSet result set
+     * @param columnIndex column index
+     * @throws SQLException SQL exception
+     */
+    void accumulate(final ResultSet resultSet, final int columnIndex) throws SQLException {
+        if (read(resultSet, columnIndex)) {
+            accumulateReadValue();
+        }
+    }
+    
+    /**
+     * Accumulate value.
+     * 
+     * @param value value to be accumulated
+     */
+    void accumulate(final Comparable<?> value) {
+        if (null == value) {
+            return;
+        }
+        accumulateDecimal(value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString()));
+        accumulated = true;
+    }
+    
+    private void accumulateLong(final long value) {
+        long result = longValue + value;
+        if (((longValue ^ result) & (value ^ result)) < 0) {
+            accumulateDecimal(BigDecimal.valueOf(longValue));
+            longValue = value;
+        } else {
+            longValue = result;
+        }
+    }
+    
+    private void accumulateDecimal(final BigDecimal value) {
+        decimalValue = null == decimalValue ? value : decimalValue.add(value);
+    }
+    
+    /**
+     * Get accumulated result.
+     * 
+     * @return accumulated result, return {@code null} if no value accumulated
+     */
+    BigDecimal getResult() {
+        if (!accumulated) {
+            return null;
+        }
+        if (AggregationValueType.LONG != valueType) {
+            return decimalValue;
+        }
+        return null == decimalValue ? BigDecimal.valueOf(longValue) : decimalValue.add(BigDecimal.valueOf(longValue));
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typed accumulation aggregation unit.
+ * 
+ * @author zhangliang
+ */
+public final class TypedAccumulationAggregationUnit implements TypedAggregationUnit {
+    
+    private static final long serialVersionUID = -6012537412640372015L;
+    
+    private final int columnIndex;
+    
+    private final NumericAccumulator accumulator;
+    
+    TypedAccumulationAggregationUnit(final AggregationValueType valueType, final int columnIndex) {
+        this.columnIndex = columnIndex;
+        accumulator = new NumericAccumulator(valueType);
+    }
+    
+    @Override
+    public void merge(final ResultSet resultSet) throws SQLException {
+        accumulator.accumulate(resultSet, columnIndex);
+    }
+    
+    @Override
+    public void merge(final List<Comparable<?>> values) {
+        if (null == values) {
+            return;
+        }
+        accumulator.accumulate(values.get(0));
+    }
+    
+    @Override
+    public void combine(final AggregationUnit aggregationUnit) {
+        merge(Collections.<Comparable<?>>singletonList(aggregationUnit.getResult()));
+    }
+    
+    @Override
+    public Comparable<?> getResult() {
+        return accumulator.getResult();
+    }
+}
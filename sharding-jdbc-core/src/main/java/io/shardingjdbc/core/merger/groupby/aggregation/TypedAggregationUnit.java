@@ -0,0 +1,39 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Aggregation unit which reads typed values from result set directly.
+ * 
+ * <p>Values are read via primitive getters and accumulated into mutable fields, without boxing or temporary list for each row.</p>
+ * 
+ * @author zhangliang
+ */
+public interface TypedAggregationUnit extends AggregationUnit {
+    
+    /**
+     * Merge aggregation values of current row.
+     * 
+     * @param resultSet result set which cursor is on current row
+     * @throws SQLException SQL exception
+     */
+    void merge(ResultSet resultSet) throws SQLException;
+}
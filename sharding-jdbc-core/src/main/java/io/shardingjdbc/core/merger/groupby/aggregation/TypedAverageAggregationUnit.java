@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typed average aggregation unit.
+ * 
+ * @author zhangliang
+ */
+public final class TypedAverageAggregationUnit implements TypedAggregationUnit {
+    
+    private static final long serialVersionUID = 2284967163040923564L;
+    
+    private final int countColumnIndex;
+    
+    private final int sumColumnIndex;
+    
+    private final NumericAccumulator count;
+    
+    private final NumericAccumulator sum;
+    
+    TypedAverageAggregationUnit(final AggregationValueType countValueType, final int countColumnIndex, final AggregationValueType sumValueType, final int sumColumnIndex) {
+        this.countColumnIndex = countColumnIndex;
+        this.sumColumnIndex = sumColumnIndex;
+        count = new NumericAccumulator(countValueType);
+        sum = new NumericAccumulator(sumValueType);
+    }
+    
+    @Override
+    public void merge(final ResultSet resultSet) throws SQLException {
+        if (count.read(resultSet, countColumnIndex) && sum.read(resultSet, sumColumnIndex)) {
+            count.accumulateReadValue();
+            sum.accumulateReadValue();
+        }
+    }
+    
+    @Override
+    public void merge(final List<Comparable<?>> values) {
+        if (null == values || null == values.get(0) || null == values.get(1)) {
+            return;
+        }
+        count.accumulate(values.get(0));
+        sum.accumulate(values.get(1));
+    }
+    
+    @Override
+    public void combine(final AggregationUnit aggregationUnit) {
+        TypedAverageAggregationUnit averageAggregationUnit = (TypedAverageAggregationUnit) aggregationUnit;
+        merge(Arrays.<Comparable<?>>asList(averageAggregationUnit.count.getResult(), averageAggregationUnit.sum.getResult()));
+    }
+    
+    @Override
+    public Comparable<?> getResult() {
+        BigDecimal countResult = count.getResult();
+        if (null == countResult || BigDecimal.ZERO.equals(countResult)) {
+            return countResult;
+        }
+        // TODO 通过metadata获取数据库的浮点数精度值
+        return sum.getResult().divide(countResult, 4, BigDecimal.ROUND_HALF_UP);
+    }
+}
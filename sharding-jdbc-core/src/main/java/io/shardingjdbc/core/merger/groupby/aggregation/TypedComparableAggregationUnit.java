@@ -0,0 +1,123 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Typed comparable aggregation unit.
+ * 
+ * <p>Values are compared via primitive getters, original value is only read when it becomes the new result.</p>
+ * 
+ * @author zhangliang
+ */
+public final class TypedComparableAggregationUnit implements TypedAggregationUnit {
+    
+    private static final long serialVersionUID = 4473652103929564706L;
+    
+    private final boolean asc;
+    
+    private final AggregationValueType valueType;
+    
+    private final int columnIndex;
+    
+    private long longValue;
+    
+    private double doubleValue;
+    
+    private BigDecimal decimalValue;
+    
+    private Comparable<?> result;
+    
+    TypedComparableAggregationUnit(final boolean asc, final AggregationValueType valueType, final int columnIndex) {
+        this.asc = asc;
+        this.valueType = valueType;
+        this.columnIndex = columnIndex;
+    }
+    
+    @Override
+    public void merge(final ResultSet resultSet) throws SQLException {
+        switch (valueType) {
+            case LONG:
+                long currentLongValue = resultSet.getLong(columnIndex);
+                if (!resultSet.wasNull() && (null == result || isReplaced(Long.compare(currentLongValue, longValue)))) {
+                    longValue = currentLongValue;
+                    result = (Comparable<?>) resultSet.getObject(columnIndex);
+                }
+                break;
+            case DOUBLE:
+                double currentDoubleValue = resultSet.getDouble(columnIndex);
+                if (!resultSet.wasNull() && (null == result || isReplaced(Double.compare(currentDoubleValue, doubleValue)))) {
+                    doubleValue = currentDoubleValue;
+                    result = (Comparable<?>) resultSet.getObject(columnIndex);
+                }
+                break;
+            default:
+                BigDecimal currentDecimalValue = resultSet.getBigDecimal(columnIndex);
+                if (null != currentDecimalValue && (null == result || isReplaced(currentDecimalValue.compareTo(decimalValue)))) {
+                    decimalValue = currentDecimalValue;
+                    result = (Comparable<?>) resultSet.getObject(columnIndex);
+                }
+                break;
+        }
+    }
+    
+    private boolean isReplaced(final int comparedValue) {
+        return asc && comparedValue < 0 || !asc && comparedValue > 0;
+    }
+    
+    @SuppressWarnings("unchecked")
+    @Override
+    public void merge(final List<Comparable<?>> values) {
+        if (null == values || null == values.get(0)) {
+            return;
+        }
+        if (null == result || isReplaced(((Comparable) values.get(0)).compareTo(result))) {
+            result = values.get(0);
+            setPrimitiveValue((Number) result);
+        }
+    }
+    
+    private void setPrimitiveValue(final Number value) {
+        switch (valueType) {
+            case LONG:
+                longValue = value.longValue();
+                break;
+            case DOUBLE:
+                doubleValue = value.doubleValue();
+                break;
+            default:
+                decimalValue = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+                break;
+        }
+    }
+    
+    @Override
+    public void combine(final AggregationUnit aggregationUnit) {
+        merge(Collections.<Comparable<?>>singletonList(aggregationUnit.getResult()));
+    }
+    
+    @Override
+    public Comparable<?> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram with HDR style log-linear buckets.
+ * 
+ * <p>Each power of 2 range is divided into 32 linear sub buckets, relative error of recorded values is below 1/32.
+ * Recording is lock free and allocation free.</p>
+ * 
+ * @author zhangliang
+ */
+public final class Histogram {
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    
+    private static final int MAX_VALUE_BITS = 40;
+    
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(getBucketIndex(MAX_VALUE) + 1);
+    
+    private final AtomicLong totalCount = new AtomicLong();
+    
+    private final AtomicLong totalValue = new AtomicLong();
+    
+    private final AtomicLong maxValue = new AtomicLong();
+    
+    /**
+     * Record value.
+     * 
+     * <p>Negative values are recorded as 0, values greater than 2^40 (about 18 minutes in nanoseconds) are recorded as 2^40.</p>
+     * 
+     * @param value value to be recorded
+     */
+    public void record(final long value) {
+        long actualValue = value < 0L ? 0L : Math.min(value, MAX_VALUE);
+        counts.incrementAndGet(getBucketIndex(actualValue));
+        totalCount.incrementAndGet();
+        totalValue.addAndGet(actualValue);
+        long currentMax = maxValue.get();
+        while (actualValue > currentMax && !maxValue.compareAndSet(currentMax, actualValue)) {
+            currentMax = maxValue.get();
+        }
+    }
+    
+    // 小于64的值线性分桶, 更大的值按最高位所在的2次幂区间分为32个线性子桶
+    private static int getBucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT << 1) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+    
+    private static long getHighestValue(final int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT << 1) {
+            return bucketIndex;
+        }
+        int shift = (bucketIndex >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = bucketIndex - ((long) shift << SUB_BUCKET_BITS);
+        return ((subBucket + 1) << shift) - 1;
+    }
+    
+    /**
+     * Get count of recorded values.
+     * 
+     * @return count of recorded values
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+    
+    /**
+     * Get value at percentile.
+     * 
+     * @param percentile percentile between 0 and 100
+     * @return highest value in the bucket of percentile
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long count = totalCount.get();
+        if (0L == count) {
+            return 0L;
+        }
+        long targetCount = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100D) / 100D * count));
+        long accumulatedCount = 0L;
+        for (int i = 0; i < counts.length(); i++) {
+            accumulatedCount += counts.get(i);
+            if (accumulatedCount >= targetCount) {
+                return Math.min(getHighestValue(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+    
+    /**
+     * Get snapshot.
+     * 
+     * @return snapshot of histogram
+     */
+    public HistogramSnapshot getSnapshot() {
+        long count = totalCount.get();
+        long mean = 0L == count ? 0L : totalValue.get() / count;
+        return new HistogramSnapshot(count, mean, getValueAtPercentile(50D), getValueAtPercentile(90D), getValueAtPercentile(99D), getValueAtPercentile(99.9D), maxValue.get());
+    }
+    
+    /**
+     * Reset histogram.
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalValue.set(0L);
+        maxValue.set(0L);
+    }
+}
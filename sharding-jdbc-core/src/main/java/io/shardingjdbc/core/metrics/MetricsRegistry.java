@@ -0,0 +1,206 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics registry.
+ * 
+ * <p>Record latency histograms of phases in nanoseconds, per phase, per data source and per logic table.
+ * Route phase includes rewrite phase. Nothing is recorded if disabled.</p>
+ * 
+ * @author zhangliang
+ */
+public final class MetricsRegistry {
+    
+    private static final String DATA_SOURCE = ".dataSource.";
+    
+    private static final String LOGIC_TABLE = ".logicTable.";
+    
+    @Getter
+    @Setter
+    private volatile boolean enabled;
+    
+    private final Map<MetricsPhase, Histogram> phaseHistograms = new EnumMap<>(MetricsPhase.class);
+    
+    private final Map<MetricsPhase, ConcurrentMap<String, Histogram>> dataSourceHistograms = new EnumMap<>(MetricsPhase.class);
+    
+    private final Map<MetricsPhase, ConcurrentMap<String, Histogram>> logicTableHistograms = new EnumMap<>(MetricsPhase.class);
+    
+    private final Histogram fanOutHistogram = new Histogram();
+    
+    private final Histogram executorQueueDepthHistogram = new Histogram();
+    
+    private final ConcurrentMap<String, AtomicLong> executeFailureCounters = new ConcurrentHashMap<>();
+    
+    public MetricsRegistry() {
+        for (MetricsPhase each : MetricsPhase.values()) {
+            phaseHistograms.put(each, new Histogram());
+            dataSourceHistograms.put(each, new ConcurrentHashMap<String, Histogram>());
+            logicTableHistograms.put(each, new ConcurrentHashMap<String, Histogram>());
+        }
+    }
+    
+    /**
+     * Get start time of phase.
+     * 
+     * @return current nano time if enabled, otherwise 0
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+    
+    /**
+     * Record latency of phase.
+     * 
+     * @param phase phase
+     * @param startTime start time got by {@link #start()}
+     * @return end time of phase, 0 if not recorded
+     */
+    public long record(final MetricsPhase phase, final long startTime) {
+        if (0L == startTime) {
+            return 0L;
+        }
+        long result = System.nanoTime();
+        phaseHistograms.get(phase).record(result - startTime);
+        return result;
+    }
+    
+    /**
+     * Record latency of phase for data source.
+     * 
+     * @param phase phase
+     * @param dataSource data source name
+     * @param startTime start time got by {@link #start()}
+     */
+    public void recordDataSource(final MetricsPhase phase, final String dataSource, final long startTime) {
+        if (0L == startTime) {
+            return;
+        }
+        getHistogram(dataSourceHistograms.get(phase), dataSource).record(System.nanoTime() - startTime);
+    }
+    
+    /**
+     * Record latency of phase, and of phase for each logic table.
+     * 
+     * @param phase phase
+     * @param logicTables logic table names
+     * @param startTime start time got by {@link #start()}
+     */
+    public void recordLogicTables(final MetricsPhase phase, final Collection<String> logicTables, final long startTime) {
+        if (0L == startTime) {
+            return;
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+        phaseHistograms.get(phase).record(elapsedTime);
+        for (String each : logicTables) {
+            getHistogram(logicTableHistograms.get(phase), each).record(elapsedTime);
+        }
+    }
+    
+    /**
+     * Record fan out width and queue depth of executor.
+     * 
+     * @param fanOut count of statement units executed in parallel
+     * @param queueDepth count of tasks waiting in queue of executor
+     */
+    public void recordExecution(final int fanOut, final long queueDepth) {
+        if (!enabled) {
+            return;
+        }
+        fanOutHistogram.record(fanOut);
+        executorQueueDepthHistogram.record(queueDepth);
+    }
+    
+    /**
+     * Increase count of execute failure for data source.
+     * 
+     * @param dataSource data source name
+     */
+    public void incrementExecuteFailure(final String dataSource) {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong counter = executeFailureCounters.get(dataSource);
+        if (null == counter) {
+            executeFailureCounters.putIfAbsent(dataSource, new AtomicLong());
+            counter = executeFailureCounters.get(dataSource);
+        }
+        counter.incrementAndGet();
+    }
+    
+    private Histogram getHistogram(final ConcurrentMap<String, Histogram> histograms, final String name) {
+        Histogram result = histograms.get(name);
+        if (null == result) {
+            histograms.putIfAbsent(name, new Histogram());
+            result = histograms.get(name);
+        }
+        return result;
+    }
+    
+    /**
+     * Get snapshot of metrics.
+     * 
+     * @return snapshot of metrics
+     */
+    public MetricsSnapshot getSnapshot() {
+        Map<String, HistogramSnapshot> histograms = new TreeMap<>();
+        for (MetricsPhase each : MetricsPhase.values()) {
+            String phaseName = each.name().toLowerCase();
+            histograms.put(phaseName, phaseHistograms.get(each).getSnapshot());
+            for (Entry<String, Histogram> entry : dataSourceHistograms.get(each).entrySet()) {
+                histograms.put(phaseName + DATA_SOURCE + entry.getKey(), entry.getValue().getSnapshot());
+            }
+            for (Entry<String, Histogram> entry : logicTableHistograms.get(each).entrySet()) {
+                histograms.put(phaseName + LOGIC_TABLE + entry.getKey(), entry.getValue().getSnapshot());
+            }
+        }
+        histograms.put("executor.fanOut", fanOutHistogram.getSnapshot());
+        histograms.put("executor.queueDepth", executorQueueDepthHistogram.getSnapshot());
+        Map<String, Long> counters = new TreeMap<>();
+        for (Entry<String, AtomicLong> entry : executeFailureCounters.entrySet()) {
+            counters.put("execute.failure" + DATA_SOURCE + entry.getKey(), entry.getValue().get());
+        }
+        return new MetricsSnapshot(histograms, counters);
+    }
+    
+    /**
+     * Reset all metrics.
+     */
+    public void reset() {
+        for (MetricsPhase each : MetricsPhase.values()) {
+            phaseHistograms.get(each).reset();
+            dataSourceHistograms.get(each).clear();
+            logicTableHistograms.get(each).clear();
+        }
+        fanOutHistogram.reset();
+        executorQueueDepthHistogram.reset();
+        executeFailureCounters.clear();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report metrics periodically in a daemon thread.
+ * 
+ * @author zhangliang
+ */
+@Slf4j
+public final class ScheduledMetricsReporter implements AutoCloseable {
+    
+    private final ScheduledExecutorService scheduledExecutorService;
+    
+    public ScheduledMetricsReporter(final MetricsRegistry metricsRegistry, final Collection<MetricsReporter> metricsReporters, final long intervalSeconds) {
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-Metrics-%d").build());
+        scheduledExecutorService.scheduleAtFixedRate(new Runnable() {
+            
+            @Override
+            public void run() {
+                report(metricsRegistry, metricsReporters);
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+    
+    private void report(final MetricsRegistry metricsRegistry, final Collection<MetricsReporter> metricsReporters) {
+        if (!metricsRegistry.isEnabled()) {
+            return;
+        }
+        MetricsSnapshot snapshot = metricsRegistry.getSnapshot();
+        for (MetricsReporter each : metricsReporters) {
+            // 异常会终止定时任务, 单个上报器失败不影响其他上报器
+            try {
+                each.report(snapshot);
+                //CHECKSTYLE:OFF
+            } catch (final Exception ex) {
+                //CHECKSTYLE:ON
+                log.error("Report metrics error: ", ex);
+            }
+        }
+    }
+    
+    @Override
+    public void close() {
+        scheduledExecutorService.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+import lombok.RequiredArgsConstructor;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * Sharding metrics MBean.
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class ShardingMetrics implements ShardingMetricsMXBean {
+    
+    private static final String OBJECT_NAME_PATTERN = "io.shardingjdbc:type=ShardingMetrics,name=%s";
+    
+    private final MetricsRegistry metricsRegistry;
+    
+    private ObjectName objectName;
+    
+    @Override
+    public boolean isEnabled() {
+        return metricsRegistry.isEnabled();
+    }
+    
+    @Override
+    public void setEnabled(final boolean enabled) {
+        metricsRegistry.setEnabled(enabled);
+    }
+    
+    @Override
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return metricsRegistry.getSnapshot().getHistograms();
+    }
+    
+    @Override
+    public Map<String, Long> getCounters() {
+        return metricsRegistry.getSnapshot().getCounters();
+    }
+    
+    @Override
+    public void reset() {
+        metricsRegistry.reset();
+    }
+    
+    /**
+     * Register to platform MBean server.
+     * 
+     * @param name name of MBean
+     */
+    public synchronized void register(final String name) {
+        if (null != objectName) {
+            return;
+        }
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName result = new ObjectName(String.format(OBJECT_NAME_PATTERN, ObjectName.quote(name)));
+            mBeanServer.registerMBean(this, result);
+            objectName = result;
+        } catch (final JMException ex) {
+            throw new ShardingJdbcException(ex);
+        }
+    }
+    
+    /**
+     * Unregister from platform MBean server.
+     */
+    public synchronized void unregister() {
+        if (null == objectName) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (final JMException ex) {
+            throw new ShardingJdbcException(ex);
+        } finally {
+            objectName = null;
+        }
+    }
+}
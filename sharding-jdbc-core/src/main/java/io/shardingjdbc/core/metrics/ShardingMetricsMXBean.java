@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of sharding metrics.
+ * 
+ * @author zhangliang
+ */
+public interface ShardingMetricsMXBean {
+    
+    /**
+     * Judge whether metrics is enabled.
+     * 
+     * @return metrics is enabled or not
+     */
+    boolean isEnabled();
+    
+    /**
+     * Enable or disable metrics.
+     * 
+     * @param enabled metrics is enabled or not
+     */
+    void setEnabled(boolean enabled);
+    
+    /**
+     * Get histograms, latencies are in nanoseconds.
+     * 
+     * @return histograms
+     */
+    Map<String, HistogramSnapshot> getHistograms();
+    
+    /**
+     * Get counters.
+     * 
+     * @return counters
+     */
+    Map<String, Long> getCounters();
+    
+    /**
+     * Reset all metrics.
+     */
+    void reset();
+}
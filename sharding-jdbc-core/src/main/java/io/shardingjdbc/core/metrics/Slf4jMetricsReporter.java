@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map.Entry;
+
+/**
+ * Metrics reporter which logs metrics.
+ * 
+ * <p>Latencies are logged in microseconds.</p>
+ * 
+ * @author zhangliang
+ */
+@Slf4j(topic = "Sharding-JDBC-Metrics")
+public final class Slf4jMetricsReporter implements MetricsReporter {
+    
+    private static final long NANOS_PER_MICRO = 1000L;
+    
+    @Override
+    public void report(final MetricsSnapshot snapshot) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        for (Entry<String, HistogramSnapshot> entry : snapshot.getHistograms().entrySet()) {
+            HistogramSnapshot histogram = entry.getValue();
+            if (0L == histogram.getCount()) {
+                continue;
+            }
+            // 执行器的并行度和队列深度不是耗时, 原样输出
+            long unit = entry.getKey().startsWith("executor.") ? 1L : NANOS_PER_MICRO;
+            log.info("{}: count={}, mean={}, p50={}, p90={}, p99={}, p999={}, max={}", entry.getKey(), histogram.getCount(), 
+                    histogram.getMean() / unit, histogram.getP50() / unit, histogram.getP90() / unit, histogram.getP99() / unit, histogram.getP999() / unit, histogram.getMax() / unit);
+        }
+        for (Entry<String, Long> entry : snapshot.getCounters().entrySet()) {
+            log.info("{}: {}", entry.getKey(), entry.getValue());
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing;
+
+import com.google.common.base.Optional;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.lexer.LexerEngine;
+import io.shardingjdbc.core.parsing.lexer.LexerEngineFactory;
+import io.shardingjdbc.core.parsing.lexer.token.Assist;
+import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
+import io.shardingjdbc.core.parsing.lexer.token.Literals;
+import io.shardingjdbc.core.parsing.lexer.token.Symbol;
+import io.shardingjdbc.core.parsing.lexer.token.Token;
+import io.shardingjdbc.core.parsing.lexer.token.TokenType;
+import io.shardingjdbc.core.parsing.parser.context.condition.Column;
+import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
+import io.shardingjdbc.core.parsing.parser.context.condition.InValuesPosition;
+import io.shardingjdbc.core.parsing.parser.context.table.Table;
+import io.shardingjdbc.core.parsing.parser.expression.SQLExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLIdentifierExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLNumberExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLPlaceholderExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLPropertyExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLTextExpression;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dml.DMLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.parsing.parser.token.TableToken;
+import io.shardingjdbc.core.rule.ShardingRule;
+import io.shardingjdbc.core.util.NumberUtil;
+import io.shardingjdbc.core.util.SQLUtil;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * SQL fast parsing engine.
+ * 
+ * <p>
+ * Only parse table and sharding conditions for single table SQL which route depends on them only.
+ * SQL need merge or rewrite information, such as limit, order by, group by, aggregation and generated key, should be parsed by {@code SQLParsingEngine}.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class SQLFastParsingEngine {
+    
+    private static final TokenType[] COMPOSITE_EXPRESSION_SYMBOLS = {
+        Symbol.PLUS, Symbol.SUB, Symbol.STAR, Symbol.SLASH, Symbol.PERCENT, Symbol.AMP, Symbol.BAR, Symbol.DOUBLE_AMP, Symbol.DOUBLE_BAR, Symbol.CARET, Symbol.DOT, Symbol.LEFT_PAREN, 
+    };
+    
+    private static final TokenType[] OTHER_CONDITION_OPERATORS = {
+        Symbol.LT, Symbol.LT_EQ, Symbol.GT, Symbol.GT_EQ, Symbol.LT_GT, Symbol.BANG_EQ, DefaultKeyword.LIKE, 
+    };
+    
+    private final ShardingRule shardingRule;
+    
+    private final LexerEngine lexerEngine;
+    
+    public SQLFastParsingEngine(final DatabaseType dbType, final String sql, final ShardingRule shardingRule) {
+        this.shardingRule = shardingRule;
+        lexerEngine = LexerEngineFactory.newInstance(dbType, sql);
+    }
+    
+    /**
+     * Parse SQL for routing only.
+     * 
+     * @return parsed SQL statement, absent if SQL need full parsing
+     */
+    public Optional<SQLStatement> parse() {
+        lexerEngine.nextToken();
+        if (lexerEngine.skipIfEqual(DefaultKeyword.SELECT)) {
+            SelectStatement result = new SelectStatement();
+            return parseSelect(result) ? Optional.<SQLStatement>of(result) : Optional.<SQLStatement>absent();
+        }
+        if (lexerEngine.skipIfEqual(DefaultKeyword.UPDATE)) {
+            DMLStatement result = new DMLStatement();
+            return parseUpdate(result) ? Optional.<SQLStatement>of(result) : Optional.<SQLStatement>absent();
+        }
+        if (lexerEngine.skipIfEqual(DefaultKeyword.DELETE)) {
+            DMLStatement result = new DMLStatement();
+            return parseDelete(result) ? Optional.<SQLStatement>of(result) : Optional.<SQLStatement>absent();
+        }
+        return Optional.absent();
+    }
+    
+    private boolean parseSelect(final SelectStatement selectStatement) {
+        List<Token> ownerTokens = new LinkedList<>();
+        do {
+            if (!parseSelectItem(ownerTokens)) {
+                return false;
+            }
+        } while (lexerEngine.skipIfEqual(Symbol.COMMA));
+        if (!lexerEngine.skipIfEqual(DefaultKeyword.FROM) || !parseTable(selectStatement)) {
+            return false;
+        }
+        for (Token each : ownerTokens) {
+            String tableName = SQLUtil.getExactlyValue(each.getLiterals());
+            if (shardingRule.tryFindTableRule(tableName).isPresent() || shardingRule.findBindingTableRule(tableName).isPresent()) {
+                selectStatement.getSqlTokens().add(new TableToken(getBeginPosition(each), each.getLiterals()));
+            }
+        }
+        return parseWhere(selectStatement);
+    }
+    
+    private boolean parseSelectItem(final List<Token> ownerTokens) {
+        if (lexerEngine.skipIfEqual(Symbol.STAR)) {
+            return true;
+        }
+        Token token = lexerEngine.getCurrentToken();
+        if (!lexerEngine.skipIfEqual(Literals.IDENTIFIER) || isRowNumber(token.getLiterals())) {
+            return false;
+        }
+        if (lexerEngine.skipIfEqual(Symbol.DOT)) {
+            if (!lexerEngine.skipIfEqual(Literals.IDENTIFIER, Symbol.STAR)) {
+                return false;
+            }
+            ownerTokens.add(token);
+        }
+        return parseAlias().isPresent() || !lexerEngine.equalAny(COMPOSITE_EXPRESSION_SYMBOLS);
+    }
+    
+    private boolean parseUpdate(final DMLStatement updateStatement) {
+        if (!parseTable(updateStatement) || !lexerEngine.skipIfEqual(DefaultKeyword.SET)) {
+            return false;
+        }
+        do {
+            if (!parseSetItem(updateStatement)) {
+                return false;
+            }
+        } while (lexerEngine.skipIfEqual(Symbol.COMMA));
+        return parseWhere(updateStatement);
+    }
+    
+    private boolean parseSetItem(final DMLStatement updateStatement) {
+        Token token = lexerEngine.getCurrentToken();
+        if (!lexerEngine.skipIfEqual(Literals.IDENTIFIER)) {
+            return false;
+        }
+        if (lexerEngine.skipIfEqual(Symbol.DOT)) {
+            if (!lexerEngine.skipIfEqual(Literals.IDENTIFIER)) {
+                return false;
+            }
+            if (updateStatement.getTables().getSingleTableName().equalsIgnoreCase(SQLUtil.getExactlyValue(token.getLiterals()))) {
+                updateStatement.getSqlTokens().add(new TableToken(getBeginPosition(token), token.getLiterals()));
+            }
+        }
+        return lexerEngine.skipIfEqual(Symbol.EQ, Symbol.COLON_EQ) && parseExpression(updateStatement).isPresent();
+    }
+    
+    private boolean parseDelete(final DMLStatement deleteStatement) {
+        lexerEngine.skipIfEqual(DefaultKeyword.FROM);
+        return parseTable(deleteStatement) && parseWhere(deleteStatement);
+    }
+    
+    private boolean parseTable(final SQLStatement sqlStatement) {
+        Token token = lexerEngine.getCurrentToken();
+        if (!lexerEngine.skipIfEqual(Literals.IDENTIFIER) || lexerEngine.equalAny(Symbol.DOT)) {
+            return false;
+        }
+        String tableName = SQLUtil.getExactlyValue(token.getLiterals());
+        if (!shardingRule.tryFindTableRule(tableName).isPresent()) {
+            return false;
+        }
+        sqlStatement.getSqlTokens().add(new TableToken(getBeginPosition(token), token.getLiterals()));
+        sqlStatement.getTables().add(new Table(tableName, parseAlias()));
+        return true;
+    }
+    
+    private Optional<String> parseAlias() {
+        if (lexerEngine.skipIfEqual(DefaultKeyword.AS) && !lexerEngine.equalAny(Literals.IDENTIFIER, Literals.CHARS)) {
+            return Optional.absent();
+        }
+        if (lexerEngine.equalAny(Literals.IDENTIFIER, Literals.CHARS)) {
+            String result = SQLUtil.getExactlyValue(lexerEngine.getCurrentToken().getLiterals());
+            lexerEngine.nextToken();
+            return Optional.of(result);
+        }
+        return Optional.absent();
+    }
+    
+    private boolean parseWhere(final SQLStatement sqlStatement) {
+        if (lexerEngine.skipIfEqual(DefaultKeyword.WHERE)) {
+            do {
+                if (!parseCondition(sqlStatement)) {
+                    return false;
+                }
+            } while (lexerEngine.skipIfEqual(DefaultKeyword.AND));
+        }
+        return lexerEngine.equalAny(Assist.END);
+    }
+    
+    private boolean parseCondition(final SQLStatement sqlStatement) {
+        boolean isParenthesized = lexerEngine.skipIfEqual(Symbol.LEFT_PAREN);
+        Optional<SQLExpression> left = parseExpression(sqlStatement);
+        if (!left.isPresent() || isRowNumber(left.get())) {
+            return false;
+        }
+        boolean result;
+        if (lexerEngine.skipIfEqual(Symbol.EQ)) {
+            result = parseEqualCondition(sqlStatement, left.get());
+        } else if (lexerEngine.skipIfEqual(DefaultKeyword.IN)) {
+            result = parseInCondition(sqlStatement, left.get());
+        } else if (lexerEngine.skipIfEqual(DefaultKeyword.BETWEEN)) {
+            result = parseBetweenCondition(sqlStatement, left.get());
+        } else {
+            result = lexerEngine.skipIfEqual(OTHER_CONDITION_OPERATORS) && parseExpression(sqlStatement).isPresent();
+        }
+        return result && (!isParenthesized || lexerEngine.skipIfEqual(Symbol.RIGHT_PAREN));
+    }
+    
+    private boolean parseEqualCondition(final SQLStatement sqlStatement, final SQLExpression left) {
+        Optional<SQLExpression> right = parseExpression(sqlStatement);
+        if (!right.isPresent()) {
+            return false;
+        }
+        Optional<Column> column = findColumn(sqlStatement, left);
+        if (column.isPresent() && isValue(right.get())) {
+            sqlStatement.getConditions().add(new Condition(column.get(), right.get()), shardingRule);
+        }
+        return true;
+    }
+    
+    private boolean parseInCondition(final SQLStatement sqlStatement, final SQLExpression left) {
+        Token leftParenToken = lexerEngine.getCurrentToken();
+        if (!lexerEngine.skipIfEqual(Symbol.LEFT_PAREN)) {
+            return false;
+        }
+        List<SQLExpression> rights = new LinkedList<>();
+        List<String> valueLiterals = new LinkedList<>();
+        int valueBeginPosition = leftParenToken.getEndPosition();
+        do {
+            Optional<SQLExpression> right = parseExpression(sqlStatement);
+            if (!right.isPresent() || !isValue(right.get())) {
+                return false;
+            }
+            rights.add(right.get());
+            valueLiterals.add(lexerEngine.getInput().substring(valueBeginPosition, getBeginPosition(lexerEngine.getCurrentToken())).trim());
+            valueBeginPosition = lexerEngine.getCurrentToken().getEndPosition();
+        } while (lexerEngine.skipIfEqual(Symbol.COMMA));
+        int endPosition = lexerEngine.getCurrentToken().getEndPosition();
+        if (!lexerEngine.skipIfEqual(Symbol.RIGHT_PAREN)) {
+            return false;
+        }
+        Optional<Column> column = findColumn(sqlStatement, left);
+        if (column.isPresent()) {
+            Condition condition = new Condition(column.get(), rights);
+            condition.setInValuesPosition(new InValuesPosition(getBeginPosition(leftParenToken), endPosition, new ArrayList<>(valueLiterals), getParameterIndexes(rights)));
+            sqlStatement.getConditions().add(condition, shardingRule);
+        }
+        return true;
+    }
+    
+    private List<Integer> getParameterIndexes(final List<SQLExpression> values) {
+        List<Integer> result = new ArrayList<>(values.size());
+        for (SQLExpression each : values) {
+            result.add(each instanceof SQLPlaceholderExpression ? ((SQLPlaceholderExpression) each).getIndex() : -1);
+        }
+        return result;
+    }
+    
+    private boolean parseBetweenCondition(final SQLStatement sqlStatement, final SQLExpression left) {
+        Optional<SQLExpression> begin = parseExpression(sqlStatement);
+        if (!begin.isPresent() || !isValue(begin.get()) || !lexerEngine.skipIfEqual(DefaultKeyword.AND)) {
+            return false;
+        }
+        Optional<SQLExpression> end = parseExpression(sqlStatement);
+        if (!end.isPresent() || !isValue(end.get())) {
+            return false;
+        }
+        Optional<Column> column = findColumn(sqlStatement, left);
+        if (column.isPresent()) {
+            sqlStatement.getConditions().add(new Condition(column.get(), begin.get(), end.get()), shardingRule);
+        }
+        return true;
+    }
+    
+    // 仅解析单个常量, 参数或列, 复合表达式需完整解析
+    private Optional<SQLExpression> parseExpression(final SQLStatement sqlStatement) {
+        Token token = lexerEngine.getCurrentToken();
+        SQLExpression result;
+        if (lexerEngine.skipIfEqual(Symbol.QUESTION)) {
+            result = new SQLPlaceholderExpression(sqlStatement.increaseParametersIndex() - 1);
+        } else if (lexerEngine.skipIfEqual(Literals.CHARS)) {
+            result = new SQLTextExpression(token.getLiterals());
+        } else if (lexerEngine.skipIfEqual(Literals.INT)) {
+            result = new SQLNumberExpression(NumberUtil.getExactlyNumber(token.getLiterals(), 10));
+        } else if (lexerEngine.skipIfEqual(Literals.FLOAT)) {
+            result = new SQLNumberExpression(Double.parseDouble(token.getLiterals()));
+        } else if (lexerEngine.skipIfEqual(Literals.HEX)) {
+            result = new SQLNumberExpression(NumberUtil.getExactlyNumber(token.getLiterals(), 16));
+        } else if (lexerEngine.skipIfEqual(Literals.IDENTIFIER)) {
+            result = parseColumnExpression(sqlStatement, token);
+        } else {
+            return Optional.absent();
+        }
+        return null == result || lexerEngine.equalAny(COMPOSITE_EXPRESSION_SYMBOLS) ? Optional.<SQLExpression>absent() : Optional.of(result);
+    }
+    
+    private SQLExpression parseColumnExpression(final SQLStatement sqlStatement, final Token ownerToken) {
+        if (!lexerEngine.skipIfEqual(Symbol.DOT)) {
+            return new SQLIdentifierExpression(SQLUtil.getExactlyValue(ownerToken.getLiterals()));
+        }
+        String property = lexerEngine.getCurrentToken().getLiterals();
+        if (!lexerEngine.skipIfEqual(Literals.IDENTIFIER)) {
+            return null;
+        }
+        if (sqlStatement.getTables().getTableNames().contains(SQLUtil.getExactlyValue(ownerToken.getLiterals()))) {
+            sqlStatement.getSqlTokens().add(new TableToken(getBeginPosition(ownerToken), ownerToken.getLiterals()));
+        }
+        return new SQLPropertyExpression(new SQLIdentifierExpression(ownerToken.getLiterals()), property);
+    }
+    
+    private Optional<Column> findColumn(final SQLStatement sqlStatement, final SQLExpression sqlExpression) {
+        if (sqlExpression instanceof SQLIdentifierExpression) {
+            return Optional.of(new Column(((SQLIdentifierExpression) sqlExpression).getName(), sqlStatement.getTables().getSingleTableName()));
+        }
+        if (sqlExpression instanceof SQLPropertyExpression) {
+            SQLPropertyExpression propertyExpression = (SQLPropertyExpression) sqlExpression;
+            Optional<Table> table = sqlStatement.getTables().find(SQLUtil.getExactlyValue(propertyExpression.getOwner().getName()));
+            if (table.isPresent()) {
+                return Optional.of(new Column(SQLUtil.getExactlyValue(propertyExpression.getName()), table.get().getName()));
+            }
+        }
+        return Optional.absent();
+    }
+    
+    private boolean isValue(final SQLExpression sqlExpression) {
+        return sqlExpression instanceof SQLPlaceholderExpression || sqlExpression instanceof SQLNumberExpression || sqlExpression instanceof SQLTextExpression;
+    }
+    
+    // Oracle和SQLServer的行号条件会被解析为分页信息
+    private boolean isRowNumber(final SQLExpression sqlExpression) {
+        if (sqlExpression instanceof SQLIdentifierExpression) {
+            return isRowNumber(((SQLIdentifierExpression) sqlExpression).getName());
+        }
+        return sqlExpression instanceof SQLPropertyExpression && isRowNumber(((SQLPropertyExpression) sqlExpression).getName());
+    }
+    
+    private boolean isRowNumber(final String columnLabel) {
+        return "rownum".equalsIgnoreCase(columnLabel) || "row_number".equalsIgnoreCase(columnLabel);
+    }
+    
+    private int getBeginPosition(final Token token) {
+        return token.getEndPosition() - token.getLiterals().length();
+    }
+}
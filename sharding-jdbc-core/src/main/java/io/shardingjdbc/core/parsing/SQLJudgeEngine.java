@@ -38,6 +38,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public final class SQLJudgeEngine {
     
+    private static final Dictionary DICTIONARY = new Dictionary();
+    
     private final String sql;
     
     /**
@@ -46,7 +48,7 @@ public final class SQLJudgeEngine {
      * @return SQL statement
      */
     public SQLStatement judge() {
-        Lexer lexer = new Lexer(sql, new Dictionary());
+        Lexer lexer = new Lexer(sql, DICTIONARY);
         lexer.nextToken();
         while (true) {
             TokenType tokenType = lexer.getCurrentToken().getType();
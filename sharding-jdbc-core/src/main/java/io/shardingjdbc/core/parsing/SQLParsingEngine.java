@@ -17,6 +17,7 @@
 
 package io.shardingjdbc.core.parsing;
 
+import com.google.common.base.Optional;
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.parsing.lexer.LexerEngine;
@@ -45,6 +46,11 @@ public final class SQLParsingEngine {
      * @return parsed SQL statement
      */
     public SQLStatement parse() {
+        // 仅依赖表和分片条件即可路由的SQL无需完整解析
+        Optional<SQLStatement> result = new SQLFastParsingEngine(dbType, sql, shardingRule).parse();
+        if (result.isPresent()) {
+            return result.get();
+        }
         LexerEngine lexerEngine = LexerEngineFactory.newInstance(dbType, sql);
         lexerEngine.nextToken();
         return SQLParserFactory.newInstance(dbType, lexerEngine.getCurrentToken().getType(), shardingRule, lexerEngine).parse();
@@ -0,0 +1,140 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing.cache;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.rewrite.SQLRewriteTemplate;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Parsing result cache.
+ *
+ * <p>Cache parsed SQL statement templates via logic SQL and database type, shared by all connections and statements of one sharding context.</p>
+ * 
+ * <p>Rewrite templates are cached via identity of parsed SQL statement, and released together with the parsed SQL statement.</p>
+ *
+ * @author zhangliang
+ */
+public final class ParsingResultCache {
+    
+    private final Cache<ParsingResultCacheKey, SQLStatement> cache;
+    
+    private final Cache<SQLStatement, SQLRewriteTemplate> rewriteTemplateCache;
+    
+    public ParsingResultCache(final int maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+        rewriteTemplateCache = CacheBuilder.newBuilder().weakKeys().maximumSize(maximumSize).build();
+    }
+    
+    /**
+     * Put SQL statement to cache.
+     * 
+     * @param logicSQL logic SQL
+     * @param databaseType database type
+     * @param sqlStatement SQL statement
+     */
+    public void put(final String logicSQL, final DatabaseType databaseType, final SQLStatement sqlStatement) {
+        cache.put(new ParsingResultCacheKey(logicSQL, databaseType), sqlStatement);
+    }
+    
+    /**
+     * Get SQL statement from cache.
+     * 
+     * @param logicSQL logic SQL
+     * @param databaseType database type
+     * @return SQL statement
+     */
+    public Optional<SQLStatement> getSQLStatement(final String logicSQL, final DatabaseType databaseType) {
+        return Optional.fromNullable(cache.getIfPresent(new ParsingResultCacheKey(logicSQL, databaseType)));
+    }
+    
+    /**
+     * Put rewrite template to cache.
+     * 
+     * <p>Only SQL statement held by this cache is cacheable, other SQL statements are parsed for each execution.</p>
+     * 
+     * @param logicSQL logic SQL
+     * @param databaseType database type
+     * @param sqlStatement parsed SQL statement
+     * @param rewriteTemplate rewrite template
+     */
+    public void putRewriteTemplate(final String logicSQL, final DatabaseType databaseType, final SQLStatement sqlStatement, final SQLRewriteTemplate rewriteTemplate) {
+        if (sqlStatement == cache.asMap().get(new ParsingResultCacheKey(logicSQL, databaseType))) {
+            rewriteTemplateCache.put(sqlStatement, rewriteTemplate);
+        }
+    }
+    
+    /**
+     * Get rewrite template from cache.
+     * 
+     * @param sqlStatement parsed SQL statement
+     * @return rewrite template
+     */
+    public Optional<SQLRewriteTemplate> getRewriteTemplate(final SQLStatement sqlStatement) {
+        return Optional.fromNullable(rewriteTemplateCache.getIfPresent(sqlStatement));
+    }
+    
+    /**
+     * Get count of cache hit.
+     * 
+     * @return count of cache hit
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+    
+    /**
+     * Get count of cache miss.
+     *
+     * @return count of cache miss
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+    
+    /**
+     * Get size of cached SQL statements.
+     *
+     * @return size of cached SQL statements
+     */
+    public long size() {
+        return cache.size();
+    }
+    
+    /**
+     * Clear cache.
+     */
+    public void clear() {
+        cache.invalidateAll();
+        rewriteTemplateCache.invalidateAll();
+    }
+    
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class ParsingResultCacheKey {
+        
+        private final String logicSQL;
+        
+        private final DatabaseType databaseType;
+    }
+}
@@ -24,7 +24,6 @@ import io.shardingjdbc.core.parsing.lexer.token.Assist;
 import io.shardingjdbc.core.parsing.lexer.token.Token;
 import io.shardingjdbc.core.parsing.parser.exception.SQLParsingException;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * 词法解析器
@@ -32,7 +31,6 @@ import lombok.RequiredArgsConstructor;
  * 
  * @author zhangliang 
  */
-@RequiredArgsConstructor
 public class Lexer {
 
     /**
@@ -43,9 +41,9 @@ public class Lexer {
     private final String input;
 
     /**
-     * 词法标记字典
+     * 扫描游标，所有词法标记复用同一个游标
      */
-    private final Dictionary dictionary;
+    private final Tokenizer tokenizer;
 
     /**
      * 解析到 SQL 的 offset
@@ -58,25 +56,30 @@ public class Lexer {
     @Getter
     private Token currentToken;
     
+    public Lexer(final String input, final Dictionary dictionary) {
+        this.input = input;
+        tokenizer = new Tokenizer(input, dictionary, 0);
+    }
+    
     /**
      * 分析下一个词法标记.
      */
     public final void nextToken() {
         skipIgnoredToken();
         if (isVariableBegin()) {    // 变量
-            currentToken = new Tokenizer(input, dictionary, offset).scanVariable();
+            currentToken = tokenizer.moveTo(offset).scanVariable();
         } else if (isNCharBegin()) {    // N\
-            currentToken = new Tokenizer(input, dictionary, ++offset).scanChars();
+            currentToken = tokenizer.moveTo(++offset).scanChars();
         } else if (isIdentifierBegin()) {
-            currentToken = new Tokenizer(input, dictionary, offset).scanIdentifier();
+            currentToken = tokenizer.moveTo(offset).scanIdentifier();
         } else if (isHexDecimalBegin()) {
-            currentToken = new Tokenizer(input, dictionary, offset).scanHexDecimal();
+            currentToken = tokenizer.moveTo(offset).scanHexDecimal();
         } else if (isNumberBegin()) {
-            currentToken = new Tokenizer(input, dictionary, offset).scanNumber();
+            currentToken = tokenizer.moveTo(offset).scanNumber();
         } else if (isSymbolBegin()) {
-            currentToken = new Tokenizer(input, dictionary, offset).scanSymbol();
+            currentToken = tokenizer.moveTo(offset).scanSymbol();
         } else if (isCharsBegin()) {
-            currentToken = new Tokenizer(input, dictionary, offset).scanChars();
+            currentToken = tokenizer.moveTo(offset).scanChars();
         } else if (isEnd()) {
             currentToken = new Token(Assist.END, "", offset);
         } else {
@@ -86,14 +89,14 @@ public class Lexer {
     }
     
     private void skipIgnoredToken() {
-        offset = new Tokenizer(input, dictionary, offset).skipWhitespace();
+        offset = tokenizer.moveTo(offset).skipWhitespace();
         while (isHintBegin()) {
-            offset = new Tokenizer(input, dictionary, offset).skipHint();
-            offset = new Tokenizer(input, dictionary, offset).skipWhitespace();
+            offset = tokenizer.moveTo(offset).skipHint();
+            offset = tokenizer.moveTo(offset).skipWhitespace();
         }
         while (isCommentBegin()) {
-            offset = new Tokenizer(input, dictionary, offset).skipComment();
-            offset = new Tokenizer(input, dictionary, offset).skipWhitespace();
+            offset = tokenizer.moveTo(offset).skipComment();
+            offset = tokenizer.moveTo(offset).skipWhitespace();
         }
     }
     
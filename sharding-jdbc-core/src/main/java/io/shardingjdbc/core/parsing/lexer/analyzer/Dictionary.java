@@ -21,40 +21,184 @@ import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
 import io.shardingjdbc.core.parsing.lexer.token.Keyword;
 import io.shardingjdbc.core.parsing.lexer.token.TokenType;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Token dictionary.
+ * 
+ * <p>
+ * Keywords are stored in a perfect hash table built by hash and displace, 
+ * lookup is case insensitive and works on region of input directly without creating upper case string.
+ * </p>
  *
  * @author zhangliang
  */
 public final class Dictionary {
     
-    private final Map<String, Keyword> tokens = new HashMap<>(1024);
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+    
+    private static final int MAX_TABLE_SIZE = 1 << 20;
+    
+    private int[] displacements;
+    
+    private char[][] keys;
+    
+    private Keyword[] keywords;
     
     public Dictionary(final Keyword... dialectKeywords) {
         fill(dialectKeywords);
     }
     
     private void fill(final Keyword... dialectKeywords) {
+        Map<String, Keyword> tokens = new LinkedHashMap<>(1024);
         for (DefaultKeyword each : DefaultKeyword.values()) {
             tokens.put(each.name(), each);
         }
         for (Keyword each : dialectKeywords) {
             tokens.put(each.toString(), each);
         }
+        int tableSize = Integer.highestOneBit(Math.max(tokens.size(), 1)) << 2;
+        while (!build(tokens, tableSize)) {
+            tableSize <<= 1;
+            if (tableSize > MAX_TABLE_SIZE) {
+                throw new IllegalStateException("Can not build perfect hash for keywords.");
+            }
+        }
+    }
+    
+    private boolean build(final Map<String, Keyword> tokens, final int tableSize) {
+        int bucketSize = tableSize >> 2;
+        final List<List<String>> buckets = new ArrayList<>(bucketSize);
+        for (int i = 0; i < bucketSize; i++) {
+            buckets.add(new ArrayList<String>(4));
+        }
+        for (String each : tokens.keySet()) {
+            buckets.get(firstHash(each, 0, each.length()) & (bucketSize - 1)).add(each);
+        }
+        List<Integer> bucketIndexes = new ArrayList<>(bucketSize);
+        for (int i = 0; i < bucketSize; i++) {
+            bucketIndexes.add(i);
+        }
+        // 先为分组内关键字较多的桶分配位置
+        Collections.sort(bucketIndexes, new Comparator<Integer>() {
+            
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                return buckets.get(o2).size() - buckets.get(o1).size();
+            }
+        });
+        int[] bucketDisplacements = new int[bucketSize];
+        char[][] slotKeys = new char[tableSize][];
+        Keyword[] slotKeywords = new Keyword[tableSize];
+        for (int each : bucketIndexes) {
+            List<String> bucket = buckets.get(each);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            int displacement = findDisplacement(bucket, slotKeys);
+            if (displacement < 0) {
+                return false;
+            }
+            bucketDisplacements[each] = displacement;
+            for (String key : bucket) {
+                int slot = slot(secondHash(key, 0, key.length()), displacement, tableSize);
+                slotKeys[slot] = key.toCharArray();
+                slotKeywords[slot] = tokens.get(key);
+            }
+        }
+        displacements = bucketDisplacements;
+        keys = slotKeys;
+        keywords = slotKeywords;
+        return true;
+    }
+    
+    private int findDisplacement(final List<String> bucket, final char[][] slotKeys) {
+        int[] slots = new int[bucket.size()];
+        for (int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++) {
+            boolean isFree = true;
+            for (int i = 0; i < bucket.size() && isFree; i++) {
+                String key = bucket.get(i);
+                slots[i] = slot(secondHash(key, 0, key.length()), displacement, slotKeys.length);
+                isFree = null == slotKeys[slots[i]];
+                for (int j = 0; j < i && isFree; j++) {
+                    isFree = slots[i] != slots[j];
+                }
+            }
+            if (isFree) {
+                return displacement;
+            }
+        }
+        return -1;
+    }
+    
+    private static int firstHash(final CharSequence input, final int beginIndex, final int endIndex) {
+        int result = 0;
+        for (int i = beginIndex; i < endIndex; i++) {
+            result = 31 * result + toUpperCase(input.charAt(i));
+        }
+        return result ^ (result >>> 16);
+    }
+    
+    private static int secondHash(final CharSequence input, final int beginIndex, final int endIndex) {
+        int result = 0x811C9DC5;
+        for (int i = beginIndex; i < endIndex; i++) {
+            result = (result ^ toUpperCase(input.charAt(i))) * 0x01000193;
+        }
+        return result;
+    }
+    
+    private static int slot(final int hash, final int displacement, final int tableSize) {
+        int result = hash ^ displacement * 0x9E3779B9;
+        result ^= result >>> 16;
+        result *= 0x85EBCA6B;
+        result ^= result >>> 13;
+        return result & (tableSize - 1);
+    }
+    
+    private static char toUpperCase(final char ch) {
+        return ch >= 'a' && ch <= 'z' ? (char) (ch - 32) : ch;
+    }
+    
+    /**
+     * Find keyword via region of input.
+     * 
+     * @param input input string
+     * @param beginIndex begin index of region, inclusive
+     * @param endIndex end index of region, exclusive
+     * @return keyword, return {@code null} if region is not keyword
+     */
+    public Keyword findKeyword(final CharSequence input, final int beginIndex, final int endIndex) {
+        int slot = slot(secondHash(input, beginIndex, endIndex), displacements[firstHash(input, beginIndex, endIndex) & (displacements.length - 1)], keys.length);
+        char[] key = keys[slot];
+        if (null == key || key.length != endIndex - beginIndex) {
+            return null;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != toUpperCase(input.charAt(beginIndex + i))) {
+                return null;
+            }
+        }
+        return keywords[slot];
+    }
+    
+    TokenType findTokenType(final CharSequence input, final int beginIndex, final int endIndex, final TokenType defaultTokenType) {
+        Keyword result = findKeyword(input, beginIndex, endIndex);
+        return null == result ? defaultTokenType : result;
     }
     
     TokenType findTokenType(final String literals, final TokenType defaultTokenType) {
-        String key = null == literals ? null : literals.toUpperCase();
-        return tokens.containsKey(key) ? tokens.get(key) : defaultTokenType;
+        return null == literals ? defaultTokenType : findTokenType(literals, 0, literals.length(), defaultTokenType);
     }
     
     TokenType findTokenType(final String literals) {
-        String key = null == literals ? null : literals.toUpperCase();
-        if (tokens.containsKey(key)) {
-            return tokens.get(key);
+        Keyword result = null == literals ? null : findKeyword(literals, 0, literals.length());
+        if (null != result) {
+            return result;
         }
         throw new IllegalArgumentException();
     }
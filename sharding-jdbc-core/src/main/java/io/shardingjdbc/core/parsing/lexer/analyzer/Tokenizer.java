@@ -22,14 +22,13 @@ import io.shardingjdbc.core.parsing.lexer.token.Literals;
 import io.shardingjdbc.core.parsing.lexer.token.Symbol;
 import io.shardingjdbc.core.parsing.lexer.token.Token;
 import io.shardingjdbc.core.parsing.lexer.token.TokenType;
-import lombok.RequiredArgsConstructor;
-
 /**
  * Tokenizer.
+ * 
+ * <p>Tokenizer is a cursor over input, it can be moved and reused for scanning all tokens of same input.</p>
  *
  * @author zhangliang
  */
-@RequiredArgsConstructor
 public final class Tokenizer {
     
     private static final int MYSQL_SPECIAL_COMMENT_BEGIN_SYMBOL_LENGTH = 1;
@@ -46,7 +45,24 @@ public final class Tokenizer {
     
     private final Dictionary dictionary;
     
-    private final int offset;
+    private int offset;
+    
+    public Tokenizer(final String input, final Dictionary dictionary, final int offset) {
+        this.input = input;
+        this.dictionary = dictionary;
+        this.offset = offset;
+    }
+    
+    /**
+     * Move cursor to offset.
+     * 
+     * @param offset offset to be moved to
+     * @return tokenizer itself
+     */
+    public Tokenizer moveTo(final int offset) {
+        this.offset = offset;
+        return this;
+    }
     
     /**
      * skip whitespace.
@@ -161,7 +177,7 @@ public final class Tokenizer {
         if (isAmbiguousIdentifier(literals)) {
             return new Token(processAmbiguousIdentifier(offset + length, literals), literals, offset + length);
         }
-        return new Token(dictionary.findTokenType(literals, Literals.IDENTIFIER), literals, offset + length);
+        return new Token(dictionary.findTokenType(input, offset, offset + length, Literals.IDENTIFIER), literals, offset + length);
     }
     
     private int getLengthUntilTerminatedChar(final char terminatedChar) {
@@ -195,12 +211,16 @@ public final class Tokenizer {
         while (CharType.isWhitespace(charAt(offset + i))) {
             i++;
         }
-        if (DefaultKeyword.BY.name().equalsIgnoreCase(String.valueOf(new char[] {charAt(offset + i), charAt(offset + i + 1)}))) {
+        if (isByKeyword(charAt(offset + i), charAt(offset + i + 1))) {
             return dictionary.findTokenType(literals);
         }
         return Literals.IDENTIFIER;
     }
     
+    private boolean isByKeyword(final char ch, final char next) {
+        return ('B' == ch || 'b' == ch) && ('Y' == next || 'y' == next);
+    }
+    
     /**
      * scan hex decimal.
      *
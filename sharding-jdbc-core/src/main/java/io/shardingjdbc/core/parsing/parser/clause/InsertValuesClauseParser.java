@@ -16,6 +16,7 @@ import io.shardingjdbc.core.parsing.parser.expression.SQLPlaceholderExpression;
 import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
 import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
@@ -51,9 +52,10 @@ public class InsertValuesClauseParser implements SQLClauseParser {
         valueKeywords.addAll(Arrays.asList(getSynonymousKeywordsForValues()));
         if (lexerEngine.skipIfEqual(valueKeywords.toArray(new Keyword[valueKeywords.size()]))) {
             insertStatement.setAfterValuesPosition(lexerEngine.getCurrentToken().getEndPosition() - lexerEngine.getCurrentToken().getLiterals().length());
+            int parametersBeginIndex = insertStatement.getParametersIndex();
             parseValues(insertStatement);
             if (lexerEngine.equalAny(Symbol.COMMA)) {
-                parseMultipleValues(insertStatement);
+                parseMultipleValues(insertStatement, parametersBeginIndex);
             }
         }
     }
@@ -93,19 +95,30 @@ public class InsertValuesClauseParser implements SQLClauseParser {
         return result;
     }
     
-    private void parseMultipleValues(final InsertStatement insertStatement) {
-        insertStatement.getMultipleConditions().add(new Conditions(insertStatement.getConditions()));
+    private void parseMultipleValues(final InsertStatement insertStatement, final int firstParametersBeginIndex) {
         MultipleInsertValuesToken valuesToken = new MultipleInsertValuesToken(insertStatement.getAfterValuesPosition());
-        valuesToken.getValues().add(
-                lexerEngine.getInput().substring(insertStatement.getAfterValuesPosition(), lexerEngine.getCurrentToken().getEndPosition() - Symbol.COMMA.getLiterals().length()));
+        addValues(insertStatement, valuesToken, insertStatement.getAfterValuesPosition(), firstParametersBeginIndex);
         while (lexerEngine.skipIfEqual(Symbol.COMMA)) {
             int beginPosition = lexerEngine.getCurrentToken().getEndPosition() - lexerEngine.getCurrentToken().getLiterals().length();
+            int parametersBeginIndex = insertStatement.getParametersIndex();
             parseValues(insertStatement);
-            insertStatement.getMultipleConditions().add(new Conditions(insertStatement.getConditions()));
-            int endPosition = lexerEngine.equalAny(Symbol.COMMA)
-                    ? lexerEngine.getCurrentToken().getEndPosition() - Symbol.COMMA.getLiterals().length() : lexerEngine.getCurrentToken().getEndPosition();
-            valuesToken.getValues().add(lexerEngine.getInput().substring(beginPosition, endPosition));
+            addValues(insertStatement, valuesToken, beginPosition, parametersBeginIndex);
         }
+        valuesToken.setEndPosition(insertStatement.getValuesListLastPosition() + Symbol.RIGHT_PAREN.getLiterals().length());
         insertStatement.getSqlTokens().add(valuesToken);
     }
+    
+    // 记录每行值的分片条件, 原始字面量和参数序号, 以便按行路由和改写
+    private void addValues(final InsertStatement insertStatement, final MultipleInsertValuesToken valuesToken, final int beginPosition, final int parametersBeginIndex) {
+        insertStatement.getMultipleConditions().add(new Conditions(insertStatement.getConditions()));
+        if (null != insertStatement.getGeneratedKey()) {
+            insertStatement.getMultipleGeneratedKeys().add(insertStatement.getGeneratedKey());
+        }
+        valuesToken.getValues().add(lexerEngine.getInput().substring(beginPosition, insertStatement.getValuesListLastPosition() + Symbol.RIGHT_PAREN.getLiterals().length()));
+        List<Integer> parameterIndexes = new ArrayList<>(insertStatement.getParametersIndex() - parametersBeginIndex);
+        for (int i = parametersBeginIndex; i < insertStatement.getParametersIndex(); i++) {
+            parameterIndexes.add(i);
+        }
+        valuesToken.getParameterIndexes().add(parameterIndexes);
+    }
 }
@@ -8,6 +8,7 @@ import io.shardingjdbc.core.parsing.lexer.token.Keyword;
 import io.shardingjdbc.core.parsing.lexer.token.Symbol;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
+import io.shardingjdbc.core.parsing.parser.context.condition.InValuesPosition;
 import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
 import io.shardingjdbc.core.parsing.parser.context.limit.LimitValue;
 import io.shardingjdbc.core.parsing.parser.context.selectitem.SelectItem;
@@ -26,6 +27,7 @@ import io.shardingjdbc.core.parsing.parser.token.RowCountToken;
 import io.shardingjdbc.core.util.SQLUtil;
 import com.google.common.base.Optional;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -137,19 +139,48 @@ public class WhereClauseParser implements SQLClauseParser {
     }
     
     private void parseInCondition(final ShardingRule shardingRule, final SQLStatement sqlStatement, final SQLExpression left) {
+        int beginPosition = getCurrentTokenBeginPosition();
+        // 字符串的字面量不含引号, 值的起始位置取前一个分隔符的结束位置
+        int valueBeginPosition = lexerEngine.getCurrentToken().getEndPosition();
         lexerEngine.accept(Symbol.LEFT_PAREN);
         List<SQLExpression> rights = new LinkedList<>();
+        List<String> valueLiterals = new LinkedList<>();
         do {
-            lexerEngine.skipIfEqual(Symbol.COMMA);
+            if (lexerEngine.equalAny(Symbol.COMMA)) {
+                valueBeginPosition = lexerEngine.getCurrentToken().getEndPosition();
+                lexerEngine.nextToken();
+            }
             rights.add(expressionClauseParser.parse(sqlStatement));
+            valueLiterals.add(lexerEngine.getInput().substring(valueBeginPosition, getCurrentTokenBeginPosition()).trim());
         } while (!lexerEngine.equalAny(Symbol.RIGHT_PAREN));
         Optional<Column> column = find(sqlStatement.getTables(), left);
         if (column.isPresent()) {
-            sqlStatement.getConditions().add(new Condition(column.get(), rights), shardingRule);
+            Condition condition = new Condition(column.get(), rights);
+            condition.setInValuesPosition(createInValuesPosition(beginPosition, lexerEngine.getCurrentToken().getEndPosition(), rights, valueLiterals));
+            sqlStatement.getConditions().add(condition, shardingRule);
         }
         lexerEngine.nextToken();
     }
     
+    private int getCurrentTokenBeginPosition() {
+        return lexerEngine.getCurrentToken().getEndPosition() - lexerEngine.getCurrentToken().getLiterals().length();
+    }
+    
+    // 仅由占位符和字面量组成的IN值列表才可按路由结果裁剪
+    private InValuesPosition createInValuesPosition(final int beginPosition, final int endPosition, final List<SQLExpression> rights, final List<String> valueLiterals) {
+        List<Integer> parameterIndexes = new ArrayList<>(rights.size());
+        for (SQLExpression each : rights) {
+            if (each instanceof SQLPlaceholderExpression) {
+                parameterIndexes.add(((SQLPlaceholderExpression) each).getIndex());
+            } else if (each instanceof SQLNumberExpression || each instanceof SQLTextExpression) {
+                parameterIndexes.add(-1);
+            } else {
+                return null;
+            }
+        }
+        return new InValuesPosition(beginPosition, endPosition, new ArrayList<>(valueLiterals), parameterIndexes);
+    }
+    
     private void parseBetweenCondition(final ShardingRule shardingRule, final SQLStatement sqlStatement, final SQLExpression left) {
         List<SQLExpression> rights = new LinkedList<>();
         rights.add(expressionClauseParser.parse(sqlStatement));
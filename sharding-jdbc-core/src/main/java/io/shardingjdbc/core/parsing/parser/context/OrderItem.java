@@ -72,6 +72,15 @@ public final class OrderItem {
         alias = Optional.absent();
     }
     
+    public OrderItem(final OrderItem orderItem) {
+        owner = orderItem.owner;
+        name = orderItem.name;
+        type = orderItem.type;
+        nullOrderType = orderItem.nullOrderType;
+        index = orderItem.index;
+        alias = orderItem.alias;
+    }
+    
     /**
      * Get column label.
      *
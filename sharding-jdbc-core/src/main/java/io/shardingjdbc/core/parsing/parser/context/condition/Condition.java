@@ -15,10 +15,12 @@ import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,7 +31,7 @@ import java.util.Map.Entry;
  * @author zhangliang
  */
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
-@EqualsAndHashCode
+@EqualsAndHashCode(exclude = "inValuesPosition")
 @ToString
 public final class Condition {
     
@@ -43,6 +45,13 @@ public final class Condition {
     
     private final Map<Integer, Integer> positionIndexMap = new LinkedHashMap<>();
     
+    /**
+     * IN条件值列表的位置, 用于按路由结果裁剪各真实表的IN值
+     */
+    @Getter
+    @Setter
+    private InValuesPosition inValuesPosition;
+    
     public Condition(final Column column, final SQLExpression sqlExpression) {
         this(column, ShardingOperator.EQUAL);
         init(sqlExpression, 0);
@@ -92,19 +101,36 @@ public final class Condition {
         }
     }
     
-    private List<Comparable<?>> getValues(final List<Object> parameters) {
-        List<Comparable<?>> result = new LinkedList<>(positionValueMap.values());
-        for (Entry<Integer, Integer> entry : positionIndexMap.entrySet()) {
-            Object parameter = parameters.get(entry.getValue());
-            if (!(parameter instanceof Comparable<?>)) {
-                throw new ShardingJdbcException("Parameter `%s` should extends Comparable for sharding value.", parameter);
-            }
-            if (entry.getKey() < result.size()) {
-                result.add(entry.getKey(), (Comparable<?>) parameter);
+    /**
+     * Get condition values.
+     *
+     * @param parameters parameters
+     * @return condition values
+     */
+    public List<Comparable<?>> getValues(final List<Object> parameters) {
+        Comparable<?>[] result = new Comparable<?>[positionValueMap.size() + positionIndexMap.size()];
+        // 两个Map均按位置递增插入，按位置归并填充数组
+        Iterator<Entry<Integer, Comparable<?>>> valueIterator = positionValueMap.entrySet().iterator();
+        Iterator<Entry<Integer, Integer>> indexIterator = positionIndexMap.entrySet().iterator();
+        Entry<Integer, Comparable<?>> valueEntry = valueIterator.hasNext() ? valueIterator.next() : null;
+        Entry<Integer, Integer> indexEntry = indexIterator.hasNext() ? indexIterator.next() : null;
+        for (int i = 0; i < result.length; i++) {
+            if (null == indexEntry || null != valueEntry && valueEntry.getKey() < indexEntry.getKey()) {
+                result[i] = valueEntry.getValue();
+                valueEntry = valueIterator.hasNext() ? valueIterator.next() : null;
             } else {
-                result.add((Comparable<?>) parameter);
+                result[i] = getParameter(parameters, indexEntry.getValue());
+                indexEntry = indexIterator.hasNext() ? indexIterator.next() : null;
             }
         }
-        return result;
+        return Arrays.asList(result);
+    }
+    
+    private Comparable<?> getParameter(final List<Object> parameters, final int index) {
+        Object result = parameters.get(index);
+        if (!(result instanceof Comparable<?>)) {
+            throw new ShardingJdbcException("Parameter `%s` should extends Comparable for sharding value.", result);
+        }
+        return (Comparable<?>) result;
     }
 }
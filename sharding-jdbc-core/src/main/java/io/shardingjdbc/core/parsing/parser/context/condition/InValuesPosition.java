@@ -0,0 +1,57 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing.parser.context.condition;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Position of values list for IN condition.
+ * 
+ * <p>Only record when all values are placeholders or literals, so that the list can be rewritten per table unit.</p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class InValuesPosition {
+    
+    /**
+     * 左括号的位置
+     */
+    private final int beginPosition;
+    
+    /**
+     * 右括号之后的位置
+     */
+    private final int endPosition;
+    
+    /**
+     * 各值的原始字面量
+     */
+    private final List<String> valueLiterals;
+    
+    /**
+     * 各值对应的参数下标, 字面量为-1
+     */
+    private final List<Integer> parameterIndexes;
+}
@@ -45,6 +45,15 @@ public final class Tables {
         tables.add(table);
     }
     
+    /**
+     * 添加全部表解析对象.
+     *
+     * @param tables 表解析对象集合
+     */
+    public void addAll(final Tables tables) {
+        this.tables.addAll(tables.tables);
+    }
+    
     /**
      * 判断是否为空.
      *
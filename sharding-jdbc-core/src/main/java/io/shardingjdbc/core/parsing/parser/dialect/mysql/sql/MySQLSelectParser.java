@@ -19,6 +19,7 @@ package io.shardingjdbc.core.parsing.parser.dialect.mysql.sql;
 
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.parsing.lexer.LexerEngine;
+import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
 import io.shardingjdbc.core.parsing.parser.dialect.mysql.clause.MySQLLimitClauseParser;
 import io.shardingjdbc.core.parsing.parser.dialect.mysql.clause.facade.MySQLSelectClauseParserFacade;
 import io.shardingjdbc.core.parsing.parser.dialect.mysql.clause.MySQLSelectOptionClauseParser;
@@ -53,6 +54,7 @@ public final class MySQLSelectParser extends AbstractSelectParser {
         parseHaving();
         parseOrderBy(selectStatement);
         parseLimit(selectStatement);
+        parseLock(selectStatement);
         parseSelectRest();
     }
     
@@ -63,4 +65,11 @@ public final class MySQLSelectParser extends AbstractSelectParser {
     private void parseLimit(final SelectStatement selectStatement) {
         limitClauseParser.parse(selectStatement);
     }
+    
+    // FOR UPDATE和LOCK IN SHARE MODE之后的内容不参与解析, 仅标记为加锁查询
+    private void parseLock(final SelectStatement selectStatement) {
+        if (getLexerEngine().equalAny(DefaultKeyword.FOR, DefaultKeyword.LOCK)) {
+            selectStatement.setLock(true);
+        }
+    }
 }
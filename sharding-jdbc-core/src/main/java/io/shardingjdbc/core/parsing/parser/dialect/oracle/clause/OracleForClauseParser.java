@@ -34,6 +34,7 @@ public final class OracleForClauseParser implements SQLClauseParser {
             return;
         }
         lexerEngine.accept(DefaultKeyword.UPDATE);
+        selectStatement.setLock(true);
         if (lexerEngine.skipIfEqual(DefaultKeyword.OF)) {
             do {
                 expressionClauseParser.parse(selectStatement);
@@ -21,6 +21,7 @@ import io.shardingjdbc.core.parsing.lexer.LexerEngine;
 import io.shardingjdbc.core.parsing.lexer.dialect.postgresql.PostgreSQLKeyword;
 import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
 import io.shardingjdbc.core.parsing.parser.clause.SQLClauseParser;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -35,11 +36,14 @@ public final class PostgreSQLForClauseParser implements SQLClauseParser {
     
     /**
      * Parse for.
+     * 
+     * @param selectStatement select statement
      */
-    public void parse() {
+    public void parse(final SelectStatement selectStatement) {
         if (!lexerEngine.skipIfEqual(DefaultKeyword.FOR)) {
             return;
         }
+        selectStatement.setLock(true);
         lexerEngine.skipIfEqual(DefaultKeyword.UPDATE, PostgreSQLKeyword.SHARE);
         lexerEngine.unsupportedIfEqual(DefaultKeyword.OF);
         lexerEngine.skipIfEqual(PostgreSQLKeyword.NOWAIT);
@@ -52,7 +52,7 @@ public final class PostgreSQLSelectParser extends AbstractSelectParser {
         parseHaving();
         parseOrderBy(selectStatement);
         parseLimit(selectStatement);
-        parseFor();
+        parseFor(selectStatement);
         parseSelectRest();
     }
     
@@ -60,7 +60,7 @@ public final class PostgreSQLSelectParser extends AbstractSelectParser {
         limitClauseParser.parse(selectStatement);
     }
     
-    private void parseFor() {
-        forClauseParser.parse();
+    private void parseFor(final SelectStatement selectStatement) {
+        forClauseParser.parse(selectStatement);
     }
 }
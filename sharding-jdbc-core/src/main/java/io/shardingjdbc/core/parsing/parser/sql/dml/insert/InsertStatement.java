@@ -24,18 +24,22 @@ import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
 import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
+import io.shardingjdbc.core.parsing.parser.expression.SQLExpression;
 import io.shardingjdbc.core.parsing.parser.expression.SQLNumberExpression;
 import io.shardingjdbc.core.parsing.parser.expression.SQLPlaceholderExpression;
 import io.shardingjdbc.core.parsing.parser.sql.dml.DMLStatement;
 import io.shardingjdbc.core.parsing.parser.token.GeneratedKeyToken;
 import io.shardingjdbc.core.parsing.parser.token.ItemsToken;
+import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import com.google.common.base.Optional;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -51,7 +55,9 @@ public final class InsertStatement extends DMLStatement {
     
     private final Collection<Column> columns = new LinkedList<>();
     
-    private final List<Conditions> multipleConditions = new LinkedList<>();
+    private final List<Conditions> multipleConditions = new ArrayList<>();
+    
+    private final List<GeneratedKey> multipleGeneratedKeys = new ArrayList<>();
     
     private int columnsListLastPosition;
     
@@ -81,6 +87,12 @@ public final class InsertStatement extends DMLStatement {
         if (!generatedKeysToken.isPresent()) {
             return;
         }
+        Optional<MultipleInsertValuesToken> multipleInsertValuesToken = findMultipleInsertValuesToken();
+        if (multipleInsertValuesToken.isPresent()) {
+            appendGenerateKeyTokens(shardingRule, tableRule.get(), multipleInsertValuesToken.get(), parametersSize);
+            getSqlTokens().remove(generatedKeysToken.get());
+            return;
+        }
         ItemsToken valuesToken = new ItemsToken(generatedKeysToken.get().getBeginPosition());
         if (0 == parametersSize) {
             appendGenerateKeyToken(shardingRule, tableRule.get(), valuesToken);
@@ -104,6 +116,48 @@ public final class InsertStatement extends DMLStatement {
         generatedKey = new GeneratedKey(tableRule.getGenerateKeyColumn(), parametersSize, null);
     }
     
+    // 多行插入为每行值追加主键, 有参数时各行主键占位符的参数序号依次排在原参数之后
+    private void appendGenerateKeyTokens(final ShardingRule shardingRule, final TableRule tableRule, final MultipleInsertValuesToken valuesToken, final int parametersSize) {
+        Column column = new Column(tableRule.getGenerateKeyColumn(), tableRule.getLogicTable());
+        List<Number> keys = 0 == parametersSize ? shardingRule.generateKeys(tableRule.getLogicTable(), valuesToken.getValues().size()) : Collections.<Number>emptyList();
+        for (int i = 0; i < valuesToken.getValues().size(); i++) {
+            String item;
+            SQLExpression sqlExpression;
+            if (0 == parametersSize) {
+                Number key = keys.get(i);
+                item = key.toString();
+                sqlExpression = new SQLNumberExpression(key);
+                generatedKey = new GeneratedKey(tableRule.getGenerateKeyColumn(), -1, key);
+            } else {
+                item = Symbol.QUESTION.getLiterals();
+                sqlExpression = new SQLPlaceholderExpression(parametersSize + i);
+                valuesToken.getParameterIndexes().get(i).add(parametersSize + i);
+                generatedKey = new GeneratedKey(tableRule.getGenerateKeyColumn(), parametersSize + i, null);
+            }
+            String values = valuesToken.getValues().get(i);
+            int lastPosition = values.length() - Symbol.RIGHT_PAREN.getLiterals().length();
+            valuesToken.getValues().set(i, values.substring(0, lastPosition) + ", " + item + values.substring(lastPosition));
+            Condition condition = new Condition(column, sqlExpression);
+            multipleConditions.get(i).add(condition, shardingRule);
+            getConditions().add(condition, shardingRule);
+            multipleGeneratedKeys.add(generatedKey);
+        }
+    }
+    
+    /**
+     * Find multiple insert values token.
+     *
+     * @return multiple insert values token
+     */
+    public Optional<MultipleInsertValuesToken> findMultipleInsertValuesToken() {
+        for (SQLToken each : getSqlTokens()) {
+            if (each instanceof MultipleInsertValuesToken) {
+                return Optional.of((MultipleInsertValuesToken) each);
+            }
+        }
+        return Optional.absent();
+    }
+    
     private Optional<GeneratedKeyToken> findGeneratedKeyToken() {
         for (SQLToken each : getSqlTokens()) {
             if (each instanceof GeneratedKeyToken) {
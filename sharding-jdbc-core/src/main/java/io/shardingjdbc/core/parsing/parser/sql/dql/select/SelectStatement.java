@@ -55,6 +55,8 @@ public final class SelectStatement extends DQLStatement {
     
     private int groupByLastPosition;
     
+    private boolean lock;
+    
     private final Set<SelectItem> items = new HashSet<>();
     
     private final List<OrderItem> groupByItems = new LinkedList<>();
@@ -170,6 +172,38 @@ public final class SelectStatement extends DQLStatement {
         return null != subQueryStatement;
     }
     
+    /**
+     * Copy select statement for routing.
+     * 
+     * <p>Parsed select statement may be shared by parsing result cache, limit is filled and rewritten during routing 
+     * and indexes of aggregation and order items are set during merging, so copy them for each routing.</p>
+     * 
+     * @return copied select statement
+     */
+    public SelectStatement copyForRouting() {
+        SelectStatement result = new SelectStatement();
+        result.getTables().addAll(getTables());
+        result.getConditions().getConditions().putAll(getConditions().getConditions());
+        result.getSqlTokens().addAll(getSqlTokens());
+        result.setParametersIndex(getParametersIndex());
+        result.containStar = containStar;
+        result.selectListLastPosition = selectListLastPosition;
+        result.groupByLastPosition = groupByLastPosition;
+        result.lock = lock;
+        for (SelectItem each : items) {
+            result.items.add(each instanceof AggregationSelectItem ? new AggregationSelectItem((AggregationSelectItem) each) : each);
+        }
+        for (OrderItem each : groupByItems) {
+            result.groupByItems.add(new OrderItem(each));
+        }
+        for (OrderItem each : orderByItems) {
+            result.orderByItems.add(new OrderItem(each));
+        }
+        result.limit = null == limit ? null : new Limit(limit);
+        result.subQueryStatement = subQueryStatement;
+        return result;
+    }
+    
     /**
      * Merge sub query statement if contains.
      * 
@@ -177,6 +211,7 @@ public final class SelectStatement extends DQLStatement {
      */
     public SelectStatement mergeSubQueryStatement() {
         SelectStatement result = processLimitForSubQuery();
+        result.lock = result.lock || lock;
         processItems(result);
         processOrderByItems(result);
         return result;
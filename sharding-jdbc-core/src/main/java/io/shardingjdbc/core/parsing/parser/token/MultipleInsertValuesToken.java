@@ -19,9 +19,10 @@ package io.shardingjdbc.core.parsing.parser.token;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,5 +37,13 @@ public final class MultipleInsertValuesToken implements SQLToken {
     
     private final int beginPosition;
     
-    private final List<String> values = new LinkedList<>();
+    private final List<String> values = new ArrayList<>();
+    
+    /**
+     * 各行值的参数序号, 与值列表一一对应
+     */
+    private final List<List<Integer>> parameterIndexes = new ArrayList<>();
+    
+    @Setter
+    private int endPosition;
 }
@@ -17,17 +17,25 @@
 
 package io.shardingjdbc.core.rewrite;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
+import io.shardingjdbc.core.parsing.parser.context.condition.InValuesPosition;
+import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 /**
  * SQL builder.
  * 
+ * <p>Segments are compiled to array-backed literals and table slots when generate SQL first time, 
+ * and the compiled result is reused for every SQL generation until new segment appended.</p>
+ * 
  * @author gaohongtao
  * @author zhangliang
  */
@@ -38,11 +46,13 @@ public final class SQLBuilder {
     
     private StringBuilder currentSegment;
     
+    private CompiledSegments compiledSegments;
+    
     /**
      * Constructs a empty SQL builder.
      */
     public SQLBuilder() {
-        segments = new LinkedList<>();
+        segments = new ArrayList<>();
         currentSegment = new StringBuilder();
         segments.add(currentSegment);
     }
@@ -54,6 +64,7 @@ public final class SQLBuilder {
      */
     public void appendLiterals(final String literals) {
         currentSegment.append(literals);
+        compiledSegments = null;
     }
     
     /**
@@ -66,6 +77,7 @@ public final class SQLBuilder {
         segments.add(new IndexToken(indexName, tableName));
         currentSegment = new StringBuilder();
         segments.add(currentSegment);
+        compiledSegments = null;
     }
     
     /**
@@ -77,6 +89,48 @@ public final class SQLBuilder {
         segments.add(new TableToken(tableName));
         currentSegment = new StringBuilder();
         segments.add(currentSegment);
+        compiledSegments = null;
+    }
+    
+    /**
+     * Append values list of IN condition.
+     * 
+     * <p>Original literals are used unless the values list is pruned by {@link #toSQL(String[], InValuesPosition, List)}.</p>
+     *
+     * @param inValuesPosition position of values list
+     * @param originalLiterals original literals of values list
+     */
+    public void appendInValues(final InValuesPosition inValuesPosition, final String originalLiterals) {
+        segments.add(new ValuesToken(inValuesPosition, inValuesPosition.getValueLiterals(), originalLiterals, true));
+        currentSegment = new StringBuilder();
+        segments.add(currentSegment);
+        compiledSegments = null;
+    }
+    
+    /**
+     * Append values of multiple insert.
+     * 
+     * <p>All values are used unless the values are split by {@link #toSQL(String[], InValuesPosition, List, List)}.</p>
+     *
+     * @param multipleInsertValuesToken multiple insert values token
+     */
+    public void appendInsertValues(final MultipleInsertValuesToken multipleInsertValuesToken) {
+        List<String> values = multipleInsertValuesToken.getValues();
+        segments.add(new ValuesToken(multipleInsertValuesToken, values, Joiner.on(", ").join(values), false));
+        currentSegment = new StringBuilder();
+        segments.add(currentSegment);
+        compiledSegments = null;
+    }
+    
+    /**
+     * Get logic table names of table and index tokens.
+     * 
+     * <p>Sequence of logic table names is same with actual table names used by {@link #toSQL(String[])}.</p>
+     *
+     * @return logic table names
+     */
+    public List<String> getLogicTableNames() {
+        return Collections.unmodifiableList(Arrays.asList(getCompiledSegments().logicTableNames));
     }
     
     /**
@@ -86,27 +140,104 @@ public final class SQLBuilder {
      * @return SQL string
      */
     public String toSQL(final Map<String, String> tableTokens) {
-        StringBuilder result = new StringBuilder();
-        for (Object each : segments) {
-            if (each instanceof TableToken && tableTokens.containsKey(((TableToken) each).tableName)) {
-                result.append(tableTokens.get(((TableToken) each).tableName));
-            } else if (each instanceof IndexToken) {
-                IndexToken indexToken = (IndexToken) each;
-                result.append(indexToken.indexName);
-                String tableName = tableTokens.get(indexToken.tableName);
-                if (!Strings.isNullOrEmpty(tableName)) {
-                    result.append("_");
-                    result.append(tableName);
+        String[] logicTableNames = getCompiledSegments().logicTableNames;
+        String[] actualTableNames = new String[logicTableNames.length];
+        for (int i = 0; i < logicTableNames.length; i++) {
+            actualTableNames[i] = tableTokens.get(logicTableNames[i]);
+        }
+        return toSQL(actualTableNames);
+    }
+    
+    /**
+     * Convert to SQL string.
+     *
+     * @param actualTableNames actual table names, same sequence with logic table names, {@code null} means do not rewrite the logic table
+     * @return SQL string
+     */
+    public String toSQL(final String[] actualTableNames) {
+        return toSQL(actualTableNames, null, Collections.<Integer>emptyList());
+    }
+    
+    /**
+     * Convert to SQL string with pruned values list of IN condition.
+     *
+     * @param actualTableNames actual table names, same sequence with logic table names, {@code null} means do not rewrite the logic table
+     * @param prunedInValuesPosition position of pruned values list, {@code null} means do not prune
+     * @param inValueIndexes indexes of values retained in pruned values list
+     * @return SQL string
+     */
+    public String toSQL(final String[] actualTableNames, final InValuesPosition prunedInValuesPosition, final List<Integer> inValueIndexes) {
+        return toSQL(actualTableNames, prunedInValuesPosition, inValueIndexes, null);
+    }
+    
+    /**
+     * Convert to SQL string with pruned values list of IN condition and split values of multiple insert.
+     *
+     * @param actualTableNames actual table names, same sequence with logic table names, {@code null} means do not rewrite the logic table
+     * @param prunedInValuesPosition position of pruned values list, {@code null} means do not prune
+     * @param inValueIndexes indexes of values retained in pruned values list
+     * @param insertValueIndexes indexes of values retained in multiple insert, {@code null} means retain all values
+     * @return SQL string
+     */
+    public String toSQL(final String[] actualTableNames, final InValuesPosition prunedInValuesPosition, final List<Integer> inValueIndexes, final List<Integer> insertValueIndexes) {
+        CompiledSegments compiledSegments = getCompiledSegments();
+        StringBuilder result = new StringBuilder(compiledSegments.getLength(actualTableNames));
+        result.append(compiledSegments.literals[0]);
+        for (int i = 0; i < compiledSegments.slotTableIndexes.length; i++) {
+            ValuesToken valuesToken = compiledSegments.slotValues[i];
+            if (null != valuesToken) {
+                if (valuesToken.isInValues) {
+                    appendValues(result, valuesToken, valuesToken.owner == prunedInValuesPosition ? inValueIndexes : null);
+                } else {
+                    appendValues(result, valuesToken, insertValueIndexes);
                 }
+                result.append(compiledSegments.literals[i + 1]);
+                continue;
+            }
+            int tableIndex = compiledSegments.slotTableIndexes[i];
+            String actualTableName = -1 == tableIndex ? null : actualTableNames[tableIndex];
+            String indexName = compiledSegments.slotIndexNames[i];
+            if (null == indexName) {
+                result.append(null == actualTableName ? compiledSegments.logicTableNames[tableIndex] : actualTableName);
             } else {
-                result.append(each);
+                result.append(indexName);
+                if (!Strings.isNullOrEmpty(actualTableName)) {
+                    result.append('_').append(actualTableName);
+                }
             }
+            result.append(compiledSegments.literals[i + 1]);
         }
         return result.toString();
     }
     
+    private void appendValues(final StringBuilder sql, final ValuesToken valuesToken, final List<Integer> valueIndexes) {
+        if (null == valueIndexes) {
+            sql.append(valuesToken.originalLiterals);
+            return;
+        }
+        if (valuesToken.isInValues) {
+            sql.append('(');
+        }
+        for (int i = 0; i < valueIndexes.size(); i++) {
+            if (0 != i) {
+                sql.append(", ");
+            }
+            sql.append(valuesToken.valueLiterals.get(valueIndexes.get(i)));
+        }
+        if (valuesToken.isInValues) {
+            sql.append(')');
+        }
+    }
+    
+    private CompiledSegments getCompiledSegments() {
+        if (null == compiledSegments) {
+            compiledSegments = new CompiledSegments(segments);
+        }
+        return compiledSegments;
+    }
+    
     @RequiredArgsConstructor
-    private class TableToken {
+    private final class TableToken {
         
         private final String tableName;
         
@@ -117,7 +248,7 @@ public final class SQLBuilder {
     }
     
     @RequiredArgsConstructor
-    private class IndexToken {
+    private final class IndexToken {
         
         private final String indexName;
         
@@ -128,4 +259,92 @@ public final class SQLBuilder {
             return indexName;
         }
     }
+    
+    @RequiredArgsConstructor
+    private final class ValuesToken {
+        
+        private final Object owner;
+        
+        private final List<String> valueLiterals;
+        
+        private final String originalLiterals;
+        
+        private final boolean isInValues;
+        
+        @Override
+        public String toString() {
+            return originalLiterals;
+        }
+    }
+    
+    private static final class CompiledSegments {
+        
+        private final String[] literals;
+        
+        private final int[] slotTableIndexes;
+        
+        private final String[] slotIndexNames;
+        
+        private final ValuesToken[] slotValues;
+        
+        private final String[] logicTableNames;
+        
+        private final int literalsLength;
+        
+        CompiledSegments(final List<Object> segments) {
+            int slotSize = segments.size() / 2;
+            literals = new String[slotSize + 1];
+            slotTableIndexes = new int[slotSize];
+            slotIndexNames = new String[slotSize];
+            slotValues = new ValuesToken[slotSize];
+            List<String> logicTableNames = new ArrayList<>(slotSize);
+            int literalsLength = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                Object each = segments.get(i);
+                if (0 == i % 2) {
+                    literals[i / 2] = each.toString();
+                    literalsLength += literals[i / 2].length();
+                } else if (each instanceof TableToken) {
+                    slotTableIndexes[i / 2] = getLogicTableIndex(logicTableNames, ((TableToken) each).tableName);
+                } else if (each instanceof ValuesToken) {
+                    slotTableIndexes[i / 2] = -1;
+                    slotValues[i / 2] = (ValuesToken) each;
+                } else {
+                    slotTableIndexes[i / 2] = getLogicTableIndex(logicTableNames, ((IndexToken) each).tableName);
+                    slotIndexNames[i / 2] = ((IndexToken) each).indexName;
+                }
+            }
+            this.logicTableNames = logicTableNames.toArray(new String[logicTableNames.size()]);
+            this.literalsLength = literalsLength;
+        }
+        
+        private int getLogicTableIndex(final List<String> logicTableNames, final String logicTableName) {
+            if (null == logicTableName) {
+                return -1;
+            }
+            int result = logicTableNames.indexOf(logicTableName);
+            if (-1 == result) {
+                logicTableNames.add(logicTableName);
+                return logicTableNames.size() - 1;
+            }
+            return result;
+        }
+        
+        private int getLength(final String[] actualTableNames) {
+            int result = literalsLength;
+            for (int i = 0; i < slotTableIndexes.length; i++) {
+                if (null != slotValues[i]) {
+                    result += slotValues[i].originalLiterals.length();
+                    continue;
+                }
+                String actualTableName = -1 == slotTableIndexes[i] ? null : actualTableNames[slotTableIndexes[i]];
+                if (null != slotIndexNames[i]) {
+                    result += slotIndexNames[i].length() + (null == actualTableName ? 0 : actualTableName.length() + 1);
+                } else {
+                    result += null == actualTableName ? logicTableNames[slotTableIndexes[i]].length() : actualTableName.length();
+                }
+            }
+            return result;
+        }
+    }
 }
@@ -22,28 +22,32 @@ import com.google.common.base.Strings;
 import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
 import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
+import io.shardingjdbc.core.parsing.parser.context.condition.InValuesPosition;
 import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
 import io.shardingjdbc.core.parsing.parser.token.IndexToken;
 import io.shardingjdbc.core.parsing.parser.token.ItemsToken;
+import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
 import io.shardingjdbc.core.parsing.parser.token.OffsetToken;
 import io.shardingjdbc.core.parsing.parser.token.OrderByToken;
 import io.shardingjdbc.core.parsing.parser.token.RowCountToken;
 import io.shardingjdbc.core.parsing.parser.token.SQLToken;
 import io.shardingjdbc.core.parsing.parser.token.TableToken;
+import io.shardingjdbc.core.routing.type.RoutingResult;
 import io.shardingjdbc.core.routing.type.TableUnit;
 import io.shardingjdbc.core.routing.type.complex.CartesianTableReference;
 import io.shardingjdbc.core.rule.BindingTableRule;
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.util.SQLUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * SQL重写引擎
@@ -60,7 +64,7 @@ public final class SQLRewriteEngine {
     
     private final DatabaseType databaseType;
     
-    private final List<SQLToken> sqlTokens = new LinkedList<>();
+    private final List<SQLToken> sqlTokens;
     
     private final SQLStatement sqlStatement;
     
@@ -77,7 +81,12 @@ public final class SQLRewriteEngine {
         this.originalSQL = originalSQL;
         this.databaseType = databaseType;
         this.sqlStatement = sqlStatement;
-        sqlTokens.addAll(sqlStatement.getSqlTokens());
+        sqlTokens = new ArrayList<>(sqlStatement.getSqlTokens());
+        for (Condition each : sqlStatement.getConditions().getConditions().values()) {
+            if (null != each.getInValuesPosition()) {
+                sqlTokens.add(new InValuesToken(each.getInValuesPosition()));
+            }
+        }
     }
     
     /**
@@ -110,6 +119,10 @@ public final class SQLRewriteEngine {
                 appendLimitOffsetToken(result, (OffsetToken) each, count, sqlTokens, isRewriteLimit);
             } else if (each instanceof OrderByToken) {
                 appendOrderByToken(result, count, sqlTokens);
+            } else if (each instanceof InValuesToken) {
+                appendInValuesToken(result, (InValuesToken) each, count, sqlTokens);
+            } else if (each instanceof MultipleInsertValuesToken) {
+                appendMultipleInsertValuesToken(result, (MultipleInsertValuesToken) each, count, sqlTokens);
             }
             count++;
         }
@@ -192,6 +205,17 @@ public final class SQLRewriteEngine {
         appendRest(sqlBuilder, count, sqlTokens, beginPosition);
     }
     
+    private void appendInValuesToken(final SQLBuilder sqlBuilder, final InValuesToken inValuesToken, final int count, final List<SQLToken> sqlTokens) {
+        InValuesPosition inValuesPosition = inValuesToken.getInValuesPosition();
+        sqlBuilder.appendInValues(inValuesPosition, originalSQL.substring(inValuesPosition.getBeginPosition(), inValuesPosition.getEndPosition()));
+        appendRest(sqlBuilder, count, sqlTokens, inValuesPosition.getEndPosition());
+    }
+    
+    private void appendMultipleInsertValuesToken(final SQLBuilder sqlBuilder, final MultipleInsertValuesToken multipleInsertValuesToken, final int count, final List<SQLToken> sqlTokens) {
+        sqlBuilder.appendInsertValues(multipleInsertValuesToken);
+        appendRest(sqlBuilder, count, sqlTokens, multipleInsertValuesToken.getEndPosition());
+    }
+    
     private void appendRest(final SQLBuilder sqlBuilder, final int count, final List<SQLToken> sqlTokens, final int beginPosition) {
         int endPosition = sqlTokens.size() - 1 == count ? originalSQL.length() : sqlTokens.get(count + 1).getBeginPosition();
         sqlBuilder.appendLiterals(originalSQL.substring(beginPosition, endPosition));
@@ -205,7 +229,27 @@ public final class SQLRewriteEngine {
      * @return SQL string
      */
     public String generateSQL(final TableUnit tableUnit, final SQLBuilder sqlBuilder) {
-        return sqlBuilder.toSQL(getTableTokens(tableUnit));
+        List<String> logicTableNames = sqlBuilder.getLogicTableNames();
+        String[] actualTableNames = new String[logicTableNames.size()];
+        fillActualTableNames(tableUnit, logicTableNames, actualTableNames);
+        return sqlBuilder.toSQL(actualTableNames);
+    }
+    
+    /**
+     * Generate SQL string with values list of IN condition and values of multiple insert pruned by routing result.
+     * 
+     * @param tableUnit route table unit
+     * @param sqlBuilder SQL builder
+     * @param routingResult routing result
+     * @return SQL string
+     */
+    public String generateSQL(final TableUnit tableUnit, final SQLBuilder sqlBuilder, final RoutingResult routingResult) {
+        List<String> logicTableNames = sqlBuilder.getLogicTableNames();
+        String[] actualTableNames = new String[logicTableNames.size()];
+        fillActualTableNames(tableUnit, logicTableNames, actualTableNames);
+        Condition prunedInCondition = routingResult.getPrunedInCondition();
+        return sqlBuilder.toSQL(actualTableNames, null == prunedInCondition ? null : prunedInCondition.getInValuesPosition(), 
+                routingResult.getInValueIndexes().get(tableUnit), routingResult.getInsertValueIndexes().get(tableUnit));
     }
     
     /**
@@ -216,38 +260,47 @@ public final class SQLRewriteEngine {
      * @return SQL string
      */
     public String generateSQL(final CartesianTableReference cartesianTableReference, final SQLBuilder sqlBuilder) {
-        return sqlBuilder.toSQL(getTableTokens(cartesianTableReference));
+        List<String> logicTableNames = sqlBuilder.getLogicTableNames();
+        String[] actualTableNames = new String[logicTableNames.size()];
+        for (TableUnit each : cartesianTableReference.getTableUnits()) {
+            fillActualTableNames(each, logicTableNames, actualTableNames);
+        }
+        return sqlBuilder.toSQL(actualTableNames);
     }
     
-    private Map<String, String> getTableTokens(final TableUnit tableUnit) {
-        Map<String, String> tableTokens = new HashMap<>();
-        tableTokens.put(tableUnit.getLogicTableName(), tableUnit.getActualTableName());
+    private void fillActualTableNames(final TableUnit tableUnit, final List<String> logicTableNames, final String[] actualTableNames) {
+        boolean isOtherTableAbsent = true;
+        for (int i = 0; i < actualTableNames.length; i++) {
+            if (logicTableNames.get(i).equals(tableUnit.getLogicTableName())) {
+                actualTableNames[i] = tableUnit.getActualTableName();
+            } else if (!logicTableNames.get(i).equalsIgnoreCase(tableUnit.getLogicTableName())) {
+                isOtherTableAbsent = false;
+            }
+        }
+        if (isOtherTableAbsent) {
+            return;
+        }
         Optional<BindingTableRule> bindingTableRule = shardingRule.findBindingTableRule(tableUnit.getLogicTableName());
-        if (bindingTableRule.isPresent()) {
-            tableTokens.putAll(getBindingTableTokens(tableUnit, bindingTableRule.get()));
+        if (!bindingTableRule.isPresent()) {
+            return;
         }
-        return tableTokens;
-    }
-    
-    private Map<String, String> getTableTokens(final CartesianTableReference cartesianTableReference) {
-        Map<String, String> tableTokens = new HashMap<>();
-        for (TableUnit each : cartesianTableReference.getTableUnits()) {
-            tableTokens.put(each.getLogicTableName(), each.getActualTableName());
-            Optional<BindingTableRule> bindingTableRule = shardingRule.findBindingTableRule(each.getLogicTableName());
-            if (bindingTableRule.isPresent()) {
-                tableTokens.putAll(getBindingTableTokens(each, bindingTableRule.get()));
+        for (int i = 0; i < actualTableNames.length; i++) {
+            String logicTableName = logicTableNames.get(i);
+            if (!logicTableName.equalsIgnoreCase(tableUnit.getLogicTableName()) && bindingTableRule.get().hasLogicTable(logicTableName) && sqlStatement.getTables().getTableNames().contains(logicTableName)) {
+                actualTableNames[i] = bindingTableRule.get().getBindingActualTable(tableUnit.getDataSourceName(), logicTableName, tableUnit.getActualTableName());
             }
         }
-        return tableTokens;
     }
     
-    private Map<String, String> getBindingTableTokens(final TableUnit tableUnit, final BindingTableRule bindingTableRule) {
-        Map<String, String> result = new HashMap<>();
-        for (String eachTable : sqlStatement.getTables().getTableNames()) {
-            if (!eachTable.equalsIgnoreCase(tableUnit.getLogicTableName()) && bindingTableRule.hasLogicTable(eachTable)) {
-                result.put(eachTable, bindingTableRule.getBindingActualTable(tableUnit.getDataSourceName(), eachTable, tableUnit.getActualTableName()));
-            }
+    @RequiredArgsConstructor
+    @Getter
+    private static final class InValuesToken implements SQLToken {
+        
+        private final InValuesPosition inValuesPosition;
+        
+        @Override
+        public int getBeginPosition() {
+            return inValuesPosition.getBeginPosition();
         }
-        return result;
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.rewrite;
+
+import lombok.Getter;
+
+/**
+ * SQL rewrite template.
+ * 
+ * <p>Rewrite engine and compiled SQL builder of one parsed SQL statement without limit, 
+ * which do not depend on parameters and routing result, so can be shared by all connections and statements.</p>
+ * 
+ * @author zhangliang
+ */
+@Getter
+public final class SQLRewriteTemplate {
+    
+    private final SQLRewriteEngine rewriteEngine;
+    
+    private final SQLBuilder sqlBuilder;
+    
+    public SQLRewriteTemplate(final SQLRewriteEngine rewriteEngine) {
+        this.rewriteEngine = rewriteEngine;
+        sqlBuilder = rewriteEngine.rewrite(false);
+        // 共享前完成编译, 其他线程只读取编译结果
+        sqlBuilder.getLogicTableNames();
+    }
+}
@@ -21,6 +21,7 @@ import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
 import io.shardingjdbc.core.routing.router.SQLRouter;
 import io.shardingjdbc.core.routing.router.SQLRouterFactory;
+import lombok.Getter;
 
 import java.util.List;
 
@@ -34,6 +35,7 @@ public final class PreparedStatementRoutingEngine {
     /**
      * 原始sql
      */
+    @Getter
     private final String logicSQL;
 
     /**
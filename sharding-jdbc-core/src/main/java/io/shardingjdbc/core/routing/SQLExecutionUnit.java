@@ -22,6 +22,9 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * SQL执行单元，可以用来正常执行的数据源以及sql
  * 
@@ -36,4 +39,13 @@ public final class SQLExecutionUnit {
     private final String dataSource;
     
     private final String sql;
+    
+    /**
+     * 执行单元使用的参数在逻辑SQL参数中的下标，为空表示按顺序使用全部逻辑SQL参数
+     */
+    private final List<Integer> parameterIndexes;
+    
+    public SQLExecutionUnit(final String dataSource, final String sql) {
+        this(dataSource, sql, Collections.<Integer>emptyList());
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.cache;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * SQL route result cache.
+ *
+ * <p>Cache rewritten SQL execution units via logic SQL and sharding values, only for SQL which route result depends on sharding conditions only.</p>
+ *
+ * @author zhangliang
+ */
+public final class SQLRouteResultCache {
+    
+    private final int maximumSize;
+    
+    private final Cache<SQLRouteResultCacheKey, Collection<SQLExecutionUnit>> cache;
+    
+    public SQLRouteResultCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+    
+    /**
+     * Adjust cache is enabled or not.
+     * 
+     * @return cache is enabled or not
+     */
+    public boolean isEnabled() {
+        return maximumSize > 0;
+    }
+    
+    /**
+     * Put SQL execution units to cache.
+     *
+     * @param logicSQL logic SQL
+     * @param shardingValues sharding values
+     * @param executionUnits SQL execution units
+     */
+    public void put(final String logicSQL, final List<Comparable<?>> shardingValues, final Collection<SQLExecutionUnit> executionUnits) {
+        cache.put(new SQLRouteResultCacheKey(logicSQL, shardingValues), ImmutableList.copyOf(executionUnits));
+    }
+    
+    /**
+     * Get SQL execution units from cache.
+     *
+     * @param logicSQL logic SQL
+     * @param shardingValues sharding values
+     * @return SQL execution units
+     */
+    public Optional<Collection<SQLExecutionUnit>> getExecutionUnits(final String logicSQL, final List<Comparable<?>> shardingValues) {
+        return Optional.fromNullable(cache.getIfPresent(new SQLRouteResultCacheKey(logicSQL, shardingValues)));
+    }
+    
+    /**
+     * Get count of cache hit.
+     *
+     * @return count of cache hit
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+    
+    /**
+     * Get count of cache miss.
+     *
+     * @return count of cache miss
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+    
+    /**
+     * Get rate of cache hit.
+     *
+     * @return rate of cache hit
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+    
+    /**
+     * Get size of cached route results.
+     *
+     * @return size of cached route results
+     */
+    public long size() {
+        return cache.size();
+    }
+    
+    /**
+     * Clear cache.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+    
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class SQLRouteResultCacheKey {
+        
+        private final String logicSQL;
+        
+        private final List<Comparable<?>> shardingValues;
+    }
+}
@@ -17,6 +17,11 @@
 
 package io.shardingjdbc.core.routing.router;
 
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import io.shardingjdbc.core.hint.HintManagerHolder;
+import io.shardingjdbc.core.parsing.cache.ParsingResultCache;
+import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
 import io.shardingjdbc.core.parsing.parser.sql.ddl.DDLStatement;
 import io.shardingjdbc.core.routing.type.all.DatabaseAllRoutingEngine;
 import io.shardingjdbc.core.routing.type.ddl.DDLRoutingEngine;
@@ -28,10 +33,13 @@ import io.shardingjdbc.core.parsing.parser.context.GeneratedKey;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.parsing.parser.token.MultipleInsertValuesToken;
 import io.shardingjdbc.core.rewrite.SQLBuilder;
 import io.shardingjdbc.core.rewrite.SQLRewriteEngine;
+import io.shardingjdbc.core.rewrite.SQLRewriteTemplate;
 import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.routing.cache.SQLRouteResultCache;
 import io.shardingjdbc.core.routing.type.RoutingEngine;
 import io.shardingjdbc.core.routing.type.RoutingResult;
 import io.shardingjdbc.core.routing.type.TableUnit;
@@ -41,10 +49,20 @@ import io.shardingjdbc.core.routing.type.complex.CartesianTableReference;
 import io.shardingjdbc.core.routing.type.complex.ComplexRoutingEngine;
 import io.shardingjdbc.core.routing.type.simple.SimpleRoutingEngine;
 import io.shardingjdbc.core.util.SQLLogger;
+import io.shardingjdbc.core.metrics.MetricsPhase;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * SQL解析路由器
@@ -59,56 +77,269 @@ public final class ParsingSQLRouter implements SQLRouter {
     
     private final boolean showSQL;
     
+    private final ParsingResultCache parsingResultCache;
+    
+    private final SQLRouteResultCache sqlRouteResultCache;
+    
+    private final boolean unionAllRewrite;
+    
+    private final MetricsRegistry metricsRegistry;
+    
     private final List<Number> generatedKeys;
     
     public ParsingSQLRouter(final ShardingContext shardingContext) {
         shardingRule = shardingContext.getShardingRule();
         databaseType = shardingContext.getDatabaseType();
         showSQL = shardingContext.isShowSQL();
+        parsingResultCache = shardingContext.getParsingResultCache();
+        sqlRouteResultCache = shardingContext.getSqlRouteResultCache();
+        unionAllRewrite = shardingContext.isUnionAllRewrite();
+        metricsRegistry = shardingContext.getMetricsRegistry();
         generatedKeys = new LinkedList<>();
     }
     
     @Override
     public SQLStatement parse(final String logicSQL, final int parametersSize) {
+        Optional<SQLStatement> cachedSQLStatement = parsingResultCache.getSQLStatement(logicSQL, databaseType);
+        if (cachedSQLStatement.isPresent()) {
+            return cachedSQLStatement.get();
+        }
+        long startTime = metricsRegistry.start();
         SQLParsingEngine parsingEngine = new SQLParsingEngine(databaseType, logicSQL, shardingRule);
         SQLStatement result = parsingEngine.parse();
         if (result instanceof InsertStatement) {
             ((InsertStatement) result).appendGenerateKeyToken(shardingRule, parametersSize);
         }
+        metricsRegistry.record(MetricsPhase.PARSE, startTime);
+        if (isCacheable(result, parametersSize)) {
+            parsingResultCache.put(logicSQL, databaseType, result);
+        }
         return result;
     }
     
+    // 无参数的insert语句会将生成的主键值写入解析结果，不能缓存
+    private boolean isCacheable(final SQLStatement sqlStatement, final int parametersSize) {
+        return !(sqlStatement instanceof InsertStatement && 0 == parametersSize);
+    }
+    
     @Override
-    public SQLRouteResult route(final String logicSQL, final List<Object> parameters, final SQLStatement sqlStatement) {
+    public SQLRouteResult route(final String logicSQL, final List<Object> parameters, final SQLStatement parsedSQLStatement) {
+        long startTime = metricsRegistry.start();
+        // 解析结果被缓存共享，路由时会填充并改写分页信息，归并时会设置查询项和排序项的索引，需要复制
+        SQLStatement sqlStatement = parsedSQLStatement instanceof SelectStatement ? ((SelectStatement) parsedSQLStatement).copyForRouting() : parsedSQLStatement;
         SQLRouteResult result = new SQLRouteResult(sqlStatement);
         if (sqlStatement instanceof InsertStatement && null != ((InsertStatement) sqlStatement).getGeneratedKey()) {
-            processGeneratedKey(parameters, (InsertStatement) sqlStatement, result);
+            processGeneratedKeys(parameters, (InsertStatement) sqlStatement, result);
+        }
+        if (isRouteCacheable(sqlStatement, parameters)) {
+            routeWithCache(logicSQL, parameters, parsedSQLStatement, sqlStatement, result);
+        } else {
+            routeAndRewrite(logicSQL, parameters, parsedSQLStatement, sqlStatement, result);
+        }
+        if (0L != startTime) {
+            metricsRegistry.recordLogicTables(MetricsPhase.ROUTE, sqlStatement.getTables().getTableNames(), startTime);
+        }
+        if (showSQL) {
+            SQLLogger.logSQL(logicSQL, sqlStatement, result.getExecutionUnits(), parameters);
+        }
+        return result;
+    }
+    
+    // 路由结果仅依赖分片条件的SQL才可缓存，分页和自动生成主键会随每次执行变化，多行插入按各行的值拆分;
+    // 是否合并为UNION ALL取决于参数中是否有流, 含流参数时不使用缓存
+    private boolean isRouteCacheable(final SQLStatement sqlStatement, final List<Object> parameters) {
+        return sqlRouteResultCache.isEnabled() && !HintManagerHolder.isUseShardingHint() && !(sqlStatement instanceof DDLStatement) && !isLimitPresent(sqlStatement) && !containsStreamParameter(parameters)
+                && !(sqlStatement instanceof InsertStatement && (null != ((InsertStatement) sqlStatement).getGeneratedKey() || !((InsertStatement) sqlStatement).getMultipleConditions().isEmpty()));
+    }
+    
+    private void routeWithCache(final String logicSQL, final List<Object> parameters, final SQLStatement parsedSQLStatement, final SQLStatement sqlStatement, final SQLRouteResult sqlRouteResult) {
+        List<Comparable<?>> shardingValues = getShardingValues(parameters, sqlStatement);
+        Optional<Collection<SQLExecutionUnit>> cachedExecutionUnits = sqlRouteResultCache.getExecutionUnits(logicSQL, shardingValues);
+        if (cachedExecutionUnits.isPresent()) {
+            sqlRouteResult.getExecutionUnits().addAll(cachedExecutionUnits.get());
+            return;
+        }
+        routeAndRewrite(logicSQL, parameters, parsedSQLStatement, sqlStatement, sqlRouteResult);
+        sqlRouteResultCache.put(logicSQL, shardingValues, sqlRouteResult.getExecutionUnits());
+    }
+    
+    private List<Comparable<?>> getShardingValues(final List<Object> parameters, final SQLStatement sqlStatement) {
+        List<Comparable<?>> result = new ArrayList<>();
+        for (Condition each : sqlStatement.getConditions().getConditions().values()) {
+            result.addAll(each.getValues(parameters));
         }
+        return result;
+    }
+    
+    private void routeAndRewrite(final String logicSQL, final List<Object> parameters, final SQLStatement parsedSQLStatement, final SQLStatement sqlStatement, final SQLRouteResult sqlRouteResult) {
         // 路由取得真实的数据源和表集合
         RoutingResult routingResult = route(parameters, sqlStatement);
-        SQLRewriteEngine rewriteEngine = new SQLRewriteEngine(shardingRule, logicSQL, databaseType, sqlStatement);
-        boolean isSingleRouting = routingResult.isSingleRouting();
-        if (sqlStatement instanceof SelectStatement && null != ((SelectStatement) sqlStatement).getLimit()) {
+        long rewriteStartTime = metricsRegistry.start();
+        SQLRewriteEngine rewriteEngine;
+        SQLBuilder sqlBuilder;
+        if (isLimitPresent(sqlStatement)) {
+            rewriteEngine = new SQLRewriteEngine(shardingRule, logicSQL, databaseType, sqlStatement);
+            boolean isSingleRouting = routingResult.isSingleRouting();
             processLimit(parameters, (SelectStatement) sqlStatement, isSingleRouting);
+            sqlBuilder = rewriteEngine.rewrite(!isSingleRouting);
+        } else {
+            SQLRewriteTemplate rewriteTemplate = getRewriteTemplate(logicSQL, parsedSQLStatement);
+            rewriteEngine = rewriteTemplate.getRewriteEngine();
+            sqlBuilder = rewriteTemplate.getSqlBuilder();
         }
-        SQLBuilder sqlBuilder = rewriteEngine.rewrite(!isSingleRouting);
         if (routingResult instanceof CartesianRoutingResult) {
             for (CartesianDataSource cartesianDataSource : ((CartesianRoutingResult) routingResult).getRoutingDataSources()) {
                 for (CartesianTableReference cartesianTableReference : cartesianDataSource.getRoutingTableReferences()) {
-                    result.getExecutionUnits().add(new SQLExecutionUnit(cartesianDataSource.getDataSource(), rewriteEngine.generateSQL(cartesianTableReference, sqlBuilder)));
+                    sqlRouteResult.getExecutionUnits().add(new SQLExecutionUnit(cartesianDataSource.getDataSource(), rewriteEngine.generateSQL(cartesianTableReference, sqlBuilder)));
                 }
             }
+        } else if (isUnionAllRewritable(sqlStatement, parameters)) {
+            addUnionAllExecutionUnits(parameters.size(), sqlStatement, routingResult, rewriteEngine, sqlBuilder, sqlRouteResult);
         } else {
             for (TableUnit each : routingResult.getTableUnits().getTableUnits()) {
-                result.getExecutionUnits().add(new SQLExecutionUnit(each.getDataSourceName(), rewriteEngine.generateSQL(each, sqlBuilder)));
+                sqlRouteResult.getExecutionUnits().add(new SQLExecutionUnit(
+                        each.getDataSourceName(), generateSQL(routingResult, each, rewriteEngine, sqlBuilder), getParameterIndexes(parameters.size(), sqlStatement, routingResult, each)));
             }
         }
-        if (showSQL) {
-            SQLLogger.logSQL(logicSQL, sqlStatement, result.getExecutionUnits(), parameters);
+        metricsRegistry.record(MetricsPhase.REWRITE, rewriteStartTime);
+    }
+    
+    private String generateSQL(final RoutingResult routingResult, final TableUnit tableUnit, final SQLRewriteEngine rewriteEngine, final SQLBuilder sqlBuilder) {
+        if (null == routingResult.getPrunedInCondition() && routingResult.getInsertValueIndexes().isEmpty()) {
+            return rewriteEngine.generateSQL(tableUnit, sqlBuilder);
+        }
+        return rewriteEngine.generateSQL(tableUnit, sqlBuilder, routingResult);
+    }
+    
+    // IN值列表被裁剪时, 只保留路由到该表单元的值的参数, 空集合表示按顺序使用全部参数
+    private List<Integer> getParameterIndexes(final int parametersSize, final SQLStatement sqlStatement, final RoutingResult routingResult, final TableUnit tableUnit) {
+        if (sqlStatement instanceof InsertStatement && !((InsertStatement) sqlStatement).getMultipleConditions().isEmpty()) {
+            return getInsertParameterIndexes(parametersSize, ((InsertStatement) sqlStatement).findMultipleInsertValuesToken().get(), routingResult.getInsertValueIndexes().get(tableUnit));
+        }
+        if (null == routingResult.getPrunedInCondition()) {
+            return Collections.emptyList();
+        }
+        List<Integer> inParameterIndexes = routingResult.getPrunedInCondition().getInValuesPosition().getParameterIndexes();
+        boolean[] isPrunedParameters = new boolean[parametersSize];
+        for (int each : inParameterIndexes) {
+            if (-1 != each) {
+                isPrunedParameters[each] = true;
+            }
+        }
+        for (int each : routingResult.getInValueIndexes().get(tableUnit)) {
+            if (-1 != inParameterIndexes.get(each)) {
+                isPrunedParameters[inParameterIndexes.get(each)] = false;
+            }
+        }
+        List<Integer> result = new ArrayList<>(parametersSize);
+        for (int i = 0; i < parametersSize; i++) {
+            if (!isPrunedParameters[i]) {
+                result.add(i);
+            }
         }
         return result;
     }
     
+    // 多行插入只保留路由到该表单元的行的参数, 各行自动生成主键的参数虽追加在末尾, 仍按行的顺序绑定, 行序号为空表示保留全部行
+    private List<Integer> getInsertParameterIndexes(final int parametersSize, final MultipleInsertValuesToken multipleInsertValuesToken, final List<Integer> insertValueIndexes) {
+        boolean[] isValuesParameters = new boolean[parametersSize];
+        int valuesBeginIndex = parametersSize;
+        for (List<Integer> each : multipleInsertValuesToken.getParameterIndexes()) {
+            for (int index : each) {
+                isValuesParameters[index] = true;
+                valuesBeginIndex = Math.min(valuesBeginIndex, index);
+            }
+        }
+        List<Integer> result = new ArrayList<>(parametersSize);
+        for (int i = 0; i < valuesBeginIndex; i++) {
+            result.add(i);
+        }
+        if (null == insertValueIndexes) {
+            for (List<Integer> each : multipleInsertValuesToken.getParameterIndexes()) {
+                result.addAll(each);
+            }
+        } else {
+            for (int each : insertValueIndexes) {
+                result.addAll(multipleInsertValuesToken.getParameterIndexes().get(each));
+            }
+        }
+        for (int i = valuesBeginIndex; i < parametersSize; i++) {
+            if (!isValuesParameters[i]) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+    
+    // 不含分组, 聚合, 排序和分页的查询, 各真实表结果直接拼接即可, 合并为UNION ALL后归并结果不变
+    private boolean isUnionAllRewritable(final SQLStatement sqlStatement, final List<Object> parameters) {
+        if (!unionAllRewrite || !(sqlStatement instanceof SelectStatement)) {
+            return false;
+        }
+        SelectStatement selectStatement = (SelectStatement) sqlStatement;
+        return selectStatement.getGroupByItems().isEmpty() && selectStatement.getAggregationSelectItems().isEmpty() && selectStatement.getOrderByItems().isEmpty()
+                && null == selectStatement.getLimit() && !selectStatement.containsSubQuery() && !selectStatement.isLock() && !containsStreamParameter(parameters);
+    }
+    
+    // 每个UNION ALL分支重复设置参数, 流只能被读取一次
+    private boolean containsStreamParameter(final List<Object> parameters) {
+        for (Object each : parameters) {
+            if (each instanceof InputStream || each instanceof Reader) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void addUnionAllExecutionUnits(final int parametersSize, final SQLStatement sqlStatement, final RoutingResult routingResult, 
+                                           final SQLRewriteEngine rewriteEngine, final SQLBuilder sqlBuilder, final SQLRouteResult sqlRouteResult) {
+        Map<String, List<TableUnit>> dataSourceTableUnits = new LinkedHashMap<>();
+        for (TableUnit each : routingResult.getTableUnits().getTableUnits()) {
+            if (!dataSourceTableUnits.containsKey(each.getDataSourceName())) {
+                dataSourceTableUnits.put(each.getDataSourceName(), new LinkedList<TableUnit>());
+            }
+            dataSourceTableUnits.get(each.getDataSourceName()).add(each);
+        }
+        for (Entry<String, List<TableUnit>> entry : dataSourceTableUnits.entrySet()) {
+            if (1 == entry.getValue().size()) {
+                TableUnit tableUnit = entry.getValue().get(0);
+                sqlRouteResult.getExecutionUnits().add(new SQLExecutionUnit(
+                        entry.getKey(), generateSQL(routingResult, tableUnit, rewriteEngine, sqlBuilder), getParameterIndexes(parametersSize, sqlStatement, routingResult, tableUnit)));
+                continue;
+            }
+            List<String> sqls = new ArrayList<>(entry.getValue().size());
+            List<Integer> parameterIndexes = new ArrayList<>(parametersSize * entry.getValue().size());
+            for (TableUnit each : entry.getValue()) {
+                sqls.add(generateSQL(routingResult, each, rewriteEngine, sqlBuilder));
+                List<Integer> tableUnitParameterIndexes = getParameterIndexes(parametersSize, sqlStatement, routingResult, each);
+                if (tableUnitParameterIndexes.isEmpty()) {
+                    for (int i = 0; i < parametersSize; i++) {
+                        parameterIndexes.add(i);
+                    }
+                } else {
+                    parameterIndexes.addAll(tableUnitParameterIndexes);
+                }
+            }
+            sqlRouteResult.getExecutionUnits().add(new SQLExecutionUnit(entry.getKey(), Joiner.on(" UNION ALL ").join(sqls), parameterIndexes));
+        }
+    }
+    
+    // 不含分页的SQL改写结果与路由结果和参数无关, 排序项和补列已在解析结果中确定, 改写模板按缓存的解析结果编译一次, 由所有连接和语句共享;
+    // 分页的值随参数和路由结果变化, 含分页的SQL每次执行时改写
+    private SQLRewriteTemplate getRewriteTemplate(final String logicSQL, final SQLStatement parsedSQLStatement) {
+        Optional<SQLRewriteTemplate> cachedRewriteTemplate = parsingResultCache.getRewriteTemplate(parsedSQLStatement);
+        if (cachedRewriteTemplate.isPresent()) {
+            return cachedRewriteTemplate.get();
+        }
+        SQLRewriteTemplate result = new SQLRewriteTemplate(new SQLRewriteEngine(shardingRule, logicSQL, databaseType, parsedSQLStatement));
+        parsingResultCache.putRewriteTemplate(logicSQL, databaseType, parsedSQLStatement, result);
+        return result;
+    }
+    
+    private boolean isLimitPresent(final SQLStatement sqlStatement) {
+        return sqlStatement instanceof SelectStatement && null != ((SelectStatement) sqlStatement).getLimit();
+    }
+    
     private RoutingResult route(final List<Object> parameters, final SQLStatement sqlStatement) {
         Collection<String> tableNames = sqlStatement.getTables().getTableNames();
         RoutingEngine routingEngine;
@@ -125,25 +356,46 @@ public final class ParsingSQLRouter implements SQLRouter {
         return routingEngine.route();
     }
     
-    private void processGeneratedKey(final List<Object> parameters, final InsertStatement insertStatement, final SQLRouteResult sqlRouteResult) {
-        GeneratedKey generatedKey = insertStatement.getGeneratedKey();
+    // 多行插入逐行处理主键, 各行生成主键的参数序号依次递增, 按顺序追加到参数末尾
+    private void processGeneratedKeys(final List<Object> parameters, final InsertStatement insertStatement, final SQLRouteResult sqlRouteResult) {
+        int generatedKeysSize = generatedKeys.size();
+        Collection<GeneratedKey> rowGeneratedKeys = insertStatement.getMultipleGeneratedKeys().isEmpty()
+                ? Collections.singletonList(insertStatement.getGeneratedKey()) : insertStatement.getMultipleGeneratedKeys();
+        Iterator<Number> keys = generateKeys(parameters, insertStatement.getTables().getSingleTableName(), rowGeneratedKeys).iterator();
+        for (GeneratedKey each : rowGeneratedKeys) {
+            processGeneratedKey(parameters, each, keys, sqlRouteResult);
+        }
+        if (generatedKeysSize != generatedKeys.size()) {
+            sqlRouteResult.getGeneratedKeys().addAll(generatedKeys);
+        }
+    }
+    
+    // 需生成主键的行数预先确定, 一次批量分配后按行依次使用
+    private List<Number> generateKeys(final List<Object> parameters, final String logicTableName, final Collection<GeneratedKey> rowGeneratedKeys) {
+        if (parameters.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int count = 0;
+        for (GeneratedKey each : rowGeneratedKeys) {
+            if (parameters.size() + count == each.getIndex()) {
+                count++;
+            }
+        }
+        return 0 == count ? Collections.<Number>emptyList() : shardingRule.generateKeys(logicTableName, count);
+    }
+    
+    private void processGeneratedKey(final List<Object> parameters, final GeneratedKey generatedKey, final Iterator<Number> keys, final SQLRouteResult sqlRouteResult) {
         if (parameters.isEmpty()) {
             sqlRouteResult.getGeneratedKeys().add(generatedKey.getValue());
         } else if (parameters.size() == generatedKey.getIndex()) {
-            Number key = shardingRule.generateKey(insertStatement.getTables().getSingleTableName());
+            Number key = keys.next();
             parameters.add(key);
-            setGeneratedKeys(sqlRouteResult, key);
+            generatedKeys.add(key);
         } else if (-1 != generatedKey.getIndex()) {
-            setGeneratedKeys(sqlRouteResult, (Number) parameters.get(generatedKey.getIndex()));
+            generatedKeys.add((Number) parameters.get(generatedKey.getIndex()));
         }
     }
     
-    private void setGeneratedKeys(final SQLRouteResult sqlRouteResult, final Number generatedKey) {
-        generatedKeys.add(generatedKey);
-        sqlRouteResult.getGeneratedKeys().clear();
-        sqlRouteResult.getGeneratedKeys().addAll(generatedKeys);
-    }
-    
     private void processLimit(final List<Object> parameters, final SelectStatement selectStatement, final boolean isSingleRouting) {
         if (isSingleRouting) {
             selectStatement.setLimit(null);
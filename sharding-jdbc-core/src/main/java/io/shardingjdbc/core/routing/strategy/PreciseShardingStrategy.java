@@ -0,0 +1,42 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy;
+
+import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 精确分片策略
+ * 
+ * <p>Sharding strategy with single sharding column, which routes each value of {@code =} and {@code IN} to one data source or table.</p>
+ * 
+ * @author zhangliang
+ */
+public interface PreciseShardingStrategy extends ShardingStrategy {
+    
+    /**
+     * 批量精确分片.
+     * 
+     * @param availableTargetNames 有效的数据源或表名
+     * @param shardingValue 分片列的全部值
+     * @return map of sharding value and its data source or table's name
+     */
+    Map<Comparable<?>, String> doPreciseSharding(Collection<String> availableTargetNames, ListShardingValue<?> shardingValue);
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.inline;
+
+import io.shardingjdbc.core.api.algorithm.sharding.PreciseShardingValue;
+
+/**
+ * Inline expression evaluator via compiled expression nodes.
+ * 
+ * <p>Evaluate with groovy for sharding values which compiled nodes cannot handle, such as decimal values.</p>
+ * 
+ * @author zhangliang
+ */
+final class CompiledInlineExpressionEvaluator implements InlineExpressionEvaluator {
+    
+    private final String shardingColumn;
+    
+    private final String inlineExpression;
+    
+    private final String[] literals;
+    
+    private final InlineExpressionNode[] nodes;
+    
+    private final String[] lookupTable;
+    
+    private volatile InlineExpressionEvaluator groovyEvaluator;
+    
+    CompiledInlineExpressionEvaluator(final String shardingColumn, final String inlineExpression, final String[] literals, final InlineExpressionNode[] nodes, final int modulus) {
+        this.shardingColumn = shardingColumn;
+        this.inlineExpression = inlineExpression;
+        this.literals = literals;
+        this.nodes = nodes;
+        lookupTable = 0 == modulus ? null : createLookupTable(modulus);
+    }
+    
+    // 取模结果范围为(-modulus, modulus), 预先生成全部目标名称
+    private String[] createLookupTable(final int modulus) {
+        String[] result = new String[modulus * 2 - 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = literals[0] + (i - modulus + 1) + literals[1];
+        }
+        return result;
+    }
+    
+    @Override
+    public String evaluate(final PreciseShardingValue<?> shardingValue) {
+        if (!shardingColumn.equals(shardingValue.getColumnName())) {
+            return getGroovyEvaluator().evaluate(shardingValue);
+        }
+        if (null != lookupTable) {
+            Object value = nodes[0].evaluate(shardingValue.getValue());
+            if (value instanceof Integer || value instanceof Long) {
+                return lookupTable[((Number) value).intValue() + (lookupTable.length >> 1)];
+            }
+            return null == value ? getGroovyEvaluator().evaluate(shardingValue) : literals[0] + value + literals[1];
+        }
+        StringBuilder result = new StringBuilder(literals[0]);
+        for (int i = 0; i < nodes.length; i++) {
+            Object value = nodes[i].evaluate(shardingValue.getValue());
+            if (null == value) {
+                return getGroovyEvaluator().evaluate(shardingValue);
+            }
+            result.append(value).append(literals[i + 1]);
+        }
+        return result.toString();
+    }
+    
+    private InlineExpressionEvaluator getGroovyEvaluator() {
+        if (null == groovyEvaluator) {
+            groovyEvaluator = new GroovyInlineExpressionEvaluator(inlineExpression);
+        }
+        return groovyEvaluator;
+    }
+}
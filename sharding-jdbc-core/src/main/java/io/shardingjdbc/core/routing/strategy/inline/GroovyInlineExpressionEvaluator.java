@@ -0,0 +1,46 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.inline;
+
+import com.google.common.base.Joiner;
+import groovy.lang.Closure;
+import groovy.lang.GroovyShell;
+import groovy.util.Expando;
+import io.shardingjdbc.core.api.algorithm.sharding.PreciseShardingValue;
+
+/**
+ * Inline expression evaluator via groovy closure.
+ * 
+ * @author zhangliang
+ */
+public final class GroovyInlineExpressionEvaluator implements InlineExpressionEvaluator {
+    
+    private final Closure<?> closure;
+    
+    public GroovyInlineExpressionEvaluator(final String inlineExpression) {
+        closure = (Closure) new GroovyShell().evaluate(Joiner.on("").join("{it -> \"", inlineExpression.trim(), "\"}"));
+    }
+    
+    @Override
+    public String evaluate(final PreciseShardingValue<?> shardingValue) {
+        Closure<?> result = closure.rehydrate(new Expando(), null, null);
+        result.setResolveStrategy(Closure.DELEGATE_ONLY);
+        result.setProperty(shardingValue.getColumnName(), shardingValue.getValue());
+        return result.call().toString();
+    }
+}
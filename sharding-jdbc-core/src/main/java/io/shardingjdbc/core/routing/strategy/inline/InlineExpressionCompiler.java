@@ -0,0 +1,381 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.inline;
+
+import com.google.common.base.Optional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inline expression compiler.
+ * 
+ * <p>
+ * Compile template with integer arithmetic and common methods on sharding column, such as {@code t_order_${order_id % 4}} and {@code t_order_${user_id.hashCode() % 4}}.
+ * Result is consistent with groovy, expression which cannot be compiled should be evaluated by groovy.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class InlineExpressionCompiler {
+    
+    private static final int MAX_LOOKUP_MODULUS = 1024;
+    
+    private final String shardingColumn;
+    
+    private final String expression;
+    
+    private int position;
+    
+    private InlineExpressionCompiler(final String shardingColumn, final String expression) {
+        this.shardingColumn = shardingColumn;
+        this.expression = expression;
+    }
+    
+    /**
+     * Compile inline expression.
+     * 
+     * @param shardingColumn sharding column
+     * @param inlineExpression inline expression
+     * @return compiled evaluator, absent if expression need groovy to evaluate
+     */
+    public static Optional<InlineExpressionEvaluator> compile(final String shardingColumn, final String inlineExpression) {
+        String expression = inlineExpression.trim();
+        List<String> literals = new ArrayList<>();
+        List<InlineExpressionNode> nodes = new ArrayList<>();
+        int beginIndex = 0;
+        while (true) {
+            int nodeBeginIndex = expression.indexOf("${", beginIndex);
+            String literal = expression.substring(beginIndex, -1 == nodeBeginIndex ? expression.length() : nodeBeginIndex);
+            if (!isPlainLiteral(literal)) {
+                return Optional.absent();
+            }
+            literals.add(literal);
+            if (-1 == nodeBeginIndex) {
+                break;
+            }
+            int nodeEndIndex = expression.indexOf('}', nodeBeginIndex);
+            if (-1 == nodeEndIndex) {
+                return Optional.absent();
+            }
+            Optional<InlineExpressionNode> node = new InlineExpressionCompiler(shardingColumn, expression.substring(nodeBeginIndex + 2, nodeEndIndex)).compileNode();
+            if (!node.isPresent()) {
+                return Optional.absent();
+            }
+            nodes.add(node.get());
+            beginIndex = nodeEndIndex + 1;
+        }
+        int modulus = 1 == nodes.size() && nodes.get(0) instanceof BinaryNode ? ((BinaryNode) nodes.get(0)).getConstantModulus() : 0;
+        return Optional.<InlineExpressionEvaluator>of(new CompiledInlineExpressionEvaluator(
+                shardingColumn, expression, literals.toArray(new String[literals.size()]), nodes.toArray(new InlineExpressionNode[nodes.size()]), modulus));
+    }
+    
+    // 双引号字符串中的转义符, 引号和$均由groovy解释
+    private static boolean isPlainLiteral(final String literal) {
+        return -1 == literal.indexOf('$') && -1 == literal.indexOf('\\') && -1 == literal.indexOf('"') && -1 == literal.indexOf('{') && -1 == literal.indexOf('}');
+    }
+    
+    private Optional<InlineExpressionNode> compileNode() {
+        try {
+            InlineExpressionNode result = parseAdditive();
+            skipWhitespace();
+            return position == expression.length() ? Optional.of(result) : Optional.<InlineExpressionNode>absent();
+        } catch (final UncompilableExpressionException ex) {
+            return Optional.absent();
+        }
+    }
+    
+    private InlineExpressionNode parseAdditive() {
+        InlineExpressionNode result = parseMultiplicative();
+        while (skipIfEqual('+') || skipIfEqual('-')) {
+            char operator = expression.charAt(position - 1);
+            result = new BinaryNode(operator, result, parseMultiplicative());
+        }
+        return result;
+    }
+    
+    private InlineExpressionNode parseMultiplicative() {
+        InlineExpressionNode result = parsePostfix();
+        while (skipIfEqual('*') || skipIfEqual('%')) {
+            char operator = expression.charAt(position - 1);
+            result = new BinaryNode(operator, result, parsePostfix());
+        }
+        return result;
+    }
+    
+    private InlineExpressionNode parsePostfix() {
+        InlineExpressionNode result = parsePrimary();
+        while (skipIfEqual('.')) {
+            String methodName = parseIdentifier();
+            accept('(');
+            List<InlineExpressionNode> arguments = new ArrayList<>(2);
+            if (!skipIfEqual(')')) {
+                do {
+                    arguments.add(parseAdditive());
+                } while (skipIfEqual(','));
+                accept(')');
+            }
+            result = new MethodNode(methodName, result, arguments.toArray(new InlineExpressionNode[arguments.size()]));
+        }
+        return result;
+    }
+    
+    private InlineExpressionNode parsePrimary() {
+        if (skipIfEqual('(')) {
+            InlineExpressionNode result = parseAdditive();
+            accept(')');
+            return result;
+        }
+        skipWhitespace();
+        if (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+            return new ConstantNode(parseInteger());
+        }
+        if (shardingColumn.equals(parseIdentifier())) {
+            return new ColumnNode();
+        }
+        throw new UncompilableExpressionException();
+    }
+    
+    private Object parseInteger() {
+        int beginIndex = position;
+        while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+            position++;
+        }
+        if (position < expression.length() && Character.isLetterOrDigit(expression.charAt(position)) || '0' == expression.charAt(beginIndex) && position - beginIndex > 1) {
+            throw new UncompilableExpressionException();
+        }
+        long result;
+        try {
+            result = Long.parseLong(expression.substring(beginIndex, position));
+        } catch (final NumberFormatException ex) {
+            throw new UncompilableExpressionException();
+        }
+        if (result <= Integer.MAX_VALUE) {
+            return (int) result;
+        }
+        return result;
+    }
+    
+    private String parseIdentifier() {
+        skipWhitespace();
+        int beginIndex = position;
+        while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+            position++;
+        }
+        if (beginIndex == position || !Character.isJavaIdentifierStart(expression.charAt(beginIndex))) {
+            throw new UncompilableExpressionException();
+        }
+        return expression.substring(beginIndex, position);
+    }
+    
+    private boolean skipIfEqual(final char expected) {
+        skipWhitespace();
+        if (position < expression.length() && expected == expression.charAt(position)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+    
+    private void accept(final char expected) {
+        if (!skipIfEqual(expected)) {
+            throw new UncompilableExpressionException();
+        }
+    }
+    
+    private void skipWhitespace() {
+        while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+            position++;
+        }
+    }
+    
+    private static final class UncompilableExpressionException extends RuntimeException {
+        
+        private static final long serialVersionUID = -4361549873924781720L;
+    }
+    
+    // 仅处理整数和字符串分片值, 其他类型的格式化和运算规则与groovy一致成本较高
+    private static final class ColumnNode implements InlineExpressionNode {
+        
+        @Override
+        public Object evaluate(final Object shardingValue) {
+            return isInteger(shardingValue) || shardingValue instanceof Long || shardingValue instanceof String ? shardingValue : null;
+        }
+    }
+    
+    private static final class ConstantNode implements InlineExpressionNode {
+        
+        private final Object value;
+        
+        ConstantNode(final Object value) {
+            this.value = value;
+        }
+        
+        @Override
+        public Object evaluate(final Object shardingValue) {
+            return value;
+        }
+    }
+    
+    // groovy整数运算: 均为int时按int计算, 含long时按long计算, 其他类型交由groovy计算
+    private static final class BinaryNode implements InlineExpressionNode {
+        
+        private final char operator;
+        
+        private final InlineExpressionNode left;
+        
+        private final InlineExpressionNode right;
+        
+        BinaryNode(final char operator, final InlineExpressionNode left, final InlineExpressionNode right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+        
+        int getConstantModulus() {
+            if ('%' != operator || !(right instanceof ConstantNode) || !(((ConstantNode) right).value instanceof Integer)) {
+                return 0;
+            }
+            int result = (Integer) ((ConstantNode) right).value;
+            return result > 0 && result <= MAX_LOOKUP_MODULUS ? result : 0;
+        }
+        
+        @Override
+        public Object evaluate(final Object shardingValue) {
+            Object leftValue = left.evaluate(shardingValue);
+            Object rightValue = right.evaluate(shardingValue);
+            if (null == leftValue || null == rightValue) {
+                return null;
+            }
+            if ('+' == operator && (leftValue instanceof String || rightValue instanceof String)) {
+                return leftValue.toString() + rightValue;
+            }
+            if (isInteger(leftValue) && isInteger(rightValue)) {
+                return calculate(((Number) leftValue).intValue(), ((Number) rightValue).intValue());
+            }
+            if ((isInteger(leftValue) || leftValue instanceof Long) && (isInteger(rightValue) || rightValue instanceof Long)) {
+                return calculate(((Number) leftValue).longValue(), ((Number) rightValue).longValue());
+            }
+            return null;
+        }
+        
+        private Integer calculate(final int leftValue, final int rightValue) {
+            switch (operator) {
+                case '+':
+                    return leftValue + rightValue;
+                case '-':
+                    return leftValue - rightValue;
+                case '*':
+                    return leftValue * rightValue;
+                default:
+                    return leftValue % rightValue;
+            }
+        }
+        
+        private Long calculate(final long leftValue, final long rightValue) {
+            switch (operator) {
+                case '+':
+                    return leftValue + rightValue;
+                case '-':
+                    return leftValue - rightValue;
+                case '*':
+                    return leftValue * rightValue;
+                default:
+                    return leftValue % rightValue;
+            }
+        }
+    }
+    
+    private static final class MethodNode implements InlineExpressionNode {
+        
+        private final String methodName;
+        
+        private final InlineExpressionNode target;
+        
+        private final InlineExpressionNode[] arguments;
+        
+        MethodNode(final String methodName, final InlineExpressionNode target, final InlineExpressionNode[] arguments) {
+            this.methodName = methodName;
+            this.target = target;
+            this.arguments = arguments;
+            if (!isSupported()) {
+                throw new UncompilableExpressionException();
+            }
+        }
+        
+        private boolean isSupported() {
+            switch (methodName) {
+                case "hashCode":
+                case "toString":
+                case "length":
+                case "abs":
+                    return 0 == arguments.length;
+                case "substring":
+                    return 1 == arguments.length || 2 == arguments.length;
+                default:
+                    return false;
+            }
+        }
+        
+        @Override
+        public Object evaluate(final Object shardingValue) {
+            Object targetValue = target.evaluate(shardingValue);
+            if (null == targetValue) {
+                return null;
+            }
+            switch (methodName) {
+                case "hashCode":
+                    return targetValue.hashCode();
+                case "toString":
+                    return targetValue.toString();
+                case "length":
+                    return targetValue instanceof String ? ((String) targetValue).length() : null;
+                case "abs":
+                    return abs(targetValue);
+                default:
+                    return substring(targetValue, shardingValue);
+            }
+        }
+        
+        private Object abs(final Object value) {
+            if (value instanceof Integer) {
+                return Math.abs((Integer) value);
+            }
+            return value instanceof Long ? Math.abs((Long) value) : null;
+        }
+        
+        private Object substring(final Object value, final Object shardingValue) {
+            if (!(value instanceof String)) {
+                return null;
+            }
+            Object beginIndex = arguments[0].evaluate(shardingValue);
+            if (!(beginIndex instanceof Integer)) {
+                return null;
+            }
+            if (1 == arguments.length) {
+                return ((String) value).substring((Integer) beginIndex);
+            }
+            Object endIndex = arguments[1].evaluate(shardingValue);
+            return endIndex instanceof Integer ? ((String) value).substring((Integer) beginIndex, (Integer) endIndex) : null;
+        }
+    }
+    
+    private static boolean isInteger(final Object value) {
+        return value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+}
@@ -20,17 +20,13 @@ package io.shardingjdbc.core.routing.strategy.inline;
 import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
 import io.shardingjdbc.core.api.algorithm.sharding.PreciseShardingValue;
 import io.shardingjdbc.core.api.algorithm.sharding.ShardingValue;
-import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
-import com.google.common.base.Joiner;
+import io.shardingjdbc.core.routing.strategy.PreciseShardingStrategy;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import groovy.lang.Closure;
-import groovy.lang.GroovyShell;
-import groovy.util.Expando;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.TreeSet;
 
 /**
@@ -38,51 +34,44 @@ import java.util.TreeSet;
  * 
  * @author zhangliang
  */
-public final class InlineShardingStrategy implements ShardingStrategy {
+public final class InlineShardingStrategy implements PreciseShardingStrategy {
     
     private final String shardingColumn;
     
-    private final Closure<?> closure;
+    private final InlineExpressionEvaluator evaluator;
     
     public InlineShardingStrategy(final String shardingColumn, final String inlineExpression) {
         this.shardingColumn = shardingColumn;
-        closure = (Closure) new GroovyShell().evaluate(Joiner.on("").join("{it -> \"", inlineExpression.trim(), "\"}"));
+        Optional<InlineExpressionEvaluator> compiledEvaluator = InlineExpressionCompiler.compile(shardingColumn, inlineExpression);
+        evaluator = compiledEvaluator.isPresent() ? compiledEvaluator.get() : new GroovyInlineExpressionEvaluator(inlineExpression);
     }
     
     @Override
     public Collection<String> doSharding(final Collection<String> availableTargetNames, final Collection<ShardingValue> shardingValues) {
         ShardingValue shardingValue = shardingValues.iterator().next();
         Preconditions.checkState(shardingValue instanceof ListShardingValue, "Inline strategy cannot support range sharding.");
-        Collection<String> shardingResult = doSharding((ListShardingValue) shardingValue);
-        Collection<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-        result.addAll(shardingResult);
-        return result;
+        return doSharding((ListShardingValue<?>) shardingValue);
     }
     
-    private Collection<String> doSharding(final ListShardingValue shardingValue) {
-        Collection<String> result = new LinkedList<>();
-        for (PreciseShardingValue<?> each : transferToPreciseShardingValues(shardingValue)) {
-            result.add(execute(each));
+    @SuppressWarnings("unchecked")
+    private Collection<String> doSharding(final ListShardingValue<?> shardingValue) {
+        Collection<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (Comparable<?> each : shardingValue.getValues()) {
+            result.add(evaluator.evaluate(new PreciseShardingValue(shardingValue.getLogicTableName(), shardingValue.getColumnName(), each)));
         }
         return result;
     }
     
     @SuppressWarnings("unchecked")
-    private List<PreciseShardingValue> transferToPreciseShardingValues(final ListShardingValue<?> shardingValue) {
-        List<PreciseShardingValue> result = new ArrayList<>(shardingValue.getValues().size());
+    @Override
+    public Map<Comparable<?>, String> doPreciseSharding(final Collection<String> availableTargetNames, final ListShardingValue<?> shardingValue) {
+        Map<Comparable<?>, String> result = new HashMap<>(shardingValue.getValues().size(), 1);
         for (Comparable<?> each : shardingValue.getValues()) {
-            result.add(new PreciseShardingValue(shardingValue.getLogicTableName(), shardingValue.getColumnName(), each));
+            result.put(each, evaluator.evaluate(new PreciseShardingValue(shardingValue.getLogicTableName(), shardingValue.getColumnName(), each)));
         }
         return result;
     }
     
-    private String execute(final PreciseShardingValue shardingValue) {
-        Closure<?> result = closure.rehydrate(new Expando(), null, null);
-        result.setResolveStrategy(Closure.DELEGATE_ONLY);
-        result.setProperty(shardingValue.getColumnName(), shardingValue.getValue());
-        return result.call().toString();
-    }
-    
     @Override
     public Collection<String> getShardingColumns() {
         Collection<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
@@ -0,0 +1,92 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.standard;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * Bounded cache for results of deterministic precise sharding algorithm.
+ * 
+ * @author zhangliang
+ */
+final class PreciseShardingResultCache {
+    
+    private static final int MAX_SIZE = 4096;
+    
+    private final Cache<ResultKey, String> cache = CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+    
+    /**
+     * Get memoized sharding result.
+     * 
+     * @param availableTargetNames available data sources or tables's names
+     * @param logicTableName logic table name
+     * @param value sharding value
+     * @return sharding result, null if absent
+     */
+    String get(final Collection<String> availableTargetNames, final String logicTableName, final Comparable<?> value) {
+        return cache.getIfPresent(new ResultKey(availableTargetNames, logicTableName, value));
+    }
+    
+    /**
+     * Memoize sharding result.
+     * 
+     * @param availableTargetNames available data sources or tables's names
+     * @param logicTableName logic table name
+     * @param value sharding value
+     * @param result sharding result
+     */
+    void put(final Collection<String> availableTargetNames, final String logicTableName, final Comparable<?> value, final String result) {
+        if (null == value || null == result) {
+            return;
+        }
+        cache.put(new ResultKey(availableTargetNames, logicTableName, value), result);
+    }
+    
+    // 可用目标名称集合由表规则预先构建并复用，按引用区分即可，无需计算集合的哈希值
+    @RequiredArgsConstructor
+    private static final class ResultKey {
+        
+        private final Collection<String> availableTargetNames;
+        
+        private final String logicTableName;
+        
+        private final Comparable<?> value;
+        
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ResultKey)) {
+                return false;
+            }
+            ResultKey other = (ResultKey) obj;
+            return availableTargetNames == other.availableTargetNames && Objects.equal(logicTableName, other.logicTableName) && Objects.equal(value, other.value);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(System.identityHashCode(availableTargetNames), logicTableName, value);
+        }
+    }
+}
@@ -17,19 +17,22 @@
 
 package io.shardingjdbc.core.routing.strategy.standard;
 
+import io.shardingjdbc.core.api.algorithm.sharding.standard.BatchPreciseShardingAlgorithm;
+import io.shardingjdbc.core.api.algorithm.sharding.standard.DeterministicShardingAlgorithm;
 import io.shardingjdbc.core.api.algorithm.sharding.standard.PreciseShardingAlgorithm;
 import io.shardingjdbc.core.api.algorithm.sharding.standard.RangeShardingAlgorithm;
 import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
 import io.shardingjdbc.core.api.algorithm.sharding.PreciseShardingValue;
 import io.shardingjdbc.core.api.algorithm.sharding.RangeShardingValue;
 import io.shardingjdbc.core.api.algorithm.sharding.ShardingValue;
-import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
+import io.shardingjdbc.core.routing.strategy.PreciseShardingStrategy;
 import com.google.common.base.Optional;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 /**
@@ -37,7 +40,7 @@ import java.util.TreeSet;
  * 
  * @author zhangliang
  */
-public final class StandardShardingStrategy implements ShardingStrategy {
+public final class StandardShardingStrategy implements PreciseShardingStrategy {
 
     /**
      * 分片列名
@@ -54,6 +57,11 @@ public final class StandardShardingStrategy implements ShardingStrategy {
      */
     private final Optional<RangeShardingAlgorithm> rangeShardingAlgorithm;
     
+    /**
+     * 确定性精确分片算法的结果缓存
+     */
+    private final Optional<PreciseShardingResultCache> preciseShardingResultCache;
+    
     public StandardShardingStrategy(final String shardingColumn, final PreciseShardingAlgorithm preciseShardingAlgorithm) {
         this(shardingColumn, preciseShardingAlgorithm, null);
     }
@@ -62,15 +70,18 @@ public final class StandardShardingStrategy implements ShardingStrategy {
         this.shardingColumn = shardingColumn;
         this.preciseShardingAlgorithm = preciseShardingAlgorithm;
         this.rangeShardingAlgorithm = Optional.fromNullable(rangeShardingAlgorithm);
+        preciseShardingResultCache = preciseShardingAlgorithm instanceof DeterministicShardingAlgorithm ? Optional.of(new PreciseShardingResultCache()) : Optional.<PreciseShardingResultCache>absent();
     }
     
     @Override
     public Collection<String> doSharding(final Collection<String> availableTargetNames, final Collection<ShardingValue> shardingValues) {
         ShardingValue shardingValue = shardingValues.iterator().next();
-        Collection<String> shardingResult = shardingValue instanceof ListShardingValue
-                ? doSharding(availableTargetNames, (ListShardingValue) shardingValue) : doSharding(availableTargetNames, (RangeShardingValue) shardingValue);
         Collection<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
-        result.addAll(shardingResult);
+        if (shardingValue instanceof ListShardingValue) {
+            result.addAll(doPreciseSharding(availableTargetNames, (ListShardingValue<?>) shardingValue).values());
+        } else {
+            result.addAll(doSharding(availableTargetNames, (RangeShardingValue) shardingValue));
+        }
         return result;
     }
     
@@ -83,21 +94,46 @@ public final class StandardShardingStrategy implements ShardingStrategy {
     }
     
     @SuppressWarnings("unchecked")
-    private Collection<String> doSharding(final Collection<String> availableTargetNames, final ListShardingValue<?> shardingValue) {
-        Collection<String> result = new LinkedList<>();
-        for (PreciseShardingValue<?> each : transferToPreciseShardingValues(shardingValue)) {
-            result.add(preciseShardingAlgorithm.doSharding(availableTargetNames, each));
+    @Override
+    public Map<Comparable<?>, String> doPreciseSharding(final Collection<String> availableTargetNames, final ListShardingValue<?> shardingValue) {
+        Map<Comparable<?>, String> result = new HashMap<>(shardingValue.getValues().size(), 1);
+        Collection<Comparable<?>> unresolvedValues = preciseShardingResultCache.isPresent() ? resolveFromCache(availableTargetNames, shardingValue, result) : (Collection) shardingValue.getValues();
+        if (unresolvedValues.isEmpty()) {
+            return result;
+        }
+        if (preciseShardingAlgorithm instanceof BatchPreciseShardingAlgorithm) {
+            ListShardingValue unresolvedShardingValue = new ListShardingValue<>(shardingValue.getLogicTableName(), shardingValue.getColumnName(), unresolvedValues);
+            for (Map.Entry<Comparable<?>, String> entry : ((Map<Comparable<?>, String>) ((BatchPreciseShardingAlgorithm) preciseShardingAlgorithm)
+                    .doSharding(availableTargetNames, unresolvedShardingValue)).entrySet()) {
+                addResult(availableTargetNames, shardingValue.getLogicTableName(), entry.getKey(), entry.getValue(), result);
+            }
+            return result;
+        }
+        for (Comparable<?> each : unresolvedValues) {
+            String target = preciseShardingAlgorithm.doSharding(availableTargetNames, new PreciseShardingValue(shardingValue.getLogicTableName(), shardingValue.getColumnName(), each));
+            addResult(availableTargetNames, shardingValue.getLogicTableName(), each, target, result);
         }
         return result;
     }
     
-    @SuppressWarnings("unchecked")
-    private List<PreciseShardingValue> transferToPreciseShardingValues(final ListShardingValue<?> shardingValue) {
-        List<PreciseShardingValue> result = new ArrayList<>(shardingValue.getValues().size());
+    private Collection<Comparable<?>> resolveFromCache(final Collection<String> availableTargetNames, final ListShardingValue<?> shardingValue, final Map<Comparable<?>, String> result) {
+        List<Comparable<?>> unresolvedValues = new ArrayList<>(shardingValue.getValues().size());
         for (Comparable<?> each : shardingValue.getValues()) {
-            result.add(new PreciseShardingValue(shardingValue.getLogicTableName(), shardingValue.getColumnName(), each));
+            String target = preciseShardingResultCache.get().get(availableTargetNames, shardingValue.getLogicTableName(), each);
+            if (null == target) {
+                unresolvedValues.add(each);
+            } else {
+                result.put(each, target);
+            }
+        }
+        return unresolvedValues;
+    }
+    
+    private void addResult(final Collection<String> availableTargetNames, final String logicTableName, final Comparable<?> value, final String target, final Map<Comparable<?>, String> result) {
+        result.put(value, target);
+        if (preciseShardingResultCache.isPresent()) {
+            preciseShardingResultCache.get().put(availableTargetNames, logicTableName, value, target);
         }
-        return result;
     }
     
     @Override
@@ -17,7 +17,13 @@
 
 package io.shardingjdbc.core.routing.type;
 
+import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
 import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  *  路由结果
@@ -29,6 +35,22 @@ public class RoutingResult {
     
     private final TableUnits tableUnits = new TableUnits();
     
+    /**
+     * 按路由结果裁剪IN值列表的条件, 为空表示不裁剪
+     */
+    @Setter
+    private Condition prunedInCondition;
+    
+    /**
+     * 各路由表单元命中的IN值序号
+     */
+    private final Map<TableUnit, List<Integer>> inValueIndexes = new HashMap<>();
+    
+    /**
+     * 各路由表单元命中的多行插入值序号, 为空表示不拆分多行插入
+     */
+    private final Map<TableUnit, List<Integer>> insertValueIndexes = new HashMap<>();
+    
     /**
      * 是否路由一个数据源和表
      *
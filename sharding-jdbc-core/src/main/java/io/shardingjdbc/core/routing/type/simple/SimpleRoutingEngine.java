@@ -17,12 +17,17 @@
 
 package io.shardingjdbc.core.routing.type.simple;
 
+import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
 import io.shardingjdbc.core.api.algorithm.sharding.ShardingValue;
+import io.shardingjdbc.core.constant.ShardingOperator;
 import io.shardingjdbc.core.hint.HintManagerHolder;
 import io.shardingjdbc.core.hint.ShardingKey;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.parsing.parser.context.condition.Condition;
+import io.shardingjdbc.core.parsing.parser.context.condition.Conditions;
 import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dml.insert.InsertStatement;
+import io.shardingjdbc.core.routing.strategy.PreciseShardingStrategy;
 import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
 import io.shardingjdbc.core.routing.type.RoutingEngine;
 import io.shardingjdbc.core.routing.type.RoutingResult;
@@ -36,8 +41,14 @@ import lombok.RequiredArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
 
 /**
  * Simple routing engine.
@@ -58,8 +69,17 @@ public final class SimpleRoutingEngine implements RoutingEngine {
     @Override
     public RoutingResult route() {
         TableRule tableRule = shardingRule.getTableRule(logicTableName);
+        if (!HintManagerHolder.isUseShardingHint() && sqlStatement instanceof InsertStatement && !((InsertStatement) sqlStatement).getMultipleConditions().isEmpty()) {
+            return routeMultipleInsertValues(tableRule, ((InsertStatement) sqlStatement).getMultipleConditions());
+        }
         List<ShardingValue> databaseShardingValues = getDatabaseShardingValues(tableRule);
         List<ShardingValue> tableShardingValues = getTableShardingValues(tableRule);
+        if (!HintManagerHolder.isUseShardingHint()) {
+            Optional<RoutingResult> result = routeInValues(tableRule, databaseShardingValues, tableShardingValues);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
         Collection<String> routedDataSources = routeDataSources(tableRule, databaseShardingValues);
         Collection<DataNode> routedDataNodes = new LinkedList<>();
         // 遍历数据源得到路由的表集合
@@ -71,12 +91,12 @@ public final class SimpleRoutingEngine implements RoutingEngine {
     
     private List<ShardingValue> getDatabaseShardingValues(final TableRule tableRule) {
         ShardingStrategy strategy = shardingRule.getDatabaseShardingStrategy(tableRule);
-        return HintManagerHolder.isUseShardingHint() ? getDatabaseShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns());
+        return HintManagerHolder.isUseShardingHint() ? getDatabaseShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns(), sqlStatement.getConditions());
     }
     
     private List<ShardingValue> getTableShardingValues(final TableRule tableRule) {
         ShardingStrategy strategy = shardingRule.getTableShardingStrategy(tableRule);
-        return HintManagerHolder.isUseShardingHint() ? getTableShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns());
+        return HintManagerHolder.isUseShardingHint() ? getTableShardingValuesFromHint(strategy.getShardingColumns()) : getShardingValues(strategy.getShardingColumns(), sqlStatement.getConditions());
     }
     
     private List<ShardingValue> getDatabaseShardingValuesFromHint(final Collection<String> shardingColumns) {
@@ -101,10 +121,10 @@ public final class SimpleRoutingEngine implements RoutingEngine {
         return result;
     }
     
-    private List<ShardingValue> getShardingValues(final Collection<String> shardingColumns) {
+    private List<ShardingValue> getShardingValues(final Collection<String> shardingColumns, final Conditions conditions) {
         List<ShardingValue> result = new ArrayList<>(shardingColumns.size());
         for (String each : shardingColumns) {
-            Optional<Condition> condition = sqlStatement.getConditions().find(new Column(each, logicTableName));
+            Optional<Condition> condition = conditions.find(new Column(each, logicTableName));
             if (condition.isPresent()) {
                 result.add(condition.get().getShardingValue(parameters));
             }
@@ -134,6 +154,171 @@ public final class SimpleRoutingEngine implements RoutingEngine {
         return result;
     }
     
+    // 多行插入的各行值分别路由, 各真实表只插入路由到自身的行
+    private RoutingResult routeMultipleInsertValues(final TableRule tableRule, final List<Conditions> multipleConditions) {
+        Collection<String> databaseShardingColumns = shardingRule.getDatabaseShardingStrategy(tableRule).getShardingColumns();
+        Collection<String> tableShardingColumns = shardingRule.getTableShardingStrategy(tableRule).getShardingColumns();
+        Map<TableUnit, List<Integer>> insertValueIndexes = new LinkedHashMap<>();
+        for (int i = 0; i < multipleConditions.size(); i++) {
+            List<ShardingValue> tableShardingValues = getShardingValues(tableShardingColumns, multipleConditions.get(i));
+            for (String each : routeDataSources(tableRule, getShardingValues(databaseShardingColumns, multipleConditions.get(i)))) {
+                for (DataNode dataNode : routeTables(tableRule, each, tableShardingValues)) {
+                    TableUnit tableUnit = new TableUnit(dataNode.getDataSourceName(), logicTableName, dataNode.getTableName());
+                    List<Integer> valueIndexes = insertValueIndexes.get(tableUnit);
+                    if (null == valueIndexes) {
+                        valueIndexes = new ArrayList<>();
+                        insertValueIndexes.put(tableUnit, valueIndexes);
+                    }
+                    valueIndexes.add(i);
+                }
+            }
+        }
+        RoutingResult result = new RoutingResult();
+        result.getTableUnits().getTableUnits().addAll(insertValueIndexes.keySet());
+        result.getInsertValueIndexes().putAll(insertValueIndexes);
+        return result;
+    }
+    
+    // IN条件的值批量路由一次得到各值的目标, 同时生成路由结果和各真实表命中的值序号, 使各真实表只需查询路由到自身的值
+    private Optional<RoutingResult> routeInValues(final TableRule tableRule, final List<ShardingValue> databaseShardingValues, final List<ShardingValue> tableShardingValues) {
+        Optional<Condition> inCondition = findPrunableInCondition(tableRule);
+        if (!inCondition.isPresent()) {
+            return Optional.absent();
+        }
+        List<Comparable<?>> values = inCondition.get().getValues(parameters);
+        if (values.size() != inCondition.get().getInValuesPosition().getValueLiterals().size()) {
+            return Optional.absent();
+        }
+        String columnName = inCondition.get().getColumn().getName();
+        Optional<Map<String, List<Integer>>> dataSourceValueIndexes = containsShardingValue(databaseShardingValues, columnName)
+                ? routeEachValue(shardingRule.getDatabaseShardingStrategy(tableRule), tableRule.getActualDatasourceNames(), databaseShardingValues, columnName, values, null)
+                : Optional.of(getAllValueIndexes(routeDataSources(tableRule, databaseShardingValues), values.size()));
+        if (!dataSourceValueIndexes.isPresent()) {
+            return Optional.absent();
+        }
+        boolean isTableShardingByInValue = containsShardingValue(tableShardingValues, columnName);
+        RoutingResult result = new RoutingResult();
+        Map<TableUnit, List<Integer>> inValueIndexes = new HashMap<>();
+        for (Entry<String, List<Integer>> entry : dataSourceValueIndexes.get().entrySet()) {
+            Map<String, List<Integer>> tableValueIndexes;
+            if (isTableShardingByInValue) {
+                Optional<Map<String, List<Integer>>> routedTableValueIndexes = routeEachValue(
+                        shardingRule.getTableShardingStrategy(tableRule), tableRule.getActualTableNames(entry.getKey()), tableShardingValues, columnName, values, entry.getValue());
+                if (!routedTableValueIndexes.isPresent()) {
+                    return Optional.absent();
+                }
+                tableValueIndexes = routedTableValueIndexes.get();
+            } else {
+                tableValueIndexes = new LinkedHashMap<>();
+                for (DataNode each : routeTables(tableRule, entry.getKey(), tableShardingValues)) {
+                    tableValueIndexes.put(each.getTableName(), entry.getValue());
+                }
+            }
+            for (Entry<String, List<Integer>> each : tableValueIndexes.entrySet()) {
+                TableUnit tableUnit = new TableUnit(entry.getKey(), logicTableName, each.getKey());
+                result.getTableUnits().getTableUnits().add(tableUnit);
+                inValueIndexes.put(tableUnit, each.getValue());
+            }
+        }
+        if (!result.isSingleRouting()) {
+            result.setPrunedInCondition(inCondition.get());
+            result.getInValueIndexes().putAll(inValueIndexes);
+        }
+        return Optional.of(result);
+    }
+    
+    // 按值的目标归类值序号, 精确分片策略一次批量分片全部值, 其他策略逐个值分片; 任一值路由结果为空时放弃裁剪
+    private Optional<Map<String, List<Integer>>> routeEachValue(final ShardingStrategy strategy, final Collection<String> availableTargetNames, 
+                                                                final List<ShardingValue> shardingValues, final String columnName, final List<Comparable<?>> values, final List<Integer> valueIndexes) {
+        Map<String, List<Integer>> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (strategy instanceof PreciseShardingStrategy) {
+            Map<Comparable<?>, String> targets = ((PreciseShardingStrategy) strategy).doPreciseSharding(
+                    availableTargetNames, new ListShardingValue<>(logicTableName, columnName, null == valueIndexes ? values : getValues(values, valueIndexes)));
+            for (int i = 0; i < (null == valueIndexes ? values.size() : valueIndexes.size()); i++) {
+                int valueIndex = null == valueIndexes ? i : valueIndexes.get(i);
+                String target = targets.get(values.get(valueIndex));
+                if (null == target) {
+                    return Optional.absent();
+                }
+                addValueIndex(result, target, valueIndex);
+            }
+            return Optional.of(result);
+        }
+        for (int i = 0; i < (null == valueIndexes ? values.size() : valueIndexes.size()); i++) {
+            int valueIndex = null == valueIndexes ? i : valueIndexes.get(i);
+            ShardingValue shardingValue = new ListShardingValue<>(logicTableName, columnName, Collections.singletonList(values.get(valueIndex)));
+            Collection<String> targets = strategy.doSharding(availableTargetNames, replaceShardingValue(shardingValues, shardingValue));
+            if (targets.isEmpty()) {
+                return Optional.absent();
+            }
+            for (String each : targets) {
+                addValueIndex(result, each, valueIndex);
+            }
+        }
+        return Optional.of(result);
+    }
+    
+    private List<Comparable<?>> getValues(final List<Comparable<?>> values, final List<Integer> valueIndexes) {
+        List<Comparable<?>> result = new ArrayList<>(valueIndexes.size());
+        for (int each : valueIndexes) {
+            result.add(values.get(each));
+        }
+        return result;
+    }
+    
+    private void addValueIndex(final Map<String, List<Integer>> valueIndexes, final String target, final int valueIndex) {
+        List<Integer> indexes = valueIndexes.get(target);
+        if (null == indexes) {
+            indexes = new ArrayList<>();
+            valueIndexes.put(target, indexes);
+        }
+        if (indexes.isEmpty() || valueIndex != indexes.get(indexes.size() - 1)) {
+            indexes.add(valueIndex);
+        }
+    }
+    
+    private Map<String, List<Integer>> getAllValueIndexes(final Collection<String> targets, final int valuesSize) {
+        List<Integer> allValueIndexes = new ArrayList<>(valuesSize);
+        for (int i = 0; i < valuesSize; i++) {
+            allValueIndexes.add(i);
+        }
+        Map<String, List<Integer>> result = new LinkedHashMap<>(targets.size(), 1);
+        for (String each : targets) {
+            result.put(each, allValueIndexes);
+        }
+        return result;
+    }
+    
+    private Optional<Condition> findPrunableInCondition(final TableRule tableRule) {
+        Collection<String> shardingColumns = new LinkedList<>(shardingRule.getDatabaseShardingStrategy(tableRule).getShardingColumns());
+        shardingColumns.addAll(shardingRule.getTableShardingStrategy(tableRule).getShardingColumns());
+        for (String each : shardingColumns) {
+            Optional<Condition> condition = sqlStatement.getConditions().find(new Column(each, logicTableName));
+            if (condition.isPresent() && ShardingOperator.IN == condition.get().getOperator() && null != condition.get().getInValuesPosition()) {
+                return condition;
+            }
+        }
+        return Optional.absent();
+    }
+    
+    private boolean containsShardingValue(final List<ShardingValue> shardingValues, final String columnName) {
+        for (ShardingValue each : shardingValues) {
+            if (each instanceof ListShardingValue && ((ListShardingValue) each).getColumnName().equalsIgnoreCase(columnName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private List<ShardingValue> replaceShardingValue(final List<ShardingValue> shardingValues, final ShardingValue shardingValue) {
+        List<ShardingValue> result = new ArrayList<>(shardingValues.size());
+        for (ShardingValue each : shardingValues) {
+            boolean isReplaced = each instanceof ListShardingValue && ((ListShardingValue) each).getColumnName().equalsIgnoreCase(((ListShardingValue) shardingValue).getColumnName());
+            result.add(isReplaced ? shardingValue : each);
+        }
+        return result;
+    }
+    
     private RoutingResult generateRoutingResult(final Collection<DataNode> routedDataNodes) {
         RoutingResult result = new RoutingResult();
         for (DataNode each : routedDataNodes) {
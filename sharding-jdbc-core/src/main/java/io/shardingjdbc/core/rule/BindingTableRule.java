@@ -20,11 +20,14 @@ package io.shardingjdbc.core.rule;
 import com.google.common.base.Function;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import io.shardingjdbc.core.util.StringUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 绑定表规则配置
@@ -33,12 +36,25 @@ import java.util.List;
  * 
  * @author zhangliang
  */
-@RequiredArgsConstructor
 @Getter
 public final class BindingTableRule {
     
     private final List<TableRule> tableRules;
     
+    @Getter(AccessLevel.NONE)
+    private final Map<String, TableRule> tableRuleMap;
+    
+    public BindingTableRule(final List<TableRule> tableRules) {
+        this.tableRules = tableRules;
+        tableRuleMap = new HashMap<>(tableRules.size(), 1);
+        for (TableRule each : tableRules) {
+            String key = StringUtil.toCaseInsensitiveKey(each.getLogicTable());
+            if (!tableRuleMap.containsKey(key)) {
+                tableRuleMap.put(key, each);
+            }
+        }
+    }
+    
     /**
      * Adjust contains this logic table in this rule.
      * 
@@ -46,12 +62,7 @@ public final class BindingTableRule {
      * @return contains this logic table or not
      */
     public boolean hasLogicTable(final String logicTableName) {
-        for (TableRule each : tableRules) {
-            if (each.getLogicTable().equalsIgnoreCase(logicTableName)) {
-                return true;
-            }
-        }
-        return false;
+        return null != logicTableName && tableRuleMap.containsKey(StringUtil.toCaseInsensitiveKey(logicTableName));
     }
     
     /**
@@ -70,11 +81,10 @@ public final class BindingTableRule {
                 break;
             }
         }
-        Preconditions.checkState(-1 != index, String.format("Actual table [%s].[%s] is not in table config", dataSource, otherActualTable));
-        for (TableRule each : tableRules) {
-            if (each.getLogicTable().equalsIgnoreCase(logicTable)) {
-                return each.getActualDataNodes().get(index).getTableName();
-            }
+        Preconditions.checkState(-1 != index, "Actual table [%s].[%s] is not in table config", dataSource, otherActualTable);
+        TableRule tableRule = null == logicTable ? null : tableRuleMap.get(StringUtil.toCaseInsensitiveKey(logicTable));
+        if (null != tableRule) {
+            return tableRule.getActualDataNodes().get(index).getTableName();
         }
         throw new IllegalStateException(String.format("Cannot find binding actual table, data source: %s, logic table: %s, other actual table: %s", dataSource, logicTable, otherActualTable));
     }
@@ -17,14 +17,11 @@
 
 package io.shardingjdbc.core.rule;
 
-import com.google.common.base.Splitter;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
-import java.util.List;
-
 /**
  * 分片数据单元节点
  * 
@@ -48,9 +45,9 @@ public class DataNode {
      * @param dataNode 根据.来拆分dataNode得到数据源和表名
      */
     public DataNode(final String dataNode) {
-        List<String> segments = Splitter.on(DELIMITER).splitToList(dataNode);
-        dataSourceName = segments.get(0);
-        tableName = segments.get(1);
+        int delimiterIndex = dataNode.indexOf(DELIMITER);
+        dataSourceName = dataNode.substring(0, delimiterIndex);
+        tableName = dataNode.substring(delimiterIndex + 1);
     }
     
     /**
@@ -60,6 +57,7 @@ public class DataNode {
      * @return data node字符串有没有效
      */
     public static boolean isValidDataNode(final String dataNodeStr) {
-        return dataNodeStr.contains(DELIMITER) && 2 == Splitter.on(DELIMITER).splitToList(dataNodeStr).size();
+        int delimiterIndex = dataNodeStr.indexOf(DELIMITER);
+        return -1 != delimiterIndex && -1 == dataNodeStr.indexOf(DELIMITER, delimiterIndex + 1);
     }
 }
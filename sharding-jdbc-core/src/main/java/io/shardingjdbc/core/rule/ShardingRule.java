@@ -20,6 +20,7 @@ package io.shardingjdbc.core.rule;
 import io.shardingjdbc.core.api.config.TableRuleConfiguration;
 import io.shardingjdbc.core.api.config.strategy.NoneShardingStrategyConfiguration;
 import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.keygen.ConcurrentKeyGenerator;
 import io.shardingjdbc.core.keygen.KeyGenerator;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
@@ -27,24 +28,25 @@ import io.shardingjdbc.core.routing.strategy.none.NoneShardingStrategy;
 import io.shardingjdbc.core.util.StringUtil;
 import com.google.common.base.Optional;
 import com.google.common.base.Strings;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 import javax.sql.DataSource;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Databases and tables sharding rule configuration.
  * 
  * @author zhangliang
  */
-@RequiredArgsConstructor
 @Getter
 public final class ShardingRule {
     
@@ -62,22 +64,97 @@ public final class ShardingRule {
     
     private final KeyGenerator defaultKeyGenerator;
     
+    @Getter(AccessLevel.NONE)
+    private final Map<String, TableRule> tableRuleMap;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, BindingTableRule> bindingTableRuleMap = new HashMap<>();
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, TableRule> logicIndexMap;
+    
+    @Getter(AccessLevel.NONE)
+    private final Set<String> defaultShardingColumns;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Set<String>> tableShardingColumnsMap;
+    
     public ShardingRule(final Map<String, DataSource> dataSourceMap, final String defaultDataSourceName, final Collection<TableRule> tableRules, final Collection<String> bindingTableGroups, 
                         final ShardingStrategy defaultDatabaseShardingStrategy, final ShardingStrategy defaultTableShardingStrategy, final KeyGenerator defaultKeyGenerator) {
         this.dataSourceMap = dataSourceMap;
         this.defaultDataSourceName = getDefaultDataSourceName(dataSourceMap, defaultDataSourceName);
         this.tableRules = tableRules;
+        // 逻辑表、逻辑索引和分片列在规则创建后不再变化，预先建立忽略大小写的索引
+        tableRuleMap = createTableRuleMap(tableRules);
+        logicIndexMap = createLogicIndexMap(tableRules);
+        tableShardingColumnsMap = createTableShardingColumnsMap(tableRules);
         for (String group : bindingTableGroups) {
             List<TableRule> tableRulesForBinding = new LinkedList<>();
             // 逗号分隔
             for (String logicTableNameForBindingTable : StringUtil.splitWithComma(group)) {
                 tableRulesForBinding.add(getTableRule(logicTableNameForBindingTable));
             }
-            this.bindingTableRules.add(new BindingTableRule(tableRulesForBinding));
+            BindingTableRule bindingTableRule = new BindingTableRule(tableRulesForBinding);
+            this.bindingTableRules.add(bindingTableRule);
+            for (TableRule each : tableRulesForBinding) {
+                String key = StringUtil.toCaseInsensitiveKey(each.getLogicTable());
+                if (!bindingTableRuleMap.containsKey(key)) {
+                    bindingTableRuleMap.put(key, bindingTableRule);
+                }
+            }
         }
         this.defaultDatabaseShardingStrategy = null == defaultDatabaseShardingStrategy ? new NoneShardingStrategy() : defaultDatabaseShardingStrategy;
         this.defaultTableShardingStrategy = null == defaultTableShardingStrategy ? new NoneShardingStrategy() : defaultTableShardingStrategy;
         this.defaultKeyGenerator = defaultKeyGenerator;
+        defaultShardingColumns = new HashSet<>();
+        addShardingColumns(defaultShardingColumns, this.defaultDatabaseShardingStrategy);
+        addShardingColumns(defaultShardingColumns, this.defaultTableShardingStrategy);
+    }
+    
+    private Map<String, TableRule> createTableRuleMap(final Collection<TableRule> tableRules) {
+        Map<String, TableRule> result = new HashMap<>(tableRules.size(), 1);
+        for (TableRule each : tableRules) {
+            String key = StringUtil.toCaseInsensitiveKey(each.getLogicTable());
+            if (!result.containsKey(key)) {
+                result.put(key, each);
+            }
+        }
+        return result;
+    }
+    
+    private Map<String, TableRule> createLogicIndexMap(final Collection<TableRule> tableRules) {
+        Map<String, TableRule> result = new HashMap<>();
+        for (TableRule each : tableRules) {
+            if (null != each.getLogicIndex() && !result.containsKey(each.getLogicIndex())) {
+                result.put(each.getLogicIndex(), each);
+            }
+        }
+        return result;
+    }
+    
+    private Map<String, Set<String>> createTableShardingColumnsMap(final Collection<TableRule> tableRules) {
+        Map<String, Set<String>> result = new HashMap<>(tableRules.size(), 1);
+        for (TableRule each : tableRules) {
+            String key = StringUtil.toCaseInsensitiveKey(each.getLogicTable());
+            Set<String> shardingColumns = result.get(key);
+            if (null == shardingColumns) {
+                shardingColumns = new HashSet<>();
+                result.put(key, shardingColumns);
+            }
+            addShardingColumns(shardingColumns, each.getDatabaseShardingStrategy());
+            addShardingColumns(shardingColumns, each.getTableShardingStrategy());
+        }
+        return result;
+    }
+    
+    // 分片策略的分片列均忽略大小写比较
+    private void addShardingColumns(final Set<String> shardingColumns, final ShardingStrategy shardingStrategy) {
+        if (null == shardingStrategy) {
+            return;
+        }
+        for (String each : shardingStrategy.getShardingColumns()) {
+            shardingColumns.add(StringUtil.toCaseInsensitiveKey(each));
+        }
     }
     
     private String getDefaultDataSourceName(final Map<String, DataSource> dataSourceMap, final String defaultDataSourceName) {
@@ -97,12 +174,7 @@ public final class ShardingRule {
      * @return 表规则
      */
     public Optional<TableRule> tryFindTableRule(final String logicTableName) {
-        for (TableRule each : tableRules) {
-            if (each.getLogicTable().equalsIgnoreCase(logicTableName)) {
-                return Optional.of(each);
-            }
-        }
-        return Optional.absent();
+        return null == logicTableName ? Optional.<TableRule>absent() : Optional.fromNullable(tableRuleMap.get(StringUtil.toCaseInsensitiveKey(logicTableName)));
     }
     
     /**
@@ -225,12 +297,7 @@ public final class ShardingRule {
      * @return binding table rule
      */
     public Optional<BindingTableRule> findBindingTableRule(final String logicTable) {
-        for (BindingTableRule each : bindingTableRules) {
-            if (each.hasLogicTable(logicTable)) {
-                return Optional.of(each);
-            }
-        }
-        return Optional.absent();
+        return null == logicTable ? Optional.<BindingTableRule>absent() : Optional.fromNullable(bindingTableRuleMap.get(StringUtil.toCaseInsensitiveKey(logicTable)));
     }
     
     /**
@@ -240,21 +307,15 @@ public final class ShardingRule {
      * @return is sharding column or not
      */
     public boolean isShardingColumn(final Column column) {
-        if (defaultDatabaseShardingStrategy.getShardingColumns().contains(column.getName()) || defaultTableShardingStrategy.getShardingColumns().contains(column.getName())) {
+        String columnKey = StringUtil.toCaseInsensitiveKey(column.getName());
+        if (defaultShardingColumns.contains(columnKey)) {
             return true;
         }
-        for (TableRule each : tableRules) {
-            if (!each.getLogicTable().equalsIgnoreCase(column.getTableName())) {
-                continue;
-            }
-            if (null != each.getDatabaseShardingStrategy() && each.getDatabaseShardingStrategy().getShardingColumns().contains(column.getName())) {
-                return true;
-            }
-            if (null != each.getTableShardingStrategy() && each.getTableShardingStrategy().getShardingColumns().contains(column.getName())) {
-                return true;
-            }
+        if (null == column.getTableName()) {
+            return false;
         }
-        return false;
+        Set<String> shardingColumns = tableShardingColumnsMap.get(StringUtil.toCaseInsensitiveKey(column.getTableName()));
+        return null != shardingColumns && shardingColumns.contains(columnKey);
     }
     
     /**
@@ -264,12 +325,8 @@ public final class ShardingRule {
      * @return generated key's column name
      */
     public Optional<String> getGenerateKeyColumn(final String logicTableName) {
-        for (TableRule each : tableRules) {
-            if (each.getLogicTable().equalsIgnoreCase(logicTableName)) {
-                return Optional.fromNullable(each.getGenerateKeyColumn());
-            }
-        }
-        return Optional.absent();
+        Optional<TableRule> tableRule = tryFindTableRule(logicTableName);
+        return tableRule.isPresent() ? Optional.fromNullable(tableRule.get().getGenerateKeyColumn()) : Optional.<String>absent();
     }
     
     /**
@@ -279,14 +336,42 @@ public final class ShardingRule {
      * @return generated key
      */
     public Number generateKey(final String logicTableName) {
+        return getKeyGenerator(logicTableName).generateKey();
+    }
+    
+    /**
+     * Generate keys.
+     *
+     * @param logicTableName logic table name
+     * @param count keys count
+     * @return generated keys
+     */
+    public List<Number> generateKeys(final String logicTableName, final int count) {
+        KeyGenerator keyGenerator = getKeyGenerator(logicTableName);
+        List<Number> result = new ArrayList<>(count);
+        if (keyGenerator instanceof ConcurrentKeyGenerator) {
+            // 按批分配连续主键, 每批不超过单毫秒序列容量
+            for (int remaining = count; remaining > 0; remaining -= ConcurrentKeyGenerator.MAX_BATCH_SIZE) {
+                int batchSize = Math.min(remaining, ConcurrentKeyGenerator.MAX_BATCH_SIZE);
+                long firstKey = ((ConcurrentKeyGenerator) keyGenerator).generateKeys(batchSize);
+                for (int i = 0; i < batchSize; i++) {
+                    result.add(firstKey + i);
+                }
+            }
+            return result;
+        }
+        for (int i = 0; i < count; i++) {
+            result.add(keyGenerator.generateKey());
+        }
+        return result;
+    }
+    
+    private KeyGenerator getKeyGenerator(final String logicTableName) {
         Optional<TableRule> tableRule = tryFindTableRule(logicTableName);
         if (!tableRule.isPresent()) {
             throw new ShardingJdbcException("Cannot find strategy for generate keys.");
         }
-        if (null != tableRule.get().getKeyGenerator()) {
-            return tableRule.get().getKeyGenerator().generateKey();
-        }
-        return defaultKeyGenerator.generateKey();
+        return null == tableRule.get().getKeyGenerator() ? defaultKeyGenerator : tableRule.get().getKeyGenerator();
     }
     
     /**
@@ -296,10 +381,9 @@ public final class ShardingRule {
      * @return logic table name
      */
     public String getLogicTableName(final String logicIndexName) {
-        for (TableRule each : tableRules) {
-            if (logicIndexName.equals(each.getLogicIndex())) {
-                return each.getLogicTable();
-            }
+        TableRule tableRule = logicIndexMap.get(logicIndexName);
+        if (null != tableRule) {
+            return tableRule.getLogicTable();
         }
         throw new ShardingJdbcException("Cannot find logic table name with logic index name: '%s'", logicIndexName);
     }
@@ -20,15 +20,21 @@ package io.shardingjdbc.core.rule;
 import com.google.common.base.Preconditions;
 import io.shardingjdbc.core.keygen.KeyGenerator;
 import io.shardingjdbc.core.routing.strategy.ShardingStrategy;
+import io.shardingjdbc.core.util.StringUtil;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 表规则配置
@@ -36,7 +42,7 @@ import java.util.Map;
  * @author zhangliang
  */
 @Getter
-@ToString
+@ToString(exclude = {"actualDatasourceNames", "actualTableNamesMap", "actualTableIndexMap"})
 public final class TableRule {
     
     private final String logicTable;
@@ -53,6 +59,15 @@ public final class TableRule {
     
     private final String logicIndex;
     
+    @Getter(AccessLevel.NONE)
+    private final Collection<String> actualDatasourceNames;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Collection<String>> actualTableNamesMap;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Map<String, Integer>> actualTableIndexMap;
+    
     public TableRule(final String logicTable, final List<String> actualDataNodes, final Map<String, DataSource> dataSourceMap,
                      final ShardingStrategy databaseShardingStrategy, final ShardingStrategy tableShardingStrategy, 
                      final String generateKeyColumn, final KeyGenerator keyGenerator, final String logicIndex) {
@@ -64,6 +79,10 @@ public final class TableRule {
         this.generateKeyColumn = generateKeyColumn;
         this.keyGenerator = keyGenerator;
         this.logicIndex = logicIndex;
+        // 数据节点在构建后不再变化，预先建立索引避免路由时遍历
+        actualTableNamesMap = createActualTableNamesMap(this.actualDataNodes);
+        actualDatasourceNames = Collections.unmodifiableSet(actualTableNamesMap.keySet());
+        actualTableIndexMap = createActualTableIndexMap(this.actualDataNodes);
     }
 
     /**
@@ -74,7 +93,7 @@ public final class TableRule {
      * @return
      */
     private List<DataNode> generateDataNodes(final String logicTable, final Map<String, DataSource> dataSourceMap) {
-        List<DataNode> result = new LinkedList<>();
+        List<DataNode> result = new ArrayList<>(dataSourceMap.size());
         for (String each : dataSourceMap.keySet()) {
             result.add(new DataNode(each, logicTable));
         }
@@ -89,28 +108,60 @@ public final class TableRule {
      * @return
      */
     private List<DataNode> generateDataNodes(final List<String> actualDataNodes, final Map<String, DataSource> dataSourceMap) {
-        List<DataNode> result = new LinkedList<>();
+        List<DataNode> result = new ArrayList<>(actualDataNodes.size());
         for (String each : actualDataNodes) {
-            Preconditions.checkArgument(DataNode.isValidDataNode(each), String.format("Invalid format for actual data nodes: '%s'", each));
+            Preconditions.checkArgument(DataNode.isValidDataNode(each), "Invalid format for actual data nodes: '%s'", each);
             DataNode dataNode = new DataNode(each);
-            Preconditions.checkArgument(dataSourceMap.containsKey(dataNode.getDataSourceName()), 
-                    String.format("Cannot find data source name in sharding rule, invalid actual data node is: '%s'", each));
+            Preconditions.checkArgument(dataSourceMap.containsKey(dataNode.getDataSourceName()), "Cannot find data source name in sharding rule, invalid actual data node is: '%s'", each);
             result.add(dataNode);
         }
         return result;
     }
     
+    private Map<String, Collection<String>> createActualTableNamesMap(final List<DataNode> actualDataNodes) {
+        Map<String, Set<String>> tableNamesMap = new LinkedHashMap<>();
+        for (DataNode each : actualDataNodes) {
+            Set<String> tableNames = tableNamesMap.get(each.getDataSourceName());
+            if (null == tableNames) {
+                tableNames = new LinkedHashSet<>();
+                tableNamesMap.put(each.getDataSourceName(), tableNames);
+            }
+            tableNames.add(each.getTableName());
+        }
+        Map<String, Collection<String>> result = new LinkedHashMap<>(tableNamesMap.size(), 1);
+        for (Map.Entry<String, Set<String>> entry : tableNamesMap.entrySet()) {
+            result.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+        }
+        return result;
+    }
+    
+    private Map<String, Map<String, Integer>> createActualTableIndexMap(final List<DataNode> actualDataNodes) {
+        Map<String, Map<String, Integer>> result = new HashMap<>();
+        int index = 0;
+        for (DataNode each : actualDataNodes) {
+            String dataSourceKey = StringUtil.toCaseInsensitiveKey(each.getDataSourceName());
+            Map<String, Integer> tableIndexes = result.get(dataSourceKey);
+            if (null == tableIndexes) {
+                tableIndexes = new HashMap<>();
+                result.put(dataSourceKey, tableIndexes);
+            }
+            // 重复节点保留首次出现的位置
+            String tableKey = StringUtil.toCaseInsensitiveKey(each.getTableName());
+            if (!tableIndexes.containsKey(tableKey)) {
+                tableIndexes.put(tableKey, index);
+            }
+            index++;
+        }
+        return result;
+    }
+    
     /**
      * 获取真实的数据源名字
      *
      * @return 真实数据源名字
      */
     public Collection<String> getActualDatasourceNames() {
-        Collection<String> result = new LinkedHashSet<>(actualDataNodes.size());
-        for (DataNode each : actualDataNodes) {
-            result.add(each.getDataSourceName());
-        }
-        return result;
+        return actualDatasourceNames;
     }
     
     /**
@@ -120,29 +171,22 @@ public final class TableRule {
      * @return 真实的表名
      */
     public Collection<String> getActualTableNames(final String targetDataSource) {
-        Collection<String> result = new LinkedHashSet<>(actualDataNodes.size());
-        for (DataNode each : actualDataNodes) {
-            if (targetDataSource.equals(each.getDataSourceName())) {
-                result.add(each.getTableName());
-            }
-        }
-        return result;
+        Collection<String> result = actualTableNamesMap.get(targetDataSource);
+        return null == result ? Collections.<String>emptySet() : result;
     }
 
     /**
-     * 遍历actualDataNodes，返回真实的表索引
+     * 返回真实表在actualDataNodes中的索引，数据源和表名忽略大小写
      * @param dataSourceName
      * @param actualTableName
      * @return
      */
     int findActualTableIndex(final String dataSourceName, final String actualTableName) {
-        int result = 0;
-        for (DataNode each : actualDataNodes) {
-            if (each.getDataSourceName().equalsIgnoreCase(dataSourceName) && each.getTableName().equalsIgnoreCase(actualTableName)) {
-                return result;
-            }
-            result++;
+        Map<String, Integer> tableIndexes = actualTableIndexMap.get(StringUtil.toCaseInsensitiveKey(dataSourceName));
+        if (null == tableIndexes) {
+            return -1;
         }
-        return -1;
+        Integer result = tableIndexes.get(StringUtil.toCaseInsensitiveKey(actualTableName));
+        return null == result ? -1 : result;
     }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.slowquery;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Slow query event.
+ * 
+ * <p>Posted to asynchronous event bus when elapsed time of logic SQL exceeds threshold, or when fast query is sampled.</p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class SlowQueryEvent {
+    
+    private final String logicSQL;
+    
+    private final long elapsedNanos;
+    
+    private final boolean sampled;
+    
+    private final boolean failed;
+    
+    /**
+     * 返回或影响的行数, 未知时为-1
+     */
+    private final long rowCount;
+    
+    private final List<SlowQueryUnit> units;
+    
+    /**
+     * 未归并时为null
+     */
+    private final String mergeStrategy;
+    
+    private final long mergeElapsedNanos;
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.slowquery;
+
+import com.google.common.eventbus.AllowConcurrentEvents;
+import com.google.common.eventbus.Subscribe;
+import io.shardingjdbc.core.util.EventBusInstance;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slow query logger.
+ * 
+ * <p>Each slow query is logged as one line, slow queries are logged in WARN level and sampled fast queries in INFO level.</p>
+ * 
+ * @author zhangliang
+ */
+@Slf4j(topic = "Sharding-JDBC-SlowSQL")
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SlowQueryLogger {
+    
+    private static final SlowQueryLogger INSTANCE = new SlowQueryLogger();
+    
+    private static boolean registered;
+    
+    /**
+     * Register slow query logger to asynchronous event bus.
+     * 
+     * <p>Only the first invocation takes effect.</p>
+     */
+    public static synchronized void register() {
+        if (!registered) {
+            EventBusInstance.getAsyncInstance().register(INSTANCE);
+            registered = true;
+        }
+    }
+    
+    /**
+     * Log slow query.
+     * 
+     * @param event slow query event
+     */
+    @Subscribe
+    @AllowConcurrentEvents
+    public void log(final SlowQueryEvent event) {
+        if (event.isSampled() ? !log.isInfoEnabled() : !log.isWarnEnabled()) {
+            return;
+        }
+        String message = format(event);
+        if (event.isSampled()) {
+            log.info(message);
+        } else {
+            log.warn(message);
+        }
+    }
+    
+    /**
+     * Format slow query event to one line.
+     * 
+     * @param event slow query event
+     * @return formatted slow query
+     */
+    public static String format(final SlowQueryEvent event) {
+        StringBuilder result = new StringBuilder();
+        result.append(event.isSampled() ? "Sampled SQL: " : "Slow SQL: ").append(toMillis(event.getElapsedNanos())).append(" ms");
+        if (event.isFailed()) {
+            result.append(" (failed)");
+        }
+        result.append(" ::: Logic SQL: ").append(event.getLogicSQL());
+        if (event.getRowCount() >= 0L) {
+            result.append(" ::: ").append(event.getRowCount()).append(" rows");
+        }
+        result.append(" ::: Units: [");
+        for (int i = 0; i < event.getUnits().size(); i++) {
+            SlowQueryUnit each = event.getUnits().get(i);
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append('{').append(each.getDataSource()).append(" ::: ").append(each.getSql()).append(" ::: ").append(toMillis(each.getElapsedNanos())).append(" ms");
+            if (each.getRowCount() >= 0L) {
+                result.append(" ::: ").append(each.getRowCount()).append(" rows");
+            }
+            if (each.isFailed()) {
+                result.append(" ::: failed");
+            }
+            result.append('}');
+        }
+        result.append(']');
+        if (null != event.getMergeStrategy()) {
+            result.append(" ::: Merge: ").append(event.getMergeStrategy()).append(" ::: ").append(toMillis(event.getMergeElapsedNanos())).append(" ms");
+        }
+        return result.toString();
+    }
+    
+    private static String toMillis(final long nanos) {
+        return String.format("%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1L));
+    }
+}
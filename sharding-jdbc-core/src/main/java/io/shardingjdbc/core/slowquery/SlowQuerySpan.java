@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.slowquery;
+
+import io.shardingjdbc.core.tracing.ShardingTags;
+import io.shardingjdbc.core.tracing.Span;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Span of slow query tracer.
+ * 
+ * <p>Only tags used by slow query log are kept.</p>
+ * 
+ * @author zhangliang
+ */
+final class SlowQuerySpan implements Span {
+    
+    private final SlowQueryTracer tracer;
+    
+    private final SlowQuerySpan parentSpan;
+    
+    private final String operationName;
+    
+    private final long startNanos = System.nanoTime();
+    
+    private final AtomicBoolean finished = new AtomicBoolean();
+    
+    /**
+     * 已结束的子Span, 可能由执行线程并发添加
+     */
+    private final Queue<SlowQuerySpan> finishedChildSpans = new ConcurrentLinkedQueue<>();
+    
+    private volatile String dataSource;
+    
+    private volatile String sql;
+    
+    private volatile String mergeStrategy;
+    
+    private volatile long rowCount = -1L;
+    
+    private volatile boolean failed;
+    
+    private volatile long elapsedNanos;
+    
+    SlowQuerySpan(final SlowQueryTracer tracer, final SlowQuerySpan parentSpan, final String operationName) {
+        this.tracer = tracer;
+        this.parentSpan = parentSpan;
+        this.operationName = operationName;
+    }
+    
+    @Override
+    public void setTag(final String key, final String value) {
+        if (ShardingTags.DB_INSTANCE.equals(key)) {
+            dataSource = value;
+        } else if (ShardingTags.DB_STATEMENT.equals(key)) {
+            sql = value;
+        } else if (ShardingTags.MERGE_STRATEGY.equals(key)) {
+            mergeStrategy = value;
+        }
+    }
+    
+    @Override
+    public void setTag(final String key, final Number value) {
+        if (ShardingTags.ROW_COUNT.equals(key)) {
+            rowCount = value.longValue();
+        }
+    }
+    
+    @Override
+    public void setError(final Throwable cause) {
+        failed = true;
+    }
+    
+    @Override
+    public void finish() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+        if (null == parentSpan) {
+            tracer.finish(this);
+        } else {
+            parentSpan.finishedChildSpans.add(this);
+        }
+    }
+    
+    long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    SlowQueryEvent createEvent(final boolean sampled) {
+        List<SlowQueryUnit> units = new ArrayList<>(finishedChildSpans.size());
+        String mergeStrategy = null;
+        long mergeElapsedNanos = 0L;
+        for (SlowQuerySpan each : finishedChildSpans) {
+            if (ShardingTags.MERGE_RESULT_OPERATION.equals(each.operationName)) {
+                mergeStrategy = each.mergeStrategy;
+                mergeElapsedNanos += each.elapsedNanos;
+            } else {
+                units.add(new SlowQueryUnit(each.dataSource, each.sql, each.elapsedNanos, each.rowCount, each.failed));
+            }
+        }
+        return new SlowQueryEvent(sql, elapsedNanos, sampled, failed, rowCount, units, mergeStrategy, mergeElapsedNanos);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.slowquery;
+
+import io.shardingjdbc.core.tracing.Span;
+import io.shardingjdbc.core.tracing.Tracer;
+import io.shardingjdbc.core.util.EventBusInstance;
+import io.shardingjdbc.core.util.ShardingEventBus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracer recording slow queries.
+ * 
+ * <p>Elapsed time of logic SQL covers routing, execution and merging.
+ * Slow query events are posted to asynchronous event bus, and logged by {@link SlowQueryLogger} in background thread.</p>
+ * 
+ * @author zhangliang
+ */
+public final class SlowQueryTracer implements Tracer {
+    
+    private final long thresholdNanos;
+    
+    private final int samplingInterval;
+    
+    private final ShardingEventBus eventBus;
+    
+    private final AtomicLong fastQueryCount = new AtomicLong();
+    
+    public SlowQueryTracer(final long thresholdMilliseconds, final int samplingInterval) {
+        this(thresholdMilliseconds, samplingInterval, EventBusInstance.getAsyncInstance());
+        SlowQueryLogger.register();
+    }
+    
+    SlowQueryTracer(final long thresholdMilliseconds, final int samplingInterval, final ShardingEventBus eventBus) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMilliseconds);
+        this.samplingInterval = samplingInterval;
+        this.eventBus = eventBus;
+    }
+    
+    @Override
+    public Span startSpan(final String operationName, final Span parentSpan) {
+        return new SlowQuerySpan(this, parentSpan instanceof SlowQuerySpan ? (SlowQuerySpan) parentSpan : null, operationName);
+    }
+    
+    void finish(final SlowQuerySpan logicSQLSpan) {
+        boolean sampled = logicSQLSpan.getElapsedNanos() < thresholdNanos;
+        if (sampled && !isSampled()) {
+            return;
+        }
+        if (eventBus.hasSubscriber(SlowQueryEvent.class)) {
+            eventBus.post(logicSQLSpan.createEvent(sampled));
+        }
+    }
+    
+    // 未超过阈值的查询每samplingInterval条记录一条
+    private boolean isSampled() {
+        return samplingInterval > 0 && 0L == fastQueryCount.incrementAndGet() % samplingInterval;
+    }
+}
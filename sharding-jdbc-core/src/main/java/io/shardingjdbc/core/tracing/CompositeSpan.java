@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Span of composite tracer.
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Getter(AccessLevel.PACKAGE)
+final class CompositeSpan implements Span {
+    
+    private final List<Span> spans;
+    
+    @Override
+    public void setTag(final String key, final String value) {
+        for (Span each : spans) {
+            each.setTag(key, value);
+        }
+    }
+    
+    @Override
+    public void setTag(final String key, final Number value) {
+        for (Span each : spans) {
+            each.setTag(key, value);
+        }
+    }
+    
+    @Override
+    public void setError(final Throwable cause) {
+        for (Span each : spans) {
+            each.setError(cause);
+        }
+    }
+    
+    @Override
+    public void finish() {
+        for (Span each : spans) {
+            each.finish();
+        }
+    }
+}
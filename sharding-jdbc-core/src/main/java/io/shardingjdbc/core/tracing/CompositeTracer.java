@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracer delegating to several tracers.
+ * 
+ * @author zhangliang
+ */
+public final class CompositeTracer implements Tracer {
+    
+    private final List<Tracer> tracers;
+    
+    public CompositeTracer(final List<Tracer> tracers) {
+        this.tracers = new ArrayList<>(tracers);
+    }
+    
+    @Override
+    public Span startSpan(final String operationName, final Span parentSpan) {
+        List<Span> spans = new ArrayList<>(tracers.size());
+        for (int i = 0; i < tracers.size(); i++) {
+            spans.add(tracers.get(i).startSpan(operationName, parentSpan instanceof CompositeSpan ? ((CompositeSpan) parentSpan).getSpans().get(i) : null));
+        }
+        return new CompositeSpan(spans);
+    }
+}
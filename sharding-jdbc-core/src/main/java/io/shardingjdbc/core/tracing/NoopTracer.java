@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+/**
+ * Tracer which does nothing.
+ * 
+ * @author zhangliang
+ */
+public final class NoopTracer implements Tracer {
+    
+    private static final Span NOOP_SPAN = new Span() {
+        
+        @Override
+        public void setTag(final String key, final String value) {
+        }
+        
+        @Override
+        public void setTag(final String key, final Number value) {
+        }
+        
+        @Override
+        public void setError(final Throwable cause) {
+        }
+        
+        @Override
+        public void finish() {
+        }
+    };
+    
+    @Override
+    public Span startSpan(final String operationName, final Span parentSpan) {
+        return NOOP_SPAN;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Span recorded in process.
+ * 
+ * @author zhangliang
+ */
+@Getter
+public final class RecordedSpan implements Span {
+    
+    @Getter(AccessLevel.NONE)
+    private final RecordingTracer tracer;
+    
+    private final long traceId;
+    
+    private final long spanId;
+    
+    /**
+     * 根Span的父Span ID为0
+     */
+    private final long parentSpanId;
+    
+    private final String operationName;
+    
+    private final String threadName;
+    
+    private final long startNanos;
+    
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Object> tags = new LinkedHashMap<>();
+    
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean finished = new AtomicBoolean();
+    
+    private volatile long durationNanos;
+    
+    private volatile Throwable error;
+    
+    RecordedSpan(final RecordingTracer tracer, final long traceId, final long spanId, final long parentSpanId, final String operationName) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.operationName = operationName;
+        threadName = Thread.currentThread().getName();
+        startNanos = System.nanoTime();
+    }
+    
+    @Override
+    public void setTag(final String key, final String value) {
+        putTag(key, value);
+    }
+    
+    @Override
+    public void setTag(final String key, final Number value) {
+        putTag(key, value);
+    }
+    
+    private synchronized void putTag(final String key, final Object value) {
+        tags.put(key, value);
+    }
+    
+    /**
+     * Get tags.
+     * 
+     * @return copy of tags
+     */
+    public synchronized Map<String, Object> getTags() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+    }
+    
+    @Override
+    public void setError(final Throwable cause) {
+        error = cause;
+    }
+    
+    @Override
+    public void finish() {
+        if (finished.compareAndSet(false, true)) {
+            durationNanos = System.nanoTime() - startNanos;
+            tracer.record(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracer recording finished spans in process.
+ * 
+ * <p>Used for tests and troubleshooting, finished spans are kept until reset.</p>
+ * 
+ * @author zhangliang
+ */
+public final class RecordingTracer implements Tracer {
+    
+    private final AtomicLong idGenerator = new AtomicLong();
+    
+    private final Queue<RecordedSpan> finishedSpans = new ConcurrentLinkedQueue<>();
+    
+    @Override
+    public Span startSpan(final String operationName, final Span parentSpan) {
+        long spanId = idGenerator.incrementAndGet();
+        if (parentSpan instanceof RecordedSpan) {
+            RecordedSpan parent = (RecordedSpan) parentSpan;
+            return new RecordedSpan(this, parent.getTraceId(), spanId, parent.getSpanId(), operationName);
+        }
+        return new RecordedSpan(this, spanId, spanId, 0L, operationName);
+    }
+    
+    void record(final RecordedSpan span) {
+        finishedSpans.add(span);
+    }
+    
+    /**
+     * Get finished spans in finished order.
+     * 
+     * @return finished spans
+     */
+    public List<RecordedSpan> getFinishedSpans() {
+        return new ArrayList<>(finishedSpans);
+    }
+    
+    /**
+     * Clear finished spans.
+     */
+    public void reset() {
+        finishedSpans.clear();
+    }
+}
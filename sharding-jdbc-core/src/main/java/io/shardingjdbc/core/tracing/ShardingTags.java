@@ -0,0 +1,50 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Operation names and tag keys of tracing.
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ShardingTags {
+    
+    public static final String LOGIC_SQL_OPERATION = "/Sharding-JDBC/logicSQL";
+    
+    public static final String EXECUTE_SQL_OPERATION = "/Sharding-JDBC/executeSQL";
+    
+    public static final String MERGE_RESULT_OPERATION = "/Sharding-JDBC/mergeResult";
+    
+    public static final String COMPONENT = "component";
+    
+    public static final String COMPONENT_NAME = "Sharding-JDBC";
+    
+    public static final String DB_INSTANCE = "db.instance";
+    
+    public static final String DB_STATEMENT = "db.statement";
+    
+    public static final String SQL_TYPE = "sql.type";
+    
+    public static final String ROW_COUNT = "row.count";
+    
+    public static final String MERGE_STRATEGY = "merge.strategy";
+}
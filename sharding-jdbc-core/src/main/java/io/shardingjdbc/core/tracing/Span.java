@@ -0,0 +1,58 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+/**
+ * Tracing span.
+ * 
+ * <p>Tags and errors may be set from the thread executing SQL, not only the thread starting span.</p>
+ * 
+ * @author zhangliang
+ */
+public interface Span {
+    
+    /**
+     * Set string tag.
+     * 
+     * @param key key of tag
+     * @param value value of tag
+     */
+    void setTag(String key, String value);
+    
+    /**
+     * Set number tag.
+     * 
+     * @param key key of tag
+     * @param value value of tag
+     */
+    void setTag(String key, Number value);
+    
+    /**
+     * Mark span as failed.
+     * 
+     * @param cause cause of failure
+     */
+    void setError(Throwable cause);
+    
+    /**
+     * Finish span.
+     * 
+     * <p>Only the first invocation takes effect.</p>
+     */
+    void finish();
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+/**
+ * Tracer SPI.
+ * 
+ * <p>Span of logic SQL is started in the calling thread without parent span, implementations bridging to other tracing systems should use the active span of calling thread as its parent.
+ * Spans of SQL execution units are started in executor threads with span of logic SQL as parent.</p>
+ * 
+ * @author zhangliang
+ */
+public interface Tracer {
+    
+    /**
+     * Start span.
+     * 
+     * @param operationName operation name
+     * @param parentSpan parent span, null if it is span of logic SQL
+     * @return started span
+     */
+    Span startSpan(String operationName, Span parentSpan);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tracer factory.
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TracerFactory {
+    
+    /**
+     * Create tracer.
+     * 
+     * @param tracerClassName class name of tracer, empty for no-op tracer
+     * @return tracer instance
+     */
+    public static Tracer newInstance(final String tracerClassName) {
+        if (tracerClassName.isEmpty()) {
+            return new NoopTracer();
+        }
+        try {
+            return (Tracer) Class.forName(tracerClassName).newInstance();
+        } catch (final ReflectiveOperationException ex) {
+            throw new IllegalArgumentException(String.format("Class %s should have public privilege and no argument constructor", tracerClassName));
+        }
+    }
+}
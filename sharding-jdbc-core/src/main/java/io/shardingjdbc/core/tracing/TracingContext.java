@@ -0,0 +1,162 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureFallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tracing context of logic SQL.
+ * 
+ * <p>Context is bound to calling thread while logic SQL is executing, and propagated to executor threads executing SQL execution units.</p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+public final class TracingContext {
+    
+    private static final ThreadLocal<TracingContext> CONTEXT = new ThreadLocal<>();
+    
+    private final Tracer tracer;
+    
+    private final Span span;
+    
+    /**
+     * Start span of logic SQL and bind it to current thread.
+     * 
+     * <p>Nothing is bound if tracer is no-op.</p>
+     * 
+     * @param tracer tracer
+     * @param logicSQL logic SQL
+     */
+    public static void start(final Tracer tracer, final String logicSQL) {
+        if (tracer instanceof NoopTracer) {
+            CONTEXT.remove();
+            return;
+        }
+        Span span = tracer.startSpan(ShardingTags.LOGIC_SQL_OPERATION, null);
+        span.setTag(ShardingTags.COMPONENT, ShardingTags.COMPONENT_NAME);
+        span.setTag(ShardingTags.DB_STATEMENT, logicSQL);
+        CONTEXT.set(new TracingContext(tracer, span));
+    }
+    
+    /**
+     * Get tracing context of current thread.
+     * 
+     * @return tracing context, null if not bound
+     */
+    public static TracingContext get() {
+        return CONTEXT.get();
+    }
+    
+    /**
+     * Bind tracing context to current thread.
+     * 
+     * @param tracingContext tracing context, null to unbind
+     */
+    public static void set(final TracingContext tracingContext) {
+        if (null == tracingContext) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(tracingContext);
+        }
+    }
+    
+    /**
+     * Mark span of logic SQL bound to current thread as failed.
+     * 
+     * @param cause cause of failure
+     */
+    public static void setError(final Throwable cause) {
+        TracingContext tracingContext = CONTEXT.get();
+        if (null != tracingContext) {
+            tracingContext.span.setError(cause);
+        }
+    }
+    
+    /**
+     * Finish span of logic SQL bound to current thread and unbind it.
+     */
+    public static void finish() {
+        TracingContext tracingContext = CONTEXT.get();
+        if (null != tracingContext) {
+            CONTEXT.remove();
+            tracingContext.span.finish();
+        }
+    }
+    
+    /**
+     * Unbind span of logic SQL from current thread without finishing it.
+     * 
+     * <p>Caller takes over the span and is responsible to finish it.</p>
+     * 
+     * @return unbound tracing context, null if not bound
+     */
+    public static TracingContext unbind() {
+        TracingContext result = CONTEXT.get();
+        CONTEXT.remove();
+        return result;
+    }
+    
+    /**
+     * Unbind span of logic SQL from current thread and finish it when future is done.
+     * 
+     * @param future future of asynchronous execution
+     * @param <V> type of future value
+     * @return future which is done after span finished
+     */
+    public static <V> ListenableFuture<V> finishOnCompletion(final ListenableFuture<V> future) {
+        final TracingContext tracingContext = CONTEXT.get();
+        if (null == tracingContext) {
+            return future;
+        }
+        CONTEXT.remove();
+        ListenableFuture<V> result = Futures.transform(future, new Function<V, V>() {
+            
+            @Override
+            public V apply(final V input) {
+                tracingContext.span.finish();
+                return input;
+            }
+        });
+        return Futures.withFallback(result, new FutureFallback<V>() {
+            
+            @Override
+            public ListenableFuture<V> create(final Throwable throwable) {
+                tracingContext.span.setError(throwable);
+                tracingContext.span.finish();
+                return Futures.immediateFailedFuture(throwable);
+            }
+        });
+    }
+    
+    /**
+     * Start child span of logic SQL span.
+     * 
+     * @param operationName operation name
+     * @return started span
+     */
+    public Span startChildSpan(final String operationName) {
+        return tracer.startSpan(operationName, span);
+    }
+}
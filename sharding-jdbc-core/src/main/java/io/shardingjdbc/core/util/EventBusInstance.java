@@ -17,7 +17,6 @@
 
 package io.shardingjdbc.core.util;
 
-import com.google.common.eventbus.EventBus;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -29,14 +28,31 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class EventBusInstance {
     
-    private static final EventBus INSTANCE = new EventBus();
+    private static final int ASYNC_BUFFER_SIZE = 8192;
+    
+    private static final ShardingEventBus INSTANCE = new ShardingEventBus("default");
+    
+    private static final ShardingEventBus ASYNC_INSTANCE = new RingBufferEventBus("async", ASYNC_BUFFER_SIZE);
     
     /**
      * Get event bus instance.
      * 
+     * <p>Subscribers are called in posting thread, for listeners which depend on the posting thread, such as soft transaction.</p>
+     * 
      * @return event bus instance
      */
-    public static EventBus getInstance() {
+    public static ShardingEventBus getInstance() {
         return INSTANCE;
     }
+    
+    /**
+     * Get asynchronous event bus instance.
+     * 
+     * <p>Subscribers are called in a background thread, for listeners which should not block SQL execution.</p>
+     * 
+     * @return asynchronous event bus instance
+     */
+    public static ShardingEventBus getAsyncInstance() {
+        return ASYNC_INSTANCE;
+    }
 }
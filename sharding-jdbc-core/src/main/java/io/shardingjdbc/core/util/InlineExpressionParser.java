@@ -18,8 +18,11 @@
 package io.shardingjdbc.core.util;
 
 import com.google.common.base.Function;
+import com.google.common.base.Optional;
+import com.google.common.base.Splitter;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Ints;
 import groovy.lang.GString;
 import groovy.lang.GroovyShell;
 import lombok.RequiredArgsConstructor;
@@ -27,8 +30,10 @@ import lombok.RequiredArgsConstructor;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Inline expression parser.
@@ -40,6 +45,8 @@ import java.util.Set;
 public final class InlineExpressionParser {
     
     private static final char SPLITTER = ',';
+    
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?[1-9][0-9]*");
 
     /**
      * exp: ds_${0..1}.t_order_${0..1}
@@ -55,30 +62,172 @@ public final class InlineExpressionParser {
         if (null == inlineExpression) {
             return Collections.emptyList();
         }
-        return flatten(evaluate(split()));
+        List<String> result = new ArrayList<>();
+        GroovyShell shell = null;
+        for (String each : split()) {
+            if (expand(each, result)) {
+                continue;
+            }
+            if (null == shell) {
+                shell = new GroovyShell();
+            }
+            result.addAll(flatten(evaluate(shell, each)));
+        }
+        return result;
+    }
+    
+    /**
+     * 原生展开表达式, 仅支持${a..b}, ${[x, y]}和字面量拼接, 其他表达式交由groovy解析
+     * 
+     * @param segment 表达式
+     * @param result 展开结果
+     * @return 是否能够原生展开
+     */
+    private boolean expand(final String segment, final List<String> result) {
+        List<String> literals = new ArrayList<>();
+        List<List<String>> values = new ArrayList<>();
+        int beginIndex = 0;
+        while (true) {
+            int valueBeginIndex = segment.indexOf("${", beginIndex);
+            String literal = segment.substring(beginIndex, -1 == valueBeginIndex ? segment.length() : valueBeginIndex);
+            if (!isPlainLiteral(literal)) {
+                return false;
+            }
+            literals.add(literal);
+            if (-1 == valueBeginIndex) {
+                break;
+            }
+            int valueEndIndex = segment.indexOf('}', valueBeginIndex);
+            if (-1 == valueEndIndex) {
+                return false;
+            }
+            Optional<List<String>> value = parseValues(segment.substring(valueBeginIndex + 2, valueEndIndex).trim());
+            if (!value.isPresent()) {
+                return false;
+            }
+            values.add(value.get());
+            beginIndex = valueEndIndex + 1;
+        }
+        assemblyCartesianSegments(literals, values, result);
+        return true;
+    }
+    
+    private boolean isPlainLiteral(final String literal) {
+        return -1 == literal.indexOf('$') && -1 == literal.indexOf('\\') && -1 == literal.indexOf('"') && -1 == literal.indexOf('{') && -1 == literal.indexOf('}');
+    }
+    
+    private Optional<List<String>> parseValues(final String expression) {
+        if (expression.startsWith("[") && expression.endsWith("]")) {
+            return parseList(expression.substring(1, expression.length() - 1).trim());
+        }
+        int rangeIndex = expression.indexOf("..");
+        if (-1 != rangeIndex) {
+            return parseRange(expression.substring(0, rangeIndex).trim(), expression.substring(rangeIndex + 2).trim());
+        }
+        Optional<String> value = parseLiteral(expression);
+        return value.isPresent() ? Optional.of(Collections.singletonList(value.get())) : Optional.<List<String>>absent();
+    }
+    
+    private Optional<List<String>> parseList(final String expression) {
+        if (expression.isEmpty()) {
+            return Optional.of(Collections.<String>emptyList());
+        }
+        Set<String> result = new LinkedHashSet<>();
+        for (String each : Splitter.on(SPLITTER).trimResults().split(expression)) {
+            Optional<String> value = parseLiteral(each);
+            if (!value.isPresent()) {
+                return Optional.absent();
+            }
+            result.add(value.get());
+        }
+        return Optional.<List<String>>of(new ArrayList<>(result));
+    }
+    
+    // 仅支持整数范围, 开区间的倒序范围交由groovy解析
+    private Optional<List<String>> parseRange(final String from, final String to) {
+        boolean isExclusive = to.startsWith("<");
+        String toValue = isExclusive ? to.substring(1).trim() : to;
+        if (!isInteger(from) || !isInteger(toValue)) {
+            return Optional.absent();
+        }
+        Integer fromNumber = Ints.tryParse(from);
+        Integer toNumber = Ints.tryParse(toValue);
+        if (null == fromNumber || null == toNumber || isExclusive && fromNumber >= toNumber) {
+            return Optional.absent();
+        }
+        int step = fromNumber <= toNumber ? 1 : -1;
+        int end = isExclusive ? toNumber - 1 : toNumber;
+        List<String> result = new ArrayList<>(Math.abs(end - fromNumber) + 1);
+        for (int i = fromNumber; i != end; i += step) {
+            result.add(String.valueOf(i));
+        }
+        result.add(String.valueOf(end));
+        return Optional.of(result);
+    }
+    
+    private Optional<String> parseLiteral(final String expression) {
+        if (isInteger(expression)) {
+            return Optional.of(expression);
+        }
+        if (expression.length() < 2) {
+            return Optional.absent();
+        }
+        String value = expression.substring(1, expression.length() - 1);
+        if (expression.startsWith("'") && expression.endsWith("'") && -1 == value.indexOf('\'') && -1 == value.indexOf('\\')) {
+            return Optional.of(value);
+        }
+        if (expression.startsWith("\"") && expression.endsWith("\"") && isPlainLiteral(value)) {
+            return Optional.of(value);
+        }
+        return Optional.absent();
+    }
+    
+    private boolean isInteger(final String expression) {
+        return "0".equals(expression) || INTEGER_PATTERN.matcher(expression).matches();
+    }
+    
+    private void assemblyCartesianSegments(final List<String> literals, final List<List<String>> values, final List<String> result) {
+        for (List<String> each : values) {
+            if (each.isEmpty()) {
+                return;
+            }
+        }
+        int[] indexes = new int[values.size()];
+        StringBuilder segment = new StringBuilder();
+        while (true) {
+            segment.setLength(0);
+            for (int i = 0; i < indexes.length; i++) {
+                segment.append(literals.get(i)).append(values.get(i).get(indexes[i]));
+            }
+            result.add(segment.append(literals.get(indexes.length)).toString());
+            int i = indexes.length - 1;
+            while (i >= 0 && ++indexes[i] == values.get(i).size()) {
+                indexes[i] = 0;
+                i--;
+            }
+            if (i < 0) {
+                return;
+            }
+        }
     }
 
     /**
-     * 解析表达式
+     * 使用groovy解析表达式
      * ds_${0..1}.t_order_${0..1}解析为
      * [ds_0.t_order_0, ds_0.t_order_1, ds_1.t_order_0, ds_1.t_order_1]
-     * @param inlineExpressions
+     * @param shell groovy shell
+     * @param inlineExpression inline expression
      * @return
      */
-    private List<Object> evaluate(final List<String> inlineExpressions) {
-        List<Object> result = new ArrayList<>(inlineExpressions.size());
-        GroovyShell shell = new GroovyShell();
-        for (String each : inlineExpressions) {
-            StringBuilder expression = new StringBuilder(each);
-            if (!each.startsWith("\"")) {
-                expression.insert(0, "\"");
-            }
-            if (!each.endsWith("\"")) {
-                expression.append("\"");
-            }
-            result.add(shell.evaluate(expression.toString()));
+    private Object evaluate(final GroovyShell shell, final String inlineExpression) {
+        StringBuilder expression = new StringBuilder(inlineExpression);
+        if (!inlineExpression.startsWith("\"")) {
+            expression.insert(0, "\"");
         }
-        return result;
+        if (!inlineExpression.endsWith("\"")) {
+            expression.append("\"");
+        }
+        return shell.evaluate(expression.toString());
     }
 
     /**
@@ -124,16 +273,8 @@ public final class InlineExpressionParser {
         return result;
     }
 
-    private List<String> flatten(final List<Object> segments) {
-        List<String> result = new ArrayList<>();
-        for (Object each : segments) {
-            if (each instanceof GString) {
-                result.addAll(assemblyCartesianSegments((GString) each));
-            } else {
-                result.add(each.toString());
-            }
-        }
-        return result;
+    private List<String> flatten(final Object segment) {
+        return segment instanceof GString ? assemblyCartesianSegments((GString) segment) : Collections.singletonList(segment.toString());
     }
     
     private List<String> assemblyCartesianSegments(final GString segment) {
@@ -0,0 +1,194 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.util;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Event bus which dispatches events asynchronously in a background thread.
+ * 
+ * <p>Posted events are put into a preallocated lock-free ring buffer and drained by a daemon thread.
+ * The daemon thread is started when the first subscriber registered, parks until events posted, and stops when bus closed.
+ * Events posted when the ring buffer is full or after bus closed are dropped and counted, posting thread is never blocked by subscribers.
+ * Events should not be modified after posted.</p>
+ * 
+ * @author zhangliang
+ */
+@Slf4j
+public final class RingBufferEventBus extends ShardingEventBus implements AutoCloseable {
+    
+    private final int mask;
+    
+    private final AtomicReferenceArray<Object> events;
+    
+    private final AtomicLongArray sequences;
+    
+    private final AtomicLong producerSequence = new AtomicLong();
+    
+    private final AtomicLong droppedEventsCount = new AtomicLong();
+    
+    private final Thread drainThread;
+    
+    private boolean drainThreadStarted;
+    
+    private volatile boolean drainWaiting;
+    
+    private volatile boolean closed;
+    
+    private long consumerSequence;
+    
+    public RingBufferEventBus(final String identifier, final int bufferSize) {
+        super(identifier);
+        Preconditions.checkArgument(bufferSize > 0 && 0 == (bufferSize & bufferSize - 1), "Buffer size of ring buffer must be power of 2.");
+        mask = bufferSize - 1;
+        events = new AtomicReferenceArray<>(bufferSize);
+        sequences = new AtomicLongArray(bufferSize);
+        for (int i = 0; i < bufferSize; i++) {
+            sequences.set(i, i);
+        }
+        drainThread = new Thread(new Runnable() {
+            
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "ShardingJDBC-EventBus-" + identifier);
+        drainThread.setDaemon(true);
+    }
+    
+    // 无订阅者时事件不会进入缓冲区, 首个订阅者注册前启动分发线程即可
+    @Override
+    public synchronized void register(final Object object) {
+        if (!drainThreadStarted && !closed) {
+            drainThread.start();
+            drainThreadStarted = true;
+        }
+        super.register(object);
+    }
+    
+    @Override
+    public void post(final Object event) {
+        if (!hasSubscriber(event.getClass())) {
+            return;
+        }
+        // 缓冲区已满时丢弃事件并计数, 不在发布线程中执行订阅者, 避免慢订阅者阻塞请求线程
+        if (closed || !offer(event)) {
+            droppedEventsCount.incrementAndGet();
+            return;
+        }
+        if (drainWaiting) {
+            LockSupport.unpark(drainThread);
+        }
+    }
+    
+    // 多生产者单消费者: 每个槽位的序号等于可写入的生产序号时可写, 等于生产序号加1时可读;
+    // 可读序号需以volatile写发布, 与之后读取等待标记不可重排, 才能与分发线程先写等待标记再检查缓冲区配合, 保证不丢失唤醒
+    private boolean offer(final Object event) {
+        long sequence = producerSequence.get();
+        while (true) {
+            int index = (int) sequence & mask;
+            long diff = sequences.get(index) - sequence;
+            if (0 == diff) {
+                if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+                    events.lazySet(index, event);
+                    sequences.set(index, sequence + 1);
+                    return true;
+                }
+                sequence = producerSequence.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                sequence = producerSequence.get();
+            }
+        }
+    }
+    
+    private Object poll() {
+        int index = (int) consumerSequence & mask;
+        if (sequences.get(index) != consumerSequence + 1) {
+            return null;
+        }
+        Object result = events.get(index);
+        events.lazySet(index, null);
+        sequences.lazySet(index, consumerSequence + mask + 1);
+        consumerSequence++;
+        return result;
+    }
+    
+    private void drain() {
+        while (true) {
+            Object event = poll();
+            if (null == event) {
+                // 关闭后分发完缓冲区中已发布的事件再退出
+                if (closed) {
+                    return;
+                }
+                drainWaiting = true;
+                // 设置等待标记后再次检查, 避免错过等待前发布的事件; 发布线程在检查之后发布时会看到等待标记并唤醒
+                event = poll();
+                if (null == event) {
+                    LockSupport.park(this);
+                    drainWaiting = false;
+                    continue;
+                }
+                drainWaiting = false;
+            }
+            try {
+                super.post(event);
+                //CHECKSTYLE:OFF
+            } catch (final Throwable ex) {
+                //CHECKSTYLE:ON
+                log.error("Dispatch event error: ", ex);
+            }
+        }
+    }
+    
+    /**
+     * Get count of events dropped because ring buffer is full or bus is closed.
+     * 
+     * @return count of dropped events
+     */
+    public long getDroppedEventsCount() {
+        return droppedEventsCount.get();
+    }
+    
+    /**
+     * Stop drain thread after dispatching posted events, and wait for it to terminate.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (!drainThreadStarted) {
+                return;
+            }
+        }
+        LockSupport.unpark(drainThread);
+        try {
+            drainThread.join();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
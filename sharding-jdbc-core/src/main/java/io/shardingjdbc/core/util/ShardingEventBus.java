@@ -0,0 +1,107 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.util;
+
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.reflect.TypeToken;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Event bus which knows whether an event type has subscribers.
+ * 
+ * <p>Event producers can use {@link #hasSubscriber(Class)} to skip creating events nobody listens to.</p>
+ * 
+ * @author zhangliang
+ */
+public class ShardingEventBus extends EventBus {
+    
+    private final Multiset<Class<?>> subscribedEventTypes = ConcurrentHashMultiset.create();
+    
+    private volatile Map<Class<?>, Boolean> subscribedCache = Collections.emptyMap();
+    
+    public ShardingEventBus(final String identifier) {
+        super(identifier);
+    }
+    
+    @Override
+    public synchronized void register(final Object object) {
+        super.register(object);
+        for (Class<?> each : getSubscribedEventTypes(object)) {
+            subscribedEventTypes.add(each);
+        }
+        subscribedCache = Collections.emptyMap();
+    }
+    
+    @Override
+    public synchronized void unregister(final Object object) {
+        super.unregister(object);
+        for (Class<?> each : getSubscribedEventTypes(object)) {
+            subscribedEventTypes.remove(each);
+        }
+        subscribedCache = Collections.emptyMap();
+    }
+    
+    // 与Guava注册订阅者的方式一致, 查找类及其父类和接口中标注了Subscribe的方法
+    private Collection<Class<?>> getSubscribedEventTypes(final Object object) {
+        Collection<Class<?>> result = new LinkedList<>();
+        for (Class<?> each : TypeToken.of(object.getClass()).getTypes().rawTypes()) {
+            for (Method method : each.getMethods()) {
+                if (method.isAnnotationPresent(Subscribe.class) && !method.isBridge() && 1 == method.getParameterTypes().length && method.getDeclaringClass() == each) {
+                    result.add(method.getParameterTypes()[0]);
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Judge whether event type has subscribers.
+     * 
+     * <p>Subscribers of super types of event type are also counted.</p>
+     * 
+     * @param eventType event type
+     * @return event type has subscribers or not
+     */
+    public boolean hasSubscriber(final Class<?> eventType) {
+        Boolean result = subscribedCache.get(eventType);
+        return null == result ? cacheSubscribed(eventType) : result;
+    }
+    
+    private synchronized boolean cacheSubscribed(final Class<?> eventType) {
+        boolean result = false;
+        for (Class<?> each : subscribedEventTypes.elementSet()) {
+            if (each.isAssignableFrom(eventType)) {
+                result = true;
+                break;
+            }
+        }
+        Map<Class<?>, Boolean> cache = new HashMap<>(subscribedCache);
+        cache.put(eventType, result);
+        subscribedCache = cache;
+        return result;
+    }
+}
@@ -80,4 +80,34 @@ public final class StringUtil {
     public static List<String> splitWithComma(final String value) {
         return Splitter.on(",").trimResults().splitToList(value);
     }
+    
+    /**
+     * Get case insensitive key of string value.
+     * 
+     * <p>Values which equal ignore case have the same key, and value itself is returned if it is already a key.</p>
+     * 
+     * @param value string value
+     * @return case insensitive key
+     */
+    public static String toCaseInsensitiveKey(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != foldCase(value.charAt(i))) {
+                return foldCase(value, i);
+            }
+        }
+        return value;
+    }
+    
+    private static String foldCase(final String value, final int beginIndex) {
+        char[] result = value.toCharArray();
+        for (int i = beginIndex; i < result.length; i++) {
+            result[i] = foldCase(result[i]);
+        }
+        return new String(result);
+    }
+    
+    // 与String.equalsIgnoreCase的逐字符比较规则一致
+    private static char foldCase(final char value) {
+        return Character.toLowerCase(Character.toUpperCase(value));
+    }
 }
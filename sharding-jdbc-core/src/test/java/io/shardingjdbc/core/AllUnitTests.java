@@ -24,10 +24,13 @@ import io.shardingjdbc.core.hint.AllHintTests;
 import io.shardingjdbc.core.jdbc.AllJDBCTests;
 import io.shardingjdbc.core.keygen.AllKeygenTests;
 import io.shardingjdbc.core.merger.AllMergerTests;
+import io.shardingjdbc.core.metrics.AllMetricsTests;
 import io.shardingjdbc.core.parsing.AllParsingTests;
 import io.shardingjdbc.core.rewrite.AllRewriteTests;
 import io.shardingjdbc.core.routing.AllRoutingTests;
 import io.shardingjdbc.core.rule.AllRuleTests;
+import io.shardingjdbc.core.slowquery.AllSlowQueryTests;
+import io.shardingjdbc.core.tracing.AllTracingTests;
 import io.shardingjdbc.core.util.AllUtilTests;
 import io.shardingjdbc.core.yaml.AllYamlTests;
 import org.junit.runner.RunWith;
@@ -47,6 +50,9 @@ import org.junit.runners.Suite.SuiteClasses;
         AllJDBCTests.class, 
         AllHintTests.class, 
         AllKeygenTests.class, 
+        AllMetricsTests.class, 
+        AllTracingTests.class, 
+        AllSlowQueryTests.class, 
         AllUtilTests.class,
         AllYamlTests.class
     })
@@ -0,0 +1,49 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.api.algorithm.fixture;
+
+import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
+import io.shardingjdbc.core.api.algorithm.sharding.PreciseShardingValue;
+import io.shardingjdbc.core.api.algorithm.sharding.standard.BatchPreciseShardingAlgorithm;
+import io.shardingjdbc.core.api.algorithm.sharding.standard.DeterministicShardingAlgorithm;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public final class TestBatchPreciseShardingAlgorithm implements BatchPreciseShardingAlgorithm<Integer>, DeterministicShardingAlgorithm {
+    
+    private int shardingValueCount;
+    
+    @Override
+    public String doSharding(final Collection<String> availableTargetNames, final PreciseShardingValue<Integer> shardingValue) {
+        throw new UnsupportedOperationException();
+    }
+    
+    @Override
+    public Map<Integer, String> doSharding(final Collection<String> availableTargetNames, final ListShardingValue<Integer> shardingValue) {
+        Map<Integer, String> result = new LinkedHashMap<>(shardingValue.getValues().size(), 1);
+        for (Integer each : shardingValue.getValues()) {
+            shardingValueCount++;
+            result.put(each, "ds_" + each % 2);
+        }
+        return result;
+    }
+}
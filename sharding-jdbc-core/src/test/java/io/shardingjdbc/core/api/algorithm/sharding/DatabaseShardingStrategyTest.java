@@ -17,12 +17,15 @@
 
 package io.shardingjdbc.core.api.algorithm.sharding;
 
+import io.shardingjdbc.core.api.algorithm.fixture.TestBatchPreciseShardingAlgorithm;
 import io.shardingjdbc.core.routing.strategy.standard.StandardShardingStrategy;
 import com.google.common.collect.Sets;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
@@ -33,4 +36,29 @@ public final class DatabaseShardingStrategyTest {
     public void assertDatabaseShardingStrategyWithSingleShardingColumn() {
         assertThat(new StandardShardingStrategy("shardingColumn", null).getShardingColumns(), is((Collection<String>) Sets.newTreeSet(Collections.singleton("shardingColumn"))));
     }
+    
+    @Test
+    public void assertDoShardingWithBatchAndDeterministicAlgorithm() {
+        TestBatchPreciseShardingAlgorithm shardingAlgorithm = new TestBatchPreciseShardingAlgorithm();
+        StandardShardingStrategy shardingStrategy = new StandardShardingStrategy("id", shardingAlgorithm);
+        Collection<String> availableTargetNames = Arrays.asList("ds_0", "ds_1");
+        Collection<ShardingValue> shardingValues = Collections.<ShardingValue>singletonList(new ListShardingValue<>("t_order", "id", Arrays.asList(1, 3, 5)));
+        assertThat(shardingStrategy.doSharding(availableTargetNames, shardingValues), is((Collection<String>) Sets.newTreeSet(Collections.singleton("ds_1"))));
+        assertThat(shardingAlgorithm.getShardingValueCount(), is(3));
+        shardingValues = Collections.<ShardingValue>singletonList(new ListShardingValue<>("t_order", "id", Arrays.asList(1, 2, 3)));
+        assertThat(shardingStrategy.doSharding(availableTargetNames, shardingValues), is((Collection<String>) Sets.newTreeSet(Arrays.asList("ds_0", "ds_1"))));
+        assertThat(shardingAlgorithm.getShardingValueCount(), is(4));
+    }
+    
+    @Test
+    public void assertDoPreciseShardingWithBatchAlgorithm() {
+        TestBatchPreciseShardingAlgorithm shardingAlgorithm = new TestBatchPreciseShardingAlgorithm();
+        StandardShardingStrategy shardingStrategy = new StandardShardingStrategy("id", shardingAlgorithm);
+        Map<Comparable<?>, String> actual = shardingStrategy.doPreciseSharding(Arrays.asList("ds_0", "ds_1"), new ListShardingValue<>("t_order", "id", Arrays.asList(1, 2, 3)));
+        assertThat(actual.size(), is(3));
+        assertThat(actual.get(1), is("ds_1"));
+        assertThat(actual.get(2), is("ds_0"));
+        assertThat(actual.get(3), is("ds_1"));
+        assertThat(shardingAlgorithm.getShardingValueCount(), is(3));
+    }
 }
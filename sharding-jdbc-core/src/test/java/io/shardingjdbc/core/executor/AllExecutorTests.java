@@ -26,6 +26,7 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+        ExecutorEngineTest.class, 
         ExecutorExceptionHandlerTest.class, 
         StatementExecutorTest.class, 
         PreparedStatementExecutorTest.class,
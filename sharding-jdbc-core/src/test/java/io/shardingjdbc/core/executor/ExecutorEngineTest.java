@@ -0,0 +1,265 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.executor;
+
+import io.shardingjdbc.core.constant.SQLType;
+import io.shardingjdbc.core.exception.ShardingJdbcException;
+import io.shardingjdbc.core.executor.event.DQLExecutionEvent;
+import io.shardingjdbc.core.executor.event.EventExecutionType;
+import io.shardingjdbc.core.executor.threadlocal.ExecutorExceptionHandler;
+import io.shardingjdbc.core.executor.type.statement.StatementUnit;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import io.shardingjdbc.core.tracing.RecordedSpan;
+import io.shardingjdbc.core.tracing.RecordingTracer;
+import io.shardingjdbc.core.tracing.TracingContext;
+import io.shardingjdbc.core.util.EventBusInstance;
+import com.google.common.eventbus.Subscribe;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class ExecutorEngineTest {
+    
+    private ExecutorEngine executorEngine;
+    
+    @Before
+    public void setUp() {
+        ExecutorExceptionHandler.setExceptionThrown(true);
+    }
+    
+    @After
+    public void tearDown() {
+        if (null != executorEngine) {
+            executorEngine.close();
+        }
+        TracingContext.set(null);
+    }
+    
+    @Test
+    public void assertExecuteWithAllExecutorTypes() throws SQLException {
+        for (ExecutorType each : ExecutorType.values()) {
+            try (ExecutorEngine actual = new ExecutorEngine(each, 2, 16)) {
+                assertThat(actual.getExecutorType(), is(each));
+                assertThat(actual.executeStatement(SQLType.DQL, createStatementUnits(4), new ExecuteCallback<String>() {
+                    
+                    @Override
+                    public String execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                        return baseStatementUnit.getSqlExecutionUnit().getSql();
+                    }
+                }), is(Arrays.asList("SELECT 0", "SELECT 1", "SELECT 2", "SELECT 3")));
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteWithAsyncEventListener() throws SQLException, InterruptedException {
+        AsyncDQLExecutionEventListener listener = new AsyncDQLExecutionEventListener(8);
+        EventBusInstance.getAsyncInstance().register(listener);
+        try (ExecutorEngine actual = new ExecutorEngine(2)) {
+            actual.executeStatement(SQLType.DQL, createStatementUnits(4), new ExecuteCallback<String>() {
+                
+                @Override
+                public String execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                    return baseStatementUnit.getSqlExecutionUnit().getSql();
+                }
+            });
+            assertTrue(listener.latch.await(5L, TimeUnit.SECONDS));
+        } finally {
+            EventBusInstance.getAsyncInstance().unregister(listener);
+        }
+        assertThat(listener.eventExecutionTypes.size(), is(4));
+        for (List<EventExecutionType> each : listener.eventExecutionTypes.values()) {
+            assertThat(each, is(Arrays.asList(EventExecutionType.BEFORE_EXECUTE, EventExecutionType.EXECUTE_SUCCESS)));
+        }
+    }
+    
+    @Test
+    public void assertExecuteWithoutTracingContextLeftOnExecutorThread() throws SQLException {
+        executorEngine = new ExecutorEngine(ExecutorType.FIXED, 1, 0);
+        TracingContext.start(new RecordingTracer(), "SELECT 1");
+        executorEngine.executeStatement(SQLType.DQL, createStatementUnits(2), createBlockingCallback(new CountDownLatch(0)));
+        TracingContext.finish();
+        final Collection<Boolean> isTracingContextBound = new CopyOnWriteArrayList<>();
+        final Thread callerThread = Thread.currentThread();
+        executorEngine.executeStatement(SQLType.DQL, createStatementUnits(2), new ExecuteCallback<String>() {
+            
+            @Override
+            public String execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                if (callerThread != Thread.currentThread()) {
+                    isTracingContextBound.add(null != TracingContext.get());
+                }
+                return baseStatementUnit.getSqlExecutionUnit().getSql();
+            }
+        });
+        assertThat(isTracingContextBound, is((Collection<Boolean>) Collections.singletonList(false)));
+        assertNull(TracingContext.get());
+    }
+    
+    @Test
+    public void assertExecuteWithRuntimeExceptionFinishesSpan() throws SQLException {
+        executorEngine = new ExecutorEngine(ExecutorType.FIXED, 1, 0);
+        RecordingTracer tracer = new RecordingTracer();
+        TracingContext.start(tracer, "SELECT 1");
+        final IllegalStateException cause = new IllegalStateException("test");
+        try {
+            executorEngine.executeStatement(SQLType.DQL, createStatementUnits(1), new ExecuteCallback<String>() {
+                
+                @Override
+                public String execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                    throw cause;
+                }
+            });
+            fail("Expected runtime exception.");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(tracer.getFinishedSpans().size(), is(1));
+            RecordedSpan actual = tracer.getFinishedSpans().get(0);
+            assertThat(actual.getError(), is((Throwable) cause));
+        }
+    }
+    
+    @Test
+    public void assertExecuteWithBoundedFailFastWhenQueueIsFull() throws SQLException {
+        executorEngine = new ExecutorEngine(ExecutorType.BOUNDED_FAIL_FAST, 1, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            executorEngine.executeStatement(SQLType.DQL, createStatementUnits(4), createBlockingCallback(latch));
+            fail("Expected rejected execution.");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(executorEngine.getRejectedTaskCount(), is(1L));
+        } finally {
+            latch.countDown();
+        }
+    }
+    
+    @Test
+    public void assertExecuteWithBoundedFailFastWhenQueueIsFullWithoutRunningQueuedTasks() throws SQLException {
+        executorEngine = new ExecutorEngine(ExecutorType.BOUNDED_FAIL_FAST, 1, 1);
+        final Collection<String> executedSQLs = new CopyOnWriteArrayList<>();
+        final ExecuteCallback<String> blockingCallback = createBlockingCallback(new CountDownLatch(1));
+        try {
+            executorEngine.executeStatement(SQLType.DML, createStatementUnits(4), new ExecuteCallback<String>() {
+                
+                @Override
+                public String execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                    String result = blockingCallback.execute(baseStatementUnit);
+                    executedSQLs.add(result);
+                    return result;
+                }
+            });
+            fail("Expected rejected execution.");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(executorEngine.getRejectedTaskCount(), is(1L));
+        }
+        assertThat(executorEngine.getQueuedTaskCount(), is(0L));
+        assertTrue(executedSQLs.isEmpty() || executedSQLs.equals(Collections.singletonList("SELECT 1")));
+    }
+    
+    @Test
+    public void assertExecuteWithBoundedCallerRunsWhenQueueIsFull() throws SQLException {
+        executorEngine = new ExecutorEngine(ExecutorType.BOUNDED_CALLER_RUNS, 1, 1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            assertThat(executorEngine.executeStatement(SQLType.DQL, createStatementUnits(4), createBlockingCallback(latch)).size(), is(4));
+            assertThat(executorEngine.getRejectedTaskCount(), is(1L));
+        } finally {
+            latch.countDown();
+        }
+    }
+    
+    @Test
+    public void assertResize() {
+        executorEngine = new ExecutorEngine(ExecutorType.FIXED, 2, 0);
+        assertTrue(executorEngine.resize(4));
+        assertTrue(executorEngine.resize(1));
+    }
+    
+    @Test
+    public void assertResizeWithWorkStealing() {
+        executorEngine = new ExecutorEngine(ExecutorType.WORK_STEALING, 2, 0);
+        assertFalse(executorEngine.resize(4));
+    }
+    
+    private ExecuteCallback<String> createBlockingCallback(final CountDownLatch latch) {
+        final Thread callerThread = Thread.currentThread();
+        return new ExecuteCallback<String>() {
+            
+            @Override
+            public String execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                if (callerThread != Thread.currentThread()) {
+                    latch.await(100L, TimeUnit.MILLISECONDS);
+                }
+                return baseStatementUnit.getSqlExecutionUnit().getSql();
+            }
+        };
+    }
+    
+    private Collection<StatementUnit> createStatementUnits(final int size) throws SQLException {
+        List<StatementUnit> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Statement statement = mock(Statement.class);
+            when(statement.getConnection()).thenReturn(mock(Connection.class));
+            result.add(new StatementUnit(new SQLExecutionUnit("ds_" + i, "SELECT " + i), statement));
+        }
+        return result;
+    }
+    
+    public static final class AsyncDQLExecutionEventListener {
+        
+        private final Map<String, List<EventExecutionType>> eventExecutionTypes = new ConcurrentHashMap<>();
+        
+        private final CountDownLatch latch;
+        
+        AsyncDQLExecutionEventListener(final int count) {
+            latch = new CountDownLatch(count);
+        }
+        
+        @Subscribe
+        public void listen(final DQLExecutionEvent event) {
+            List<EventExecutionType> types = eventExecutionTypes.get(event.getId());
+            if (null == types) {
+                types = new CopyOnWriteArrayList<>();
+                eventExecutionTypes.put(event.getId(), types);
+            }
+            types.add(event.getEventExecutionType());
+            latch.countDown();
+        }
+    }
+}
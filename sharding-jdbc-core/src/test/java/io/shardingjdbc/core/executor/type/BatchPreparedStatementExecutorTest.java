@@ -33,6 +33,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
@@ -99,6 +101,26 @@ public final class BatchPreparedStatementExecutorTest extends AbstractBaseExecut
         verify(getEventCaller(), times(0)).verifyException(null);
     }
     
+    @Test
+    public void assertExecuteBatchAsyncForMultiplePreparedStatementsSuccess() throws SQLException, InterruptedException, ExecutionException {
+        PreparedStatement preparedStatement1 = mock(PreparedStatement.class);
+        PreparedStatement preparedStatement2 = mock(PreparedStatement.class);
+        when(preparedStatement1.executeBatch()).thenReturn(new int[] {10, 20});
+        when(preparedStatement2.executeBatch()).thenReturn(new int[] {20, 40});
+        when(preparedStatement1.getConnection()).thenReturn(mock(Connection.class));
+        when(preparedStatement2.getConnection()).thenReturn(mock(Connection.class));
+        BatchPreparedStatementExecutor actual = new BatchPreparedStatementExecutor(getExecutorEngine(), DatabaseType.MySQL, SQLType.DML, 
+                createPreparedStatementUnits(SQL, preparedStatement1, "ds_0", preparedStatement2, "ds_1", 2), 
+                Arrays.asList(Collections.<Object>singletonList(1), Collections.<Object>singletonList(2)));
+        List<int[]> results = actual.executeBatchAsync().get();
+        assertThat(results.size(), is(2));
+        int[] accumulatedResults = new int[] {1, 1, 1};
+        actual.accumulate(results, accumulatedResults);
+        assertThat(accumulatedResults, is(new int[] {31, 61, 1}));
+        verify(preparedStatement1).executeBatch();
+        verify(preparedStatement2).executeBatch();
+    }
+    
     @Test
     public void assertExecuteBatchForSinglePreparedStatementFailure() throws SQLException {
         PreparedStatement preparedStatement = mock(PreparedStatement.class);
@@ -34,6 +34,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
@@ -108,6 +109,61 @@ public final class PreparedStatementExecutorTest extends AbstractBaseExecutorTes
         verify(getEventCaller(), times(0)).verifyException(null);
     }
     
+    @Test
+    public void assertExecuteQueryForMultiplePreparedStatementsOnSameConnectionSuccess() throws SQLException {
+        PreparedStatement preparedStatement1 = mock(PreparedStatement.class);
+        PreparedStatement preparedStatement2 = mock(PreparedStatement.class);
+        ResultSet resultSet1 = mock(ResultSet.class);
+        ResultSet resultSet2 = mock(ResultSet.class);
+        Connection connection = mock(Connection.class);
+        when(preparedStatement1.executeQuery()).thenReturn(resultSet1);
+        when(preparedStatement2.executeQuery()).thenReturn(resultSet2);
+        when(preparedStatement1.getConnection()).thenReturn(connection);
+        when(preparedStatement2.getConnection()).thenReturn(connection);
+        PreparedStatementExecutor actual = new PreparedStatementExecutor(
+                getExecutorEngine(), SQLType.DQL, createPreparedStatementUnits(DQL_SQL, preparedStatement1, "ds_0", preparedStatement2, "ds_0"), Collections.emptyList());
+        assertThat(actual.executeQuery(), is(Arrays.asList(resultSet1, resultSet2)));
+        verify(preparedStatement1).executeQuery();
+        verify(preparedStatement2).executeQuery();
+        verify(getEventCaller(), times(4)).verifyDataSource("ds_0");
+        verify(getEventCaller(), times(2)).verifyEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+    }
+    
+    @Test
+    public void assertExecuteQueryAsyncForMultiplePreparedStatementsSuccess() throws SQLException, InterruptedException, ExecutionException {
+        PreparedStatement preparedStatement1 = mock(PreparedStatement.class);
+        PreparedStatement preparedStatement2 = mock(PreparedStatement.class);
+        ResultSet resultSet1 = mock(ResultSet.class);
+        ResultSet resultSet2 = mock(ResultSet.class);
+        when(preparedStatement1.executeQuery()).thenReturn(resultSet1);
+        when(preparedStatement2.executeQuery()).thenReturn(resultSet2);
+        when(preparedStatement1.getConnection()).thenReturn(mock(Connection.class));
+        when(preparedStatement2.getConnection()).thenReturn(mock(Connection.class));
+        PreparedStatementExecutor actual = new PreparedStatementExecutor(
+                getExecutorEngine(), SQLType.DQL, createPreparedStatementUnits(DQL_SQL, preparedStatement1, "ds_0", preparedStatement2, "ds_1"), Collections.emptyList());
+        assertThat(actual.executeQueryAsync().get(), is(Arrays.asList(resultSet1, resultSet2)));
+        verify(preparedStatement1).executeQuery();
+        verify(preparedStatement2).executeQuery();
+        verify(getEventCaller(), times(2)).verifyDataSource("ds_0");
+        verify(getEventCaller(), times(2)).verifyDataSource("ds_1");
+        verify(getEventCaller(), times(2)).verifyEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+    }
+    
+    @Test
+    public void assertExecuteUpdateAsyncForMultiplePreparedStatementsSuccess() throws SQLException, InterruptedException, ExecutionException {
+        PreparedStatement preparedStatement1 = mock(PreparedStatement.class);
+        PreparedStatement preparedStatement2 = mock(PreparedStatement.class);
+        when(preparedStatement1.executeUpdate()).thenReturn(10);
+        when(preparedStatement2.executeUpdate()).thenReturn(20);
+        when(preparedStatement1.getConnection()).thenReturn(mock(Connection.class));
+        when(preparedStatement2.getConnection()).thenReturn(mock(Connection.class));
+        PreparedStatementExecutor actual = new PreparedStatementExecutor(
+                getExecutorEngine(), SQLType.DML, createPreparedStatementUnits(DML_SQL, preparedStatement1, "ds_0", preparedStatement2, "ds_1"), Collections.emptyList());
+        assertThat(actual.executeUpdateAsync().get(), is(30));
+        verify(preparedStatement1).executeUpdate();
+        verify(preparedStatement2).executeUpdate();
+    }
+    
     @Test
     public void assertExecuteQueryForSinglePreparedStatementFailure() throws SQLException {
         PreparedStatement preparedStatement = mock(PreparedStatement.class);
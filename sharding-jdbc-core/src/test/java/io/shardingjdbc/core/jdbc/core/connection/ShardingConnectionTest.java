@@ -21,9 +21,14 @@ import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
 import io.shardingjdbc.core.api.config.TableRuleConfiguration;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.fixture.TestDataSource;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.jdbc.core.datasource.MasterSlaveDataSource;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
 import io.shardingjdbc.core.rule.MasterSlaveRule;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.tracing.NoopTracer;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -32,12 +37,18 @@ import org.junit.Test;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
 
 public final class ShardingConnectionTest {
     
@@ -65,7 +76,9 @@ public final class ShardingConnectionTest {
         shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
         Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
         dataSourceMap.put(DS_NAME, masterSlaveDataSource);
-        ShardingContext shardingContext = new ShardingContext(shardingRuleConfig.build(dataSourceMap), null, null, false);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY.getKey(), "2");
+        ShardingContext shardingContext = new ShardingContext(shardingRuleConfig.build(dataSourceMap), null, null, new ShardingProperties(props), new MetricsRegistry(), new NoopTracer());
         connection = new ShardingConnection(shardingContext);
     }
     
@@ -108,6 +121,34 @@ public final class ShardingConnectionTest {
         assertSame(masterConnection, connection.getConnection(DS_NAME, SQLType.DML));
     }
     
+    @Test
+    public void assertGetConnectionsWithMaxConnectionsSizePerQuery() throws Exception {
+        List<Connection> actual = connection.getConnections(SQLType.DML, createSQLExecutionUnits(3));
+        assertThat(actual.size(), is(3));
+        assertSame(actual.get(0), connection.getConnection(DS_NAME, SQLType.DML));
+        assertNotSame(actual.get(0), actual.get(1));
+        assertSame(actual.get(0), actual.get(2));
+        assertThat(connection.getCachedConnections().size(), is(2));
+        assertSame(actual.get(1), connection.getConnections(SQLType.DML, createSQLExecutionUnits(2)).get(1));
+    }
+    
+    @Test
+    public void assertGetConnectionsInTransaction() throws Exception {
+        connection.setAutoCommit(false);
+        List<Connection> actual = connection.getConnections(SQLType.DML, createSQLExecutionUnits(3));
+        assertSame(actual.get(0), actual.get(1));
+        assertSame(actual.get(0), actual.get(2));
+        assertThat(connection.getCachedConnections().size(), is(1));
+    }
+    
+    private Collection<SQLExecutionUnit> createSQLExecutionUnits(final int count) {
+        Collection<SQLExecutionUnit> result = new LinkedList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(new SQLExecutionUnit(DS_NAME, "UPDATE test_" + i + " SET status = 'DONE'"));
+        }
+        return result;
+    }
+    
     @Test
     public void assertRelease() throws Exception {
         Connection conn = connection.getConnection(DS_NAME, SQLType.DML);
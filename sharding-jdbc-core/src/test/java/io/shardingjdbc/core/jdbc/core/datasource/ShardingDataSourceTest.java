@@ -25,9 +25,16 @@ import io.shardingjdbc.core.api.config.TableRuleConfiguration;
 import io.shardingjdbc.core.constant.SQLType;
 import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.executor.ExecutorEngine;
+import io.shardingjdbc.core.executor.ExecutorType;
+import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
+import io.shardingjdbc.core.metrics.Slf4jMetricsReporter;
 import org.junit.Test;
 
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
 import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -168,7 +175,24 @@ public final class ShardingDataSourceTest {
         Properties props = new Properties();
         props.setProperty(ShardingPropertiesConstant.EXECUTOR_SIZE.getKey(), "100");
         shardingDataSource.renew(createShardingRuleConfig(newDataSourceMap).build(newDataSourceMap), props);
+        assertThat(originExecutorEngine, is(getExecutorEngine(shardingDataSource)));
+    }
+    
+    @Test
+    public void assertRenewWithChangeExecutorType() throws SQLException, NoSuchFieldException, IllegalAccessException {
+        DataSource originalDataSource = mockDataSource("H2");
+        Map<String, DataSource> originalDataSourceMap = new HashMap<>(1, 1);
+        originalDataSourceMap.put("ds", originalDataSource);
+        ShardingDataSource shardingDataSource = createShardingDataSource(originalDataSourceMap);
+        final ExecutorEngine originExecutorEngine = getExecutorEngine(shardingDataSource);
+        DataSource newDataSource = mockDataSource("H2");
+        Map<String, DataSource> newDataSourceMap = new HashMap<>(1, 1);
+        newDataSourceMap.put("ds", newDataSource);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_TYPE.getKey(), ExecutorType.WORK_STEALING.name());
+        shardingDataSource.renew(createShardingRuleConfig(newDataSourceMap).build(newDataSourceMap), props);
         assertThat(originExecutorEngine, not(getExecutorEngine(shardingDataSource)));
+        assertThat(getExecutorEngine(shardingDataSource).getExecutorType(), is(ExecutorType.WORK_STEALING));
     }
     
     // TODO to be discuss
@@ -185,6 +209,27 @@ public final class ShardingDataSourceTest {
         shardingDataSource.renew(createShardingRuleConfig(newDataSourceMap).build(newDataSourceMap), new Properties());
     }
     
+    @Test
+    public void assertRenewWithMetricsEnabled() throws SQLException, MalformedObjectNameException {
+        DataSource dataSource = mockDataSource("H2");
+        Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
+        dataSourceMap.put("ds", dataSource);
+        ShardingDataSource shardingDataSource = createShardingDataSource(dataSourceMap);
+        ObjectName objectName = new ObjectName("io.shardingjdbc:type=ShardingMetrics,name=*");
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        int originalMBeanCount = mBeanServer.queryNames(objectName, null).size();
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.METRICS_ENABLE.getKey(), Boolean.TRUE.toString());
+        props.setProperty(ShardingPropertiesConstant.METRICS_REPORTER_CLASS.getKey(), Slf4jMetricsReporter.class.getName());
+        shardingDataSource.renew(createShardingRuleConfig(dataSourceMap).build(dataSourceMap), props);
+        assertThat(mBeanServer.queryNames(objectName, null).size(), is(originalMBeanCount + 1));
+        ShardingConnection connection = shardingDataSource.getConnection();
+        connection.getConnection("ds", SQLType.DQL);
+        assertThat(connection.getShardingContext().getMetricsRegistry().getSnapshot().getHistograms().get("connect.dataSource.ds").getCount(), is(1L));
+        shardingDataSource.close();
+        assertThat(mBeanServer.queryNames(objectName, null).size(), is(originalMBeanCount));
+    }
+    
     private ShardingDataSource createShardingDataSource(final Map<String, DataSource> dataSourceMap) throws SQLException {
         return new ShardingDataSource(createShardingRuleConfig(dataSourceMap).build(dataSourceMap));
     }
@@ -20,27 +20,47 @@ package io.shardingjdbc.core.jdbc.core.statement;
 import io.shardingjdbc.core.common.base.AbstractShardingJDBCDatabaseAndTableTest;
 import io.shardingjdbc.core.integrate.sql.DatabaseTestSQL;
 import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
 import io.shardingjdbc.core.executor.event.DMLExecutionEvent;
 import io.shardingjdbc.core.executor.event.EventExecutionType;
+import io.shardingjdbc.core.jdbc.core.connection.ShardingConnection;
+import io.shardingjdbc.core.jdbc.core.datasource.ShardingDataSource;
 import io.shardingjdbc.core.jdbc.util.JDBCTestSQL;
+import io.shardingjdbc.core.slowquery.SlowQueryEvent;
+import io.shardingjdbc.core.slowquery.SlowQueryUnit;
+import io.shardingjdbc.core.tracing.RecordedSpan;
+import io.shardingjdbc.core.tracing.RecordingTracer;
+import io.shardingjdbc.core.tracing.ShardingTags;
+import io.shardingjdbc.core.tracing.TracingContext;
 import io.shardingjdbc.core.util.EventBusInstance;
 import com.google.common.eventbus.Subscribe;
 import org.junit.Test;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static io.shardingjdbc.core.common.util.SQLPlaceholderUtil.replacePreparedStatement;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDatabaseAndTableTest {
     
@@ -68,6 +88,24 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         }
     }
     
+    @Test
+    public void assertExecuteQueryAsyncWithParameter() throws SQLException, InterruptedException, ExecutionException {
+        try (
+                Connection connection = getShardingDataSource().getConnection();
+                ShardingPreparedStatement preparedStatement = (ShardingPreparedStatement) connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)) {
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = preparedStatement.executeQueryAsync().get();
+            assertSame(preparedStatement.getResultSet(), resultSet);
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            preparedStatement.setString(1, "null");
+            resultSet = preparedStatement.executeQueryAsync().get();
+            assertSame(preparedStatement.getResultSet(), resultSet);
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(0L));
+        }
+    }
+    
     @Test
     public void assertExecuteQueryWithoutParameter() throws SQLException {
         String sql = JDBCTestSQL.SELECT_COUNT_ALIAS_SQL;
@@ -388,6 +426,158 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         }
     }
     
+    @Test
+    public void assertAddBatchWithDeferredRouting() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.BATCH_DEFERRED_ROUTING.getKey(), Boolean.TRUE.toString());
+        assertAddBatchWithProperties(props);
+    }
+    
+    @Test
+    public void assertAddBatchWithFlushRows() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.BATCH_FLUSH_ROWS.getKey(), "2");
+        assertAddBatchWithProperties(props);
+    }
+    
+    @Test
+    public void assertAddBatchWithFlushBytes() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.BATCH_FLUSH_BYTES.getKey(), "1");
+        assertAddBatchWithProperties(props);
+    }
+    
+    private void assertAddBatchWithProperties(final Properties props) throws SQLException {
+        // TODO 调研oracle为什么不可以
+        if (DatabaseType.Oracle == getCurrentDatabaseType()) {
+            return;
+        }
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(DatabaseTestSQL.INSERT_ORDER_ITEM_WITH_ALL_PLACEHOLDERS_SQL);
+                Statement queryStatement = connection.createStatement()) {
+            int[][] orderItems = {{1, 11, 11}, {2, 21, 21}, {3, 12, 12}, {4, 22, 22}, {5, 11, 11}};
+            for (int[] each : orderItems) {
+                preparedStatement.setInt(1, each[0]);
+                preparedStatement.setInt(2, each[1]);
+                preparedStatement.setInt(3, each[2]);
+                preparedStatement.setString(4, "BATCH");
+                preparedStatement.addBatch();
+            }
+            int[] result = preparedStatement.executeBatch();
+            assertThat(result.length, is(5));
+            for (int rs : result) {
+                assertThat(rs, is(1));
+            }
+            try (ResultSet rs = queryStatement.executeQuery(String.format(DatabaseTestSQL.SELECT_WITH_AUTO_INCREMENT_COLUMN_SQL, 11, 11))) {
+                assertTrue(rs.next());
+                assertThat(rs.getInt(1), is(1));
+                assertTrue(rs.next());
+                assertThat(rs.getInt(1), is(5));
+            }
+            try (ResultSet rs = queryStatement.executeQuery(String.format(DatabaseTestSQL.SELECT_WITH_AUTO_INCREMENT_COLUMN_SQL, 22, 22))) {
+                assertTrue(rs.next());
+                assertThat(rs.getInt(1), is(4));
+            }
+        }
+    }
+    
+    private ShardingDataSource createShardingDataSource(final Properties props) throws SQLException {
+        try (ShardingConnection connection = getShardingDataSource().getConnection()) {
+            return new ShardingDataSource(connection.getShardingContext().getShardingRule(), Collections.<String, Object>emptyMap(), props);
+        }
+    }
+    
+    @Test
+    public void assertExecuteWithRecordingTracer() throws SQLException, InterruptedException, ExecutionException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.TRACER_CLASS.getKey(), RecordingTracer.class.getName());
+        String sql = replacePreparedStatement(DatabaseTestSQL.DELETE_WITHOUT_SHARDING_VALUE_SQL);
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                ShardingConnection connection = shardingDataSource.getConnection();
+                ShardingPreparedStatement queryStatement = (ShardingPreparedStatement) connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL);
+                PreparedStatement updateStatement = connection.prepareStatement(sql)) {
+            RecordingTracer tracer = (RecordingTracer) connection.getShardingContext().getTracer();
+            queryStatement.setString(1, "init");
+            ResultSet resultSet = queryStatement.executeQueryAsync().get();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            assertTracedSpans(tracer.getFinishedSpans(), DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL, -1L);
+            tracer.reset();
+            updateStatement.setString(1, "init");
+            assertThat(updateStatement.executeUpdate(), is(4));
+            assertTracedSpans(tracer.getFinishedSpans(), sql, 4L);
+            assertNull(TracingContext.get());
+        }
+    }
+    
+    private void assertTracedSpans(final List<RecordedSpan> spans, final String logicSQL, final long expectedRowCount) {
+        RecordedSpan logicSQLSpan = spans.get(spans.size() - 1);
+        assertThat(logicSQLSpan.getOperationName(), is(ShardingTags.LOGIC_SQL_OPERATION));
+        assertThat(logicSQLSpan.getParentSpanId(), is(0L));
+        assertThat(logicSQLSpan.getTags().get(ShardingTags.DB_STATEMENT), is((Object) logicSQL));
+        assertTrue(spans.size() > 1);
+        long rowCount = 0L;
+        for (RecordedSpan each : spans.subList(0, spans.size() - 1)) {
+            assertThat(each.getTraceId(), is(logicSQLSpan.getTraceId()));
+            assertThat(each.getParentSpanId(), is(logicSQLSpan.getSpanId()));
+            if (ShardingTags.MERGE_RESULT_OPERATION.equals(each.getOperationName())) {
+                assertTrue(each.getTags().containsKey(ShardingTags.MERGE_STRATEGY));
+                continue;
+            }
+            assertThat(each.getOperationName(), is(ShardingTags.EXECUTE_SQL_OPERATION));
+            assertTrue(each.getTags().containsKey(ShardingTags.DB_INSTANCE));
+            assertTrue(each.getTags().containsKey(ShardingTags.DB_STATEMENT));
+            if (each.getTags().containsKey(ShardingTags.ROW_COUNT)) {
+                rowCount += ((Number) each.getTags().get(ShardingTags.ROW_COUNT)).longValue();
+            }
+        }
+        if (-1L != expectedRowCount) {
+            assertThat(rowCount, is(expectedRowCount));
+        }
+    }
+    
+    @Test
+    public void assertExecuteWithSlowQueryLog() throws SQLException, InterruptedException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.SLOW_QUERY_THRESHOLD_MILLISECONDS.getKey(), "3600000");
+        props.setProperty(ShardingPropertiesConstant.SLOW_QUERY_SAMPLING_INTERVAL.getKey(), "1");
+        final BlockingQueue<SlowQueryEvent> events = new LinkedBlockingQueue<>();
+        Object listener = new Object() {
+            
+            @Subscribe
+            public void listen(final SlowQueryEvent event) {
+                events.add(event);
+            }
+        };
+        EventBusInstance.getAsyncInstance().register(listener);
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)) {
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(4L));
+            assertFalse(resultSet.next());
+            SlowQueryEvent actual = events.poll(5, TimeUnit.SECONDS);
+            assertThat(actual.getLogicSQL(), is(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL));
+            assertThat(actual.getRowCount(), is(1L));
+            assertTrue(actual.isSampled());
+            assertFalse(actual.isFailed());
+            assertFalse(actual.getUnits().isEmpty());
+            for (SlowQueryUnit each : actual.getUnits()) {
+                assertThat(each.getSql(), is(not(DatabaseTestSQL.SELECT_COUNT_AS_ORDERS_COUNT_SQL)));
+                assertTrue(each.getElapsedNanos() > 0L);
+            }
+            assertTrue(null != actual.getMergeStrategy());
+        } finally {
+            EventBusInstance.getAsyncInstance().unregister(listener);
+        }
+    }
+    
     @Test
     public void assertUpdateBatch() throws SQLException {
         String sql = replacePreparedStatement(DatabaseTestSQL.UPDATE_WITHOUT_SHARDING_VALUE_SQL);
@@ -433,4 +623,33 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
             assertThat(result.length, is(0));
         }
     }
+    
+    @Test
+    public void assertClearBatchWithFailedFlushedBatch() throws SQLException {
+        if (DatabaseType.Oracle == getCurrentDatabaseType()) {
+            return;
+        }
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.BATCH_FLUSH_ROWS.getKey(), "1");
+        try (
+                ShardingDataSource shardingDataSource = createShardingDataSource(props);
+                Connection connection = shardingDataSource.getConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(DatabaseTestSQL.INSERT_ORDER_ITEM_WITH_ALL_PLACEHOLDERS_SQL)) {
+            for (int i = 0; i < 2; i++) {
+                preparedStatement.setInt(1, 3201);
+                preparedStatement.setInt(2, 11);
+                preparedStatement.setInt(3, 11);
+                preparedStatement.setString(4, "BATCH");
+                preparedStatement.addBatch();
+            }
+            try {
+                preparedStatement.clearBatch();
+                fail("Expected BatchUpdateException");
+            } catch (final BatchUpdateException ex) {
+                assertThat(ex.getUpdateCounts().length, is(2));
+            }
+            int[] result = preparedStatement.executeBatch();
+            assertThat(result.length, is(0));
+        }
+    }
 }
@@ -23,6 +23,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         DefaultKeyGeneratorTest.class, 
+        ConcurrentKeyGeneratorTest.class, 
         KeyGeneratorFactoryTest.class
     })
 public class AllKeygenTests {
@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.keygen;
+
+import io.shardingjdbc.core.keygen.fixture.AdjustableTimeService;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public final class ConcurrentKeyGeneratorTest {
+    
+    @Test
+    public void assertGenerateKeyConcurrently() throws Exception {
+        int threadNumber = Runtime.getRuntime().availableProcessors() << 1;
+        ExecutorService executor = Executors.newFixedThreadPool(threadNumber);
+        final ConcurrentKeyGenerator keyGenerator = new ConcurrentKeyGenerator();
+        List<Future<Collection<Number>>> futures = new ArrayList<>(threadNumber);
+        for (int i = 0; i < threadNumber; i++) {
+            futures.add(executor.submit(new Callable<Collection<Number>>() {
+                
+                @Override
+                public Collection<Number> call() throws Exception {
+                    Collection<Number> result = new ArrayList<>(10000);
+                    for (int j = 0; j < 10000; j++) {
+                        result.add(keyGenerator.generateKey());
+                    }
+                    return result;
+                }
+            }));
+        }
+        Set<Number> generatedKeys = new HashSet<>();
+        for (Future<Collection<Number>> each : futures) {
+            generatedKeys.addAll(each.get());
+        }
+        executor.shutdown();
+        assertThat(generatedKeys.size(), is(threadNumber * 10000));
+    }
+    
+    @Test
+    public void assertGenerateKeysContiguously() {
+        ConcurrentKeyGenerator keyGenerator = new ConcurrentKeyGenerator(1L, new AdjustableTimeService(), 0L);
+        assertThat(keyGenerator.generateKeys(3), is(1L << 12));
+        assertThat(keyGenerator.generateKey().longValue(), is((1L << 12) + 3L));
+        assertThat(keyGenerator.generateKeys(2), is((1L << 12) + 4L));
+    }
+    
+    @Test
+    public void assertGenerateKeysWithNewMilliseconds() {
+        AdjustableTimeService timeService = new AdjustableTimeService();
+        ConcurrentKeyGenerator keyGenerator = new ConcurrentKeyGenerator(0L, timeService, 0L);
+        keyGenerator.generateKeys(10);
+        timeService.setOffset(1L);
+        assertThat(keyGenerator.generateKey().longValue(), is(1L << 22));
+    }
+    
+    @Test
+    public void assertGenerateKeysBorrowNextMilliseconds() {
+        ConcurrentKeyGenerator keyGenerator = new ConcurrentKeyGenerator(0L, new AdjustableTimeService(), 1L);
+        assertThat(keyGenerator.generateKeys(ConcurrentKeyGenerator.MAX_BATCH_SIZE - 1), is(0L));
+        assertThat(keyGenerator.generateKeys(2), is(1L << 22));
+        assertThat(keyGenerator.generateKey().longValue(), is((1L << 22) + 2L));
+    }
+    
+    @Test
+    public void assertGenerateKeyWhenClockMovesBackwardsWithinTolerance() {
+        AdjustableTimeService timeService = new AdjustableTimeService();
+        timeService.setOffset(10L);
+        ConcurrentKeyGenerator keyGenerator = new ConcurrentKeyGenerator(0L, timeService, 10L);
+        assertThat(keyGenerator.generateKey().longValue(), is(10L << 22));
+        timeService.setOffset(5L);
+        assertThat(keyGenerator.generateKey().longValue(), is((10L << 22) + 1L));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void assertGenerateKeyWhenClockMovesBackwardsBeyondTolerance() {
+        AdjustableTimeService timeService = new AdjustableTimeService();
+        timeService.setOffset(100L);
+        ConcurrentKeyGenerator keyGenerator = new ConcurrentKeyGenerator(0L, timeService, 10L);
+        keyGenerator.generateKey();
+        timeService.setOffset(50L);
+        keyGenerator.generateKey();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertGenerateKeysFailureWhenCountTooMuch() {
+        new ConcurrentKeyGenerator().generateKeys(ConcurrentKeyGenerator.MAX_BATCH_SIZE + 1);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertNewInstanceFailureWhenWorkerIdTooMuch() {
+        new ConcurrentKeyGenerator(1L << 10, new TimeService(), 0L);
+    }
+}
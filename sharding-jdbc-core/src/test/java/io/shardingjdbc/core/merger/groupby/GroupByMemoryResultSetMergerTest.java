@@ -26,19 +26,25 @@ import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectI
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
+import lombok.RequiredArgsConstructor;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -120,4 +126,94 @@ public final class GroupByMemoryResultSetMergerTest {
         assertThat((BigDecimal) actual.getValue(5, Object.class), is(new BigDecimal(40)));
         assertFalse(actual.next());
     }
+    
+    @Test
+    public void assertNextWithSpillToDisk() throws SQLException {
+        resultSets = Lists.newArrayList(
+                mockResultSet(new Object[] {1, 10, 2, 1, 10}, new Object[] {2, 20, 3, 2, 40}), 
+                mockResultSet(new Object[] {3, 10, 4, 3, 30}), 
+                mockResultSet(new Object[] {1, 30, 2, 1, 30}, new Object[] {2, 10, 3, 2, 20}));
+        mergeEngine = new MergeEngine(resultSets, selectStatement, 1);
+        ResultSetMerger actual = mergeEngine.merge();
+        assertTrue(actual.next());
+        assertThat((Integer) actual.getValue(3, Object.class), is(4));
+        assertThat((BigDecimal) actual.getValue(1, Object.class), is(new BigDecimal(3)));
+        assertThat(((BigDecimal) actual.getValue(2, Object.class)).intValue(), is(10));
+        assertTrue(actual.next());
+        assertThat((Integer) actual.getValue(3, Object.class), is(3));
+        assertThat((BigDecimal) actual.getValue(1, Object.class), is(new BigDecimal(4)));
+        assertThat(((BigDecimal) actual.getValue(2, Object.class)).intValue(), is(15));
+        assertTrue(actual.next());
+        assertThat((Integer) actual.getValue(3, Object.class), is(2));
+        assertThat((BigDecimal) actual.getValue(1, Object.class), is(new BigDecimal(2)));
+        assertThat(((BigDecimal) actual.getValue(2, Object.class)).intValue(), is(20));
+        assertFalse(actual.next());
+        actual.close();
+    }
+    
+    @Test
+    public void assertNextWithSpillToDiskForGroupValuesEqualInOrderOnly() throws SQLException {
+        resultSets = Lists.newArrayList(
+                mockResultSet(new Object[] {1, 10, new BigDecimal("1.0"), 1, 10}), 
+                mockResultSet(new Object[] {2, 10, new BigDecimal("1.00"), 2, 20}), 
+                mockResultSet(new Object[] {3, 10, new BigDecimal("1.0"), 3, 30}));
+        mergeEngine = new MergeEngine(resultSets, selectStatement, 1);
+        ResultSetMerger actual = mergeEngine.merge();
+        Map<Object, BigDecimal> counts = new HashMap<>(2, 1);
+        while (actual.next()) {
+            counts.put(actual.getValue(3, Object.class), (BigDecimal) actual.getValue(1, Object.class));
+        }
+        assertThat(counts.size(), is(2));
+        assertThat(counts.get(new BigDecimal("1.0")), is(new BigDecimal(4)));
+        assertThat(counts.get(new BigDecimal("1.00")), is(new BigDecimal(2)));
+        actual.close();
+    }
+    
+    @Test
+    public void assertNextWithNotSerializableValueKeptInMemory() throws SQLException {
+        resultSets = Lists.newArrayList(
+                mockResultSet(new Object[] {1, 10, new NotSerializableValue(2), 1, 10}, new Object[] {2, 20, new NotSerializableValue(3), 2, 40}), 
+                mockResultSet(new Object[] {3, 10, new NotSerializableValue(4), 3, 30}));
+        mergeEngine = new MergeEngine(resultSets, selectStatement, 1);
+        ResultSetMerger actual = mergeEngine.merge();
+        assertTrue(actual.next());
+        assertThat(((NotSerializableValue) actual.getValue(3, Object.class)).value, is(4));
+        assertTrue(actual.next());
+        assertThat(((NotSerializableValue) actual.getValue(3, Object.class)).value, is(3));
+        assertTrue(actual.next());
+        assertThat(((NotSerializableValue) actual.getValue(3, Object.class)).value, is(2));
+        assertFalse(actual.next());
+        actual.close();
+    }
+    
+    private ResultSet mockResultSet(final Object[]... rows) throws SQLException {
+        ResultSet result = mockResultSet();
+        final int[] cursor = {-1};
+        when(result.next()).thenAnswer(new Answer<Boolean>() {
+            
+            @Override
+            public Boolean answer(final InvocationOnMock invocation) {
+                return ++cursor[0] < rows.length;
+            }
+        });
+        when(result.getObject(anyInt())).thenAnswer(new Answer<Object>() {
+            
+            @Override
+            public Object answer(final InvocationOnMock invocation) {
+                return rows[cursor[0]][(Integer) invocation.getArguments()[0] - 1];
+            }
+        });
+        return result;
+    }
+    
+    @RequiredArgsConstructor
+    private static final class NotSerializableValue implements Comparable<NotSerializableValue> {
+        
+        private final int value;
+        
+        @Override
+        public int compareTo(final NotSerializableValue o) {
+            return Integer.compare(value, o.value);
+        }
+    }
 }
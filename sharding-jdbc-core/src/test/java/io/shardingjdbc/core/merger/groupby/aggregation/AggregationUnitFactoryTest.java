@@ -18,10 +18,18 @@
 package io.shardingjdbc.core.merger.groupby.aggregation;
 
 import io.shardingjdbc.core.constant.AggregationType;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
+import com.google.common.base.Optional;
 import org.junit.Test;
 
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public final class AggregationUnitFactoryTest {
     
@@ -41,4 +49,26 @@ public final class AggregationUnitFactoryTest {
     public void assertCreateAverageAggregationUnit() {
         assertThat(AggregationUnitFactory.create(AggregationType.AVG), instanceOf(AverageAggregationUnit.class));
     }
+    
+    @Test
+    public void assertCreateTypedAggregationUnit() throws SQLException {
+        ResultSetMetaData resultSetMetaData = mock(ResultSetMetaData.class);
+        when(resultSetMetaData.getColumnType(1)).thenReturn(Types.BIGINT);
+        when(resultSetMetaData.isSigned(1)).thenReturn(true);
+        when(resultSetMetaData.getColumnType(2)).thenReturn(Types.DECIMAL);
+        when(resultSetMetaData.getColumnType(3)).thenReturn(Types.VARCHAR);
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.MAX, 3), resultSetMetaData), instanceOf(ComparableAggregationUnit.class));
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.MIN, 2), resultSetMetaData), instanceOf(TypedComparableAggregationUnit.class));
+        assertThat(AggregationUnitFactory.create(createAggregationSelectItem(AggregationType.COUNT, 1), resultSetMetaData), instanceOf(TypedAccumulationAggregationUnit.class));
+        AggregationSelectItem avgSelectItem = createAggregationSelectItem(AggregationType.AVG, 3);
+        avgSelectItem.getDerivedAggregationSelectItems().add(createAggregationSelectItem(AggregationType.COUNT, 1));
+        avgSelectItem.getDerivedAggregationSelectItems().add(createAggregationSelectItem(AggregationType.SUM, 2));
+        assertThat(AggregationUnitFactory.create(avgSelectItem, resultSetMetaData), instanceOf(TypedAverageAggregationUnit.class));
+    }
+    
+    private AggregationSelectItem createAggregationSelectItem(final AggregationType type, final int index) {
+        AggregationSelectItem result = new AggregationSelectItem(type, "(num)", Optional.<String>absent());
+        result.setIndex(index);
+        return result;
+    }
 }
@@ -25,7 +25,10 @@ import org.junit.runners.Suite;
         AggregationUnitFactoryTest.class, 
         ComparableAggregationUnitTest.class, 
         AccumulationAggregationUnitTest.class, 
-        AverageAggregationUnitTest.class
+        AverageAggregationUnitTest.class, 
+        TypedComparableAggregationUnitTest.class, 
+        TypedAccumulationAggregationUnitTest.class, 
+        TypedAverageAggregationUnitTest.class
     })
 public class AllAggregationTests {
 }
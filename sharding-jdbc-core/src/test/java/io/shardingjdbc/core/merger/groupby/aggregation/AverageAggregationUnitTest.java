@@ -47,4 +47,15 @@ public final class AverageAggregationUnitTest {
         avgAggregationUnit.merge(Arrays.<Comparable<?>>asList(0, 40));
         assertThat((BigDecimal) avgAggregationUnit.getResult(), is(new BigDecimal(0)));
     }
+    
+    @Test
+    public void assertCombine() {
+        AverageAggregationUnit avgAggregationUnit = new AverageAggregationUnit();
+        avgAggregationUnit.merge(Arrays.<Comparable<?>>asList(10, 50));
+        AverageAggregationUnit otherAvgAggregationUnit = new AverageAggregationUnit();
+        otherAvgAggregationUnit.merge(Arrays.<Comparable<?>>asList(5, 40));
+        avgAggregationUnit.combine(otherAvgAggregationUnit);
+        avgAggregationUnit.combine(new AverageAggregationUnit());
+        assertThat((BigDecimal) avgAggregationUnit.getResult(), is(new BigDecimal("6.0000")));
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class TypedAccumulationAggregationUnitTest {
+    
+    @Test
+    public void assertLongAccumulation() throws SQLException {
+        TypedAccumulationAggregationUnit actual = new TypedAccumulationAggregationUnit(AggregationValueType.LONG, 1);
+        assertThat(actual.getResult(), nullValue());
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(10L, 0L, Long.MAX_VALUE);
+        when(resultSet.wasNull()).thenReturn(false, true, false);
+        actual.merge(resultSet);
+        actual.merge(resultSet);
+        actual.merge(resultSet);
+        assertThat((BigDecimal) actual.getResult(), is(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.TEN)));
+    }
+    
+    @Test
+    public void assertDoubleAccumulation() throws SQLException {
+        TypedAccumulationAggregationUnit actual = new TypedAccumulationAggregationUnit(AggregationValueType.DOUBLE, 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getDouble(1)).thenReturn(1.5D, 2.5D);
+        actual.merge(resultSet);
+        actual.merge(resultSet);
+        assertThat((BigDecimal) actual.getResult(), is(new BigDecimal("4.0")));
+    }
+    
+    @Test
+    public void assertDoubleAccumulationWithoutBinaryRoundingError() throws SQLException {
+        TypedAccumulationAggregationUnit actual = new TypedAccumulationAggregationUnit(AggregationValueType.DOUBLE, 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getDouble(1)).thenReturn(0.1D, 0.2D);
+        actual.merge(resultSet);
+        actual.merge(resultSet);
+        assertThat((BigDecimal) actual.getResult(), is(new BigDecimal("0.3")));
+    }
+    
+    @Test
+    public void assertDecimalAccumulation() throws SQLException {
+        TypedAccumulationAggregationUnit actual = new TypedAccumulationAggregationUnit(AggregationValueType.DECIMAL, 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getBigDecimal(1)).thenReturn(new BigDecimal("1.25"), null, new BigDecimal("2.50"));
+        actual.merge(resultSet);
+        actual.merge(resultSet);
+        actual.merge(resultSet);
+        assertThat((BigDecimal) actual.getResult(), is(new BigDecimal("3.75")));
+    }
+    
+    @Test
+    public void assertCombine() throws SQLException {
+        TypedAccumulationAggregationUnit actual = new TypedAccumulationAggregationUnit(AggregationValueType.LONG, 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(10L, 20L);
+        actual.merge(resultSet);
+        TypedAccumulationAggregationUnit other = new TypedAccumulationAggregationUnit(AggregationValueType.LONG, 1);
+        other.merge(resultSet);
+        actual.combine(other);
+        actual.combine(new TypedAccumulationAggregationUnit(AggregationValueType.LONG, 1));
+        assertThat((BigDecimal) actual.getResult(), is(new BigDecimal(30)));
+    }
+}
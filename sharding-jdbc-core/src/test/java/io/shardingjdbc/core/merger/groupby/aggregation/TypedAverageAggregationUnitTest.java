@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public final class TypedAverageAggregationUnitTest {
+    
+    @Test
+    public void assertAvgAggregation() throws SQLException {
+        TypedAverageAggregationUnit actual = new TypedAverageAggregationUnit(AggregationValueType.LONG, 1, AggregationValueType.DECIMAL, 2);
+        assertThat(actual.getResult(), nullValue());
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(10L, 1L, 10L, 5L);
+        when(resultSet.wasNull()).thenReturn(false);
+        when(resultSet.getBigDecimal(2)).thenReturn(new BigDecimal(50), null, new BigDecimal(20), new BigDecimal(40));
+        for (int i = 0; i < 4; i++) {
+            actual.merge(resultSet);
+        }
+        assertThat((BigDecimal) actual.getResult(), is(new BigDecimal("4.4000")));
+    }
+    
+    @Test
+    public void assertDivideZero() throws SQLException {
+        TypedAverageAggregationUnit actual = new TypedAverageAggregationUnit(AggregationValueType.LONG, 1, AggregationValueType.DOUBLE, 2);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(0L);
+        when(resultSet.getDouble(2)).thenReturn(50D);
+        actual.merge(resultSet);
+        assertThat((BigDecimal) actual.getResult(), is(BigDecimal.ZERO));
+    }
+    
+    @Test
+    public void assertCombine() throws SQLException {
+        TypedAverageAggregationUnit actual = new TypedAverageAggregationUnit(AggregationValueType.LONG, 1, AggregationValueType.LONG, 2);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(10L, 5L);
+        when(resultSet.getLong(2)).thenReturn(50L, 40L);
+        actual.merge(resultSet);
+        TypedAverageAggregationUnit other = new TypedAverageAggregationUnit(AggregationValueType.LONG, 1, AggregationValueType.LONG, 2);
+        other.merge(resultSet);
+        actual.combine(other);
+        actual.combine(new TypedAverageAggregationUnit(AggregationValueType.LONG, 1, AggregationValueType.LONG, 2));
+        assertThat((BigDecimal) actual.getResult(), is(new BigDecimal("6.0000")));
+    }
+}
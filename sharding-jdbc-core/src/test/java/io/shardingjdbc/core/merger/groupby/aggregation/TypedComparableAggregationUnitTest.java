@@ -0,0 +1,74 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.merger.groupby.aggregation;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class TypedComparableAggregationUnitTest {
+    
+    @Test
+    public void assertLongMin() throws SQLException {
+        TypedComparableAggregationUnit actual = new TypedComparableAggregationUnit(true, AggregationValueType.LONG, 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(10L, 0L, 5L, 20L);
+        when(resultSet.wasNull()).thenReturn(false, true, false, false);
+        when(resultSet.getObject(1)).thenReturn(10, 5);
+        for (int i = 0; i < 4; i++) {
+            actual.merge(resultSet);
+        }
+        assertThat((Integer) actual.getResult(), is(5));
+        verify(resultSet, times(2)).getObject(1);
+    }
+    
+    @Test
+    public void assertDoubleMax() throws SQLException {
+        TypedComparableAggregationUnit actual = new TypedComparableAggregationUnit(false, AggregationValueType.DOUBLE, 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getDouble(1)).thenReturn(1.5D, 2.5D, 0.5D);
+        when(resultSet.getObject(1)).thenReturn(1.5D, 2.5D);
+        for (int i = 0; i < 3; i++) {
+            actual.merge(resultSet);
+        }
+        assertThat((Double) actual.getResult(), is(2.5D));
+    }
+    
+    @Test
+    public void assertDecimalMaxWithCombine() throws SQLException {
+        TypedComparableAggregationUnit actual = new TypedComparableAggregationUnit(false, AggregationValueType.DECIMAL, 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getBigDecimal(1)).thenReturn(new BigDecimal("1.5"), new BigDecimal("3.5"), new BigDecimal("2.5"));
+        when(resultSet.getObject(1)).thenReturn(new BigDecimal("1.5"), new BigDecimal("3.5"));
+        actual.merge(resultSet);
+        TypedComparableAggregationUnit other = new TypedComparableAggregationUnit(false, AggregationValueType.DECIMAL, 1);
+        other.merge(resultSet);
+        actual.combine(other);
+        actual.merge(resultSet);
+        assertThat((BigDecimal) actual.getResult(), is(new BigDecimal("3.5")));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class HistogramTest {
+    
+    @Test
+    public void assertGetSnapshotWithoutValue() {
+        HistogramSnapshot actual = new Histogram().getSnapshot();
+        assertThat(actual.getCount(), is(0L));
+        assertThat(actual.getMean(), is(0L));
+        assertThat(actual.getP99(), is(0L));
+        assertThat(actual.getMax(), is(0L));
+    }
+    
+    @Test
+    public void assertGetValueAtPercentileWithLinearValues() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 64; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount(), is(64L));
+        assertThat(histogram.getValueAtPercentile(50D), is(32L));
+        assertThat(histogram.getValueAtPercentile(100D), is(64L));
+    }
+    
+    @Test
+    public void assertGetValueAtPercentileWithRelativeError() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertWithinRelativeError(histogram.getValueAtPercentile(50D), 50000000L);
+        assertWithinRelativeError(histogram.getValueAtPercentile(90D), 90000000L);
+        assertWithinRelativeError(histogram.getValueAtPercentile(99D), 99000000L);
+        assertWithinRelativeError(histogram.getValueAtPercentile(99.9D), 99900000L);
+        assertThat(histogram.getValueAtPercentile(100D), is(100000000L));
+    }
+    
+    private void assertWithinRelativeError(final long actual, final long expected) {
+        assertTrue(String.format("actual %d, expected %d", actual, expected), Math.abs(actual - expected) <= expected / 32);
+    }
+    
+    @Test
+    public void assertRecordWithOutOfRangeValues() {
+        Histogram histogram = new Histogram();
+        histogram.record(-1L);
+        histogram.record(Long.MAX_VALUE);
+        HistogramSnapshot actual = histogram.getSnapshot();
+        assertThat(actual.getCount(), is(2L));
+        assertThat(actual.getP50(), is(0L));
+        assertThat(actual.getMax(), is((1L << 40) - 1));
+    }
+    
+    @Test
+    public void assertGetSnapshot() {
+        Histogram histogram = new Histogram();
+        histogram.record(10L);
+        histogram.record(20L);
+        histogram.record(30L);
+        HistogramSnapshot actual = histogram.getSnapshot();
+        assertThat(actual.getCount(), is(3L));
+        assertThat(actual.getMean(), is(20L));
+        assertThat(actual.getP50(), is(20L));
+        assertThat(actual.getMax(), is(30L));
+    }
+    
+    @Test
+    public void assertReset() {
+        Histogram histogram = new Histogram();
+        histogram.record(10L);
+        histogram.reset();
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getSnapshot().getMax(), is(0L));
+        assertThat(histogram.getValueAtPercentile(50D), is(0L));
+    }
+}
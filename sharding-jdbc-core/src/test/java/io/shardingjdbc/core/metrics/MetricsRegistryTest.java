@@ -0,0 +1,86 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class MetricsRegistryTest {
+    
+    @Test
+    public void assertRecordWhenDisabled() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        long startTime = metricsRegistry.start();
+        assertThat(startTime, is(0L));
+        assertThat(metricsRegistry.record(MetricsPhase.PARSE, startTime), is(0L));
+        metricsRegistry.recordDataSource(MetricsPhase.EXECUTE, "ds_0", startTime);
+        metricsRegistry.recordLogicTables(MetricsPhase.ROUTE, Arrays.asList("t_order"), startTime);
+        metricsRegistry.recordExecution(2, 0L);
+        metricsRegistry.incrementExecuteFailure("ds_0");
+        MetricsSnapshot actual = metricsRegistry.getSnapshot();
+        assertThat(actual.getHistograms().get("parse").getCount(), is(0L));
+        assertThat(actual.getHistograms().get("executor.fanOut").getCount(), is(0L));
+        assertFalse(actual.getHistograms().containsKey("execute.dataSource.ds_0"));
+        assertFalse(actual.getHistograms().containsKey("route.logicTable.t_order"));
+        assertTrue(actual.getCounters().isEmpty());
+    }
+    
+    @Test
+    public void assertRecordWhenEnabled() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.setEnabled(true);
+        long startTime = metricsRegistry.start();
+        assertTrue(metricsRegistry.record(MetricsPhase.PARSE, startTime) >= startTime);
+        metricsRegistry.recordDataSource(MetricsPhase.EXECUTE, "ds_0", metricsRegistry.start());
+        metricsRegistry.recordDataSource(MetricsPhase.EXECUTE, "ds_0", metricsRegistry.start());
+        metricsRegistry.recordLogicTables(MetricsPhase.ROUTE, Arrays.asList("t_order", "t_order_item"), metricsRegistry.start());
+        metricsRegistry.recordExecution(2, 3L);
+        metricsRegistry.incrementExecuteFailure("ds_1");
+        metricsRegistry.incrementExecuteFailure("ds_1");
+        MetricsSnapshot actual = metricsRegistry.getSnapshot();
+        assertThat(actual.getHistograms().get("parse").getCount(), is(1L));
+        assertThat(actual.getHistograms().get("execute").getCount(), is(0L));
+        assertThat(actual.getHistograms().get("execute.dataSource.ds_0").getCount(), is(2L));
+        assertThat(actual.getHistograms().get("route").getCount(), is(1L));
+        assertThat(actual.getHistograms().get("route.logicTable.t_order").getCount(), is(1L));
+        assertThat(actual.getHistograms().get("route.logicTable.t_order_item").getCount(), is(1L));
+        assertThat(actual.getHistograms().get("executor.fanOut").getMax(), is(2L));
+        assertThat(actual.getHistograms().get("executor.queueDepth").getMax(), is(3L));
+        assertThat(actual.getCounters().get("execute.failure.dataSource.ds_1"), is(2L));
+    }
+    
+    @Test
+    public void assertReset() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.setEnabled(true);
+        metricsRegistry.recordDataSource(MetricsPhase.CONNECT, "ds_0", metricsRegistry.start());
+        metricsRegistry.record(MetricsPhase.MERGE, metricsRegistry.start());
+        metricsRegistry.incrementExecuteFailure("ds_0");
+        metricsRegistry.reset();
+        MetricsSnapshot actual = metricsRegistry.getSnapshot();
+        assertThat(actual.getHistograms().get("merge").getCount(), is(0L));
+        assertFalse(actual.getHistograms().containsKey("connect.dataSource.ds_0"));
+        assertTrue(actual.getCounters().isEmpty());
+    }
+}
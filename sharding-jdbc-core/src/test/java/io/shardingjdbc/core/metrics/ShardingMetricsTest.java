@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.metrics;
+
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ShardingMetricsTest {
+    
+    @Test
+    public void assertRegisterAndUnregister() throws Exception {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.setEnabled(true);
+        metricsRegistry.record(MetricsPhase.PARSE, metricsRegistry.start());
+        ShardingMetrics shardingMetrics = new ShardingMetrics(metricsRegistry);
+        shardingMetrics.register("test");
+        shardingMetrics.register("test");
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = new ObjectName("io.shardingjdbc:type=ShardingMetrics,name=\"test\"");
+        try {
+            assertTrue(mBeanServer.isRegistered(objectName));
+            assertThat((Boolean) mBeanServer.getAttribute(objectName, "Enabled"), is(true));
+            assertFalse(((TabularData) mBeanServer.getAttribute(objectName, "Histograms")).isEmpty());
+            mBeanServer.invoke(objectName, "reset", new Object[0], new String[0]);
+            assertThat(metricsRegistry.getSnapshot().getHistograms().get("parse").getCount(), is(0L));
+        } finally {
+            shardingMetrics.unregister();
+        }
+        assertFalse(mBeanServer.isRegistered(objectName));
+        shardingMetrics.unregister();
+    }
+}
@@ -17,7 +17,9 @@
 
 package io.shardingjdbc.core.parsing;
 
+import io.shardingjdbc.core.parsing.cache.ParsingResultCacheTest;
 import io.shardingjdbc.core.parsing.lexer.AllLexerTests;
+import io.shardingjdbc.core.parsing.lexer.analyzer.DictionaryTest;
 import io.shardingjdbc.core.parsing.lexer.analyzer.TokenizerTest;
 import io.shardingjdbc.core.parsing.parser.sql.AllStatementParserTests;
 import org.junit.runner.RunWith;
@@ -25,12 +27,15 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+        DictionaryTest.class,
         TokenizerTest.class,
         AllLexerTests.class,
         AllStatementParserTests.class,
         SQLParsingEngineTest.class,
+        SQLFastParsingEngineTest.class,
         UnsupportedSQLParsingEngineTest.class,
-        SQLJudgeEngineTest.class
+        SQLJudgeEngineTest.class,
+        ParsingResultCacheTest.class
     })
 public class AllParsingTests {
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing;
+
+import com.google.common.base.Optional;
+import io.shardingjdbc.core.api.algorithm.fixture.TestComplexKeysShardingAlgorithm;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.ComplexShardingStrategyConfiguration;
+import io.shardingjdbc.core.api.fixture.ShardingRuleMockBuilder;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.parser.context.condition.Column;
+import io.shardingjdbc.core.parsing.parser.context.condition.InValuesPosition;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dml.DMLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.rule.ShardingRule;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class SQLFastParsingEngineTest {
+    
+    private ShardingRule shardingRule;
+    
+    @Before
+    public void setUp() throws SQLException {
+        TableRuleConfiguration orderTableRuleConfig = new TableRuleConfiguration();
+        orderTableRuleConfig.setLogicTable("t_order");
+        orderTableRuleConfig.setActualDataNodes("db0.t_order,db1.t_order");
+        orderTableRuleConfig.setTableShardingStrategyConfig(new ComplexShardingStrategyConfiguration("user_id, order_id", TestComplexKeysShardingAlgorithm.class.getName()));
+        shardingRule = new ShardingRuleMockBuilder().addTableRuleConfig(orderTableRuleConfig).addShardingColumns("user_id").addShardingColumns("order_id").build();
+    }
+    
+    @Test
+    public void assertParseSelect() {
+        Optional<SQLStatement> actual = parse("SELECT o.order_id, status AS s FROM t_order o WHERE o.user_id = ? AND status = ? AND order_id IN (?, 100)");
+        assertTrue(actual.isPresent());
+        assertThat(actual.get(), instanceOf(SelectStatement.class));
+        assertThat(actual.get().getTables().getSingleTableName(), is("t_order"));
+        assertThat(actual.get().getTables().find("o").get().getName(), is("t_order"));
+        assertThat(actual.get().getSqlTokens().size(), is(1));
+        assertThat(actual.get().getParametersIndex(), is(3));
+        assertThat(actual.get().getConditions().getConditions().size(), is(2));
+        assertThat(actual.get().getConditions().find(new Column("user_id", "t_order")).get().getValues(Arrays.<Object>asList(10, "init", 1000)), is(Collections.<Comparable<?>>singletonList(10)));
+        assertThat(actual.get().getConditions().find(new Column("order_id", "t_order")).get().getValues(Arrays.<Object>asList(10, "init", 1000)), is(Arrays.<Comparable<?>>asList(1000, 100)));
+    }
+    
+    @Test
+    public void assertParseUpdate() {
+        Optional<SQLStatement> actual = parse("UPDATE t_order SET t_order.status = ? WHERE t_order.order_id = ? AND user_id BETWEEN 1 AND 10");
+        assertTrue(actual.isPresent());
+        assertThat(actual.get(), instanceOf(DMLStatement.class));
+        assertThat(actual.get().getSqlTokens().size(), is(3));
+        assertThat(actual.get().getConditions().find(new Column("order_id", "t_order")).get().getValues(Arrays.<Object>asList("init", 1000)), is(Collections.<Comparable<?>>singletonList(1000)));
+        assertThat(actual.get().getConditions().find(new Column("user_id", "t_order")).get().getValues(Collections.emptyList()), is(Arrays.<Comparable<?>>asList(1, 10)));
+    }
+    
+    @Test
+    public void assertParseDelete() {
+        Optional<SQLStatement> actual = parse("DELETE FROM t_order WHERE order_id = 1");
+        assertTrue(actual.isPresent());
+        assertThat(actual.get(), instanceOf(DMLStatement.class));
+        assertThat(actual.get().getConditions().getConditions().size(), is(1));
+    }
+    
+    @Test
+    public void assertParseInValuesPosition() {
+        String sql = "SELECT * FROM t_order WHERE order_id IN ( 'a',?,  -1 )";
+        InValuesPosition actual = parse(sql).get().getConditions().find(new Column("order_id", "t_order")).get().getInValuesPosition();
+        assertThat(actual.getValueLiterals(), is(Arrays.asList("'a'", "?", "-1")));
+        assertThat(actual.getParameterIndexes(), is(Arrays.asList(-1, 0, -1)));
+        assertThat(sql.substring(actual.getBeginPosition(), actual.getEndPosition()), is("( 'a',?,  -1 )"));
+        actual = new SQLParsingEngine(DatabaseType.MySQL, sql + " ORDER BY order_id", shardingRule).parse().getConditions().find(new Column("order_id", "t_order")).get().getInValuesPosition();
+        assertThat(actual.getValueLiterals(), is(Arrays.asList("'a'", "?", "-1")));
+        assertThat(actual.getParameterIndexes(), is(Arrays.asList(-1, 0, -1)));
+        assertThat(sql.substring(actual.getBeginPosition(), actual.getEndPosition()), is("( 'a',?,  -1 )"));
+    }
+    
+    @Test
+    public void assertParseWhenFullParsingRequired() {
+        assertFalse(parse("INSERT INTO t_order (order_id, user_id) VALUES (?, ?)").isPresent());
+        assertFalse(parse("SELECT COUNT(*) FROM t_order WHERE user_id = ?").isPresent());
+        assertFalse(parse("SELECT DISTINCT status FROM t_order WHERE user_id = ?").isPresent());
+        assertFalse(parse("SELECT * FROM t_order WHERE user_id = ? ORDER BY order_id").isPresent());
+        assertFalse(parse("SELECT * FROM t_order WHERE user_id = ? LIMIT 10").isPresent());
+        assertFalse(parse("SELECT * FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id").isPresent());
+        assertFalse(parse("SELECT * FROM t_order WHERE user_id IN (SELECT user_id FROM t_user)").isPresent());
+        assertFalse(parse("SELECT * FROM t_order WHERE user_id = ? OR order_id = ?").isPresent());
+        assertFalse(parse("SELECT * FROM t_order WHERE user_id = ? + 1").isPresent());
+        assertFalse(parse("UPDATE t_user SET status = ? WHERE user_id = ?").isPresent());
+    }
+    
+    @Test
+    public void assertParseLockingSelect() {
+        assertFalse(parse("SELECT order_id FROM t_order WHERE user_id = 1 FOR UPDATE").isPresent());
+        assertTrue(((SelectStatement) new SQLParsingEngine(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = 1 FOR UPDATE", shardingRule).parse()).isLock());
+        assertTrue(((SelectStatement) new SQLParsingEngine(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = 1 LOCK IN SHARE MODE", shardingRule).parse()).isLock());
+        assertTrue(((SelectStatement) new SQLParsingEngine(DatabaseType.PostgreSQL, "SELECT order_id FROM t_order WHERE user_id = 1 FOR SHARE", shardingRule).parse()).isLock());
+        assertTrue(((SelectStatement) new SQLParsingEngine(DatabaseType.Oracle, "SELECT order_id FROM t_order WHERE user_id = 1 FOR UPDATE NOWAIT", shardingRule).parse()).isLock());
+        assertFalse(((SelectStatement) new SQLParsingEngine(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = 1 ORDER BY order_id", shardingRule).parse()).isLock());
+    }
+    
+    private Optional<SQLStatement> parse(final String sql) {
+        return new SQLFastParsingEngine(DatabaseType.MySQL, sql, shardingRule).parse();
+    }
+}
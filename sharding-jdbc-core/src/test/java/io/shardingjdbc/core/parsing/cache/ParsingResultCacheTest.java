@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing.cache;
+
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
+import io.shardingjdbc.core.rewrite.SQLRewriteEngine;
+import io.shardingjdbc.core.rewrite.SQLRewriteTemplate;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ParsingResultCacheTest {
+    
+    @Test
+    public void assertGetSQLStatement() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(10);
+        SQLStatement sqlStatement = new SelectStatement();
+        parsingResultCache.put("SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement);
+        assertTrue(parsingResultCache.getSQLStatement("SELECT * FROM t_order", DatabaseType.MySQL).isPresent());
+        assertThat(parsingResultCache.getSQLStatement("SELECT * FROM t_order", DatabaseType.MySQL).get(), is(sqlStatement));
+        assertFalse(parsingResultCache.getSQLStatement("SELECT * FROM t_order", DatabaseType.Oracle).isPresent());
+        assertFalse(parsingResultCache.getSQLStatement("SELECT * FROM t_order_item", DatabaseType.MySQL).isPresent());
+        assertThat(parsingResultCache.getHitCount(), is(2L));
+        assertThat(parsingResultCache.getMissCount(), is(2L));
+    }
+    
+    @Test
+    public void assertEvictWhenExceedMaximumSize() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(1);
+        parsingResultCache.put("SELECT * FROM t_order", DatabaseType.MySQL, new SelectStatement());
+        parsingResultCache.put("SELECT * FROM t_order_item", DatabaseType.MySQL, new SelectStatement());
+        assertThat(parsingResultCache.size(), is(1L));
+        assertFalse(parsingResultCache.getSQLStatement("SELECT * FROM t_order", DatabaseType.MySQL).isPresent());
+        assertTrue(parsingResultCache.getSQLStatement("SELECT * FROM t_order_item", DatabaseType.MySQL).isPresent());
+    }
+    
+    @Test
+    public void assertDisableCache() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(0);
+        parsingResultCache.put("SELECT * FROM t_order", DatabaseType.MySQL, new SelectStatement());
+        assertFalse(parsingResultCache.getSQLStatement("SELECT * FROM t_order", DatabaseType.MySQL).isPresent());
+    }
+    
+    @Test
+    public void assertGetRewriteTemplate() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(10);
+        SQLStatement sqlStatement = new SelectStatement();
+        parsingResultCache.put("SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement);
+        SQLRewriteTemplate rewriteTemplate = new SQLRewriteTemplate(new SQLRewriteEngine(null, "SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement));
+        parsingResultCache.putRewriteTemplate("SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement, rewriteTemplate);
+        assertThat(parsingResultCache.getRewriteTemplate(sqlStatement).get(), is(rewriteTemplate));
+        assertFalse(parsingResultCache.getRewriteTemplate(new SelectStatement()).isPresent());
+        assertThat(parsingResultCache.getHitCount(), is(0L));
+    }
+    
+    @Test
+    public void assertPutRewriteTemplateForNotCachedSQLStatement() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(10);
+        SQLStatement sqlStatement = new SelectStatement();
+        parsingResultCache.putRewriteTemplate("SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement, 
+                new SQLRewriteTemplate(new SQLRewriteEngine(null, "SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement)));
+        assertFalse(parsingResultCache.getRewriteTemplate(sqlStatement).isPresent());
+    }
+    
+    @Test
+    public void assertClear() {
+        ParsingResultCache parsingResultCache = new ParsingResultCache(10);
+        SQLStatement sqlStatement = new SelectStatement();
+        parsingResultCache.put("SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement);
+        parsingResultCache.putRewriteTemplate("SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement, 
+                new SQLRewriteTemplate(new SQLRewriteEngine(null, "SELECT * FROM t_order", DatabaseType.MySQL, sqlStatement)));
+        parsingResultCache.clear();
+        assertThat(parsingResultCache.size(), is(0L));
+        assertFalse(parsingResultCache.getRewriteTemplate(sqlStatement).isPresent());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.parsing.lexer.analyzer;
+
+import io.shardingjdbc.core.parsing.lexer.dialect.mysql.MySQLKeyword;
+import io.shardingjdbc.core.parsing.lexer.dialect.oracle.OracleKeyword;
+import io.shardingjdbc.core.parsing.lexer.dialect.postgresql.PostgreSQLKeyword;
+import io.shardingjdbc.core.parsing.lexer.dialect.sqlserver.SQLServerKeyword;
+import io.shardingjdbc.core.parsing.lexer.token.DefaultKeyword;
+import io.shardingjdbc.core.parsing.lexer.token.Keyword;
+import io.shardingjdbc.core.parsing.lexer.token.Literals;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public final class DictionaryTest {
+    
+    @Test
+    public void assertFindKeywordForAllDialects() {
+        assertFindKeyword();
+        assertFindKeyword(MySQLKeyword.values());
+        assertFindKeyword(OracleKeyword.values());
+        assertFindKeyword(PostgreSQLKeyword.values());
+        assertFindKeyword(SQLServerKeyword.values());
+    }
+    
+    private void assertFindKeyword(final Keyword... dialectKeywords) {
+        Map<String, Keyword> expected = new HashMap<>(1024);
+        for (DefaultKeyword each : DefaultKeyword.values()) {
+            expected.put(each.name(), each);
+        }
+        for (Keyword each : dialectKeywords) {
+            expected.put(each.toString(), each);
+        }
+        Dictionary dictionary = new Dictionary(dialectKeywords);
+        for (Map.Entry<String, Keyword> entry : expected.entrySet()) {
+            assertThat(dictionary.findKeyword(entry.getKey(), 0, entry.getKey().length()), is(entry.getValue()));
+            assertThat(dictionary.findKeyword(entry.getKey().toLowerCase(), 0, entry.getKey().length()), is(entry.getValue()));
+        }
+    }
+    
+    @Test
+    public void assertFindKeywordWithRegion() {
+        Dictionary dictionary = new Dictionary(MySQLKeyword.values());
+        String sql = "select order_id from t_order where Order_ID in (1, 2)";
+        assertThat(dictionary.findKeyword(sql, 0, 6), is((Keyword) DefaultKeyword.SELECT));
+        assertThat(dictionary.findKeyword(sql, 16, 20), is((Keyword) DefaultKeyword.FROM));
+        assertThat(dictionary.findKeyword(sql, 7, 12), is((Keyword) DefaultKeyword.ORDER));
+        assertThat(dictionary.findKeyword(sql, 7, 15), nullValue());
+        assertThat(dictionary.findKeyword(sql, 21, 28), nullValue());
+    }
+    
+    @Test
+    public void assertFindTokenType() {
+        Dictionary dictionary = new Dictionary();
+        assertThat(dictionary.findTokenType("Where", Literals.IDENTIFIER), is((Object) DefaultKeyword.WHERE));
+        assertThat(dictionary.findTokenType("t_order", Literals.IDENTIFIER), is((Object) Literals.IDENTIFIER));
+        assertThat(dictionary.findTokenType("By"), is((Object) DefaultKeyword.BY));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertFindTokenTypeFailure() {
+        new Dictionary().findTokenType("t_order");
+    }
+}
@@ -5,6 +5,8 @@ import io.shardingjdbc.core.api.algorithm.sharding.ListShardingValue;
 import io.shardingjdbc.core.api.algorithm.sharding.RangeShardingValue;
 import io.shardingjdbc.core.parsing.parser.expression.SQLExpression;
 import io.shardingjdbc.core.parsing.parser.expression.SQLNumberExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLPlaceholderExpression;
+import io.shardingjdbc.core.parsing.parser.expression.SQLTextExpression;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -31,4 +33,11 @@ public final class ConditionTest {
         assertThat((Integer) ((RangeShardingValue) shardingValue).getValueRange().lowerEndpoint(), is(1));
         assertThat((Integer) ((RangeShardingValue) shardingValue).getValueRange().upperEndpoint(), is(2));
     }
+    
+    @Test
+    public void assertGetValuesWithMixedExpressions() {
+        Condition condition = new Condition(new Column("test", "test"), Arrays.<SQLExpression>asList(
+                new SQLPlaceholderExpression(1), new SQLNumberExpression(2), new SQLTextExpression("3"), new SQLPlaceholderExpression(0)));
+        assertThat(condition.getValues(Arrays.<Object>asList(4, 1)), is(Arrays.<Comparable<?>>asList(1, 2, "3", 4)));
+    }
 }
@@ -17,15 +17,25 @@
 
 package io.shardingjdbc.core.parsing.parser.sql;
 
+import io.shardingjdbc.core.constant.AggregationType;
+import io.shardingjdbc.core.constant.DatabaseType;
 import io.shardingjdbc.core.constant.OrderType;
 import io.shardingjdbc.core.parsing.parser.context.OrderItem;
+import io.shardingjdbc.core.parsing.parser.context.limit.Limit;
+import io.shardingjdbc.core.parsing.parser.context.limit.LimitValue;
+import io.shardingjdbc.core.parsing.parser.context.selectitem.AggregationSelectItem;
 import io.shardingjdbc.core.parsing.parser.sql.dql.select.SelectStatement;
 import com.google.common.base.Optional;
 import org.junit.Test;
 
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 public final class SelectStatementTest {
@@ -50,4 +60,46 @@ public final class SelectStatementTest {
         actual.getGroupByItems().add(new OrderItem("group_col", OrderType.ASC, OrderType.ASC, Optional.<String>absent()));
         assertFalse(actual.isSameGroupByAndOrderByItems());
     }
+    
+    @Test
+    public void assertCopyForRouting() {
+        SelectStatement selectStatement = new SelectStatement();
+        selectStatement.getOrderByItems().add(new OrderItem("order_col", OrderType.ASC, OrderType.ASC, Optional.<String>absent()));
+        selectStatement.setLimit(new Limit(DatabaseType.MySQL));
+        selectStatement.getLimit().setRowCount(new LimitValue(10, -1, false));
+        SelectStatement actual = selectStatement.copyForRouting();
+        assertThat(actual.getOrderByItems(), is(selectStatement.getOrderByItems()));
+        assertThat(actual.getLimit().getRowCountValue(), is(10));
+        assertNotSame(actual.getLimit(), selectStatement.getLimit());
+        actual.getLimit().getRowCount().setValue(20);
+        actual.setLimit(null);
+        assertThat(selectStatement.getLimit().getRowCountValue(), is(10));
+    }
+    
+    @Test
+    public void assertCopyForRoutingWithoutSharingIndexes() {
+        SelectStatement selectStatement = new SelectStatement();
+        AggregationSelectItem aggregationSelectItem = new AggregationSelectItem(AggregationType.AVG, "(price)", Optional.of("avg_price"));
+        aggregationSelectItem.getDerivedAggregationSelectItems().add(new AggregationSelectItem(AggregationType.COUNT, "(price)", Optional.of("AVG_DERIVED_COUNT_0")));
+        aggregationSelectItem.getDerivedAggregationSelectItems().add(new AggregationSelectItem(AggregationType.SUM, "(price)", Optional.of("AVG_DERIVED_SUM_0")));
+        selectStatement.getItems().add(aggregationSelectItem);
+        selectStatement.getGroupByItems().add(new OrderItem("user_id", OrderType.ASC, OrderType.ASC, Optional.<String>absent()));
+        selectStatement.getOrderByItems().add(new OrderItem("user_id", OrderType.ASC, OrderType.ASC, Optional.<String>absent()));
+        Map<String, Integer> columnLabelIndexMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        columnLabelIndexMap.put("user_id", 1);
+        columnLabelIndexMap.put("avg_price", 2);
+        columnLabelIndexMap.put("AVG_DERIVED_COUNT_0", 3);
+        columnLabelIndexMap.put("AVG_DERIVED_SUM_0", 4);
+        SelectStatement actual = selectStatement.copyForRouting();
+        actual.setIndexForItems(columnLabelIndexMap);
+        assertThat(actual.getAggregationSelectItems().get(2).getIndex(), is(4));
+        assertThat(actual.getGroupByItems().get(0).getIndex(), is(1));
+        assertThat(actual.getOrderByItems().get(0).getIndex(), is(1));
+        assertTrue(actual.isSameGroupByAndOrderByItems());
+        for (AggregationSelectItem each : selectStatement.getAggregationSelectItems()) {
+            assertThat(each.getIndex(), is(-1));
+        }
+        assertThat(selectStatement.getGroupByItems().get(0).getIndex(), is(-1));
+        assertThat(selectStatement.getOrderByItems().get(0).getIndex(), is(-1));
+    }
 }
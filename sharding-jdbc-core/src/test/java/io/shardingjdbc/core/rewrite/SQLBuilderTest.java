@@ -19,6 +19,7 @@ package io.shardingjdbc.core.rewrite;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -62,4 +63,40 @@ public final class SQLBuilderTest {
         tableTokens.put("table_x", "table_x_1");
         assertThat(sqlBuilder.toSQL(tableTokens), is("SELECT table_x_1.id FROM table_x_1"));
     }
+    
+    @Test
+    public void assertAppendTableWithActualTableNames() {
+        SQLBuilder sqlBuilder = new SQLBuilder();
+        sqlBuilder.appendLiterals("SELECT ");
+        sqlBuilder.appendTable("table_x");
+        sqlBuilder.appendLiterals(".id FROM ");
+        sqlBuilder.appendTable("table_x");
+        sqlBuilder.appendLiterals(" JOIN ");
+        sqlBuilder.appendTable("table_y");
+        assertThat(sqlBuilder.getLogicTableNames(), is(Arrays.asList("table_x", "table_y")));
+        assertThat(sqlBuilder.toSQL(new String[] {"table_x_1", null}), is("SELECT table_x_1.id FROM table_x_1 JOIN table_y"));
+        assertThat(sqlBuilder.toSQL(new String[] {"table_x_0", "table_y_0"}), is("SELECT table_x_0.id FROM table_x_0 JOIN table_y_0"));
+    }
+    
+    @Test
+    public void assertAppendIndexWithActualTableNames() {
+        SQLBuilder sqlBuilder = new SQLBuilder();
+        sqlBuilder.appendLiterals("CREATE INDEX ");
+        sqlBuilder.appendIndex("index_x", "table_x");
+        sqlBuilder.appendLiterals(" ON ");
+        sqlBuilder.appendTable("table_x");
+        sqlBuilder.appendLiterals(" (id)");
+        assertThat(sqlBuilder.toSQL(new String[] {"table_x_1"}), is("CREATE INDEX index_x_table_x_1 ON table_x_1 (id)"));
+        assertThat(sqlBuilder.toSQL(new String[] {null}), is("CREATE INDEX index_x ON table_x (id)"));
+    }
+    
+    @Test
+    public void assertAppendAfterGenerateSQL() {
+        SQLBuilder sqlBuilder = new SQLBuilder();
+        sqlBuilder.appendLiterals("SELECT * FROM ");
+        sqlBuilder.appendTable("table_x");
+        assertThat(sqlBuilder.toSQL(new String[] {"table_x_1"}), is("SELECT * FROM table_x_1"));
+        sqlBuilder.appendLiterals(" WHERE id = 1");
+        assertThat(sqlBuilder.toSQL(new String[] {"table_x_1"}), is("SELECT * FROM table_x_1 WHERE id = 1"));
+    }
 }
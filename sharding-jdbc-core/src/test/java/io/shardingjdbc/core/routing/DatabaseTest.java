@@ -22,8 +22,11 @@ import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
 import io.shardingjdbc.core.api.config.strategy.HintShardingStrategyConfiguration;
 import io.shardingjdbc.core.rule.ShardingRule;
 import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
 import io.shardingjdbc.core.jdbc.core.ShardingContext;
 import io.shardingjdbc.core.fixture.OrderDatabaseHintShardingAlgorithm;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.tracing.NoopTracer;
 import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
 import org.junit.Before;
@@ -35,6 +38,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.hasItems;
@@ -72,7 +76,7 @@ public class DatabaseTest {
     @Test
     public void assertDatabaseAllRoutingSQL() {
         String originSql = "select * from tesT";
-        ShardingContext shardingContext = new ShardingContext(shardingRule, DatabaseType.MySQL, null, false);
+        ShardingContext shardingContext = new ShardingContext(shardingRule, DatabaseType.MySQL, null, new ShardingProperties(new Properties()), new MetricsRegistry(), new NoopTracer());
         SQLRouteResult actual = new StatementRoutingEngine(shardingContext).route(originSql);
         assertThat(actual.getExecutionUnits().size(), is(2));
         Set<String> actualDataSources = new HashSet<>(Collections2.transform(actual.getExecutionUnits(), new Function<SQLExecutionUnit, String>() {
@@ -95,7 +99,7 @@ public class DatabaseTest {
     }
     
     private void assertTarget(final String originSql, final String targetDataSource) {
-        ShardingContext shardingContext = new ShardingContext(shardingRule, DatabaseType.MySQL, null, false);
+        ShardingContext shardingContext = new ShardingContext(shardingRule, DatabaseType.MySQL, null, new ShardingProperties(new Properties()), new MetricsRegistry(), new NoopTracer());
         SQLRouteResult actual = new StatementRoutingEngine(shardingContext).route(originSql);
         assertThat(actual.getExecutionUnits().size(), is(1));
         Set<String> actualDataSources = new HashSet<>(Collections2.transform(actual.getExecutionUnits(), new Function<SQLExecutionUnit, String>() {
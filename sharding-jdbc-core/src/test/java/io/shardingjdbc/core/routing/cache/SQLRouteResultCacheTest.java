@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.cache;
+
+import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.InlineShardingStrategyConfiguration;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.routing.PreparedStatementRoutingEngine;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.tracing.NoopTracer;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class SQLRouteResultCacheTest {
+    
+    private ShardingContext shardingContext;
+    
+    @Before
+    public void setUp() throws SQLException {
+        TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+        tableRuleConfig.setLogicTable("t_order");
+        tableRuleConfig.setActualDataNodes("ds_0.t_order_${0..1}");
+        tableRuleConfig.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration("order_id", "t_order_${order_id % 2}"));
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
+        Map<String, DataSource> dataSourceMap = new HashMap<>(1, 1);
+        dataSourceMap.put("ds_0", null);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTE_CACHE_SIZE.getKey(), "1024");
+        shardingContext = new ShardingContext(shardingRuleConfig.build(dataSourceMap), DatabaseType.MySQL, null, new ShardingProperties(props), new MetricsRegistry(), new NoopTracer());
+    }
+    
+    @Test
+    public void assertGetExecutionUnits() {
+        SQLRouteResultCache sqlRouteResultCache = new SQLRouteResultCache(10);
+        Collection<SQLExecutionUnit> executionUnits = Collections.singletonList(new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_1 WHERE order_id = ?"));
+        sqlRouteResultCache.put("SELECT * FROM t_order WHERE order_id = ?", Collections.<Comparable<?>>singletonList(1), executionUnits);
+        assertTrue(sqlRouteResultCache.isEnabled());
+        assertThat(sqlRouteResultCache.getExecutionUnits("SELECT * FROM t_order WHERE order_id = ?", Collections.<Comparable<?>>singletonList(1)).get().iterator().next(), is(executionUnits.iterator().next()));
+        assertFalse(sqlRouteResultCache.getExecutionUnits("SELECT * FROM t_order WHERE order_id = ?", Collections.<Comparable<?>>singletonList(2)).isPresent());
+        assertThat(sqlRouteResultCache.getHitCount(), is(1L));
+        assertThat(sqlRouteResultCache.getMissCount(), is(1L));
+        assertThat(sqlRouteResultCache.getHitRate(), is(0.5D));
+    }
+    
+    @Test
+    public void assertDisableCache() {
+        SQLRouteResultCache sqlRouteResultCache = new SQLRouteResultCache(0);
+        assertFalse(sqlRouteResultCache.isEnabled());
+        sqlRouteResultCache.put("SELECT * FROM t_order", Collections.<Comparable<?>>emptyList(), Collections.<SQLExecutionUnit>emptyList());
+        assertFalse(sqlRouteResultCache.getExecutionUnits("SELECT * FROM t_order", Collections.<Comparable<?>>emptyList()).isPresent());
+    }
+    
+    @Test
+    public void assertRouteWithCache() {
+        String logicSQL = "SELECT * FROM t_order WHERE order_id = ?";
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine(logicSQL, shardingContext);
+        assertRouteResult(routingEngine.route(new ArrayList<Object>(Collections.singletonList(1))), "SELECT * FROM t_order_1 WHERE order_id = ?");
+        assertRouteResult(routingEngine.route(new ArrayList<Object>(Collections.singletonList(3))), "SELECT * FROM t_order_1 WHERE order_id = ?");
+        assertRouteResult(routingEngine.route(new ArrayList<Object>(Collections.singletonList(1))), "SELECT * FROM t_order_1 WHERE order_id = ?");
+        assertRouteResult(routingEngine.route(new ArrayList<Object>(Collections.singletonList(2))), "SELECT * FROM t_order_0 WHERE order_id = ?");
+        assertThat(shardingContext.getSqlRouteResultCache().getHitCount(), is(1L));
+        assertThat(shardingContext.getSqlRouteResultCache().size(), is(3L));
+    }
+    
+    @Test
+    public void assertRouteWithLimitNotCached() {
+        String logicSQL = "SELECT * FROM t_order WHERE order_id IN (?, ?) LIMIT ?, ?";
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine(logicSQL, shardingContext);
+        List<Object> parameters = new ArrayList<Object>(Arrays.asList(1, 2, 10, 5));
+        SQLRouteResult actual = routingEngine.route(parameters);
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        assertThat(parameters, is(Arrays.<Object>asList(1, 2, 0, 15)));
+        assertThat(shardingContext.getSqlRouteResultCache().size(), is(0L));
+    }
+    
+    @Test
+    public void assertRouteWithStreamParameterNotCached() {
+        String logicSQL = "SELECT * FROM t_order WHERE order_id = ? AND content = ?";
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine(logicSQL, shardingContext);
+        assertRouteResult(routingEngine.route(new ArrayList<Object>(Arrays.asList(1, new ByteArrayInputStream(new byte[0])))), "SELECT * FROM t_order_1 WHERE order_id = ? AND content = ?");
+        assertThat(shardingContext.getSqlRouteResultCache().size(), is(0L));
+    }
+    
+    private void assertRouteResult(final SQLRouteResult actual, final String expectedSQL) {
+        assertThat(actual.getExecutionUnits().size(), is(1));
+        SQLExecutionUnit actualExecutionUnit = actual.getExecutionUnits().iterator().next();
+        assertThat(actualExecutionUnit.getDataSource(), is("ds_0"));
+        assertThat(actualExecutionUnit.getSql(), is(expectedSQL));
+    }
+}
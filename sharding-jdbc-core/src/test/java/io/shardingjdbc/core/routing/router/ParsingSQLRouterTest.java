@@ -0,0 +1,223 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+package io.shardingjdbc.core.routing.router;
+
+import io.shardingjdbc.core.api.config.ShardingRuleConfiguration;
+import io.shardingjdbc.core.api.config.TableRuleConfiguration;
+import io.shardingjdbc.core.api.config.strategy.InlineShardingStrategyConfiguration;
+import io.shardingjdbc.core.constant.DatabaseType;
+import io.shardingjdbc.core.constant.ShardingProperties;
+import io.shardingjdbc.core.constant.ShardingPropertiesConstant;
+import io.shardingjdbc.core.jdbc.core.ShardingContext;
+import io.shardingjdbc.core.keygen.fixture.IncrementKeyGenerator;
+import io.shardingjdbc.core.parsing.parser.sql.SQLStatement;
+import io.shardingjdbc.core.routing.PreparedStatementRoutingEngine;
+import io.shardingjdbc.core.routing.SQLExecutionUnit;
+import io.shardingjdbc.core.routing.SQLRouteResult;
+import io.shardingjdbc.core.metrics.MetricsRegistry;
+import io.shardingjdbc.core.tracing.NoopTracer;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ParsingSQLRouterTest {
+    
+    private ShardingContext shardingContext;
+    
+    @Before
+    public void setUp() throws SQLException {
+        TableRuleConfiguration tableRuleConfig = new TableRuleConfiguration();
+        tableRuleConfig.setLogicTable("t_order");
+        tableRuleConfig.setActualDataNodes("ds_${0..1}.t_order_${0..2}");
+        tableRuleConfig.setDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", "ds_${user_id % 2}"));
+        tableRuleConfig.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration("order_id", "t_order_${order_id % 3}"));
+        TableRuleConfiguration itemTableRuleConfig = new TableRuleConfiguration();
+        itemTableRuleConfig.setLogicTable("t_order_item");
+        itemTableRuleConfig.setActualDataNodes("ds_${0..1}.t_order_item_${0..1}");
+        itemTableRuleConfig.setDatabaseShardingStrategyConfig(new InlineShardingStrategyConfiguration("user_id", "ds_${user_id % 2}"));
+        itemTableRuleConfig.setTableShardingStrategyConfig(new InlineShardingStrategyConfiguration("item_id", "t_order_item_${item_id % 2}"));
+        itemTableRuleConfig.setKeyGeneratorColumnName("item_id");
+        itemTableRuleConfig.setKeyGeneratorClass(IncrementKeyGenerator.class.getName());
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(tableRuleConfig);
+        shardingRuleConfig.getTableRuleConfigs().add(itemTableRuleConfig);
+        Map<String, DataSource> dataSourceMap = new HashMap<>(2, 1);
+        dataSourceMap.put("ds_0", null);
+        dataSourceMap.put("ds_1", null);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.SQL_UNION_ALL_REWRITE.getKey(), Boolean.TRUE.toString());
+        shardingContext = new ShardingContext(shardingRuleConfig.build(dataSourceMap), DatabaseType.MySQL, null, new ShardingProperties(props), new MetricsRegistry(), new NoopTracer());
+    }
+    
+    @Test
+    public void assertRouteWithUnionAll() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("SELECT order_id FROM t_order WHERE user_id = ? AND status = ?", shardingContext)
+                .route(new ArrayList<Object>(Arrays.asList(1, "init")));
+        assertThat(actual.getExecutionUnits().size(), is(1));
+        SQLExecutionUnit actualExecutionUnit = actual.getExecutionUnits().iterator().next();
+        assertThat(actualExecutionUnit.getDataSource(), is("ds_1"));
+        assertThat(actualExecutionUnit.getSql(), is("SELECT order_id FROM t_order_0 WHERE user_id = ? AND status = ? UNION ALL SELECT order_id FROM t_order_1 WHERE user_id = ? AND status = ? "
+                + "UNION ALL SELECT order_id FROM t_order_2 WHERE user_id = ? AND status = ?"));
+        assertThat(actualExecutionUnit.getParameterIndexes(), is(Arrays.asList(0, 1, 0, 1, 0, 1)));
+    }
+    
+    @Test
+    public void assertRouteWithUnionAllForSingleTable() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("SELECT order_id FROM t_order WHERE order_id = ?", shardingContext).route(new ArrayList<Object>(Collections.singletonList(2)));
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        Iterator<SQLExecutionUnit> actualExecutionUnits = actual.getExecutionUnits().iterator();
+        assertThat(actualExecutionUnits.next().getSql(), is("SELECT order_id FROM t_order_2 WHERE order_id = ?"));
+        SQLExecutionUnit actualExecutionUnit = actualExecutionUnits.next();
+        assertThat(actualExecutionUnit.getSql(), is("SELECT order_id FROM t_order_2 WHERE order_id = ?"));
+        assertTrue(actualExecutionUnit.getParameterIndexes().isEmpty());
+    }
+    
+    @Test
+    public void assertRouteWithoutUnionAllForOrderBy() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("SELECT order_id FROM t_order WHERE user_id = ? ORDER BY order_id", shardingContext)
+                .route(new ArrayList<Object>(Collections.singletonList(1)));
+        assertThat(actual.getExecutionUnits().size(), is(3));
+        for (SQLExecutionUnit each : actual.getExecutionUnits()) {
+            assertTrue(each.getParameterIndexes().isEmpty());
+        }
+    }
+    
+    @Test
+    public void assertRouteWithoutUnionAllForUpdate() {
+        assertRouteWithoutUnionAll("SELECT order_id FROM t_order WHERE user_id = ? FOR UPDATE", 1);
+    }
+    
+    @Test
+    public void assertRouteWithoutUnionAllForLockInShareMode() {
+        assertRouteWithoutUnionAll("SELECT order_id FROM t_order WHERE user_id = ? LOCK IN SHARE MODE", 1);
+    }
+    
+    @Test
+    public void assertRouteWithoutUnionAllForStreamParameter() {
+        assertRouteWithoutUnionAll("SELECT order_id FROM t_order WHERE user_id = ? AND content = ?", 1, new ByteArrayInputStream(new byte[0]));
+        assertRouteWithoutUnionAll("SELECT order_id FROM t_order WHERE user_id = ? AND content = ?", 1, new StringReader(""));
+    }
+    
+    private void assertRouteWithoutUnionAll(final String sql, final Object... parameters) {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine(sql, shardingContext).route(new ArrayList<>(Arrays.asList(parameters)));
+        assertThat(actual.getExecutionUnits().size(), is(3));
+        for (SQLExecutionUnit each : actual.getExecutionUnits()) {
+            assertFalse(each.getSql().contains("UNION ALL"));
+            assertTrue(each.getParameterIndexes().isEmpty());
+        }
+    }
+    
+    @Test
+    public void assertRouteWithPrunedInValues() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("SELECT order_id FROM t_order WHERE user_id = ? AND order_id IN (?, ?, ?, ?) ORDER BY order_id", shardingContext)
+                .route(new ArrayList<Object>(Arrays.asList(1, 3, 4, 6, 7)));
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        Iterator<SQLExecutionUnit> actualExecutionUnits = actual.getExecutionUnits().iterator();
+        SQLExecutionUnit actualExecutionUnit = actualExecutionUnits.next();
+        assertThat(actualExecutionUnit.getSql(), is("SELECT order_id FROM t_order_0 WHERE user_id = ? AND order_id IN (?, ?) ORDER BY order_id"));
+        assertThat(actualExecutionUnit.getParameterIndexes(), is(Arrays.asList(0, 1, 3)));
+        actualExecutionUnit = actualExecutionUnits.next();
+        assertThat(actualExecutionUnit.getSql(), is("SELECT order_id FROM t_order_1 WHERE user_id = ? AND order_id IN (?, ?) ORDER BY order_id"));
+        assertThat(actualExecutionUnit.getParameterIndexes(), is(Arrays.asList(0, 2, 4)));
+    }
+    
+    @Test
+    public void assertRouteWithCachedRewriteTemplate() {
+        String sql = "SELECT order_id FROM t_order WHERE user_id = ? AND order_id = ?";
+        SQLRouteResult expected = new PreparedStatementRoutingEngine(sql, shardingContext).route(new ArrayList<Object>(Arrays.asList(1, 3)));
+        SQLStatement parsedSQLStatement = shardingContext.getParsingResultCache().getSQLStatement(sql, DatabaseType.MySQL).get();
+        assertTrue(shardingContext.getParsingResultCache().getRewriteTemplate(parsedSQLStatement).isPresent());
+        SQLRouteResult actual = new PreparedStatementRoutingEngine(sql, shardingContext).route(new ArrayList<Object>(Arrays.asList(1, 4)));
+        assertThat(expected.getExecutionUnits().iterator().next().getSql(), is("SELECT order_id FROM t_order_0 WHERE user_id = ? AND order_id = ?"));
+        assertThat(actual.getExecutionUnits().iterator().next().getSql(), is("SELECT order_id FROM t_order_1 WHERE user_id = ? AND order_id = ?"));
+    }
+    
+    @Test
+    public void assertRouteWithoutCachedRewriteTemplateForLimit() {
+        String sql = "SELECT order_id FROM t_order WHERE user_id = ? LIMIT ?, ?";
+        new PreparedStatementRoutingEngine(sql, shardingContext).route(new ArrayList<Object>(Arrays.asList(1, 2, 10)));
+        SQLStatement parsedSQLStatement = shardingContext.getParsingResultCache().getSQLStatement(sql, DatabaseType.MySQL).get();
+        assertFalse(shardingContext.getParsingResultCache().getRewriteTemplate(parsedSQLStatement).isPresent());
+    }
+    
+    @Test
+    public void assertRouteWithPrunedInValuesForUnionAll() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("SELECT order_id FROM t_order WHERE user_id = 1 AND order_id IN (3, 4,6)", shardingContext).route(new ArrayList<>());
+        assertThat(actual.getExecutionUnits().size(), is(1));
+        assertThat(actual.getExecutionUnits().iterator().next().getSql(), 
+                is("SELECT order_id FROM t_order_0 WHERE user_id = 1 AND order_id IN (3, 6) UNION ALL SELECT order_id FROM t_order_1 WHERE user_id = 1 AND order_id IN (4)"));
+    }
+    
+    @Test
+    public void assertRouteWithSplitMultipleInsertValues() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("INSERT INTO t_order (order_id, user_id, status) VALUES (?, ?, ?), (?, ?, ?),(?, ?, ?)", shardingContext)
+                .route(new ArrayList<Object>(Arrays.<Object>asList(3, 1, "a", 4, 1, "b", 6, 1, "c")));
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        Iterator<SQLExecutionUnit> actualExecutionUnits = actual.getExecutionUnits().iterator();
+        SQLExecutionUnit actualExecutionUnit = actualExecutionUnits.next();
+        assertThat(actualExecutionUnit.getDataSource(), is("ds_1"));
+        assertThat(actualExecutionUnit.getSql(), is("INSERT INTO t_order_0 (order_id, user_id, status) VALUES (?, ?, ?), (?, ?, ?)"));
+        assertThat(actualExecutionUnit.getParameterIndexes(), is(Arrays.asList(0, 1, 2, 6, 7, 8)));
+        actualExecutionUnit = actualExecutionUnits.next();
+        assertThat(actualExecutionUnit.getDataSource(), is("ds_1"));
+        assertThat(actualExecutionUnit.getSql(), is("INSERT INTO t_order_1 (order_id, user_id, status) VALUES (?, ?, ?)"));
+        assertThat(actualExecutionUnit.getParameterIndexes(), is(Arrays.asList(3, 4, 5)));
+    }
+    
+    @Test
+    public void assertRouteWithSplitMultipleInsertValuesAndGeneratedKeys() {
+        List<Object> parameters = new ArrayList<Object>(Arrays.<Object>asList(1, "a", 1, "b", 1, "c"));
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("INSERT INTO t_order_item (user_id, status) VALUES (?, ?), (?, ?), (?, ?)", shardingContext).route(parameters);
+        assertThat(parameters, is(Arrays.<Object>asList(1, "a", 1, "b", 1, "c", 1, 2, 3)));
+        assertThat(actual.getGeneratedKeys(), is(Arrays.<Number>asList(1, 2, 3)));
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        Iterator<SQLExecutionUnit> actualExecutionUnits = actual.getExecutionUnits().iterator();
+        SQLExecutionUnit actualExecutionUnit = actualExecutionUnits.next();
+        assertThat(actualExecutionUnit.getSql(), is("INSERT INTO t_order_item_1 (user_id, status, item_id) VALUES (?, ?, ?), (?, ?, ?)"));
+        assertThat(actualExecutionUnit.getParameterIndexes(), is(Arrays.asList(0, 1, 6, 4, 5, 8)));
+        actualExecutionUnit = actualExecutionUnits.next();
+        assertThat(actualExecutionUnit.getSql(), is("INSERT INTO t_order_item_0 (user_id, status, item_id) VALUES (?, ?, ?)"));
+        assertThat(actualExecutionUnit.getParameterIndexes(), is(Arrays.asList(2, 3, 7)));
+    }
+    
+    @Test
+    public void assertRouteWithSplitMultipleInsertValuesAndGeneratedKeysWithoutParameters() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("INSERT INTO t_order_item (user_id, status) VALUES (1, 'a'), (3, 'b')", shardingContext).route(new ArrayList<>());
+        assertThat(actual.getGeneratedKeys(), is(Arrays.<Number>asList(1, 2)));
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        Iterator<SQLExecutionUnit> actualExecutionUnits = actual.getExecutionUnits().iterator();
+        assertThat(actualExecutionUnits.next().getSql(), is("INSERT INTO t_order_item_1 (user_id, status, item_id) VALUES (1, 'a', 1)"));
+        assertThat(actualExecutionUnits.next().getSql(), is("INSERT INTO t_order_item_0 (user_id, status, item_id) VALUES (3, 'b', 2)"));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.routing.strategy.inline;
+
+import io.shardingjdbc.core.api.algorithm.sharding.PreciseShardingValue;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public final class InlineExpressionCompilerTest {
+    
+    private static final List<Comparable<?>> SHARDING_VALUES = Arrays.<Comparable<?>>asList(0, 1, 7, -7, 15, Integer.MAX_VALUE, Integer.MIN_VALUE, 3L, -3000000000L, (short) 5, "abc123", "");
+    
+    @Test
+    public void assertCompileModulo() {
+        assertConsistentWithGroovy("t_order_${order_id % 4}");
+    }
+    
+    @Test
+    public void assertCompileArithmetic() {
+        assertConsistentWithGroovy("t_order_${(order_id + 1) * 3 - 2 % 5}");
+    }
+    
+    @Test
+    public void assertCompileHashCode() {
+        assertConsistentWithGroovy("t_order_${order_id.hashCode() % 16}");
+    }
+    
+    @Test
+    public void assertCompileMultipleNodes() {
+        assertConsistentWithGroovy("ds_${order_id.hashCode().abs() % 2}.t_order_${order_id.toString().length()}");
+    }
+    
+    @Test
+    public void assertCompileSubstring() {
+        assertConsistentWithGroovy("t_order_${order_id.toString().substring(0, 1)}");
+    }
+    
+    @Test
+    public void assertCompileLongLiteral() {
+        assertConsistentWithGroovy("t_order_${(order_id + 3000000000) % 3000000001}");
+    }
+    
+    @Test
+    public void assertEvaluateWithGroovyForUncompilableValue() {
+        InlineExpressionEvaluator evaluator = InlineExpressionCompiler.compile("order_id", "t_order_${order_id % 4}").get();
+        assertThat(evaluator.evaluate(new PreciseShardingValue<>("t_order", "order_id", BigInteger.valueOf(5L))), is("t_order_1"));
+    }
+    
+    @Test
+    public void assertCompileUnsupportedExpression() {
+        assertFalse(InlineExpressionCompiler.compile("order_id", "t_order_${order_id / 4}").isPresent());
+        assertFalse(InlineExpressionCompiler.compile("order_id", "t_order_${user_id % 4}").isPresent());
+        assertFalse(InlineExpressionCompiler.compile("order_id", "t_order_${Math.abs(order_id) % 4}").isPresent());
+        assertFalse(InlineExpressionCompiler.compile("order_id", "t_order_${order_id.intdiv(4)}").isPresent());
+        assertFalse(InlineExpressionCompiler.compile("order_id", "t_order_$order_id").isPresent());
+        assertFalse(InlineExpressionCompiler.compile("order_id", "t_order_${order_id % 4L}").isPresent());
+        assertFalse(InlineExpressionCompiler.compile("order_id", "t_order_${order_id % 99999999999999999999}").isPresent());
+    }
+    
+    private void assertConsistentWithGroovy(final String inlineExpression) {
+        InlineExpressionEvaluator expected = new GroovyInlineExpressionEvaluator(inlineExpression);
+        InlineExpressionEvaluator actual = InlineExpressionCompiler.compile("order_id", inlineExpression).get();
+        assertThat(actual, instanceOf(CompiledInlineExpressionEvaluator.class));
+        for (Comparable<?> each : SHARDING_VALUES) {
+            PreciseShardingValue<?> shardingValue = new PreciseShardingValue<>("t_order", "order_id", each);
+            assertThat(evaluate(actual, shardingValue), is(evaluate(expected, shardingValue)));
+        }
+    }
+    
+    private String evaluate(final InlineExpressionEvaluator evaluator, final PreciseShardingValue<?> shardingValue) {
+        try {
+            return evaluator.evaluate(shardingValue);
+            //CHECKSTYLE:OFF
+        } catch (final Exception ex) {
+            //CHECKSTYLE:ON
+            return ex.getClass().getName();
+        }
+    }
+}
@@ -23,6 +23,8 @@ import io.shardingjdbc.core.api.config.strategy.NoneShardingStrategyConfiguratio
 import io.shardingjdbc.core.api.config.strategy.ShardingStrategyConfiguration;
 import io.shardingjdbc.core.api.config.strategy.StandardShardingStrategyConfiguration;
 import io.shardingjdbc.core.api.algorithm.fixture.TestPreciseShardingAlgorithm;
+import io.shardingjdbc.core.keygen.ConcurrentKeyGenerator;
+import io.shardingjdbc.core.keygen.fixture.IncrementKeyGenerator;
 import io.shardingjdbc.core.parsing.parser.context.condition.Column;
 import io.shardingjdbc.core.routing.strategy.none.NoneShardingStrategy;
 import org.junit.Test;
@@ -33,6 +35,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -107,6 +111,13 @@ public final class ShardingRuleTest {
         assertFalse(actual.tryFindTableRule("null").isPresent());
     }
     
+    @Test
+    public void assertFindTableRuleIgnoreCase() throws SQLException {
+        ShardingRule actual = createShardingRule();
+        assertThat(actual.tryFindTableRule("LOGICTABLE").get().getLogicTable(), is("logicTable"));
+        assertThat(actual.findBindingTableRule("SubLogicTable").get().getTableRules().size(), is(2));
+    }
+    
     @Test
     public void assertGetDatabaseShardingStrategyFromTableRule() throws SQLException {
         ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
@@ -257,6 +268,13 @@ public final class ShardingRuleTest {
         assertTrue(shardingRuleConfig.build(createDataSourceMap()).isShardingColumn(new Column("column", "logicTable")));
     }
     
+    @Test
+    public void assertIsShardingColumnIgnoreCase() throws SQLException {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfigWithAllStrategies());
+        assertTrue(shardingRuleConfig.build(createDataSourceMap()).isShardingColumn(new Column("COLUMN", "LogicTable")));
+    }
+    
     @Test
     public void assertIsNotShardingColumn() throws SQLException {
         ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
@@ -281,6 +299,27 @@ public final class ShardingRuleTest {
         return result;
     }
     
+    @Test
+    public void assertGenerateKeysWithConcurrentKeyGenerator() throws SQLException {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfig());
+        shardingRuleConfig.setDefaultKeyGeneratorClass(ConcurrentKeyGenerator.class.getName());
+        List<Number> actual = shardingRuleConfig.build(createDataSourceMap()).generateKeys("logicTable", ConcurrentKeyGenerator.MAX_BATCH_SIZE + 1);
+        assertThat(actual.size(), is(ConcurrentKeyGenerator.MAX_BATCH_SIZE + 1));
+        assertThat(new HashSet<>(actual).size(), is(ConcurrentKeyGenerator.MAX_BATCH_SIZE + 1));
+        for (int i = 1; i < actual.size(); i++) {
+            assertTrue(actual.get(i).longValue() > actual.get(i - 1).longValue());
+        }
+    }
+    
+    @Test
+    public void assertGenerateKeysWithIncrementKeyGenerator() throws SQLException {
+        ShardingRuleConfiguration shardingRuleConfig = new ShardingRuleConfiguration();
+        shardingRuleConfig.getTableRuleConfigs().add(createTableRuleConfig());
+        shardingRuleConfig.setDefaultKeyGeneratorClass(IncrementKeyGenerator.class.getName());
+        assertThat(shardingRuleConfig.build(createDataSourceMap()).generateKeys("logicTable", 3).size(), is(3));
+    }
+    
     private TableRuleConfiguration createTableRuleConfig() {
         TableRuleConfiguration result = new TableRuleConfiguration();
         result.setLogicTable("logicTable");
@@ -0,0 +1,55 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.slowquery;
+
+import io.shardingjdbc.core.util.EventBusInstance;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class SlowQueryLoggerTest {
+    
+    @Test
+    public void assertFormatSlowQuery() {
+        SlowQueryEvent event = new SlowQueryEvent("SELECT * FROM t_order ORDER BY order_id", 12345678L, false, false, 2L, Arrays.asList(
+                new SlowQueryUnit("ds_0", "SELECT * FROM t_order_0 ORDER BY order_id", 10000000L, -1L, false), 
+                new SlowQueryUnit("ds_1", "SELECT * FROM t_order_1 ORDER BY order_id", 2000000L, -1L, true)), "OrderByStreamResultSetMerger", 300000L);
+        assertThat(SlowQueryLogger.format(event), is("Slow SQL: 12.346 ms ::: Logic SQL: SELECT * FROM t_order ORDER BY order_id ::: 2 rows ::: Units: ["
+                + "{ds_0 ::: SELECT * FROM t_order_0 ORDER BY order_id ::: 10.000 ms}, {ds_1 ::: SELECT * FROM t_order_1 ORDER BY order_id ::: 2.000 ms ::: failed}] "
+                + "::: Merge: OrderByStreamResultSetMerger ::: 0.300 ms"));
+    }
+    
+    @Test
+    public void assertFormatSampledQuery() {
+        SlowQueryEvent event = new SlowQueryEvent("DELETE FROM t_order", 1000000L, true, true, -1L, 
+                Collections.singletonList(new SlowQueryUnit("ds_0", "DELETE FROM t_order_0", 500000L, 3L, false)), null, 0L);
+        assertThat(SlowQueryLogger.format(event), is("Sampled SQL: 1.000 ms (failed) ::: Logic SQL: DELETE FROM t_order ::: Units: [{ds_0 ::: DELETE FROM t_order_0 ::: 0.500 ms ::: 3 rows}]"));
+    }
+    
+    @Test
+    public void assertRegister() {
+        SlowQueryLogger.register();
+        SlowQueryLogger.register();
+        assertTrue(EventBusInstance.getAsyncInstance().hasSubscriber(SlowQueryEvent.class));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.slowquery;
+
+import com.google.common.eventbus.Subscribe;
+import io.shardingjdbc.core.tracing.ShardingTags;
+import io.shardingjdbc.core.tracing.Span;
+import io.shardingjdbc.core.util.ShardingEventBus;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class SlowQueryTracerTest {
+    
+    private final List<SlowQueryEvent> events = new ArrayList<>();
+    
+    private ShardingEventBus eventBus;
+    
+    @Before
+    public void setUp() {
+        eventBus = new ShardingEventBus("test");
+        eventBus.register(new Object() {
+            
+            @Subscribe
+            public void listen(final SlowQueryEvent event) {
+                events.add(event);
+            }
+        });
+    }
+    
+    @Test
+    public void assertFinishWithSlowQuery() {
+        SlowQueryTracer tracer = new SlowQueryTracer(0L, 0, eventBus);
+        Span logicSQLSpan = tracer.startSpan(ShardingTags.LOGIC_SQL_OPERATION, null);
+        logicSQLSpan.setTag(ShardingTags.DB_STATEMENT, "UPDATE t_order SET status = ?");
+        startExecuteSpan(tracer, logicSQLSpan, "ds_0", "UPDATE t_order_0 SET status = ?", 2).finish();
+        Span failedSpan = startExecuteSpan(tracer, logicSQLSpan, "ds_1", "UPDATE t_order_1 SET status = ?", 0);
+        failedSpan.setError(new SQLException("test"));
+        failedSpan.finish();
+        Span unfinishedSpan = startExecuteSpan(tracer, logicSQLSpan, "ds_1", "UPDATE t_order_2 SET status = ?", 0);
+        logicSQLSpan.finish();
+        unfinishedSpan.finish();
+        assertThat(events.size(), is(1));
+        SlowQueryEvent actual = events.get(0);
+        assertThat(actual.getLogicSQL(), is("UPDATE t_order SET status = ?"));
+        assertFalse(actual.isSampled());
+        assertFalse(actual.isFailed());
+        assertThat(actual.getRowCount(), is(-1L));
+        assertTrue(actual.getElapsedNanos() >= 0L);
+        assertThat(actual.getUnits().size(), is(2));
+        assertThat(actual.getUnits().get(0).getDataSource(), is("ds_0"));
+        assertThat(actual.getUnits().get(0).getSql(), is("UPDATE t_order_0 SET status = ?"));
+        assertThat(actual.getUnits().get(0).getRowCount(), is(2L));
+        assertFalse(actual.getUnits().get(0).isFailed());
+        assertTrue(actual.getUnits().get(1).isFailed());
+        assertNull(actual.getMergeStrategy());
+    }
+    
+    @Test
+    public void assertFinishWithMerge() {
+        SlowQueryTracer tracer = new SlowQueryTracer(0L, 0, eventBus);
+        Span logicSQLSpan = tracer.startSpan(ShardingTags.LOGIC_SQL_OPERATION, null);
+        logicSQLSpan.setTag(ShardingTags.DB_STATEMENT, "SELECT * FROM t_order ORDER BY order_id");
+        Span executeSpan = tracer.startSpan(ShardingTags.EXECUTE_SQL_OPERATION, logicSQLSpan);
+        executeSpan.setTag(ShardingTags.DB_INSTANCE, "ds_0");
+        executeSpan.finish();
+        Span mergeSpan = tracer.startSpan(ShardingTags.MERGE_RESULT_OPERATION, logicSQLSpan);
+        mergeSpan.setTag(ShardingTags.MERGE_STRATEGY, "OrderByStreamResultSetMerger");
+        mergeSpan.finish();
+        logicSQLSpan.setTag(ShardingTags.ROW_COUNT, 5L);
+        logicSQLSpan.setError(new SQLException("test"));
+        logicSQLSpan.finish();
+        assertThat(events.size(), is(1));
+        SlowQueryEvent actual = events.get(0);
+        assertTrue(actual.isFailed());
+        assertThat(actual.getRowCount(), is(5L));
+        assertThat(actual.getUnits().size(), is(1));
+        assertThat(actual.getUnits().get(0).getRowCount(), is(-1L));
+        assertThat(actual.getMergeStrategy(), is("OrderByStreamResultSetMerger"));
+        assertTrue(actual.getMergeElapsedNanos() >= 0L);
+    }
+    
+    @Test
+    public void assertFinishWithFastQuery() {
+        SlowQueryTracer tracer = new SlowQueryTracer(3600000L, 0, eventBus);
+        tracer.startSpan(ShardingTags.LOGIC_SQL_OPERATION, null).finish();
+        assertTrue(events.isEmpty());
+    }
+    
+    @Test
+    public void assertFinishWithSampledFastQuery() {
+        SlowQueryTracer tracer = new SlowQueryTracer(3600000L, 2, eventBus);
+        for (int i = 0; i < 5; i++) {
+            tracer.startSpan(ShardingTags.LOGIC_SQL_OPERATION, null).finish();
+        }
+        assertThat(events.size(), is(2));
+        assertTrue(events.get(0).isSampled());
+    }
+    
+    @Test
+    public void assertFinishWithoutSubscriber() {
+        SlowQueryTracer tracer = new SlowQueryTracer(0L, 0, new ShardingEventBus("empty"));
+        tracer.startSpan(ShardingTags.LOGIC_SQL_OPERATION, null).finish();
+        assertTrue(events.isEmpty());
+    }
+    
+    private Span startExecuteSpan(final SlowQueryTracer tracer, final Span parentSpan, final String dataSource, final String sql, final int rowCount) {
+        Span result = tracer.startSpan(ShardingTags.EXECUTE_SQL_OPERATION, parentSpan);
+        result.setTag(ShardingTags.DB_INSTANCE, dataSource);
+        result.setTag(ShardingTags.DB_STATEMENT, sql);
+        result.setTag(ShardingTags.ROW_COUNT, rowCount);
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public final class CompositeTracerTest {
+    
+    @Test
+    public void assertStartSpan() {
+        RecordingTracer firstTracer = new RecordingTracer();
+        RecordingTracer secondTracer = new RecordingTracer();
+        Tracer tracer = new CompositeTracer(Arrays.<Tracer>asList(firstTracer, new NoopTracer(), secondTracer));
+        Span parentSpan = tracer.startSpan("parent", null);
+        Span childSpan = tracer.startSpan("child", parentSpan);
+        childSpan.setTag(ShardingTags.DB_INSTANCE, "ds_0");
+        childSpan.setTag(ShardingTags.ROW_COUNT, 1);
+        SQLException cause = new SQLException("test");
+        childSpan.setError(cause);
+        childSpan.finish();
+        parentSpan.finish();
+        for (RecordingTracer each : Arrays.asList(firstTracer, secondTracer)) {
+            assertThat(each.getFinishedSpans().size(), is(2));
+            RecordedSpan actualChildSpan = each.getFinishedSpans().get(0);
+            assertThat(actualChildSpan.getParentSpanId(), is(each.getFinishedSpans().get(1).getSpanId()));
+            assertThat(actualChildSpan.getTags().get(ShardingTags.DB_INSTANCE), is((Object) "ds_0"));
+            assertThat(actualChildSpan.getTags().get(ShardingTags.ROW_COUNT), is((Object) 1));
+            assertThat(actualChildSpan.getError(), is((Throwable) cause));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class RecordingTracerTest {
+    
+    @Test
+    public void assertStartSpanWithParent() {
+        RecordingTracer tracer = new RecordingTracer();
+        RecordedSpan parentSpan = (RecordedSpan) tracer.startSpan("parent", null);
+        RecordedSpan childSpan = (RecordedSpan) tracer.startSpan("child", parentSpan);
+        assertThat(parentSpan.getParentSpanId(), is(0L));
+        assertThat(parentSpan.getTraceId(), is(parentSpan.getSpanId()));
+        assertThat(childSpan.getTraceId(), is(parentSpan.getTraceId()));
+        assertThat(childSpan.getParentSpanId(), is(parentSpan.getSpanId()));
+        assertThat(childSpan.getOperationName(), is("child"));
+        assertThat(childSpan.getThreadName(), is(Thread.currentThread().getName()));
+    }
+    
+    @Test
+    public void assertFinish() {
+        RecordingTracer tracer = new RecordingTracer();
+        Span parentSpan = tracer.startSpan("parent", null);
+        Span childSpan = tracer.startSpan("child", parentSpan);
+        childSpan.setTag(ShardingTags.DB_INSTANCE, "ds_0");
+        childSpan.setTag(ShardingTags.ROW_COUNT, 2);
+        SQLException cause = new SQLException("test");
+        childSpan.setError(cause);
+        childSpan.finish();
+        childSpan.finish();
+        parentSpan.finish();
+        List<RecordedSpan> actual = tracer.getFinishedSpans();
+        assertThat(actual.size(), is(2));
+        assertThat(actual.get(0).getOperationName(), is("child"));
+        assertThat(actual.get(0).getTags().get(ShardingTags.DB_INSTANCE), is((Object) "ds_0"));
+        assertThat(actual.get(0).getTags().get(ShardingTags.ROW_COUNT), is((Object) 2));
+        assertThat(actual.get(0).getError(), is((Throwable) cause));
+        assertTrue(actual.get(0).getDurationNanos() >= 0L);
+        assertThat(actual.get(1).getOperationName(), is("parent"));
+        assertNull(actual.get(1).getError());
+    }
+    
+    @Test
+    public void assertReset() {
+        RecordingTracer tracer = new RecordingTracer();
+        tracer.startSpan("test", null).finish();
+        tracer.reset();
+        assertTrue(tracer.getFinishedSpans().isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.tracing;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class TracingContextTest {
+    
+    @After
+    public void tearDown() {
+        TracingContext.set(null);
+    }
+    
+    @Test
+    public void assertStartWithNoopTracer() {
+        TracingContext.start(new NoopTracer(), "SELECT 1");
+        assertNull(TracingContext.get());
+    }
+    
+    @Test
+    public void assertStartAndFinish() {
+        RecordingTracer tracer = new RecordingTracer();
+        TracingContext.start(tracer, "SELECT 1");
+        TracingContext tracingContext = TracingContext.get();
+        assertThat(tracingContext.getTracer(), is((Tracer) tracer));
+        tracingContext.startChildSpan(ShardingTags.EXECUTE_SQL_OPERATION).finish();
+        SQLException cause = new SQLException("test");
+        TracingContext.setError(cause);
+        TracingContext.finish();
+        assertNull(TracingContext.get());
+        TracingContext.finish();
+        assertThat(tracer.getFinishedSpans().size(), is(2));
+        RecordedSpan logicSQLSpan = tracer.getFinishedSpans().get(1);
+        assertThat(logicSQLSpan.getOperationName(), is(ShardingTags.LOGIC_SQL_OPERATION));
+        assertThat(logicSQLSpan.getTags().get(ShardingTags.DB_STATEMENT), is((Object) "SELECT 1"));
+        assertThat(logicSQLSpan.getTags().get(ShardingTags.COMPONENT), is((Object) ShardingTags.COMPONENT_NAME));
+        assertThat(logicSQLSpan.getError(), is((Throwable) cause));
+        assertThat(tracer.getFinishedSpans().get(0).getParentSpanId(), is(logicSQLSpan.getSpanId()));
+    }
+    
+    @Test
+    public void assertUnbind() {
+        RecordingTracer tracer = new RecordingTracer();
+        TracingContext.start(tracer, "SELECT 1");
+        TracingContext expected = TracingContext.get();
+        assertThat(TracingContext.unbind(), is(expected));
+        assertNull(TracingContext.get());
+        TracingContext.finish();
+        assertTrue(tracer.getFinishedSpans().isEmpty());
+        assertNull(TracingContext.unbind());
+    }
+    
+    @Test
+    public void assertFinishOnCompletionWithoutContext() {
+        ListenableFuture<Integer> future = Futures.immediateFuture(1);
+        assertThat(TracingContext.finishOnCompletion(future), is(future));
+    }
+    
+    @Test
+    public void assertFinishOnCompletionWithSuccess() throws InterruptedException, ExecutionException {
+        RecordingTracer tracer = new RecordingTracer();
+        TracingContext.start(tracer, "SELECT 1");
+        SettableFuture<Integer> future = SettableFuture.create();
+        ListenableFuture<Integer> actual = TracingContext.finishOnCompletion(future);
+        assertNull(TracingContext.get());
+        assertTrue(tracer.getFinishedSpans().isEmpty());
+        future.set(1);
+        assertThat(actual.get(), is(1));
+        assertThat(tracer.getFinishedSpans().size(), is(1));
+        assertNull(tracer.getFinishedSpans().get(0).getError());
+    }
+    
+    @Test
+    public void assertFinishOnCompletionWithFailure() throws InterruptedException {
+        RecordingTracer tracer = new RecordingTracer();
+        TracingContext.start(tracer, "SELECT 1");
+        SettableFuture<Integer> future = SettableFuture.create();
+        ListenableFuture<Integer> actual = TracingContext.finishOnCompletion(future);
+        SQLException cause = new SQLException("test");
+        future.setException(cause);
+        try {
+            actual.get();
+            fail();
+        } catch (final ExecutionException ex) {
+            assertThat(ex.getCause(), is((Throwable) cause));
+        }
+        assertThat(tracer.getFinishedSpans().size(), is(1));
+        assertThat(tracer.getFinishedSpans().get(0).getError(), is((Throwable) cause));
+    }
+}
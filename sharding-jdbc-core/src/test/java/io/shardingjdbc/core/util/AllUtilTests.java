@@ -27,6 +27,8 @@ import org.junit.runners.Suite;
         InlineExpressionParserTest.class,
         SQLUtilTest.class,
         EventBusInstanceTest.class,
+        ShardingEventBusTest.class,
+        RingBufferEventBusTest.class,
         DataSourceUtilTest.class
     })
 public class AllUtilTests {
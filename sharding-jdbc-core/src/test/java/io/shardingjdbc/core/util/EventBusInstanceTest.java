@@ -20,6 +20,7 @@ package io.shardingjdbc.core.util;
 import org.junit.Test;
 
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertThat;
 
 public final class EventBusInstanceTest {
@@ -28,4 +29,10 @@ public final class EventBusInstanceTest {
     public void assertGetInstance() {
         assertThat(EventBusInstance.getInstance(), is(EventBusInstance.getInstance()));
     }
+    
+    @Test
+    public void assertGetAsyncInstance() {
+        assertThat(EventBusInstance.getAsyncInstance(), is(EventBusInstance.getAsyncInstance()));
+        assertThat(EventBusInstance.getAsyncInstance(), not(EventBusInstance.getInstance()));
+    }
 }
@@ -2,6 +2,7 @@ package io.shardingjdbc.core.util;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.core.Is.is;
@@ -75,4 +76,28 @@ public final class InlineExpressionParserTest {
         assertThat(expected.size(), is(1024));
         assertThat(expected, hasItems("ds_0.t_user_0", "ds_15.t_user_1023"));
     }
+    
+    @Test
+    public void assertEvaluateForReverseRange() {
+        List<String> expected = new InlineExpressionParser("t_order_${2..0}").evaluate();
+        assertThat(expected, is(Arrays.asList("t_order_2", "t_order_1", "t_order_0")));
+    }
+    
+    @Test
+    public void assertEvaluateForExclusiveRange() {
+        List<String> expected = new InlineExpressionParser("t_order_${0..<2}").evaluate();
+        assertThat(expected, is(Arrays.asList("t_order_0", "t_order_1")));
+    }
+    
+    @Test
+    public void assertEvaluateForDuplicatedArray() {
+        List<String> expected = new InlineExpressionParser("t_order_${[1, '1', \"2\"]}").evaluate();
+        assertThat(expected, is(Arrays.asList("t_order_1", "t_order_2")));
+    }
+    
+    @Test
+    public void assertEvaluateForOrder() {
+        List<String> expected = new InlineExpressionParser("ds_${0..1}.t_order_${[2, 3]}, ds_2.t_order").evaluate();
+        assertThat(expected, is(Arrays.asList("ds_0.t_order_2", "ds_0.t_order_3", "ds_1.t_order_2", "ds_1.t_order_3", "ds_2.t_order")));
+    }
 }
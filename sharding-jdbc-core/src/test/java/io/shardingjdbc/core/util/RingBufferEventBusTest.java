@@ -0,0 +1,171 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.util;
+
+import com.google.common.eventbus.Subscribe;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class RingBufferEventBusTest {
+    
+    private RingBufferEventBus eventBus;
+    
+    @After
+    public void tearDown() {
+        if (null != eventBus) {
+            eventBus.close();
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertCreateWithInvalidBufferSize() {
+        new RingBufferEventBus("test", 3);
+    }
+    
+    @Test
+    public void assertPostAsynchronously() throws InterruptedException {
+        eventBus = new RingBufferEventBus("test", 128);
+        StringListener listener = new StringListener(100);
+        eventBus.register(listener);
+        for (int i = 0; i < 100; i++) {
+            eventBus.post(String.valueOf(i));
+        }
+        assertTrue(listener.latch.await(5L, TimeUnit.SECONDS));
+        assertThat(listener.events.size(), is(100));
+        assertThat(listener.threads.size(), is(1));
+        assertFalse(listener.threads.contains(Thread.currentThread()));
+    }
+    
+    @Test
+    public void assertPostWhenRingBufferFull() throws InterruptedException {
+        eventBus = new RingBufferEventBus("test", 2);
+        final CountDownLatch blockingLatch = new CountDownLatch(1);
+        StringListener listener = new StringListener(1) {
+            
+            @Override
+            public void listen(final String event) {
+                super.listen(event);
+                try {
+                    blockingLatch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        eventBus.register(listener);
+        try {
+            eventBus.post("0");
+            assertTrue(listener.latch.await(5L, TimeUnit.SECONDS));
+            for (int i = 1; i <= 10; i++) {
+                eventBus.post(String.valueOf(i));
+            }
+            // 分发线程阻塞时缓冲区仅能容纳2个事件, 其余事件被丢弃, 发布线程不会执行订阅者
+            assertThat(eventBus.getDroppedEventsCount(), is(8L));
+            assertFalse(listener.threads.contains(Thread.currentThread()));
+        } finally {
+            blockingLatch.countDown();
+        }
+    }
+    
+    @Test
+    public void assertStartDrainThreadWhenFirstSubscriberRegistered() {
+        String identifier = "lazy-" + System.identityHashCode(this);
+        eventBus = new RingBufferEventBus(identifier, 16);
+        assertFalse(isDrainThreadAlive("ShardingJDBC-EventBus-" + identifier));
+        eventBus.register(new StringListener(0));
+        assertTrue(isDrainThreadAlive("ShardingJDBC-EventBus-" + identifier));
+        eventBus.register(new StringListener(0));
+        eventBus.close();
+        assertFalse(isDrainThreadAlive("ShardingJDBC-EventBus-" + identifier));
+    }
+    
+    private boolean isDrainThreadAlive(final String threadName) {
+        for (Thread each : Thread.getAllStackTraces().keySet()) {
+            if (threadName.equals(each.getName()) && each.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Test
+    public void assertPostAfterDrainThreadParked() throws InterruptedException {
+        eventBus = new RingBufferEventBus("test", 16);
+        StringListener listener = new StringListener(2);
+        eventBus.register(listener);
+        eventBus.post("0");
+        Thread.sleep(100L);
+        eventBus.post("1");
+        assertTrue(listener.latch.await(5L, TimeUnit.SECONDS));
+        assertThat(listener.events.size(), is(2));
+    }
+    
+    @Test
+    public void assertCloseAfterDispatchingPostedEvents() {
+        eventBus = new RingBufferEventBus("test", 16);
+        StringListener listener = new StringListener(0);
+        eventBus.register(listener);
+        for (int i = 0; i < 10; i++) {
+            eventBus.post(String.valueOf(i));
+        }
+        eventBus.close();
+        assertThat(listener.events.size(), is(10));
+        eventBus.post("10");
+        assertThat(listener.events.size(), is(10));
+        assertThat(eventBus.getDroppedEventsCount(), is(1L));
+    }
+    
+    @Test
+    public void assertPostWithoutSubscriber() {
+        eventBus = new RingBufferEventBus("test", 16);
+        eventBus.register(new StringListener(0));
+        eventBus.post(1);
+    }
+    
+    public static class StringListener {
+        
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+        
+        private final CountDownLatch latch;
+        
+        StringListener(final int count) {
+            latch = new CountDownLatch(count);
+        }
+        
+        @Subscribe
+        public void listen(final String event) {
+            events.add(event);
+            if (!threads.contains(Thread.currentThread())) {
+                threads.add(Thread.currentThread());
+            }
+            latch.countDown();
+        }
+    }
+}
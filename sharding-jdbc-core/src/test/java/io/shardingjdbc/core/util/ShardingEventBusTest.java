@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package io.shardingjdbc.core.util;
+
+import io.shardingjdbc.core.executor.event.AbstractExecutionEvent;
+import io.shardingjdbc.core.executor.event.DMLExecutionEvent;
+import io.shardingjdbc.core.executor.event.DQLExecutionEvent;
+import com.google.common.eventbus.Subscribe;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public final class ShardingEventBusTest {
+    
+    @Test
+    public void assertHasSubscriber() {
+        ShardingEventBus eventBus = new ShardingEventBus("test");
+        assertThat(eventBus.hasSubscriber(DMLExecutionEvent.class), is(false));
+        DMLListener listener = new DMLListener();
+        eventBus.register(listener);
+        assertThat(eventBus.hasSubscriber(DMLExecutionEvent.class), is(true));
+        assertThat(eventBus.hasSubscriber(DQLExecutionEvent.class), is(false));
+        eventBus.unregister(listener);
+        assertThat(eventBus.hasSubscriber(DMLExecutionEvent.class), is(false));
+    }
+    
+    @Test
+    public void assertHasSubscriberForSuperType() {
+        ShardingEventBus eventBus = new ShardingEventBus("test");
+        eventBus.register(new ExecutionListener());
+        assertThat(eventBus.hasSubscriber(DMLExecutionEvent.class), is(true));
+        assertThat(eventBus.hasSubscriber(DQLExecutionEvent.class), is(true));
+        assertThat(eventBus.hasSubscriber(String.class), is(false));
+    }
+    
+    @Test
+    public void assertHasSubscriberWithMultipleListeners() {
+        ShardingEventBus eventBus = new ShardingEventBus("test");
+        DMLListener listener1 = new DMLListener();
+        DMLListener listener2 = new DMLListener();
+        eventBus.register(listener1);
+        eventBus.register(listener2);
+        eventBus.unregister(listener1);
+        assertThat(eventBus.hasSubscriber(DMLExecutionEvent.class), is(true));
+        eventBus.unregister(listener2);
+        assertThat(eventBus.hasSubscriber(DMLExecutionEvent.class), is(false));
+    }
+    
+    public static final class DMLListener {
+        
+        @Subscribe
+        public void listen(final DMLExecutionEvent event) {
+        }
+    }
+    
+    public static final class ExecutionListener {
+        
+        @Subscribe
+        public void listen(final AbstractExecutionEvent event) {
+        }
+    }
+}
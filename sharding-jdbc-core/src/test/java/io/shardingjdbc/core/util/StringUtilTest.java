@@ -19,7 +19,10 @@ package io.shardingjdbc.core.util;
 
 import org.junit.Test;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 public class StringUtilTest {
@@ -45,4 +48,11 @@ public class StringUtilTest {
         assertFalse(StringUtil.isLongValue("0.1"));
         assertFalse(StringUtil.isLongValue("A"));
     }
+    
+    @Test
+    public void assertToCaseInsensitiveKey() {
+        String value = "t_order_0";
+        assertThat(StringUtil.toCaseInsensitiveKey(value), sameInstance(value));
+        assertThat(StringUtil.toCaseInsensitiveKey("T_Order_0"), is(value));
+    }
 }
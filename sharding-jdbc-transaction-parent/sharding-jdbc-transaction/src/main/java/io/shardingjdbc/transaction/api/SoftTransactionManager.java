@@ -57,6 +57,7 @@ public final class SoftTransactionManager {
      * @throws SQLException SQL exception
      */
     public void init() throws SQLException {
+        // 监听器依赖执行线程中的柔性事务, 需注册为同步监听器
         EventBusInstance.getInstance().register(new BestEffortsDeliveryListener());
         if (TransactionLogDataSourceType.RDB == transactionConfig.getStorageType()) {
             Preconditions.checkNotNull(transactionConfig.getTransactionLogDataSource());